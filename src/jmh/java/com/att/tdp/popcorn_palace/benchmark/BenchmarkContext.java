@@ -0,0 +1,64 @@
+package com.att.tdp.popcorn_palace.benchmark;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.att.tdp.popcorn_palace.PopcornPalaceApplication;
+import com.att.tdp.popcorn_palace.dto.MovieDTO;
+import com.att.tdp.popcorn_palace.dto.ShowtimeDTO;
+import com.att.tdp.popcorn_palace.service.MovieService;
+import com.att.tdp.popcorn_palace.service.ShowtimeService;
+
+/**
+ * Boots the application without a web server against a private in-memory H2
+ * database (the test classpath configuration), so each benchmark state works
+ * on its own data set.
+ */
+final class BenchmarkContext {
+
+    private BenchmarkContext() {
+    }
+
+    /**
+     * @param arguments further {@code --name=value} settings for the benchmark
+     */
+    static ConfigurableApplicationContext start(String... arguments) {
+        // Command line arguments, so they take precedence over application.yaml
+        List<String> args = new ArrayList<>(List.of(
+                "--spring.datasource.url=jdbc:h2:mem:bench-" + UUID.randomUUID()
+                        + ";MODE=PostgreSQL;DB_CLOSE_ON_EXIT=FALSE",
+                "--spring.jpa.show-sql=false",
+                "--logging.level.root=WARN"));
+        args.addAll(List.of(arguments));
+        return new SpringApplicationBuilder(PopcornPalaceApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(args.toArray(String[]::new));
+    }
+
+    static MovieDTO addMovie(ConfigurableApplicationContext context, int duration) {
+        return context.getBean(MovieService.class).addMovie(MovieDTO.builder()
+                .title("Benchmark " + UUID.randomUUID())
+                .genre("Action")
+                .duration(duration)
+                .rating(7.5)
+                .releaseYear(2025)
+                .build());
+    }
+
+    static ShowtimeDTO addShowtime(ConfigurableApplicationContext context, Long movieId, String theater,
+            LocalDateTime start) {
+        return context.getBean(ShowtimeService.class).addShowtime(ShowtimeDTO.builder()
+                .movieId(movieId)
+                .theater(theater)
+                .startTime(start)
+                .endTime(start.plusHours(2))
+                .price(42.5)
+                .build());
+    }
+}
@@ -0,0 +1,82 @@
+package com.att.tdp.popcorn_palace.benchmark;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.att.tdp.popcorn_palace.dto.BookingDTO;
+import com.att.tdp.popcorn_palace.exception.ConflictException;
+import com.att.tdp.popcorn_palace.service.BookingService;
+
+/**
+ * End-to-end cost of {@link BookingService#bookTicket} against H2: showtime
+ * lookup, seat check and insert for a fresh seat, and the rejection path for a
+ * seat that is already taken.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BookingServiceBenchmark {
+
+    private static final String THEATER = "Benchmark Hall";
+
+    // Seats are only bookable up to the theater's capacity, so the hall is made big enough for an iteration
+    private static final int CAPACITY = 1_000_000;
+
+    private ConfigurableApplicationContext context;
+    private BookingService bookingService;
+    private Long movieId;
+    private LocalDateTime firstStart;
+    private Long takenShowtimeId;
+    private Long freeShowtimeId;
+    private int iteration;
+    private final AtomicInteger nextSeat = new AtomicInteger(1);
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("--popcorn-palace.theaters.capacity[" + THEATER + "]=" + CAPACITY);
+        bookingService = context.getBean(BookingService.class);
+        movieId = BenchmarkContext.addMovie(context, 120).getId();
+        firstStart = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS).plusDays(1);
+        takenShowtimeId = BenchmarkContext.addShowtime(context, movieId, THEATER, firstStart).getId();
+        // Seat 1 is the contended seat used by the conflict benchmark
+        bookingService.bookTicket(new BookingDTO(null, takenShowtimeId, 1, UUID.randomUUID()));
+    }
+
+    // Every iteration books into an empty showtime of its own, a day apart so they do not overlap
+    @Setup(Level.Iteration)
+    public void nextShowtime() {
+        iteration++;
+        freeShowtimeId = BenchmarkContext.addShowtime(context, movieId, THEATER, firstStart.plusDays(iteration))
+                .getId();
+        nextSeat.set(1);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public UUID bookFreeSeat() {
+        return bookingService.bookTicket(
+                new BookingDTO(null, freeShowtimeId, nextSeat.getAndIncrement(), UUID.randomUUID()));
+    }
+
+    @Benchmark
+    public Object bookTakenSeat() {
+        try {
+            return bookingService.bookTicket(new BookingDTO(null, takenShowtimeId, 1, UUID.randomUUID()));
+        } catch (ConflictException e) {
+            return e;
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.att.tdp.popcorn_palace.benchmark;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.att.tdp.popcorn_palace.dto.BookingDTO;
+import com.att.tdp.popcorn_palace.dto.MovieDTO;
+import com.att.tdp.popcorn_palace.dto.ShowtimeDTO;
+import com.att.tdp.popcorn_palace.service.BookingService;
+import com.att.tdp.popcorn_palace.service.MovieService;
+import com.att.tdp.popcorn_palace.service.ShowtimeService;
+
+/**
+ * The list endpoints' entity-to-DTO paths: load every row and run it through
+ * the service's {@code convertToDTO}, including the lazy associations it
+ * touches.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ConversionBenchmark {
+
+    @Param({ "100", "1000" })
+    public int rows;
+
+    private ConfigurableApplicationContext context;
+    private MovieService movieService;
+    private ShowtimeService showtimeService;
+    private BookingService bookingService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start();
+        movieService = context.getBean(MovieService.class);
+        showtimeService = context.getBean(ShowtimeService.class);
+        bookingService = context.getBean(BookingService.class);
+
+        LocalDateTime start = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS).plusDays(1);
+        for (int i = 0; i < rows; i++) {
+            Long movieId = BenchmarkContext.addMovie(context, 90).getId();
+            Long showtimeId = BenchmarkContext.addShowtime(context, movieId, "Hall " + (i % 20),
+                    start.plusHours(3L * (i / 20))).getId();
+            bookingService.bookTicket(new BookingDTO(null, showtimeId, 1, UUID.randomUUID()));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<MovieDTO> getAllMovies() {
+        return movieService.getAllMovies();
+    }
+
+    @Benchmark
+    public List<ShowtimeDTO> getAllShowtimes() {
+        return showtimeService.getAllShowtimes();
+    }
+
+    @Benchmark
+    public List<BookingDTO> getAllBookings() {
+        return bookingService.getAllBookings();
+    }
+}
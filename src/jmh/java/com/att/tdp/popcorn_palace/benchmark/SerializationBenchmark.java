@@ -0,0 +1,61 @@
+package com.att.tdp.popcorn_palace.benchmark;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.att.tdp.popcorn_palace.dto.MovieDTO;
+import com.att.tdp.popcorn_palace.dto.ShowtimeDTO;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/**
+ * Jackson serialization of the catalog list payloads, configured the way
+ * Spring Boot configures the MVC object mapper (ISO dates, not timestamps).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SerializationBenchmark {
+
+    @Param({ "10", "1000" })
+    public int size;
+
+    private ObjectWriter writer;
+    private List<MovieDTO> movies;
+    private List<ShowtimeDTO> showtimes;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        writer = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build()
+                .writer();
+        LocalDateTime start = LocalDateTime.of(2030, 1, 1, 18, 0);
+        movies = IntStream.range(0, size)
+                .mapToObj(i -> new MovieDTO((long) i, "Movie " + i, "Action", 120, 7.5, 2025))
+                .toList();
+        showtimes = IntStream.range(0, size)
+                .mapToObj(i -> new ShowtimeDTO((long) i, (long) i, "Hall " + (i % 20),
+                        start.plusHours(i), start.plusHours(i + 2L), 42.5))
+                .toList();
+    }
+
+    @Benchmark
+    public byte[] writeMovies() throws JsonProcessingException {
+        return writer.writeValueAsBytes(movies);
+    }
+
+    @Benchmark
+    public byte[] writeShowtimes() throws JsonProcessingException {
+        return writer.writeValueAsBytes(showtimes);
+    }
+}
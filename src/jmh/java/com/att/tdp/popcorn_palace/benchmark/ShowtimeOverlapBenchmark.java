@@ -0,0 +1,67 @@
+package com.att.tdp.popcorn_palace.benchmark;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.att.tdp.popcorn_palace.dto.ShowtimeDTO;
+import com.att.tdp.popcorn_palace.exception.ConflictException;
+import com.att.tdp.popcorn_palace.service.ShowtimeService;
+
+/**
+ * Overlap detection in {@link ShowtimeService#addShowtime} with a theater that
+ * already holds {@code existingShowtimes} back-to-back screenings. The
+ * candidate always collides, so nothing is inserted and the data set stays
+ * stable across iterations.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ShowtimeOverlapBenchmark {
+
+    @Param({ "10", "1000" })
+    public int existingShowtimes;
+
+    private ConfigurableApplicationContext context;
+    private ShowtimeService showtimeService;
+    private ShowtimeDTO overlapping;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start();
+        showtimeService = context.getBean(ShowtimeService.class);
+        Long movieId = BenchmarkContext.addMovie(context, 120).getId();
+        LocalDateTime start = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS).plusDays(1);
+        for (int i = 0; i < existingShowtimes; i++) {
+            BenchmarkContext.addShowtime(context, movieId, "Overlap Hall", start.plusHours(2L * i));
+        }
+        LocalDateTime middle = start.plusHours(existingShowtimes).plusMinutes(30);
+        overlapping = ShowtimeDTO.builder()
+                .movieId(movieId)
+                .theater("Overlap Hall")
+                .startTime(middle)
+                .endTime(middle.plusHours(2))
+                .price(42.5)
+                .build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Object addOverlappingShowtime() {
+        try {
+            return showtimeService.addShowtime(overlapping);
+        } catch (ConflictException e) {
+            return e;
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.att.tdp.popcorn_palace.loadtest;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Settings of a load test run, parsed from {@code key=value} program
+ * arguments. Rates are open-model arrival rates in requests per second: they
+ * are kept regardless of how fast the server answers.
+ */
+record LoadTestConfig(
+        String baseUrl,
+        Duration duration,
+        double bookingRate,
+        double catalogRate,
+        double cancelRate,
+        int hotShowtimes,
+        int seatsPerShowtime,
+        int users,
+        int maxInFlight,
+        String profiles,
+        String resultFile) {
+
+    static LoadTestConfig parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            String trimmed = arg.startsWith("--") ? arg.substring(2) : arg;
+            int separator = trimmed.indexOf('=');
+            if (separator > 0) {
+                values.put(trimmed.substring(0, separator), trimmed.substring(separator + 1));
+            }
+        }
+        return new LoadTestConfig(
+                values.get("baseUrl"),
+                Duration.ofSeconds(Long.parseLong(values.getOrDefault("duration", "30"))),
+                Double.parseDouble(values.getOrDefault("bookingRate", "200")),
+                Double.parseDouble(values.getOrDefault("catalogRate", "100")),
+                Double.parseDouble(values.getOrDefault("cancelRate", "10")),
+                Integer.parseInt(values.getOrDefault("hotShowtimes", "3")),
+                Integer.parseInt(values.getOrDefault("seats", "100")),
+                Integer.parseInt(values.getOrDefault("users", "5000")),
+                Integer.parseInt(values.getOrDefault("maxInFlight", "2000")),
+                values.getOrDefault("profiles", ""),
+                values.getOrDefault("resultFile", "target/loadtest-result.json"));
+    }
+}
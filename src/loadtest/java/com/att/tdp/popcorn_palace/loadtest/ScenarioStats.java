@@ -0,0 +1,75 @@
+package com.att.tdp.popcorn_palace.loadtest;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Outcome counters and latency histogram of one traffic scenario.
+ */
+final class ScenarioStats {
+
+    private final String name;
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final Map<Integer, LongAdder> statusCounts = new ConcurrentHashMap<>();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong errors = new AtomicLong();
+
+    ScenarioStats(String name) {
+        this.name = name;
+    }
+
+    String name() {
+        return name;
+    }
+
+    void record(int status, long latencyNanos) {
+        latency.recordNanos(latencyNanos);
+        statusCounts.computeIfAbsent(status, s -> new LongAdder()).increment();
+    }
+
+    void recordError(long latencyNanos) {
+        latency.recordNanos(latencyNanos);
+        errors.incrementAndGet();
+    }
+
+    void recordDropped() {
+        dropped.incrementAndGet();
+    }
+
+    long count(int status) {
+        LongAdder adder = statusCounts.get(status);
+        return adder == null ? 0 : adder.sum();
+    }
+
+    Map<String, Object> summary(double elapsedSeconds) {
+        long completed = latency.count();
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("scenario", name);
+        summary.put("completed", completed);
+        summary.put("throughputPerSecond", round(completed / elapsedSeconds));
+        summary.put("p50Millis", millis(latency.percentileMicros(0.50)));
+        summary.put("p99Millis", millis(latency.percentileMicros(0.99)));
+        summary.put("p999Millis", millis(latency.percentileMicros(0.999)));
+        summary.put("maxMillis", millis(latency.maxMicros()));
+        summary.put("conflictRate", completed == 0 ? 0.0 : round((double) count(409) / completed));
+        Map<String, Long> statuses = new LinkedHashMap<>();
+        statusCounts.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .forEach(e -> statuses.put(String.valueOf(e.getKey()), e.getValue().sum()));
+        summary.put("statusCounts", statuses);
+        summary.put("transportErrors", errors.get());
+        summary.put("droppedByClient", dropped.get());
+        return summary;
+    }
+
+    private static double millis(long micros) {
+        return round(micros / 1000.0);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 1000.0) / 1000.0;
+    }
+}
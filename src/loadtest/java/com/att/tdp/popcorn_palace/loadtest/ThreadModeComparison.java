@@ -0,0 +1,53 @@
+package com.att.tdp.popcorn_palace.loadtest;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Runs the same ticket-drop load twice, first on Tomcat's platform thread
+ * pool and then with the {@code virtual-threads} profile, and prints
+ * throughput and tail latency of both runs side by side. Accepts the same
+ * {@code key=value} arguments as {@link TicketDropLoadTest}.
+ *
+ * <pre>
+ * mvn -Ploadtest test-compile exec:exec -Dloadtest.main=com.att.tdp.popcorn_palace.loadtest.ThreadModeComparison \
+ *     -Dloadtest.args="duration=30 bookingRate=400"
+ * </pre>
+ */
+public final class ThreadModeComparison {
+
+    private ThreadModeComparison() {
+    }
+
+    @SuppressWarnings("unchecked")
+    public static void main(String[] args) throws Exception {
+        Map<String, Object> results = new LinkedHashMap<>();
+        for (String mode : List.of("platform", "virtual-threads")) {
+            String[] modeArgs = Arrays.copyOf(args, args.length + 2);
+            modeArgs[args.length] = "profiles=" + ("platform".equals(mode) ? "" : mode);
+            modeArgs[args.length + 1] = "resultFile=target/loadtest-" + mode + ".json";
+            results.put(mode, TicketDropLoadTest.run(LoadTestConfig.parse(modeArgs)));
+        }
+
+        System.out.printf("%n%-16s %-9s %12s %10s %10s %10s %8s %8s%n",
+                "mode", "scenario", "throughput/s", "p50 ms", "p99 ms", "p999 ms", "409s", "dropped");
+        results.forEach((mode, report) -> {
+            for (Map<String, Object> scenario : (List<Map<String, Object>>) ((Map<String, Object>) report)
+                    .get("scenarios")) {
+                Map<String, Long> statuses = (Map<String, Long>) scenario.get("statusCounts");
+                System.out.printf("%-16s %-9s %12s %10s %10s %10s %8s %8s%n", mode, scenario.get("scenario"),
+                        scenario.get("throughputPerSecond"), scenario.get("p50Millis"), scenario.get("p99Millis"),
+                        scenario.get("p999Millis"), statuses.getOrDefault("409", 0L),
+                        scenario.get("droppedByClient"));
+            }
+        });
+        Files.writeString(Path.of("target/thread-mode-comparison.json"),
+                new ObjectMapper().findAndRegisterModules().writerWithDefaultPrettyPrinter().writeValueAsString(results));
+    }
+}
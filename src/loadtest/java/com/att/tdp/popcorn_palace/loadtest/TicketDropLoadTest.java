@@ -0,0 +1,271 @@
+package com.att.tdp.popcorn_palace.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.att.tdp.popcorn_palace.PopcornPalaceApplication;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Rehearses a ticket drop against the real REST endpoints. Unless
+ * {@code baseUrl} is given, the application is started in-process on a random
+ * port with a private in-memory H2 database, so a run needs nothing but the
+ * JDK.
+ *
+ * <p>
+ * Three scenarios run concurrently with open-model (constant arrival rate)
+ * traffic: users racing for random seats of a few hot showtimes, catalog
+ * polling and cancellations of confirmed bookings. Latency is measured from
+ * each request's intended send time, so server stalls show up in the tail
+ * instead of silently lowering the offered load. At the end, the bookings
+ * table is checked for double-booked seats and for agreement with the number
+ * of confirmed bookings and cancellations.
+ *
+ * <pre>
+ * mvn -Ploadtest test-compile exec:exec -Dloadtest.args="duration=60 bookingRate=500"
+ * </pre>
+ */
+public final class TicketDropLoadTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper().findAndRegisterModules();
+
+    private final LoadTestConfig config;
+    private final HttpClient client;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Semaphore inFlight;
+    private final ConcurrentLinkedQueue<String> confirmedBookings = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger catalogCursor = new AtomicInteger();
+    private final List<UUID> users = new ArrayList<>();
+    private String baseUrl;
+    private long movieId;
+    private final List<Long> hotShowtimeIds = new ArrayList<>();
+
+    TicketDropLoadTest(LoadTestConfig config) {
+        this.config = config;
+        this.inFlight = new Semaphore(config.maxInFlight());
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        for (int i = 0; i < config.users(); i++) {
+            users.add(UUID.randomUUID());
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, Object> report = run(LoadTestConfig.parse(args));
+        System.exit(Boolean.TRUE.equals(report.get("invariantsHold")) ? 0 : 1);
+    }
+
+    static Map<String, Object> run(LoadTestConfig config) throws Exception {
+        ConfigurableApplicationContext app = config.baseUrl() == null ? startApplication(config) : null;
+        try {
+            TicketDropLoadTest test = new TicketDropLoadTest(config);
+            test.baseUrl = app == null
+                    ? config.baseUrl()
+                    : "http://localhost:" + ((WebServerApplicationContext) app).getWebServer().getPort();
+            Map<String, Object> report = test.execute();
+            String json = MAPPER.writerWithDefaultPrettyPrinter().writeValueAsString(report);
+            System.out.println(json);
+            Path resultFile = Path.of(config.resultFile());
+            if (resultFile.getParent() != null) {
+                Files.createDirectories(resultFile.getParent());
+            }
+            Files.writeString(resultFile, json);
+            return report;
+        } finally {
+            if (app != null) {
+                app.close();
+            }
+        }
+    }
+
+    private static ConfigurableApplicationContext startApplication(LoadTestConfig config) {
+        SpringApplicationBuilder builder = new SpringApplicationBuilder(PopcornPalaceApplication.class);
+        if (!config.profiles().isBlank()) {
+            builder.profiles(config.profiles().split(","));
+        }
+        // The reactive profile reaches the same in-memory database through R2DBC
+        String database = "loadtest-" + UUID.randomUUID();
+        return builder.run(
+                "--server.port=0",
+                "--spring.datasource.url=jdbc:h2:mem:" + database + ";MODE=PostgreSQL;DB_CLOSE_ON_EXIT=FALSE",
+                "--popcorn-palace.reactive.datasource.url=r2dbc:pool:h2:mem:///" + database
+                        + "?options=MODE=PostgreSQL;DB_CLOSE_DELAY=-1&maxSize=20",
+                "--popcorn-palace.reactive.datasource.username=sa",
+                "--popcorn-palace.reactive.datasource.password=password",
+                "--spring.jpa.show-sql=false",
+                "--logging.level.root=WARN");
+    }
+
+    private Map<String, Object> execute() throws Exception {
+        seed();
+
+        ScenarioStats booking = new ScenarioStats("booking");
+        ScenarioStats catalog = new ScenarioStats("catalog");
+        ScenarioStats cancel = new ScenarioStats("cancel");
+
+        long start = System.nanoTime();
+        List<Thread> generators = List.of(
+                generator(booking, config.bookingRate(), start, this::book),
+                generator(catalog, config.catalogRate(), start, this::browse),
+                generator(cancel, config.cancelRate(), start, this::cancel));
+        for (Thread generator : generators) {
+            generator.join();
+        }
+        executor.shutdown();
+        executor.awaitTermination(1, TimeUnit.MINUTES);
+        double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("config", config);
+        report.put("elapsedSeconds", Math.round(elapsedSeconds * 10) / 10.0);
+        report.put("scenarios", List.of(booking.summary(elapsedSeconds), catalog.summary(elapsedSeconds),
+                cancel.summary(elapsedSeconds)));
+        report.putAll(checkInvariants(booking.count(200) - cancel.count(200)));
+        return report;
+    }
+
+    private void seed() throws Exception {
+        JsonNode movie = MAPPER.readTree(post("/movies", """
+                {"title":"Ticket Drop %s","genre":"Action","duration":150,"rating":9.1,"releaseYear":2026}
+                """.formatted(UUID.randomUUID())).body());
+        movieId = movie.get("id").asLong();
+        LocalDateTime start = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS).plusDays(1);
+        for (int i = 0; i < config.hotShowtimes(); i++) {
+            JsonNode showtime = MAPPER.readTree(post("/showtimes", """
+                    {"movieId":%d,"theater":"Hot Hall %d","startTime":"%s","endTime":"%s","price":25.0}
+                    """.formatted(movieId, i, start, start.plusHours(3))).body());
+            hotShowtimeIds.add(showtime.get("id").asLong());
+        }
+    }
+
+    private Thread generator(ScenarioStats stats, double rate, long start, Request request) {
+        return Thread.ofPlatform().name("loadtest-" + stats.name()).start(() -> {
+            if (rate <= 0) {
+                return;
+            }
+            long interval = (long) (TimeUnit.SECONDS.toNanos(1) / rate);
+            long end = start + config.duration().toNanos();
+            for (long intended = start; intended < end; intended += interval) {
+                long wait = intended - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                if (!inFlight.tryAcquire()) {
+                    stats.recordDropped();
+                    continue;
+                }
+                long intendedStart = intended;
+                executor.execute(() -> {
+                    try {
+                        HttpResponse<String> response = request.send();
+                        if (response != null) {
+                            stats.record(response.statusCode(), System.nanoTime() - intendedStart);
+                        }
+                    } catch (Exception e) {
+                        stats.recordError(System.nanoTime() - intendedStart);
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+            }
+        });
+    }
+
+    private HttpResponse<String> book() throws Exception {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long showtimeId = hotShowtimeIds.get(random.nextInt(hotShowtimeIds.size()));
+        int seat = 1 + random.nextInt(config.seatsPerShowtime());
+        UUID user = users.get(random.nextInt(users.size()));
+        HttpResponse<String> response = post("/bookings",
+                "{\"showtimeId\":%d,\"seatNumber\":%d,\"userId\":\"%s\"}".formatted(showtimeId, seat, user));
+        if (response.statusCode() == 200) {
+            confirmedBookings.add(MAPPER.readTree(response.body()).get("bookingId").asText());
+        }
+        return response;
+    }
+
+    private HttpResponse<String> browse() throws Exception {
+        String path = switch (catalogCursor.getAndIncrement() % 3) {
+            case 0 -> "/movies/all";
+            case 1 -> "/showtimes";
+            default -> "/movies/" + movieId + "/detail";
+        };
+        return client.send(HttpRequest.newBuilder(URI.create(baseUrl + path)).GET().build(),
+                HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpResponse<String> cancel() throws Exception {
+        String bookingId = confirmedBookings.poll();
+        if (bookingId == null) {
+            return null;
+        }
+        return client.send(HttpRequest.newBuilder(URI.create(baseUrl + "/bookings/" + bookingId)).DELETE().build(),
+                HttpResponse.BodyHandlers.ofString());
+    }
+
+    private Map<String, Object> checkInvariants(long expectedBookings) throws Exception {
+        JsonNode bookings = MAPPER.readTree(client.send(
+                HttpRequest.newBuilder(URI.create(baseUrl + "/bookings")).GET().build(),
+                HttpResponse.BodyHandlers.ofString()).body());
+        Set<String> seats = new HashSet<>();
+        long hotBookings = 0;
+        long doubleBookings = 0;
+        for (JsonNode booking : bookings) {
+            long showtimeId = booking.get("showtimeId").asLong();
+            if (!hotShowtimeIds.contains(showtimeId)) {
+                continue;
+            }
+            hotBookings++;
+            if (!seats.add(showtimeId + ":" + booking.get("seatNumber").asInt())) {
+                doubleBookings++;
+            }
+        }
+        Map<String, Object> invariants = new LinkedHashMap<>();
+        invariants.put("confirmedMinusCancelled", expectedBookings);
+        invariants.put("bookingsInDatabase", hotBookings);
+        invariants.put("doubleBookedSeats", doubleBookings);
+        invariants.put("invariantsHold", doubleBookings == 0 && hotBookings == expectedBookings);
+        return invariants;
+    }
+
+    private HttpResponse<String> post(String path, String json) throws Exception {
+        return client.send(HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    @FunctionalInterface
+    private interface Request {
+        HttpResponse<String> send() throws Exception;
+    }
+}
@@ -0,0 +1,34 @@
+package com.att.tdp.popcorn_palace.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+
+public class AvailabilityOptionDTO {
+    private Long showtimeId;
+
+    private String theater;
+
+    private LocalDateTime startTime;
+
+    private LocalDateTime endTime;
+
+    private Double price;
+
+    private int remainingSeats;
+
+    // Most adjacent seats still free
+    private int longestBlock;
+
+    // Free seats for the party: a block of adjacent seats when contiguous was asked for
+    private List<Integer> seats;
+}
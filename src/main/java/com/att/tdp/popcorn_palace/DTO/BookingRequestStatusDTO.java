@@ -0,0 +1,37 @@
+package com.att.tdp.popcorn_palace.dto;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import com.att.tdp.popcorn_palace.async.BookingRequestState;
+import com.att.tdp.popcorn_palace.exception.ErrorResponse;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+
+public class BookingRequestStatusDTO {
+    private String requestId;
+
+    private BookingRequestState state;
+
+    private Long showtimeId;
+
+    private Integer seatNumber;
+
+    private UUID userId;
+
+    private UUID bookingId;
+
+    private ErrorResponse error;
+
+    private LocalDateTime submittedAt;
+
+    private LocalDateTime completedAt;
+}
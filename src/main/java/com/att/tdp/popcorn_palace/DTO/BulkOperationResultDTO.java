@@ -0,0 +1,21 @@
+package com.att.tdp.popcorn_palace.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+
+public class BulkOperationResultDTO {
+    private String operation;
+
+    private int moviesAffected;
+
+    private int showtimesAffected;
+
+    private int bookingsAffected;
+}
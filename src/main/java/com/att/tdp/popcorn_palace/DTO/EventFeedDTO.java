@@ -0,0 +1,20 @@
+package com.att.tdp.popcorn_palace.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+
+public class EventFeedDTO {
+    private List<OutboxEventDTO> events;
+
+    // Pass as "after" on the next call; unchanged when there were no new events
+    private long lastSequence;
+}
@@ -0,0 +1,28 @@
+package com.att.tdp.popcorn_palace.dto;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+
+public class LedgerEntryDTO {
+    private UUID bookingId;
+
+    private Long showtimeId;
+
+    private Integer seatNumber;
+
+    private LocalDateTime showtimeStart;
+
+    private String theater;
+
+    private String movieTitle;
+}
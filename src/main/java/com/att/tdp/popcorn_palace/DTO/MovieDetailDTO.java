@@ -0,0 +1,19 @@
+package com.att.tdp.popcorn_palace.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+
+public class MovieDetailDTO {
+    private MovieDTO movie;
+
+    private List<ShowtimeAvailabilityDTO> showtimes;
+}
@@ -0,0 +1,32 @@
+package com.att.tdp.popcorn_palace.dto;
+
+import java.time.LocalDateTime;
+
+import com.att.tdp.popcorn_palace.model.OutboxEventType;
+import com.fasterxml.jackson.annotation.JsonRawValue;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+
+public class OutboxEventDTO {
+    private long sequence;
+
+    private OutboxEventType type;
+
+    private String aggregateType;
+
+    private String aggregateId;
+
+    // Stored as JSON already, written through unchanged
+    @JsonRawValue
+    private String payload;
+
+    private LocalDateTime occurredAt;
+}
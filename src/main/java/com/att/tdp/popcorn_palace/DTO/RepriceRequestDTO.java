@@ -0,0 +1,23 @@
+package com.att.tdp.popcorn_palace.dto;
+
+import java.time.LocalDateTime;
+
+import jakarta.validation.constraints.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+
+public class RepriceRequestDTO {
+    @NotNull(message = "Price is required")
+    @DecimalMin(value = "0.0", inclusive = false, message = "Price must be greater than 0")
+    private Double price;
+
+    // Optional: only reprice showtimes starting at or after this time
+    private LocalDateTime from;
+}
@@ -0,0 +1,32 @@
+package com.att.tdp.popcorn_palace.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+
+public class SalesBucketDTO {
+    private LocalDateTime bucketStart;
+
+    private Long movieId;
+
+    private String theater;
+
+    private long showtimes;
+
+    // Seats on offer: the theater's capacity for every showtime in the bucket
+    private long capacity;
+
+    private long tickets;
+
+    private double revenue;
+
+    // Tickets over capacity, between 0 and 1
+    private double fillRate;
+}
@@ -0,0 +1,30 @@
+package com.att.tdp.popcorn_palace.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+import java.util.List;
+import com.att.tdp.popcorn_palace.model.SalesGranularity;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+
+public class SalesReportDTO {
+    private SalesGranularity granularity;
+
+    // Start of the first bucket; from is rounded down to it
+    private LocalDateTime from;
+
+    private LocalDateTime to;
+
+    // Change feed sequence the figures include; null until the first rebuild completed
+    private Long projectedSequence;
+
+    private List<SalesBucketDTO> buckets;
+
+    private SalesBucketDTO totals;
+}
@@ -0,0 +1,51 @@
+package com.att.tdp.popcorn_palace.dto;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+
+public class ScheduleRequestDTO {
+    @NotNull(message = "From date is required")
+    private LocalDate from;
+
+    @NotNull(message = "Days are required")
+    @Min(value = 1, message = "Days must be at least 1")
+    private Integer days;
+
+    @NotEmpty(message = "Theaters are required")
+    private List<@NotBlank(message = "Theater names must not be blank") String> theaters;
+
+    @NotNull(message = "Opening time is required")
+    private LocalTime opensAt;
+
+    // At or before opensAt for theaters that close after midnight
+    @NotNull(message = "Closing time is required")
+    private LocalTime closesAt;
+
+    @NotEmpty(message = "Movies are required")
+    private List<@Valid ScreeningTargetDTO> movies;
+
+    // Optional: defaults to popcorn-palace.scheduling.cleaning-minutes
+    @Min(value = 0, message = "Cleaning minutes must not be negative")
+    private Integer cleaningMinutes;
+
+    // Optional: defaults to popcorn-palace.scheduling.start-granularity-minutes
+    @Min(value = 1, message = "Start granularity must be at least 1 minute")
+    @Max(value = 60, message = "Start granularity must be at most 60 minutes")
+    private Integer startGranularityMinutes;
+
+    // Compute and return the schedule without saving it
+    private boolean dryRun;
+}
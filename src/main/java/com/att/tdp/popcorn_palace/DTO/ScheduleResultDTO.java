@@ -0,0 +1,32 @@
+package com.att.tdp.popcorn_palace.dto;
+
+import java.util.List;
+import java.util.Map;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+
+public class ScheduleResultDTO {
+    private boolean persisted;
+
+    private int requested;
+
+    private int scheduled;
+
+    // Screenings that did not fit, by movie id
+    private Map<Long, Integer> unscheduled;
+
+    // Share of the free theater time taken by films
+    private double utilization;
+
+    private long computeMillis;
+
+    private List<ShowtimeDTO> showtimes;
+}
@@ -0,0 +1,25 @@
+package com.att.tdp.popcorn_palace.dto;
+
+import jakarta.validation.constraints.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+
+public class ScreeningTargetDTO {
+    @NotNull(message = "Movie ID is required")
+    private Long movieId;
+
+    @NotNull(message = "Screenings are required")
+    @Min(value = 1, message = "Screenings must be at least 1")
+    private Integer screenings;
+
+    @NotNull(message = "Price is required")
+    @DecimalMin(value = "0.0", inclusive = false, message = "Price must be greater than 0")
+    private Double price;
+}
@@ -0,0 +1,26 @@
+package com.att.tdp.popcorn_palace.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+
+public class SeatDeltaDTO {
+    private Long showtimeId;
+
+    // Version of the seat map this delta applies on top of
+    private long fromVersion;
+
+    private long version;
+
+    private List<Integer> claimed;
+
+    private List<Integer> released;
+}
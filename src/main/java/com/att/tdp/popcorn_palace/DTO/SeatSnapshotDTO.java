@@ -0,0 +1,23 @@
+package com.att.tdp.popcorn_palace.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+
+public class SeatSnapshotDTO {
+    private Long showtimeId;
+
+    private long version;
+
+    private int capacity;
+
+    private List<Integer> claimedSeats;
+}
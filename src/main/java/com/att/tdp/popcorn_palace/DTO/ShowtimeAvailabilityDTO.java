@@ -0,0 +1,31 @@
+package com.att.tdp.popcorn_palace.dto;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+
+public class ShowtimeAvailabilityDTO {
+    private Long id;
+
+    private String theater;
+
+    private LocalDateTime startTime;
+
+    private LocalDateTime endTime;
+
+    private Double price;
+
+    private int capacity;
+
+    private long bookedSeats;
+
+    private long remainingSeats;
+}
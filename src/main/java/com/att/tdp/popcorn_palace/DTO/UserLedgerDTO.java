@@ -0,0 +1,28 @@
+package com.att.tdp.popcorn_palace.dto;
+
+import java.util.List;
+import java.util.UUID;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+
+public class UserLedgerDTO {
+    private UUID userId;
+
+    private long upcoming;
+
+    private long past;
+
+    // Newest showtime first
+    private List<LedgerEntryDTO> entries;
+
+    // Pass as "cursor" for the next page; null on the last page
+    private String nextCursor;
+}
@@ -0,0 +1,29 @@
+package com.att.tdp.popcorn_palace.dto;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+
+public class WaitingRoomStatusDTO {
+    private Long showtimeId;
+
+    private String token;
+
+    private long position;
+
+    private long estimatedWaitSeconds;
+
+    private boolean admitted;
+
+    private String pass;
+
+    private LocalDateTime passExpiresAt;
+}
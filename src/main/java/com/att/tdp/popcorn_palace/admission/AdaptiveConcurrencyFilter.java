@@ -0,0 +1,115 @@
+package com.att.tdp.popcorn_palace.admission;
+
+import java.io.IOException;
+import java.sql.SQLException;
+
+import javax.sql.DataSource;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.att.tdp.popcorn_palace.bulkhead.Workload;
+import com.att.tdp.popcorn_palace.bulkhead.WorkloadRoutingDataSource;
+import com.att.tdp.popcorn_palace.config.BookingAdmissionProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Adaptive concurrency limit in front of the booking writes
+ * ({@code POST /bookings}, {@code DELETE /bookings/{id}}). Runs before the
+ * database admission gate, so shed requests never queue for a permit; reads
+ * are not limited here, nor are queued booking requests, whose workers
+ * already bound the load they put on the database.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@Order(Ordered.HIGHEST_PRECEDENCE + 8)
+@ConditionalOnProperty(prefix = "popcorn-palace.booking-admission", name = "enabled", havingValue = "true",
+        matchIfMissing = true)
+public class AdaptiveConcurrencyFilter extends OncePerRequestFilter {
+
+    private final AdaptiveConcurrencyLimit limit;
+    private final ObjectProvider<DataSource> dataSource;
+    private final ObjectMapper objectMapper;
+    private final Counter rejections;
+    private volatile HikariPoolMXBean pool;
+
+    public AdaptiveConcurrencyFilter(BookingAdmissionProperties properties, ObjectProvider<DataSource> dataSource,
+            ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.limit = new AdaptiveConcurrencyLimit(properties.getConcurrency());
+        this.dataSource = dataSource;
+        this.objectMapper = objectMapper;
+        this.rejections = BookingRateLimiter.rejections(meterRegistry, "overload");
+        Gauge.builder("popcorn.booking.admission.limit", limit, AdaptiveConcurrencyLimit::getLimit)
+                .description("Current adaptive concurrency limit of the booking endpoints")
+                .register(meterRegistry);
+        Gauge.builder("popcorn.booking.admission.inflight", limit, AdaptiveConcurrencyLimit::getInFlight)
+                .description("Booking requests currently in progress")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String method = request.getMethod();
+        String path = request.getRequestURI();
+        return !path.startsWith("/bookings") || path.startsWith("/bookings/requests")
+                || !(HttpMethod.POST.matches(method) || HttpMethod.DELETE.matches(method));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        if (!limit.tryAcquire()) {
+            rejections.increment();
+            Rejections.serviceUnavailable(response, objectMapper, "The service is overloaded, please retry shortly");
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            limit.release(System.nanoTime() - start, poolSaturated());
+        }
+    }
+
+    private boolean poolSaturated() {
+        HikariPoolMXBean pool = bookingPool();
+        return pool != null && pool.getThreadsAwaitingConnection() > 0;
+    }
+
+    // Pools are started on first use, so the one serving bookings is looked up lazily
+    private HikariPoolMXBean bookingPool() {
+        HikariPoolMXBean pool = this.pool;
+        if (pool == null) {
+            try {
+                DataSource source = dataSource.getIfAvailable();
+                if (source != null && source.isWrapperFor(WorkloadRoutingDataSource.class)) {
+                    source = source.unwrap(WorkloadRoutingDataSource.class).pool(Workload.BOOKING);
+                }
+                if (source != null && source.isWrapperFor(HikariDataSource.class)) {
+                    pool = source.unwrap(HikariDataSource.class).getHikariPoolMXBean();
+                    this.pool = pool;
+                }
+            } catch (SQLException e) {
+                return null;
+            }
+        }
+        return pool;
+    }
+}
@@ -0,0 +1,73 @@
+package com.att.tdp.popcorn_palace.admission;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.att.tdp.popcorn_palace.config.BookingAdmissionProperties.Concurrency;
+
+/**
+ * Concurrency limit that follows the database's capacity (additive increase,
+ * multiplicative decrease). Every completed request is a sample: while recent
+ * latency stays within {@code latencyTolerance} of the long-term average and
+ * no request is waiting for a pooled connection, the limit grows by one as
+ * long as it is actually being used; otherwise it shrinks by
+ * {@code backoffRatio}. Requests beyond the limit are rejected right away
+ * instead of queueing behind the overloaded ones.
+ */
+final class AdaptiveConcurrencyLimit {
+
+    private final Concurrency settings;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile double limit;
+
+    // Exponentially weighted latency averages in nanoseconds, guarded by this
+    private double longLatency = Double.NaN;
+    private double shortLatency = Double.NaN;
+
+    AdaptiveConcurrencyLimit(Concurrency settings) {
+        this.settings = settings;
+        this.limit = settings.getInitialLimit();
+    }
+
+    boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= getLimit()) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    void release(long latencyNanos, boolean poolSaturated) {
+        int inFlightBefore = inFlight.getAndDecrement();
+        onSample(latencyNanos, poolSaturated, inFlightBefore);
+    }
+
+    synchronized void onSample(long latencyNanos, boolean poolSaturated, int inFlightAtCompletion) {
+        if (Double.isNaN(longLatency)) {
+            longLatency = latencyNanos;
+            shortLatency = latencyNanos;
+        } else {
+            longLatency += (latencyNanos - longLatency) / settings.getLongWindow();
+            shortLatency += (latencyNanos - shortLatency) / settings.getShortWindow();
+        }
+
+        double current = limit;
+        if (poolSaturated || shortLatency > longLatency * settings.getLatencyTolerance()) {
+            limit = Math.max(settings.getMinLimit(), current * settings.getBackoffRatio());
+        } else if (inFlightAtCompletion * 2 >= current) {
+            // Only grow a limit that is being used; an idle service proves nothing
+            limit = Math.min(settings.getMaxLimit(), current + 1);
+        }
+    }
+
+    int getLimit() {
+        return (int) limit;
+    }
+
+    int getInFlight() {
+        return inFlight.get();
+    }
+}
@@ -0,0 +1,100 @@
+package com.att.tdp.popcorn_palace.admission;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.att.tdp.popcorn_palace.config.BookingAdmissionProperties;
+import com.att.tdp.popcorn_palace.config.BookingAdmissionProperties.RateLimit;
+import com.att.tdp.popcorn_palace.exception.TooManyRequestsException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Per-user and per-showtime token buckets for booking attempts, checked
+ * before any database work. The user limit stops a single client from
+ * hammering the seat map; the showtime limit caps the load on one hot
+ * showtime no matter how many user ids the attempts are spread over.
+ */
+@Component
+public class BookingRateLimiter {
+
+    private final Map<UUID, TokenBucket> userBuckets = new ConcurrentHashMap<>();
+    private final Map<Long, TokenBucket> showtimeBuckets = new ConcurrentHashMap<>();
+
+    private final BookingAdmissionProperties properties;
+    private final LongSupplier clock;
+    private final Counter userRejections;
+    private final Counter showtimeRejections;
+
+    @Autowired
+    public BookingRateLimiter(BookingAdmissionProperties properties, MeterRegistry meterRegistry) {
+        this(properties, meterRegistry, System::nanoTime);
+    }
+
+    BookingRateLimiter(BookingAdmissionProperties properties, MeterRegistry meterRegistry, LongSupplier clock) {
+        this.properties = properties;
+        this.clock = clock;
+        this.userRejections = rejections(meterRegistry, "user");
+        this.showtimeRejections = rejections(meterRegistry, "showtime");
+        Gauge.builder("popcorn.booking.admission.buckets", this, limiter -> limiter.userBuckets.size()
+                + limiter.showtimeBuckets.size())
+                .description("Rate limit buckets currently held in memory")
+                .register(meterRegistry);
+    }
+
+    static Counter rejections(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("popcorn.booking.admission.rejected")
+                .description("Booking requests rejected by admission control")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Takes a token from the user's and then from the showtime's bucket.
+     *
+     * @throws TooManyRequestsException when either bucket is empty
+     */
+    public void checkBooking(UUID userId, Long showtimeId) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        long now = clock.getAsLong();
+        long wait = bucket(userBuckets, userId, properties.getUser(), now).tryAcquire(now);
+        if (wait > 0) {
+            userRejections.increment();
+            throw new TooManyRequestsException("Too many booking attempts for this user, please retry later",
+                    Duration.ofNanos(wait));
+        }
+        wait = bucket(showtimeBuckets, showtimeId, properties.getShowtime(), now).tryAcquire(now);
+        if (wait > 0) {
+            showtimeRejections.increment();
+            throw new TooManyRequestsException("Too many booking attempts for this showtime, please retry later",
+                    Duration.ofNanos(wait));
+        }
+    }
+
+    /**
+     * Drops buckets that have refilled completely. A request racing with the
+     * removal may take its token from the dropped bucket; the cost is a single
+     * extra token.
+     */
+    @Scheduled(fixedDelayString = "${popcorn-palace.booking-admission.sweep-interval:1m}")
+    public void evictIdleBuckets() {
+        long now = clock.getAsLong();
+        userBuckets.values().removeIf(bucket -> bucket.isFull(now));
+        showtimeBuckets.values().removeIf(bucket -> bucket.isFull(now));
+    }
+
+    private static <K> TokenBucket bucket(Map<K, TokenBucket> buckets, K key, RateLimit limit, long now) {
+        return buckets.computeIfAbsent(key, k -> new TokenBucket(limit.getCapacity(), limit.getRefillPerSecond(), now));
+    }
+}
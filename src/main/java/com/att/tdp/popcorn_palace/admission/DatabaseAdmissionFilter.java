@@ -0,0 +1,90 @@
+package com.att.tdp.popcorn_palace.admission;
+
+import java.io.IOException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.att.tdp.popcorn_palace.config.DbAdmissionProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Semaphore in front of the API so that at most
+ * {@code popcorn-palace.db-admission.max-concurrent} requests use the database
+ * at the same time. With virtual threads there is no request thread pool to
+ * bound concurrency any more; without this gate every request would park on
+ * the Hikari pool until its connection timeout.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+@ConditionalOnProperty(prefix = "popcorn-palace.db-admission", name = "enabled", havingValue = "true")
+public class DatabaseAdmissionFilter extends OncePerRequestFilter {
+
+    private final Semaphore permits;
+    private final DbAdmissionProperties properties;
+    private final ObjectMapper objectMapper;
+    private final Counter rejections;
+
+    public DatabaseAdmissionFilter(DbAdmissionProperties properties, ObjectMapper objectMapper,
+            MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.permits = new Semaphore(properties.getMaxConcurrent(), true);
+        this.rejections = Counter.builder("popcorn.db.admission.rejected")
+                .description("Requests rejected because the database admission queue was full")
+                .register(meterRegistry);
+        Gauge.builder("popcorn.db.admission.active", permits,
+                p -> properties.getMaxConcurrent() - p.availablePermits())
+                .description("Requests currently admitted to the database")
+                .register(meterRegistry);
+        Gauge.builder("popcorn.db.admission.waiting", permits, Semaphore::getQueueLength)
+                .description("Requests waiting for database admission")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        // Booking requests only touch the database on the queue's workers
+        return path.startsWith("/actuator") || path.startsWith("/swagger-ui") || path.startsWith("/api-docs")
+                || path.startsWith("/bookings/requests");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        boolean admitted;
+        try {
+            admitted = permits.tryAcquire(properties.getMaxWait().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            admitted = false;
+        }
+        if (!admitted) {
+            rejections.increment();
+            Rejections.serviceUnavailable(response, objectMapper, "The service is at capacity, please retry shortly");
+            return;
+        }
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            permits.release();
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.att.tdp.popcorn_palace.admission;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+
+import jakarta.servlet.http.HttpServletResponse;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+
+import com.att.tdp.popcorn_palace.exception.ErrorResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Writes the response for requests shed by a filter, before they reach a
+ * controller and with it the exception handler.
+ */
+public final class Rejections {
+
+    private Rejections() {
+    }
+
+    public static void serviceUnavailable(HttpServletResponse response, ObjectMapper objectMapper, String message)
+            throws IOException {
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), new ErrorResponse(
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                message,
+                LocalDateTime.now()));
+    }
+}
@@ -0,0 +1,322 @@
+package com.att.tdp.popcorn_palace.async;
+
+import java.net.Inet6Address;
+import java.net.InetAddress;
+import java.net.URI;
+import java.net.UnknownHostException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.att.tdp.popcorn_palace.bulkhead.Workload;
+import com.att.tdp.popcorn_palace.bulkhead.WorkloadContext;
+import com.att.tdp.popcorn_palace.cluster.SeatLocks;
+import com.att.tdp.popcorn_palace.config.AsyncBookingProperties;
+import com.att.tdp.popcorn_palace.config.BulkheadProperties;
+import com.att.tdp.popcorn_palace.dto.BookingDTO;
+import com.att.tdp.popcorn_palace.dto.BookingRequestStatusDTO;
+import com.att.tdp.popcorn_palace.exception.ApiException;
+import com.att.tdp.popcorn_palace.exception.ConflictException;
+import com.att.tdp.popcorn_palace.exception.ErrorResponse;
+import com.att.tdp.popcorn_palace.exception.InvalidRequestException;
+import com.att.tdp.popcorn_palace.exception.ResourceNotFoundException;
+import com.att.tdp.popcorn_palace.exception.ServiceUnavailableException;
+import com.att.tdp.popcorn_palace.hotspots.HotspotTracker;
+import com.att.tdp.popcorn_palace.service.BookingService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Bookings submitted for later processing. Submission only queues the
+ * request, so the HTTP thread is released at once and holds no connection; a
+ * fixed set of workers books queued requests through the same seat lock and
+ * transaction as a synchronous booking, so the database sees at most as many
+ * booking transactions as there are workers, however many clients submit.
+ *
+ * <p>Outcomes are kept in memory for {@code result-ttl} after completion and
+ * optionally posted to a callback URL, which may not point into the internal
+ * network unless its host is allowed explicitly. Requests live on the node
+ * owning their showtime, whose id leads the request id so that polls can be
+ * routed there; requests still queued when a node stops are lost with it.
+ */
+@Component
+public class BookingQueue implements DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(BookingQueue.class);
+
+    private static final long SHUTDOWN_GRACE_SECONDS = 30;
+
+    private final Map<String, BookingRequestStatusDTO> requests = new ConcurrentHashMap<>();
+    private final Map<BookingRequestState, Counter> completed = new EnumMap<>(BookingRequestState.class);
+
+    private final AsyncBookingProperties properties;
+    private final BookingService bookingService;
+    private final SeatLocks seatLocks;
+    private final HotspotTracker hotspotTracker;
+    private final ObjectMapper objectMapper;
+    private final ThreadPoolExecutor workers;
+    private final HttpClient httpClient;
+    private final LongSupplier clock;
+    private final Counter rejected;
+    private final Counter callbackFailures;
+
+    @Autowired
+    public BookingQueue(AsyncBookingProperties properties, BulkheadProperties bulkheadProperties,
+            BookingService bookingService, SeatLocks seatLocks, HotspotTracker hotspotTracker,
+            ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this(properties, bulkheadProperties, bookingService, seatLocks, hotspotTracker, objectMapper, meterRegistry,
+                System::currentTimeMillis);
+    }
+
+    BookingQueue(AsyncBookingProperties properties, BulkheadProperties bulkheadProperties,
+            BookingService bookingService, SeatLocks seatLocks, HotspotTracker hotspotTracker,
+            ObjectMapper objectMapper, MeterRegistry meterRegistry, LongSupplier clock) {
+        this.properties = properties;
+        this.bookingService = bookingService;
+        this.seatLocks = seatLocks;
+        this.hotspotTracker = hotspotTracker;
+        this.objectMapper = objectMapper;
+        this.clock = clock;
+        // One booking transaction per worker, so by default as many workers as booking connections
+        int size = properties.getWorkers() != null ? properties.getWorkers()
+                : bulkheadProperties.getBooking().getPoolSize();
+        this.workers = new ThreadPoolExecutor(size, size, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(properties.getQueueCapacity()),
+                Thread.ofPlatform().name("booking-worker-", 1).daemon().factory());
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(properties.getCallbackTimeout())
+                .build();
+
+        this.rejected = Counter.builder("popcorn.booking.async.rejected")
+                .description("Booking requests refused because the queue was full")
+                .register(meterRegistry);
+        this.callbackFailures = Counter.builder("popcorn.booking.async.callback.failures")
+                .description("Booking request callbacks that could not be delivered")
+                .register(meterRegistry);
+        for (BookingRequestState state : BookingRequestState.values()) {
+            if (state != BookingRequestState.PENDING) {
+                completed.put(state, Counter.builder("popcorn.booking.async.completed")
+                        .description("Booking requests processed, by outcome")
+                        .tag("state", state.name().toLowerCase())
+                        .register(meterRegistry));
+            }
+        }
+        Gauge.builder("popcorn.booking.async.queued", this, BookingQueue::getQueueDepth)
+                .description("Booking requests waiting for a worker")
+                .register(meterRegistry);
+        Gauge.builder("popcorn.booking.async.active", workers, ThreadPoolExecutor::getActiveCount)
+                .description("Booking requests being processed")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Queues a booking that already passed validation and admission.
+     *
+     * @param callbackUrl where the outcome is posted once known, or {@code null}
+     * @throws ServiceUnavailableException when the queue is full
+     */
+    public BookingRequestStatusDTO submit(BookingDTO booking, URI callbackUrl) {
+        if (callbackUrl != null && !(callbackUrl.isAbsolute()
+                && ("http".equalsIgnoreCase(callbackUrl.getScheme())
+                        || "https".equalsIgnoreCase(callbackUrl.getScheme()))
+                && callbackUrl.getHost() != null)) {
+            throw new InvalidRequestException("callbackUrl must be an absolute http or https URL");
+        }
+        if (callbackUrl != null && !isAllowedCallback(callbackUrl)) {
+            throw new InvalidRequestException("callbackUrl must point to an allowed, publicly reachable host");
+        }
+
+        String requestId = booking.getShowtimeId() + "-" + UUID.randomUUID();
+        BookingRequestStatusDTO pending = BookingRequestStatusDTO.builder()
+                .requestId(requestId)
+                .state(BookingRequestState.PENDING)
+                .showtimeId(booking.getShowtimeId())
+                .seatNumber(booking.getSeatNumber())
+                .userId(booking.getUserId())
+                .submittedAt(now())
+                .build();
+        requests.put(requestId, pending);
+        try {
+            workers.execute(() -> process(pending, booking, callbackUrl));
+        } catch (RejectedExecutionException e) {
+            requests.remove(requestId);
+            rejected.increment();
+            throw new ServiceUnavailableException("The booking queue is full, please retry shortly",
+                    properties.getRetryAfter());
+        }
+        return pending;
+    }
+
+    public BookingRequestStatusDTO getStatus(String requestId) {
+        BookingRequestStatusDTO status = requests.get(requestId);
+        if (status == null) {
+            throw new ResourceNotFoundException("Booking request", "id", requestId);
+        }
+        return status;
+    }
+
+    public int getQueueDepth() {
+        return workers.getQueue().size();
+    }
+
+    /**
+     * Forgets outcomes older than {@code result-ttl}; pending requests are kept.
+     */
+    @Scheduled(fixedDelayString = "${popcorn-palace.async-booking.sweep-interval:1m}")
+    public void evictCompleted() {
+        LocalDateTime cutoff = now().minus(properties.getResultTtl());
+        requests.values().removeIf(status -> status.getCompletedAt() != null && status.getCompletedAt().isBefore(cutoff));
+    }
+
+    private void process(BookingRequestStatusDTO pending, BookingDTO booking, URI callbackUrl) {
+        BookingRequestStatusDTO outcome;
+        // Workers are not request threads, so the booking pool has to be chosen here
+        WorkloadContext.set(Workload.BOOKING);
+        try {
+            UUID bookingId = seatLocks.withSeat(booking.getShowtimeId(), booking.getSeatNumber(),
+                    () -> bookingService.bookTicket(booking));
+            outcome = complete(pending, BookingRequestState.CONFIRMED, bookingId, null);
+        } catch (ConflictException | DataIntegrityViolationException e) {
+            hotspotTracker.recordConflict(booking.getShowtimeId(), booking.getUserId());
+            String message = e instanceof ConflictException ? e.getMessage()
+                    : "The request conflicts with the current state of the resource";
+            outcome = complete(pending, BookingRequestState.REJECTED, null, HttpStatus.CONFLICT, message);
+        } catch (ApiException e) {
+            outcome = complete(pending, BookingRequestState.REJECTED, null, e.getStatus(), e.getMessage());
+        } catch (RuntimeException e) {
+            logger.error("Booking request {} failed", pending.getRequestId(), e);
+            outcome = complete(pending, BookingRequestState.FAILED, null, HttpStatus.INTERNAL_SERVER_ERROR,
+                    "An unexpected error occurred. Please try again later.");
+        } finally {
+            WorkloadContext.clear();
+        }
+        requests.put(outcome.getRequestId(), outcome);
+        completed.get(outcome.getState()).increment();
+        if (callbackUrl != null) {
+            notify(callbackUrl, outcome);
+        }
+    }
+
+    private BookingRequestStatusDTO complete(BookingRequestStatusDTO pending, BookingRequestState state,
+            UUID bookingId, HttpStatus status, String message) {
+        return complete(pending, state, bookingId, new ErrorResponse(status.value(), message, now()));
+    }
+
+    private BookingRequestStatusDTO complete(BookingRequestStatusDTO pending, BookingRequestState state,
+            UUID bookingId, ErrorResponse error) {
+        return BookingRequestStatusDTO.builder()
+                .requestId(pending.getRequestId())
+                .state(state)
+                .showtimeId(pending.getShowtimeId())
+                .seatNumber(pending.getSeatNumber())
+                .userId(pending.getUserId())
+                .bookingId(bookingId)
+                .error(error)
+                .submittedAt(pending.getSubmittedAt())
+                .completedAt(now())
+                .build();
+    }
+
+    /**
+     * Whether the callback host is listed, or, without a list, resolves only to
+     * public addresses, so a client cannot make this node post to services on
+     * its internal network.
+     */
+    private boolean isAllowedCallback(URI callbackUrl) {
+        String host = callbackUrl.getHost();
+        if (!properties.getCallbackHosts().isEmpty()) {
+            return properties.getCallbackHosts().stream().anyMatch(host::equalsIgnoreCase);
+        }
+        try {
+            for (InetAddress address : InetAddress.getAllByName(host)) {
+                if (isInternal(address)) {
+                    return false;
+                }
+            }
+            return true;
+        } catch (UnknownHostException e) {
+            return false;
+        }
+    }
+
+    private static boolean isInternal(InetAddress address) {
+        return address.isLoopbackAddress() || address.isLinkLocalAddress() || address.isSiteLocalAddress()
+                || address.isAnyLocalAddress() || address.isMulticastAddress()
+                // IPv6 unique local addresses, fc00::/7, which isSiteLocalAddress does not cover
+                || address instanceof Inet6Address && (address.getAddress()[0] & 0xfe) == 0xfc;
+    }
+
+    // Delivered once, without retries; the outcome can still be polled
+    private void notify(URI callbackUrl, BookingRequestStatusDTO outcome) {
+        // Checked again, as the host may resolve differently by the time the booking is done
+        if (!isAllowedCallback(callbackUrl)) {
+            callbackFailures.increment();
+            logger.debug("Callback for booking request {} to {} skipped: the host is no longer allowed",
+                    outcome.getRequestId(), callbackUrl);
+            return;
+        }
+        byte[] body;
+        try {
+            body = objectMapper.writeValueAsBytes(outcome);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize booking request " + outcome.getRequestId(), e);
+        }
+        HttpRequest request = HttpRequest.newBuilder(callbackUrl)
+                .timeout(properties.getCallbackTimeout())
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body))
+                .build();
+        httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding()).whenComplete((response, error) -> {
+            if (error != null || response.statusCode() >= 300) {
+                callbackFailures.increment();
+                logger.debug("Callback for booking request {} to {} failed: {}", outcome.getRequestId(), callbackUrl,
+                        error != null ? error.toString() : "status " + response.statusCode());
+            }
+        });
+    }
+
+    private LocalDateTime now() {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(clock.getAsLong()), ZoneId.systemDefault());
+    }
+
+    /**
+     * Books what is already queued before the connection pools close, within
+     * a grace period.
+     */
+    @Override
+    public void destroy() throws InterruptedException {
+        workers.shutdown();
+        if (!workers.awaitTermination(SHUTDOWN_GRACE_SECONDS, TimeUnit.SECONDS)) {
+            int dropped = workers.shutdownNow().size();
+            logger.warn("Stopped with {} booking requests still queued", dropped);
+        }
+        httpClient.close();
+    }
+}
@@ -0,0 +1,12 @@
+package com.att.tdp.popcorn_palace.async;
+
+public enum BookingRequestState {
+    /** Queued or being booked. */
+    PENDING,
+    /** Booked; the request carries the booking id. */
+    CONFIRMED,
+    /** Refused for what it asked, e.g. a taken seat or an unknown showtime. */
+    REJECTED,
+    /** Could not be processed; the same request may succeed if submitted again. */
+    FAILED
+}
@@ -0,0 +1,262 @@
+package com.att.tdp.popcorn_palace.availability;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.att.tdp.popcorn_palace.cache.CatalogChangedEvent;
+import com.att.tdp.popcorn_palace.config.AvailabilityProperties;
+import com.att.tdp.popcorn_palace.config.TheaterProperties;
+import com.att.tdp.popcorn_palace.dto.AvailabilityOptionDTO;
+import com.att.tdp.popcorn_palace.exception.InvalidRequestException;
+import com.att.tdp.popcorn_palace.model.Showtime;
+import com.att.tdp.popcorn_palace.repository.BookingRepository;
+import com.att.tdp.popcorn_palace.repository.ShowtimeRepository;
+import com.att.tdp.popcorn_palace.repository.ShowtimeSeat;
+import com.att.tdp.popcorn_palace.routing.ReadYourWrites;
+import com.att.tdp.popcorn_palace.seats.SeatStateChangedEvent;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Answers "where can I see this movie, with this many seats" from memory. The
+ * showtimes starting within the horizon are loaded with all their claimed
+ * seats in two range queries, then kept current from committed seat changes,
+ * so a search reads no database at all: it walks the movie's showtimes in
+ * start order and checks each one's free seat count or longest free run
+ * before picking seats.
+ *
+ * <p>Catalog changes mark the index stale and the next search reloads it.
+ * Seat changes committed while it loads are journaled and replayed onto the
+ * new index; setting a seat is idempotent, so replaying one the load already
+ * saw does no harm. On a cluster, bookings of showtimes owned by other nodes
+ * are only seen by the periodic refresh.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class AvailabilityIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(AvailabilityIndex.class);
+
+    // Earliest first, then cheapest, so the walk order is the ranking
+    private static final Comparator<ShowtimeSeats> RANKING = Comparator.comparing(ShowtimeSeats::getStartTime)
+            .thenComparing(ShowtimeSeats::getPrice)
+            .thenComparing(ShowtimeSeats::getShowtimeId);
+
+    private record Snapshot(Map<Long, ShowtimeSeats> byShowtime, Map<Long, List<ShowtimeSeats>> byMovie) {
+    }
+
+    private final ShowtimeRepository showtimeRepository;
+    private final BookingRepository bookingRepository;
+    private final TheaterProperties theaterProperties;
+    private final AvailabilityProperties properties;
+    private final Timer loads;
+
+    private final Object loadLock = new Object();
+    private final Object journalLock = new Object();
+    private volatile Snapshot snapshot;
+    private volatile boolean stale = true;
+    // Seat changes seen while a load is running; guarded by journalLock
+    private List<SeatStateChangedEvent> journal;
+
+    public AvailabilityIndex(ShowtimeRepository showtimeRepository, BookingRepository bookingRepository,
+            TheaterProperties theaterProperties, AvailabilityProperties properties, MeterRegistry meterRegistry) {
+        this.showtimeRepository = showtimeRepository;
+        this.bookingRepository = bookingRepository;
+        this.theaterProperties = theaterProperties;
+        this.properties = properties;
+        this.loads = Timer.builder("popcorn.availability.loads")
+                .description("Time to load the availability index from the database")
+                .register(meterRegistry);
+        Gauge.builder("popcorn.availability.showtimes", this,
+                        index -> index.snapshot == null ? 0 : index.snapshot.byShowtime().size())
+                .description("Showtimes in the availability index")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @param from earliest start; defaults to now
+     * @param to latest start, exclusive; defaults to the default window after {@code from}, and is cut off at
+     *            the horizon
+     */
+    public List<AvailabilityOptionDTO> search(Long movieId, LocalDateTime from, LocalDateTime to, int seats,
+            boolean contiguous, Integer limit) {
+        if (seats < 1) {
+            throw new InvalidRequestException("Seats must be at least 1");
+        }
+        int max = limit != null ? limit : properties.getDefaultLimit();
+        if (max < 1 || max > properties.getMaxLimit()) {
+            throw new InvalidRequestException("Limit must be between 1 and " + properties.getMaxLimit());
+        }
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime start = from == null || from.isBefore(now) ? now : from;
+        LocalDateTime end = to != null ? to : start.plus(properties.getDefaultWindow());
+        if (!end.isAfter(start)) {
+            throw new InvalidRequestException("The end of the search must be after its start and in the future");
+        }
+
+        Snapshot current = current();
+        List<ShowtimeSeats> showtimes = current.byMovie().getOrDefault(movieId, List.of());
+        List<AvailabilityOptionDTO> options = new ArrayList<>();
+        for (int i = firstStartingAt(showtimes, start); i < showtimes.size() && options.size() < max; i++) {
+            ShowtimeSeats showtime = showtimes.get(i);
+            if (!showtime.getStartTime().isBefore(end)) {
+                break;
+            }
+            if (!showtime.canSeat(seats, contiguous)) {
+                continue;
+            }
+            List<Integer> picked = showtime.pick(seats, contiguous);
+            if (picked != null) {
+                options.add(AvailabilityOptionDTO.builder()
+                        .showtimeId(showtime.getShowtimeId())
+                        .theater(showtime.getTheater())
+                        .startTime(showtime.getStartTime())
+                        .endTime(showtime.getEndTime())
+                        .price(showtime.getPrice())
+                        .remainingSeats(showtime.getFree())
+                        .longestBlock(showtime.getLongestRun())
+                        .seats(picked)
+                        .build());
+            }
+        }
+        return options;
+    }
+
+    private static int firstStartingAt(List<ShowtimeSeats> showtimes, LocalDateTime start) {
+        int low = 0;
+        int high = showtimes.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (showtimes.get(mid).getStartTime().isBefore(start)) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private Snapshot current() {
+        Snapshot current = snapshot;
+        if (current != null && !stale) {
+            return current;
+        }
+        synchronized (loadLock) {
+            if (snapshot == null || stale) {
+                load();
+            }
+            return snapshot;
+        }
+    }
+
+    private void load() {
+        // Cleared before reading, so a catalog change committed during the read marks the result stale again
+        stale = false;
+        synchronized (journalLock) {
+            journal = new ArrayList<>();
+        }
+        Snapshot loaded;
+        try {
+            loaded = loads.record(this::read);
+        } catch (RuntimeException e) {
+            synchronized (journalLock) {
+                journal = null;
+            }
+            stale = true;
+            throw e;
+        }
+        synchronized (journalLock) {
+            for (SeatStateChangedEvent event : journal) {
+                apply(loaded, event);
+            }
+            journal = null;
+            snapshot = loaded;
+        }
+        logger.debug("Availability index loaded with {} showtimes", loaded.byShowtime().size());
+    }
+
+    private Snapshot read() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime until = now.plus(properties.getHorizon());
+        // Read committed state from the primary; a lagging replica could miss a claim
+        boolean primaryRequired = ReadYourWrites.isPrimaryRequired();
+        ReadYourWrites.requirePrimary();
+        try {
+            Map<Long, ShowtimeSeats> byShowtime = new HashMap<>();
+            for (Showtime showtime : showtimeRepository.findStartingBetween(now, until)) {
+                byShowtime.put(showtime.getId(),
+                        new ShowtimeSeats(showtime, theaterProperties.capacityOf(showtime.getTheater())));
+            }
+            for (ShowtimeSeat seat : bookingRepository.findSeatsByShowtimeStartBetween(now, until)) {
+                ShowtimeSeats showtime = byShowtime.get(seat.getShowtimeId());
+                if (showtime != null) {
+                    showtime.set(seat.getSeatNumber(), true);
+                }
+            }
+            Map<Long, List<ShowtimeSeats>> byMovie = new HashMap<>();
+            byShowtime.values().forEach(showtime ->
+                    byMovie.computeIfAbsent(showtime.getMovieId(), id -> new ArrayList<>()).add(showtime));
+            byMovie.values().forEach(showtimes -> showtimes.sort(RANKING));
+            return new Snapshot(byShowtime, byMovie);
+        } finally {
+            if (!primaryRequired) {
+                ReadYourWrites.clear();
+            }
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onSeatStateChanged(SeatStateChangedEvent event) {
+        Snapshot current;
+        synchronized (journalLock) {
+            if (journal != null) {
+                journal.add(event);
+            }
+            current = snapshot;
+        }
+        if (current != null) {
+            apply(current, event);
+        }
+    }
+
+    private static void apply(Snapshot snapshot, SeatStateChangedEvent event) {
+        ShowtimeSeats showtime = snapshot.byShowtime().get(event.showtimeId());
+        if (showtime != null) {
+            showtime.set(event.seatNumber(), event.claimed());
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        stale = true;
+    }
+
+    /**
+     * Reloads an index that has been searched, moving the horizon forward and
+     * picking up seats booked through other nodes. An index nobody searched
+     * is left unloaded.
+     */
+    @Scheduled(fixedDelayString = "${popcorn-palace.availability.refresh-interval:1m}")
+    public void refresh() {
+        if (snapshot == null) {
+            return;
+        }
+        synchronized (loadLock) {
+            load();
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.att.tdp.popcorn_palace.availability;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+import com.att.tdp.popcorn_palace.model.Showtime;
+
+/**
+ * Seats of one indexed showtime: a bit per claimed seat, numbered from 1 like
+ * bookings, plus the free seat count and the longest run of adjacent free
+ * seats. Both are kept current on every change so that a search can skip
+ * showtimes that cannot seat the party without taking the lock.
+ */
+final class ShowtimeSeats {
+
+    private final Long showtimeId;
+    private final Long movieId;
+    private final String theater;
+    private final LocalDateTime startTime;
+    private final LocalDateTime endTime;
+    private final Double price;
+    private final int capacity;
+
+    private final BitSet claimed = new BitSet();
+    private volatile int free;
+    private volatile int longestRun;
+
+    ShowtimeSeats(Showtime showtime, int capacity) {
+        this.showtimeId = showtime.getId();
+        this.movieId = showtime.getMovieId();
+        this.theater = showtime.getTheater();
+        this.startTime = showtime.getStartTime();
+        this.endTime = showtime.getEndTime();
+        this.price = showtime.getPrice();
+        this.capacity = capacity;
+        this.free = capacity;
+        this.longestRun = capacity;
+    }
+
+    Long getShowtimeId() {
+        return showtimeId;
+    }
+
+    Long getMovieId() {
+        return movieId;
+    }
+
+    String getTheater() {
+        return theater;
+    }
+
+    LocalDateTime getStartTime() {
+        return startTime;
+    }
+
+    LocalDateTime getEndTime() {
+        return endTime;
+    }
+
+    Double getPrice() {
+        return price;
+    }
+
+    int getFree() {
+        return free;
+    }
+
+    int getLongestRun() {
+        return longestRun;
+    }
+
+    // Seats outside the theater's capacity do not count; claiming a claimed seat changes nothing
+    synchronized void set(int seat, boolean claim) {
+        if (seat < 1 || seat > capacity || claimed.get(seat) == claim) {
+            return;
+        }
+        claimed.set(seat, claim);
+        free += claim ? -1 : 1;
+        longestRun = computeLongestRun();
+    }
+
+    boolean canSeat(int seats, boolean contiguous) {
+        return (contiguous ? longestRun : free) >= seats;
+    }
+
+    /**
+     * Picks seats for a party: the first free ones, or the start of the
+     * shortest run of adjacent free seats that holds the whole party, which
+     * leaves longer runs to larger parties.
+     *
+     * @return the seat numbers, or {@code null} if the party no longer fits
+     */
+    synchronized List<Integer> pick(int seats, boolean contiguous) {
+        if (!canSeat(seats, contiguous)) {
+            return null;
+        }
+        int from = 1;
+        if (contiguous) {
+            int best = Integer.MAX_VALUE;
+            for (int start = claimed.nextClearBit(1); start <= capacity; ) {
+                int end = runEnd(start);
+                int run = end - start;
+                if (run >= seats && run < best) {
+                    best = run;
+                    from = start;
+                }
+                start = claimed.nextClearBit(end);
+            }
+        }
+        List<Integer> picked = new ArrayList<>(seats);
+        for (int seat = claimed.nextClearBit(from); picked.size() < seats; seat = claimed.nextClearBit(seat + 1)) {
+            picked.add(seat);
+        }
+        return picked;
+    }
+
+    private int computeLongestRun() {
+        int longest = 0;
+        for (int start = claimed.nextClearBit(1); start <= capacity; ) {
+            int end = runEnd(start);
+            longest = Math.max(longest, end - start);
+            start = claimed.nextClearBit(end);
+        }
+        return longest;
+    }
+
+    // The seat after the run of free seats beginning at start
+    private int runEnd(int start) {
+        int next = claimed.nextSetBit(start);
+        return next < 0 || next > capacity ? capacity + 1 : next;
+    }
+}
@@ -0,0 +1,22 @@
+package com.att.tdp.popcorn_palace.bulkhead;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Assigns an endpoint to a workload class. {@link BulkheadInterceptor} admits
+ * the request into that class's bulkhead and its database work runs on the
+ * class's connection pool. Endpoints without it, such as catalog maintenance
+ * and the long-lived seat map streams, use the shared pool of
+ * {@code spring.datasource} without a request limit.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface Bulkhead {
+
+    Workload value();
+}
@@ -0,0 +1,59 @@
+package com.att.tdp.popcorn_palace.bulkhead;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Wires the bulkheads into the request path and the data source. The
+ * application's data source is wrapped in a {@link WorkloadRoutingDataSource};
+ * with read replicas configured only the primary side is wrapped, so
+ * read-only transactions keep going to the replicas.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "popcorn-palace.bulkheads", name = "enabled", havingValue = "true",
+        matchIfMissing = true)
+public class BulkheadConfiguration {
+
+    @Bean
+    static BeanPostProcessor workloadRoutingDataSourcePostProcessor(ObjectProvider<BulkheadRegistry> registry) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!"dataSource".equals(beanName) || !(bean instanceof DataSource dataSource)) {
+                    return bean;
+                }
+                if (bean instanceof LazyConnectionDataSourceProxy replicaRouting) {
+                    replicaRouting.setTargetDataSource(new WorkloadRoutingDataSource(
+                            replicaRouting.getTargetDataSource(), registry.getObject().getPools()));
+                    return bean;
+                }
+                return new WorkloadRoutingDataSource(dataSource, registry.getObject().getPools());
+            }
+        };
+    }
+
+    @Configuration
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    static class BulkheadWebConfiguration implements WebMvcConfigurer {
+
+        private final BulkheadRegistry registry;
+
+        BulkheadWebConfiguration(BulkheadRegistry registry) {
+            this.registry = registry;
+        }
+
+        @Override
+        public void addInterceptors(InterceptorRegistry interceptors) {
+            interceptors.addInterceptor(new BulkheadInterceptor(registry));
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.att.tdp.popcorn_palace.bulkhead;
+
+import java.time.Duration;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import com.att.tdp.popcorn_palace.exception.ServiceUnavailableException;
+
+/**
+ * Admits requests to {@link Bulkhead} endpoints into their workload's
+ * bulkhead and marks the thread, so the request's database work runs on the
+ * workload's pool. A full bulkhead answers {@code 503} through the exception
+ * handler before the controller runs.
+ */
+public class BulkheadInterceptor implements HandlerInterceptor {
+
+    private static final String ADMITTED_ATTRIBUTE = BulkheadInterceptor.class.getName() + ".admitted";
+    private static final Duration RETRY_AFTER = Duration.ofSeconds(1);
+
+    private final BulkheadRegistry registry;
+
+    public BulkheadInterceptor(BulkheadRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!(handler instanceof HandlerMethod method) || !method.hasMethodAnnotation(Bulkhead.class)) {
+            return true;
+        }
+        Workload workload = method.getMethodAnnotation(Bulkhead.class).value();
+        if (!registry.tryAcquire(workload)) {
+            throw new ServiceUnavailableException("The service is at capacity for this kind of request, "
+                    + "please retry shortly", RETRY_AFTER);
+        }
+        request.setAttribute(ADMITTED_ATTRIBUTE, workload);
+        WorkloadContext.set(workload);
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+            Exception ex) {
+        if (request.getAttribute(ADMITTED_ATTRIBUTE) instanceof Workload workload) {
+            request.removeAttribute(ADMITTED_ATTRIBUTE);
+            WorkloadContext.clear();
+            registry.release(workload);
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.att.tdp.popcorn_palace.bulkhead;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.stereotype.Component;
+
+import com.att.tdp.popcorn_palace.config.BulkheadProperties;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * The bulkheads: per workload class a fair semaphore bounding the requests
+ * in progress and a Hikari pool to the primary. Pool meters are published by
+ * Hikari as {@code hikaricp.connections.*} with the pool name
+ * {@code bulkhead-<workload>}.
+ */
+@Component
+@ConditionalOnProperty(prefix = "popcorn-palace.bulkheads", name = "enabled", havingValue = "true",
+        matchIfMissing = true)
+public class BulkheadRegistry implements DisposableBean {
+
+    private final BulkheadProperties properties;
+    private final Map<Workload, Semaphore> permits = new EnumMap<>(Workload.class);
+    private final Map<Workload, HikariDataSource> pools = new EnumMap<>(Workload.class);
+    private final Map<Workload, Counter> rejections = new EnumMap<>(Workload.class);
+
+    public BulkheadRegistry(BulkheadProperties properties, DataSourceProperties dataSourceProperties,
+            MeterRegistry meterRegistry) {
+        this.properties = properties;
+        for (Workload workload : Workload.values()) {
+            BulkheadProperties.Settings settings = properties.settings(workload);
+            Semaphore semaphore = new Semaphore(settings.getMaxConcurrent(), true);
+            permits.put(workload, semaphore);
+            pools.put(workload, pool(workload, settings, dataSourceProperties, meterRegistry));
+            rejections.put(workload, Counter.builder("popcorn.bulkhead.rejected")
+                    .description("Requests rejected because their bulkhead was full")
+                    .tag("workload", workload.tagValue())
+                    .register(meterRegistry));
+            Gauge.builder("popcorn.bulkhead.active", semaphore,
+                    s -> settings.getMaxConcurrent() - s.availablePermits())
+                    .description("Requests in progress in the bulkhead")
+                    .tag("workload", workload.tagValue())
+                    .register(meterRegistry);
+            Gauge.builder("popcorn.bulkhead.waiting", semaphore, Semaphore::getQueueLength)
+                    .description("Requests waiting to enter the bulkhead")
+                    .tag("workload", workload.tagValue())
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * Enters the workload's bulkhead, waiting up to its {@code max-wait} for a
+     * slot unless {@code max-waiting} requests are already queued.
+     *
+     * @return whether the request was admitted; if so, {@link #release} must follow
+     */
+    public boolean tryAcquire(Workload workload) {
+        BulkheadProperties.Settings settings = properties.settings(workload);
+        Semaphore semaphore = permits.get(workload);
+        boolean admitted;
+        if (semaphore.tryAcquire()) {
+            admitted = true;
+        } else if (semaphore.getQueueLength() >= settings.getMaxWaiting()) {
+            admitted = false;
+        } else {
+            try {
+                admitted = semaphore.tryAcquire(settings.getMaxWait().toNanos(), TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                admitted = false;
+            }
+        }
+        if (!admitted) {
+            rejections.get(workload).increment();
+        }
+        return admitted;
+    }
+
+    public void release(Workload workload) {
+        permits.get(workload).release();
+    }
+
+    public Map<Workload, HikariDataSource> getPools() {
+        return pools;
+    }
+
+    @Override
+    public void destroy() {
+        pools.values().forEach(HikariDataSource::close);
+    }
+
+    private static HikariDataSource pool(Workload workload, BulkheadProperties.Settings settings,
+            DataSourceProperties dataSourceProperties, MeterRegistry meterRegistry) {
+        HikariDataSource dataSource = dataSourceProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        dataSource.setPoolName("bulkhead-" + workload.tagValue());
+        dataSource.setMaximumPoolSize(settings.getPoolSize());
+        dataSource.setConnectionTimeout(settings.getConnectionTimeout().toMillis());
+        dataSource.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+        return dataSource;
+    }
+}
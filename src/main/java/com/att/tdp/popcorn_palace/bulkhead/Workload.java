@@ -0,0 +1,18 @@
+package com.att.tdp.popcorn_palace.bulkhead;
+
+/**
+ * Workload classes that are isolated from each other by their own request
+ * limit and connection pool.
+ */
+public enum Workload {
+    /** Booking and cancelling tickets; the revenue-critical path. */
+    BOOKING,
+    /** Lookups of single entities and small result sets. */
+    READ,
+    /** Full-table listings and bulk maintenance, whose cost grows with the data. */
+    EXPORT;
+
+    public String tagValue() {
+        return name().toLowerCase();
+    }
+}
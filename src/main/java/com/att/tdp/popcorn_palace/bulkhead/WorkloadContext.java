@@ -0,0 +1,25 @@
+package com.att.tdp.popcorn_palace.bulkhead;
+
+/**
+ * The workload class of the current thread's request, which decides the
+ * connection pool its database work uses.
+ */
+public final class WorkloadContext {
+
+    private static final ThreadLocal<Workload> CURRENT = new ThreadLocal<>();
+
+    private WorkloadContext() {
+    }
+
+    public static void set(Workload workload) {
+        CURRENT.set(workload);
+    }
+
+    public static Workload current() {
+        return CURRENT.get();
+    }
+
+    public static void clear() {
+        CURRENT.remove();
+    }
+}
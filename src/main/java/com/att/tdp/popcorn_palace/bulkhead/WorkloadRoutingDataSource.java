@@ -0,0 +1,59 @@
+package com.att.tdp.popcorn_palace.bulkhead;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+/**
+ * Hands out connections from the pool of the current {@link WorkloadContext};
+ * work outside any workload, such as migrations, the outbox relay and
+ * unclassified endpoints, keeps using the original data source.
+ */
+public class WorkloadRoutingDataSource extends AbstractRoutingDataSource implements Closeable {
+
+    private final DataSource shared;
+    private final Map<Workload, ? extends DataSource> pools;
+
+    public WorkloadRoutingDataSource(DataSource shared, Map<Workload, ? extends DataSource> pools) {
+        this.shared = shared;
+        this.pools = pools;
+        setTargetDataSources(new HashMap<>(pools));
+        setDefaultTargetDataSource(shared);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return WorkloadContext.current();
+    }
+
+    public DataSource pool(Workload workload) {
+        return pools.get(workload);
+    }
+
+    public DataSource getShared() {
+        return shared;
+    }
+
+    /**
+     * Closes the shared data source; the workload pools belong to the
+     * {@link BulkheadRegistry}.
+     */
+    @Override
+    public void close() throws IOException {
+        if (shared instanceof AutoCloseable closeable) {
+            try {
+                closeable.close();
+            } catch (IOException | RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new IOException(e);
+            }
+        }
+    }
+}
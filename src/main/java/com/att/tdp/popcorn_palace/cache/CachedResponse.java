@@ -0,0 +1,42 @@
+package com.att.tdp.popcorn_palace.cache;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.util.DigestUtils;
+
+/**
+ * A response body as written to the wire, together with its precomputed gzip
+ * variant when that is smaller. The ETag is weak because both encodings share
+ * it.
+ */
+record CachedResponse(String contentType, byte[] body, byte[] gzipBody, String etag, long createdAt) {
+
+    static CachedResponse of(String contentType, byte[] body, int gzipMinSize, long now) {
+        byte[] gzipBody = null;
+        if (body.length >= gzipMinSize) {
+            byte[] compressed = gzip(body);
+            if (compressed.length < body.length) {
+                gzipBody = compressed;
+            }
+        }
+        String etag = "W/\"" + DigestUtils.md5DigestAsHex(body) + "\"";
+        return new CachedResponse(contentType, body, gzipBody, etag, now);
+    }
+
+    int size() {
+        return body.length + (gzipBody != null ? gzipBody.length : 0);
+    }
+
+    private static byte[] gzip(byte[] body) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(body.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+}
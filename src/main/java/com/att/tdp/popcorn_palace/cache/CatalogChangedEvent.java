@@ -0,0 +1,8 @@
+package com.att.tdp.popcorn_palace.cache;
+
+/**
+ * Published by the services whenever movies or showtimes change. Cached
+ * catalog responses are dropped once the change has committed.
+ */
+public record CatalogChangedEvent(String change) {
+}
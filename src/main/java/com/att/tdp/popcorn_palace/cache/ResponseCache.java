@@ -0,0 +1,124 @@
+package com.att.tdp.popcorn_palace.cache;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.att.tdp.popcorn_palace.config.ResponseCacheProperties;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Serialized catalog responses by request key. Any catalog change clears the
+ * whole cache: changes are rare compared to reads, and a full clear cannot
+ * miss an entry that a change affects indirectly.
+ *
+ * <p>Entries are kept in access order: once {@code maxEntries} is reached,
+ * expired entries are dropped first and then the least recently used one, so
+ * the hot responses stay cached. A periodic sweep frees expired entries that
+ * are never read again.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(prefix = "popcorn-palace.response-cache", name = "enabled", havingValue = "true")
+public class ResponseCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(ResponseCache.class);
+
+    // Access-ordered for LRU eviction; guarded by this
+    private final LinkedHashMap<String, CachedResponse> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final AtomicLong generation = new AtomicLong();
+    private final ResponseCacheProperties properties;
+
+    public ResponseCache(ResponseCacheProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        Gauge.builder("popcorn.response.cache.entries", this, ResponseCache::size)
+                .description("Cached catalog responses")
+                .register(meterRegistry);
+        Gauge.builder("popcorn.response.cache.bytes", this, ResponseCache::totalBytes)
+                .description("Bytes held by cached catalog responses, including gzip variants")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    synchronized CachedResponse get(String key) {
+        CachedResponse cached = entries.get(key);
+        if (cached != null && isExpired(cached, System.currentTimeMillis())) {
+            entries.remove(key);
+            return null;
+        }
+        return cached;
+    }
+
+    /**
+     * The generation to pass to {@link #put}; read it before producing the
+     * response.
+     */
+    long generation() {
+        return generation.get();
+    }
+
+    /**
+     * Stores a response unless the catalog changed since {@code generation} was
+     * read, in which case the response may already be stale.
+     */
+    void put(String key, CachedResponse response, long generation) {
+        synchronized (this) {
+            if (entries.size() >= properties.getMaxEntries() && !entries.containsKey(key)) {
+                removeExpired(System.currentTimeMillis());
+                Iterator<CachedResponse> eldest = entries.values().iterator();
+                while (entries.size() >= properties.getMaxEntries() && eldest.hasNext()) {
+                    eldest.next();
+                    eldest.remove();
+                }
+            }
+            entries.put(key, response);
+        }
+        // Checked after storing, so a clear between the check and the put cannot leave a stale entry behind
+        if (this.generation.get() != generation) {
+            synchronized (this) {
+                entries.remove(key, response);
+            }
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        generation.incrementAndGet();
+        synchronized (this) {
+            entries.clear();
+        }
+        logger.debug("Response cache cleared after {}", event.change());
+    }
+
+    @Scheduled(fixedDelayString = "${popcorn-palace.response-cache.ttl:60s}")
+    public synchronized void sweep() {
+        removeExpired(System.currentTimeMillis());
+    }
+
+    private void removeExpired(long now) {
+        entries.values().removeIf(cached -> isExpired(cached, now));
+    }
+
+    private boolean isExpired(CachedResponse cached, long now) {
+        return now - cached.createdAt() > properties.getTtl().toMillis();
+    }
+
+    private synchronized int size() {
+        return entries.size();
+    }
+
+    private synchronized long totalBytes() {
+        return entries.values().stream().mapToLong(CachedResponse::size).sum();
+    }
+}
@@ -0,0 +1,172 @@
+package com.att.tdp.popcorn_palace.cache;
+
+import java.io.IOException;
+import java.util.List;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.util.PathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import com.att.tdp.popcorn_palace.config.BinaryContentConfiguration;
+import com.att.tdp.popcorn_palace.config.ResponseCacheProperties;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Serves cached catalog responses as raw bytes, bypassing the controller,
+ * the services and Jackson. A miss runs the request normally and keeps the
+ * serialized body of a successful JSON, CBOR or Smile response for the next
+ * one. Runs ahead
+ * of the database admission filter, since a hit never touches the database.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(prefix = "popcorn-palace.response-cache", name = "enabled", havingValue = "true")
+@Order(Ordered.HIGHEST_PRECEDENCE + 5)
+public class ResponseCacheFilter extends OncePerRequestFilter {
+
+    static final String CACHE_HEADER = "X-Cache";
+
+    private static final List<MediaType> CACHEABLE_TYPES = List.of(MediaType.APPLICATION_JSON,
+            MediaType.APPLICATION_CBOR, MediaType.parseMediaType(BinaryContentConfiguration.APPLICATION_SMILE_VALUE));
+
+    private final ResponseCache cache;
+    private final ResponseCacheProperties properties;
+    private final PathMatcher pathMatcher = new AntPathMatcher();
+    private final Counter hits;
+    private final Counter misses;
+
+    public ResponseCacheFilter(ResponseCache cache, ResponseCacheProperties properties, MeterRegistry meterRegistry) {
+        this.cache = cache;
+        this.properties = properties;
+        this.hits = Counter.builder("popcorn.response.cache.requests")
+                .description("Cacheable catalog requests by outcome")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.misses = Counter.builder("popcorn.response.cache.requests")
+                .description("Cacheable catalog requests by outcome")
+                .tag("result", "miss")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!HttpMethod.GET.matches(request.getMethod())) {
+            return true;
+        }
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return properties.getPaths().stream().noneMatch(pattern -> pathMatcher.match(pattern, path));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        MediaType mediaType = negotiate(request);
+        if (mediaType == null) {
+            // Not a format the cache holds; let the controller answer or reject it
+            chain.doFilter(request, response);
+            return;
+        }
+        String key = key(request, mediaType);
+        CachedResponse cached = cache.get(key);
+        if (cached != null) {
+            hits.increment();
+            write(cached, request, response);
+            return;
+        }
+
+        misses.increment();
+        long generation = cache.generation();
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        wrapper.setHeader(CACHE_HEADER, "MISS");
+        chain.doFilter(request, wrapper);
+        if (wrapper.getStatus() == HttpServletResponse.SC_OK && isCacheable(wrapper.getContentType(), mediaType)) {
+            cache.put(key, CachedResponse.of(wrapper.getContentType(), wrapper.getContentAsByteArray(),
+                    properties.getGzipMinSize(), System.currentTimeMillis()), generation);
+        }
+        wrapper.copyBodyToResponse();
+    }
+
+    // The negotiated format is part of the key, so Accept headers that select the same one share an entry
+    private static String key(HttpServletRequest request, MediaType mediaType) {
+        String query = request.getQueryString();
+        return request.getRequestURI() + (query != null ? "?" + query : "") + "|" + mediaType;
+    }
+
+    /**
+     * The cacheable format the Accept header selects, most preferred first as
+     * in the controllers' content negotiation, or {@code null} when it selects
+     * none or cannot be parsed.
+     */
+    private static MediaType negotiate(HttpServletRequest request) {
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        if (accept == null || accept.isBlank()) {
+            return CACHEABLE_TYPES.get(0);
+        }
+        List<MediaType> acceptable;
+        try {
+            acceptable = MediaType.parseMediaTypes(accept);
+        } catch (InvalidMediaTypeException e) {
+            return null;
+        }
+        MimeTypeUtils.sortBySpecificity(acceptable);
+        for (MediaType type : acceptable) {
+            if (type.getQualityValue() == 0) {
+                continue;
+            }
+            for (MediaType cacheable : CACHEABLE_TYPES) {
+                if (type.isCompatibleWith(cacheable)) {
+                    return cacheable;
+                }
+            }
+        }
+        return null;
+    }
+
+    private static void write(CachedResponse cached, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        response.setHeader(CACHE_HEADER, "HIT");
+        response.setHeader(HttpHeaders.ETAG, cached.etag());
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT + ", " + HttpHeaders.ACCEPT_ENCODING);
+        if (cached.etag().equals(request.getHeader(HttpHeaders.IF_NONE_MATCH))) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        byte[] body = cached.body();
+        if (cached.gzipBody() != null && acceptsGzip(request)) {
+            body = cached.gzipBody();
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        response.setContentType(cached.contentType());
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    private static boolean acceptsGzip(HttpServletRequest request) {
+        String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        return acceptEncoding != null && acceptEncoding.contains("gzip") && !acceptEncoding.contains("gzip;q=0");
+    }
+
+    // Only a response in the format the key was negotiated for may be stored under it
+    private static boolean isCacheable(String contentType, MediaType negotiated) {
+        return contentType != null && negotiated.isCompatibleWith(MediaType.parseMediaType(contentType));
+    }
+}
@@ -0,0 +1,45 @@
+package com.att.tdp.popcorn_palace.cluster;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * {@code /actuator/cluster}: this node's view of the membership, and the
+ * place to change it. A membership change is posted to every node, e.g.
+ * {@code {"members": "http://node-1:8080,http://node-2:8080"}}; an empty list
+ * makes the node serve every showtime itself again.
+ */
+@Component
+@Endpoint(id = "cluster")
+public class ClusterEndpoint {
+
+    private final ClusterMembership membership;
+
+    public ClusterEndpoint(ClusterMembership membership) {
+        this.membership = membership;
+    }
+
+    @ReadOperation
+    public Map<String, Object> cluster() {
+        Map<String, Object> cluster = new LinkedHashMap<>();
+        cluster.put("self", membership.getSelf());
+        cluster.put("members", membership.getMembers());
+        cluster.put("epoch", membership.getEpoch());
+        return cluster;
+    }
+
+    @WriteOperation
+    public Map<String, Object> updateMembers(String members) {
+        membership.update(Arrays.stream(members.split(","))
+                .map(String::trim)
+                .filter(member -> !member.isEmpty())
+                .toList());
+        return cluster();
+    }
+}
@@ -0,0 +1,120 @@
+package com.att.tdp.popcorn_palace.cluster;
+
+import java.util.List;
+import java.util.Objects;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import com.att.tdp.popcorn_palace.config.ClusterProperties;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * This node's view of the cluster: which member owns which showtime. The
+ * members start out as configured and can be replaced at runtime through
+ * {@code /actuator/cluster}; every node computes ownership on its own from
+ * the member list, so no coordinator is involved, and nodes briefly holding
+ * different lists only cost an extra forward, never a wrong booking, because
+ * the database still enforces one booking per seat.
+ */
+@Component
+public class ClusterMembership {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClusterMembership.class);
+
+    private final String self;
+    private final boolean secretConfigured;
+    private final int virtualNodes;
+    private final ApplicationEventPublisher eventPublisher;
+    private volatile ConsistentHashRing ring;
+    private volatile long epoch;
+
+    public ClusterMembership(ClusterProperties properties, ApplicationEventPublisher eventPublisher,
+            MeterRegistry meterRegistry) {
+        this.self = normalize(properties.getSelf());
+        this.secretConfigured = properties.getSecret() != null && !properties.getSecret().isBlank();
+        this.virtualNodes = properties.getVirtualNodes();
+        this.eventPublisher = eventPublisher;
+        this.ring = ring(properties.getMembers());
+        Gauge.builder("popcorn.cluster.members", this, membership -> membership.ring.members().size())
+                .description("Members sharing the showtimes, this node included")
+                .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return !ring.isEmpty();
+    }
+
+    public String getSelf() {
+        return self;
+    }
+
+    public List<String> getMembers() {
+        return ring.members();
+    }
+
+    public long getEpoch() {
+        return epoch;
+    }
+
+    /**
+     * The base URL of the member owning the showtime; this node's own when
+     * no members are configured.
+     */
+    public String ownerOf(Long showtimeId) {
+        String owner = ring.ownerOf(showtimeId);
+        return owner != null ? owner : self;
+    }
+
+    public boolean isLocal(Long showtimeId) {
+        return owns(ring, self, showtimeId);
+    }
+
+    /**
+     * Replaces the member list. Showtimes whose owner changes are handed over
+     * at once: this node forwards them from the next request on, and
+     * listeners of the published {@link OwnershipChangedEvent} release the
+     * state they hold for them.
+     */
+    public synchronized void update(List<String> members) {
+        ConsistentHashRing previous = ring;
+        ring = ring(members);
+        epoch++;
+        logger.info("Cluster membership changed to {} (epoch {})", ring.members(), epoch);
+        eventPublisher.publishEvent(new OwnershipChangedEvent(epoch, self, previous, ring));
+    }
+
+    static boolean owns(ConsistentHashRing ring, String self, Long showtimeId) {
+        return ring.isEmpty() || Objects.equals(self, ring.ownerOf(showtimeId));
+    }
+
+    private ConsistentHashRing ring(List<String> members) {
+        List<String> normalized = members.stream()
+                .map(ClusterMembership::normalize)
+                .filter(Objects::nonNull)
+                .toList();
+        if (!normalized.isEmpty() && self == null) {
+            throw new IllegalStateException("popcorn-palace.cluster.self must be set when cluster members are configured");
+        }
+        // Without it relayed requests cannot be told from client ones, and could bounce between members forever
+        if (!normalized.isEmpty() && !secretConfigured) {
+            throw new IllegalStateException("popcorn-palace.cluster.secret must be set when cluster members are configured");
+        }
+        if (!normalized.isEmpty() && !normalized.contains(self)) {
+            logger.warn("{} is not a cluster member and forwards all booking work", self);
+        }
+        return new ConsistentHashRing(normalized, virtualNodes);
+    }
+
+    private static String normalize(String url) {
+        if (url == null || url.isBlank()) {
+            return null;
+        }
+        String trimmed = url.trim();
+        return trimmed.endsWith("/") ? trimmed.substring(0, trimmed.length() - 1) : trimmed;
+    }
+}
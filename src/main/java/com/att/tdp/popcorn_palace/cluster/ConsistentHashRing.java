@@ -0,0 +1,87 @@
+package com.att.tdp.popcorn_palace.cluster;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Consistent hash ring of member URLs. Every member is placed on the ring at
+ * {@code virtualNodes} points; a key belongs to the member at the first point
+ * at or after the key's hash. Adding or removing a member only moves the keys
+ * next to its points, about {@code 1 / members} of them, and every node that
+ * builds the ring from the same members computes the same owners.
+ */
+final class ConsistentHashRing {
+
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    private final List<String> members;
+    private final long[] points;
+    private final String[] owners;
+
+    ConsistentHashRing(Collection<String> members, int virtualNodes) {
+        this.members = members.stream().distinct().sorted().toList();
+        record Point(long hash, String owner) {
+        }
+        Point[] ring = new Point[this.members.size() * virtualNodes];
+        int i = 0;
+        for (String member : this.members) {
+            long base = hash(member);
+            for (int replica = 0; replica < virtualNodes; replica++) {
+                ring[i++] = new Point(mix(base + replica * GOLDEN_GAMMA), member);
+            }
+        }
+        // Ties are broken by member, so equal hashes resolve the same way on every node
+        Arrays.sort(ring, Comparator.comparingLong(Point::hash).thenComparing(Point::owner));
+        points = new long[ring.length];
+        owners = new String[ring.length];
+        for (i = 0; i < ring.length; i++) {
+            points[i] = ring[i].hash();
+            owners[i] = ring[i].owner();
+        }
+    }
+
+    List<String> members() {
+        return members;
+    }
+
+    boolean isEmpty() {
+        return points.length == 0;
+    }
+
+    /**
+     * The member owning the key, or {@code null} when the ring is empty.
+     */
+    String ownerOf(long key) {
+        if (isEmpty()) {
+            return null;
+        }
+        int index = Arrays.binarySearch(points, mix(key * GOLDEN_GAMMA));
+        if (index < 0) {
+            index = -index - 1;
+        }
+        return owners[index == points.length ? 0 : index];
+    }
+
+    // FNV-1a over the UTF-8 bytes, stable across JVMs unlike String.hashCode's spread
+    private static long hash(String member) {
+        long hash = 0xCBF29CE484222325L;
+        for (byte b : member.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xFF;
+            hash *= 0x100000001B3L;
+        }
+        return hash;
+    }
+
+    // MurmurHash3 finalizer
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
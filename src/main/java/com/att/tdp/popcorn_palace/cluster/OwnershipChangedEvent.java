@@ -0,0 +1,32 @@
+package com.att.tdp.popcorn_palace.cluster;
+
+/**
+ * Published when the membership changes. Listeners holding per-showtime
+ * state drop it for the showtimes this node no longer owns; the new owner
+ * rebuilds it from the database on first use.
+ */
+public final class OwnershipChangedEvent {
+
+    private final long epoch;
+    private final String self;
+    private final ConsistentHashRing previous;
+    private final ConsistentHashRing current;
+
+    OwnershipChangedEvent(long epoch, String self, ConsistentHashRing previous, ConsistentHashRing current) {
+        this.epoch = epoch;
+        this.self = self;
+        this.previous = previous;
+        this.current = current;
+    }
+
+    public long getEpoch() {
+        return epoch;
+    }
+
+    /**
+     * Whether this node owned the showtime before the change and does not any more.
+     */
+    public boolean lost(Long showtimeId) {
+        return ClusterMembership.owns(previous, self, showtimeId) && !ClusterMembership.owns(current, self, showtimeId);
+    }
+}
@@ -0,0 +1,250 @@
+package com.att.tdp.popcorn_palace.cluster;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.stereotype.Component;
+
+import com.att.tdp.popcorn_palace.admission.Rejections;
+import com.att.tdp.popcorn_palace.config.ClusterProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Relays a request to the member owning its showtime and copies the answer
+ * back unchanged, status and error body included. Forwarded requests carry
+ * {@link #FORWARDED_BY}, and the receiving node always serves them itself,
+ * so a request takes at most one hop even while members disagree about the
+ * membership. The header is only honoured together with
+ * {@link #FORWARD_SIGNATURE}, an HMAC under the cluster secret of the sender,
+ * method, target, {@link #FORWARDED_AT} time and a digest of the body, and
+ * only within {@code forward-max-age} of that time, so clients can neither
+ * skip the routing by sending the header themselves nor reuse an observed
+ * signature for another request.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class RequestForwarder implements DisposableBean {
+
+    public static final String FORWARDED_BY = "X-Popcorn-Forwarded-By";
+    public static final String FORWARD_SIGNATURE = "X-Popcorn-Forward-Signature";
+    public static final String FORWARDED_AT = "X-Popcorn-Forwarded-At";
+
+    private static final String HMAC = "HmacSHA256";
+
+    private static final Logger logger = LoggerFactory.getLogger(RequestForwarder.class);
+
+    // Managed by the HTTP client or the servlet container on either side
+    private static final Set<String> HOP_BY_HOP = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+
+    static {
+        HOP_BY_HOP.addAll(List.of("connection", "content-length", "expect", "host", "keep-alive",
+                "proxy-connection", "te", "trailer", "transfer-encoding", "upgrade", ":status"));
+    }
+
+    private final ExecutorService streams = Executors.newVirtualThreadPerTaskExecutor();
+    private final HttpClient httpClient;
+    private final ClusterProperties properties;
+    private final ClusterMembership membership;
+    private final ObjectMapper objectMapper;
+    private final Counter forwarded;
+    private final Counter unreachable;
+
+    public RequestForwarder(ClusterProperties properties, ClusterMembership membership, ObjectMapper objectMapper,
+            MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.membership = membership;
+        this.objectMapper = objectMapper;
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(properties.getConnectTimeout())
+                .executor(streams)
+                .build();
+        this.forwarded = forwards(meterRegistry, "forwarded");
+        this.unreachable = forwards(meterRegistry, "unreachable");
+    }
+
+    private static Counter forwards(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("popcorn.cluster.forwards")
+                .description("Requests relayed to the member owning their showtime")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Whether a request was relayed by a listed member, and should be served
+     * here whoever owns its showtime.
+     *
+     * @param body the request body, already read; empty for requests without one
+     */
+    public boolean isForwarded(HttpServletRequest request, byte[] body) {
+        String sender = request.getHeader(FORWARDED_BY);
+        String signature = request.getHeader(FORWARD_SIGNATURE);
+        String forwardedAt = request.getHeader(FORWARDED_AT);
+        if (sender == null || signature == null || forwardedAt == null
+                || !membership.getMembers().contains(sender)) {
+            return false;
+        }
+        long issuedAt;
+        try {
+            issuedAt = Long.parseLong(forwardedAt);
+        } catch (NumberFormatException e) {
+            return false;
+        }
+        if (Math.abs(System.currentTimeMillis() - issuedAt) > properties.getForwardMaxAge().toMillis()) {
+            return false;
+        }
+        byte[] expected = sign(sender, request.getMethod(), target(request), issuedAt, body)
+                .getBytes(StandardCharsets.US_ASCII);
+        return MessageDigest.isEqual(expected, signature.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * Relays a request and waits for the complete answer.
+     */
+    public void forward(HttpServletRequest request, byte[] body, String owner, HttpServletResponse response)
+            throws IOException {
+        HttpRequest forward = relay(request, body, owner).timeout(properties.getForwardTimeout()).build();
+        HttpResponse<byte[]> answer;
+        try {
+            answer = httpClient.send(forward, HttpResponse.BodyHandlers.ofByteArray());
+        } catch (IOException e) {
+            unavailable(owner, e, response);
+            return;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            unavailable(owner, e, response);
+            return;
+        }
+        forwarded.increment();
+        copyHeaders(answer, response);
+        response.getOutputStream().write(answer.body());
+    }
+
+    /**
+     * Relays a long-lived stream such as a seat map. The request is switched
+     * to async mode and the bytes are pumped on a virtual thread as they
+     * arrive, so no container thread is held for the life of the stream; the
+     * stream ends when the owner ends it or the client goes away.
+     */
+    public void stream(HttpServletRequest request, String owner, HttpServletResponse response) throws IOException {
+        HttpResponse<InputStream> answer;
+        try {
+            answer = httpClient.send(relay(request, null, owner).build(), HttpResponse.BodyHandlers.ofInputStream());
+        } catch (IOException e) {
+            unavailable(owner, e, response);
+            return;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            unavailable(owner, e, response);
+            return;
+        }
+        forwarded.increment();
+        copyHeaders(answer, response);
+        response.flushBuffer();
+
+        AsyncContext async = request.startAsync();
+        async.setTimeout(0);
+        streams.execute(() -> {
+            try (InputStream in = answer.body()) {
+                OutputStream out = response.getOutputStream();
+                byte[] buffer = new byte[8192];
+                int read;
+                while ((read = in.read(buffer)) != -1) {
+                    out.write(buffer, 0, read);
+                    out.flush();
+                }
+            } catch (IOException e) {
+                // Either side went away; closing the upstream body ends the owner's stream too
+                logger.debug("Relayed stream from {} ended: {}", owner, e.getMessage());
+            } finally {
+                async.complete();
+            }
+        });
+    }
+
+    private HttpRequest.Builder relay(HttpServletRequest request, byte[] body, String owner) {
+        String target = target(request);
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(owner + target));
+        for (String name : Collections.list(request.getHeaderNames())) {
+            if (!HOP_BY_HOP.contains(name) && !FORWARDED_BY.equalsIgnoreCase(name)
+                    && !FORWARD_SIGNATURE.equalsIgnoreCase(name) && !FORWARDED_AT.equalsIgnoreCase(name)) {
+                Collections.list(request.getHeaders(name)).forEach(value -> builder.header(name, value));
+            }
+        }
+        String self = String.valueOf(membership.getSelf());
+        long issuedAt = System.currentTimeMillis();
+        builder.header(FORWARDED_BY, self);
+        builder.header(FORWARDED_AT, String.valueOf(issuedAt));
+        builder.header(FORWARD_SIGNATURE, sign(self, request.getMethod(), target, issuedAt, body));
+        return builder.method(request.getMethod(), body != null
+                ? HttpRequest.BodyPublishers.ofByteArray(body)
+                : HttpRequest.BodyPublishers.noBody());
+    }
+
+    private static String target(HttpServletRequest request) {
+        String query = request.getQueryString();
+        return request.getRequestURI() + (query != null ? "?" + query : "");
+    }
+
+    String sign(String sender, String method, String target, long issuedAt, byte[] body) {
+        try {
+            byte[] bodyDigest = MessageDigest.getInstance("SHA-256").digest(body != null ? body : new byte[0]);
+            Mac mac = Mac.getInstance(HMAC);
+            mac.init(new SecretKeySpec(properties.getSecret().getBytes(StandardCharsets.UTF_8), HMAC));
+            byte[] digest = mac.doFinal((sender + "\n" + method + "\n" + target + "\n" + issuedAt + "\n"
+                    + Base64.getEncoder().encodeToString(bodyDigest)).getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Could not sign a relayed request", e);
+        }
+    }
+
+    private static void copyHeaders(HttpResponse<?> answer, HttpServletResponse response) {
+        response.setStatus(answer.statusCode());
+        for (Map.Entry<String, List<String>> header : answer.headers().map().entrySet()) {
+            if (!HOP_BY_HOP.contains(header.getKey())) {
+                header.getValue().forEach(value -> response.addHeader(header.getKey(), value));
+            }
+        }
+    }
+
+    private void unavailable(String owner, Exception cause, HttpServletResponse response) throws IOException {
+        unreachable.increment();
+        logger.warn("Could not forward to {}: {}", owner, cause.toString());
+        Rejections.serviceUnavailable(response, objectMapper, "The node serving this showtime is unavailable, please retry shortly");
+    }
+
+    @Override
+    public void destroy() {
+        streams.shutdownNow();
+    }
+}
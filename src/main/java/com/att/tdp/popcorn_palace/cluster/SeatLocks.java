@@ -0,0 +1,42 @@
+package com.att.tdp.popcorn_palace.cluster;
+
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * Serializes booking attempts for the same seat on the owning node. Once a
+ * showtime is served by one node, two attempts for one seat meet here instead
+ * of racing on the bookings unique index, and the loser gets a plain conflict
+ * without a failed insert. Attempts for different seats of the same showtime
+ * still run in parallel. Memory is a fixed set of lock stripes.
+ */
+@Component
+public class SeatLocks {
+
+    private static final int STRIPES = 1024;
+
+    private final ReentrantLock[] locks = new ReentrantLock[STRIPES];
+
+    public SeatLocks() {
+        for (int i = 0; i < STRIPES; i++) {
+            locks[i] = new ReentrantLock();
+        }
+    }
+
+    public <T> T withSeat(Long showtimeId, Integer seatNumber, Supplier<T> work) {
+        ReentrantLock lock = locks[stripe(showtimeId, seatNumber)];
+        lock.lock();
+        try {
+            return work.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static int stripe(Long showtimeId, Integer seatNumber) {
+        int hash = 31 * Long.hashCode(showtimeId == null ? 0 : showtimeId) + (seatNumber == null ? 0 : seatNumber);
+        return (hash ^ (hash >>> 16)) & (STRIPES - 1);
+    }
+}
@@ -0,0 +1,194 @@
+package com.att.tdp.popcorn_palace.cluster;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.att.tdp.popcorn_palace.repository.BookingRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Sends booking work to the member owning the showtime: bookings,
+ * cancellations, booking requests, seat map streams and waiting rooms. Runs
+ * before admission control, so a non-owner spends neither a booking permit
+ * nor a connection on requests it only relays. Requests it cannot attribute to a showtime, such as invalid
+ * bodies or unknown bookings, are served locally and fail there as usual.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@Order(Ordered.HIGHEST_PRECEDENCE + 2)
+public class ShowtimeRoutingFilter extends OncePerRequestFilter {
+
+    private static final Pattern CANCELLATION = Pattern.compile("^/bookings/([^/]+)$");
+    private static final Pattern SEAT_STREAM = Pattern.compile("^/showtimes/(\\d+)/seats/stream$");
+    private static final Pattern WAITING_ROOM = Pattern.compile("^(?:/admin)?/showtimes/(\\d+)/waiting-room$");
+    private static final Pattern BOOKING_REQUEST = Pattern.compile("^/bookings/requests/(\\d+)-[^/]+$");
+
+    private final ClusterMembership membership;
+    private final RequestForwarder forwarder;
+    private final BookingRepository bookingRepository;
+    private final ObjectMapper objectMapper;
+
+    public ShowtimeRoutingFilter(ClusterMembership membership, RequestForwarder forwarder,
+            BookingRepository bookingRepository, ObjectMapper objectMapper) {
+        this.membership = membership;
+        this.forwarder = forwarder;
+        this.bookingRepository = bookingRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !membership.isEnabled();
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return true;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        if (request.getHeader(RequestForwarder.FORWARDED_BY) != null) {
+            // The signature covers the body, so it is read before deciding; routing replays it
+            byte[] body = request.getInputStream().readAllBytes();
+            request = new CachedBodyRequest(request, body);
+            if (forwarder.isForwarded(request, body)) {
+                chain.doFilter(request, response);
+                return;
+            }
+        }
+        String path = request.getRequestURI();
+        String method = request.getMethod();
+        Matcher matcher;
+        if (HttpMethod.POST.matches(method) && (path.equals("/bookings") || path.equals("/bookings/requests"))) {
+            byte[] body = request.getInputStream().readAllBytes();
+            String owner = remoteOwner(showtimeOfBooking(body));
+            if (owner != null) {
+                forwarder.forward(request, body, owner, response);
+            } else {
+                chain.doFilter(new CachedBodyRequest(request, body), response);
+            }
+        } else if (HttpMethod.DELETE.matches(method) && (matcher = CANCELLATION.matcher(path)).matches()) {
+            String owner = remoteOwner(showtimeOfCancellation(matcher.group(1)));
+            if (owner != null) {
+                forwarder.forward(request, null, owner, response);
+            } else {
+                chain.doFilter(request, response);
+            }
+        } else if (HttpMethod.GET.matches(method) && (matcher = SEAT_STREAM.matcher(path)).matches()) {
+            String owner = remoteOwner(Long.valueOf(matcher.group(1)));
+            if (owner != null) {
+                forwarder.stream(request, owner, response);
+            } else {
+                chain.doFilter(request, response);
+            }
+        } else if ((matcher = WAITING_ROOM.matcher(path)).matches()
+                || HttpMethod.GET.matches(method) && (matcher = BOOKING_REQUEST.matcher(path)).matches()) {
+            // Waiting room queues and booking requests only exist on the owner
+            String owner = remoteOwner(Long.valueOf(matcher.group(1)));
+            if (owner != null) {
+                forwarder.forward(request, null, owner, response);
+            } else {
+                chain.doFilter(request, response);
+            }
+        } else {
+            chain.doFilter(request, response);
+        }
+    }
+
+    private String remoteOwner(Long showtimeId) {
+        return showtimeId == null || membership.isLocal(showtimeId) ? null : membership.ownerOf(showtimeId);
+    }
+
+    private Long showtimeOfBooking(byte[] body) {
+        try {
+            JsonNode showtimeId = objectMapper.readTree(body).path("showtimeId");
+            return showtimeId.canConvertToLong() ? showtimeId.asLong() : null;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    // A booking id says nothing about its showtime, so cancellations cost one lookup on the receiving node
+    private Long showtimeOfCancellation(String bookingId) {
+        try {
+            return bookingRepository.findShowtimeIdByBookingId(UUID.fromString(bookingId)).orElse(null);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Replays a request body that was already read to find the showtime.
+     */
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public int read() {
+                    return in.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return in.read(b, off, len);
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return in.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    throw new UnsupportedOperationException();
+                }
+            };
+        }
+
+        @Override
+        public int getContentLength() {
+            return body.length;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return body.length;
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.att.tdp.popcorn_palace.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+/**
+ * Sales analytics. The projector applies up to {@code batch-size} change feed
+ * events every {@code projection-interval}, so reports trail the feed by
+ * about that interval; a report covers at most {@code max-buckets} buckets.
+ */
+@Data
+@ConfigurationProperties(prefix = "popcorn-palace.analytics")
+public class AnalyticsProperties {
+
+    private Duration projectionInterval = Duration.ofSeconds(1);
+
+    private int batchSize = 500;
+
+    private int maxBuckets = 1000;
+}
@@ -0,0 +1,42 @@
+package com.att.tdp.popcorn_palace.config;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+/**
+ * Asynchronous booking submission. Accepted requests wait in a queue of
+ * {@code queue-capacity} and are booked by {@code workers} threads, each
+ * holding at most one connection of the booking pool; a submission finding
+ * the queue full is turned away at once.
+ */
+@Data
+@ConfigurationProperties(prefix = "popcorn-palace.async-booking")
+public class AsyncBookingProperties {
+
+    /** Requests accepted but not yet picked up by a worker. */
+    private int queueCapacity = 1000;
+
+    /** Booking workers; when unset, the size of the booking connection pool. */
+    private Integer workers;
+
+    /** How long the outcome of a finished request stays available for polling. */
+    private Duration resultTtl = Duration.ofMinutes(10);
+
+    /** Retry-After given to submissions refused because the queue is full. */
+    private Duration retryAfter = Duration.ofSeconds(1);
+
+    /** How long a callback may take to connect and answer. */
+    private Duration callbackTimeout = Duration.ofSeconds(5);
+
+    /**
+     * Hosts callbacks may be posted to. When empty, any host is allowed that
+     * resolves only to public addresses; loopback, link-local, private and
+     * other internal addresses are refused unless their host is listed.
+     */
+    private List<String> callbackHosts = new ArrayList<>();
+}
@@ -0,0 +1,29 @@
+package com.att.tdp.popcorn_palace.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+/**
+ * In-memory availability index. It holds the showtimes starting within the
+ * horizon with their claimed seats, and is reloaded on every refresh so that
+ * seats booked through other nodes show up.
+ */
+@Data
+@ConfigurationProperties(prefix = "popcorn-palace.availability")
+public class AvailabilityProperties {
+
+    /** How far ahead showtimes are indexed; searches end there at the latest. */
+    private Duration horizon = Duration.ofDays(14);
+
+    private Duration refreshInterval = Duration.ofMinutes(1);
+
+    /** Search window when no end is given. */
+    private Duration defaultWindow = Duration.ofDays(3);
+
+    private int defaultLimit = 20;
+
+    private int maxLimit = 100;
+}
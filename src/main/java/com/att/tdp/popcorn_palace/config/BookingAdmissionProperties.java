@@ -0,0 +1,69 @@
+package com.att.tdp.popcorn_palace.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+/**
+ * Admission control for the booking endpoints. Token buckets limit how often
+ * a single user and a single showtime may be booked, and an adaptive
+ * concurrency limit sheds booking requests once latency or connection pool
+ * waits show that the database is overloaded.
+ */
+@Data
+@ConfigurationProperties(prefix = "popcorn-palace.booking-admission")
+public class BookingAdmissionProperties {
+
+    private boolean enabled = true;
+
+    private RateLimit user = new RateLimit(10, 2);
+
+    private RateLimit showtime = new RateLimit(1000, 500);
+
+    /** How often buckets that have refilled completely are dropped. */
+    private Duration sweepInterval = Duration.ofMinutes(1);
+
+    private Concurrency concurrency = new Concurrency();
+
+    @Data
+    public static class RateLimit {
+
+        /** Requests that may be made in a burst. */
+        private int capacity;
+
+        /** Sustained requests per second. */
+        private double refillPerSecond;
+
+        public RateLimit() {
+        }
+
+        public RateLimit(int capacity, double refillPerSecond) {
+            this.capacity = capacity;
+            this.refillPerSecond = refillPerSecond;
+        }
+    }
+
+    @Data
+    public static class Concurrency {
+
+        private int initialLimit = 20;
+
+        private int minLimit = 4;
+
+        private int maxLimit = 200;
+
+        /** How far recent latency may exceed the long-term average before the limit backs off. */
+        private double latencyTolerance = 2.0;
+
+        /** Factor applied to the limit on every overloaded sample. */
+        private double backoffRatio = 0.9;
+
+        /** Number of samples the long-term latency average is smoothed over. */
+        private int longWindow = 600;
+
+        /** Number of samples the recent latency average is smoothed over. */
+        private int shortWindow = 10;
+    }
+}
@@ -0,0 +1,69 @@
+package com.att.tdp.popcorn_palace.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import com.att.tdp.popcorn_palace.bulkhead.Workload;
+
+import lombok.Data;
+
+/**
+ * Sizes of the per-workload bulkheads. Each workload class gets its own
+ * request concurrency limit and its own connection pool to the primary, so a
+ * burst in one class cannot take threads or connections from another. Keep
+ * the request limits of the read and export classes, including their
+ * waiting requests, well below {@code server.tomcat.threads.max}; the
+ * remaining threads are what booking traffic can always count on.
+ */
+@Data
+@ConfigurationProperties(prefix = "popcorn-palace.bulkheads")
+public class BulkheadProperties {
+
+    private boolean enabled = true;
+
+    private Settings booking = new Settings(40, 40, Duration.ofSeconds(1), 10, Duration.ofSeconds(2));
+
+    private Settings read = new Settings(60, 20, Duration.ofMillis(200), 10, Duration.ofSeconds(2));
+
+    private Settings export = new Settings(4, 2, Duration.ofMillis(100), 2, Duration.ofSeconds(5));
+
+    public Settings settings(Workload workload) {
+        return switch (workload) {
+            case BOOKING -> booking;
+            case READ -> read;
+            case EXPORT -> export;
+        };
+    }
+
+    @Data
+    public static class Settings {
+
+        /** Requests of this class handled at the same time. */
+        private int maxConcurrent;
+
+        /** Requests that may wait for a slot; further ones are rejected right away. */
+        private int maxWaiting;
+
+        /** How long a request waits for a slot before it is rejected. */
+        private Duration maxWait;
+
+        /** Connections in this class's pool. */
+        private int poolSize;
+
+        /** How long a request of this class waits for a pooled connection. */
+        private Duration connectionTimeout;
+
+        public Settings() {
+        }
+
+        public Settings(int maxConcurrent, int maxWaiting, Duration maxWait, int poolSize,
+                Duration connectionTimeout) {
+            this.maxConcurrent = maxConcurrent;
+            this.maxWaiting = maxWaiting;
+            this.maxWait = maxWait;
+            this.poolSize = poolSize;
+            this.connectionTimeout = connectionTimeout;
+        }
+    }
+}
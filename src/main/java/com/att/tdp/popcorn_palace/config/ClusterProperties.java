@@ -0,0 +1,44 @@
+package com.att.tdp.popcorn_palace.config;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+/**
+ * Nodes sharing the booking work. Each showtime is owned by one member,
+ * chosen by consistent hashing of its id; the other members forward its
+ * bookings and seat map streams to the owner. Without members the node owns
+ * every showtime.
+ */
+@Data
+@ConfigurationProperties(prefix = "popcorn-palace.cluster")
+public class ClusterProperties {
+
+    /** Base URL under which the other members reach this node, e.g. {@code http://node-1:8080}. */
+    private String self;
+
+    /** Base URLs of all members, this node included; every member must list the same ones. */
+    private List<String> members = new ArrayList<>();
+
+    /**
+     * Shared by all members to sign the requests they relay; required when
+     * members are configured. A request is served as relayed only with a valid,
+     * recent signature from a listed member.
+     */
+    private String secret;
+
+    /** How old a relayed request's signature may be, clock differences between members included. */
+    private Duration forwardMaxAge = Duration.ofSeconds(30);
+
+    /** Points per member on the hash ring; more points spread the showtimes more evenly. */
+    private int virtualNodes = 128;
+
+    private Duration connectTimeout = Duration.ofSeconds(1);
+
+    /** Time allowed for a forwarded booking request; seat map streams are not limited. */
+    private Duration forwardTimeout = Duration.ofSeconds(5);
+}
@@ -0,0 +1,23 @@
+package com.att.tdp.popcorn_palace.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+/**
+ * Limits how many requests may work against the database at once. Sized to
+ * the connection pool, so excess requests wait briefly in a fair queue and are
+ * then rejected instead of piling up on the pool.
+ */
+@Data
+@ConfigurationProperties(prefix = "popcorn-palace.db-admission")
+public class DbAdmissionProperties {
+
+    private boolean enabled = false;
+
+    private int maxConcurrent = 20;
+
+    private Duration maxWait = Duration.ofMillis(500);
+}
@@ -0,0 +1,32 @@
+package com.att.tdp.popcorn_palace.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+/**
+ * Heavy-hitter tracking of showtimes and users. The sliding window is made of
+ * {@code buckets} sub-windows of {@code bucket-interval} each; memory is fixed
+ * by the sketch dimensions and does not grow with traffic.
+ */
+@Data
+@ConfigurationProperties(prefix = "popcorn-palace.hotspots")
+public class HotspotProperties {
+
+    private boolean enabled = true;
+
+    private Duration bucketInterval = Duration.ofSeconds(10);
+
+    private int buckets = 6;
+
+    /** Candidates kept per sub-window by the Space-Saving summary. */
+    private int topK = 32;
+
+    /** Counters per Count-Min row; rounded up to a power of two. */
+    private int sketchWidth = 2048;
+
+    /** Count-Min rows, i.e. independent hash functions. */
+    private int sketchDepth = 4;
+}
@@ -0,0 +1,26 @@
+package com.att.tdp.popcorn_palace.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+/**
+ * Per-user booking ledger. Bookings count as past once the rollover, running
+ * every {@code rollover-interval}, passes their showtime's start; it stays
+ * {@code rollover-grace} behind the clock so that a booking committing just
+ * as its showtime starts is never missed.
+ */
+@Data
+@ConfigurationProperties(prefix = "popcorn-palace.ledger")
+public class LedgerProperties {
+
+    private int defaultLimit = 20;
+
+    private int maxLimit = 100;
+
+    private Duration rolloverInterval = Duration.ofMinutes(1);
+
+    private Duration rolloverGrace = Duration.ofMinutes(1);
+}
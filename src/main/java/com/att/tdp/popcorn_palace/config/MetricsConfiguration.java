@@ -0,0 +1,33 @@
+package com.att.tdp.popcorn_palace.config;
+
+import java.util.Map;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.att.tdp.popcorn_palace.metrics.SqlStatementCounter;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Wiring for the application's own meters. Spring Boot already publishes
+ * HTTP, Hikari pool, Spring Data repository and Hibernate statistics meters;
+ * this adds the {@code @Timed} service timers and the per-request SQL
+ * statement count.
+ */
+@Configuration
+public class MetricsConfiguration {
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer statementInspectorCustomizer(SqlStatementCounter counter) {
+        return (Map<String, Object> properties) -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, counter);
+    }
+}
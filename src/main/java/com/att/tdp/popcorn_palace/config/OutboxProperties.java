@@ -0,0 +1,22 @@
+package com.att.tdp.popcorn_palace.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+/**
+ * Outbox relay and change feed settings. The relay interval bounds how long a
+ * committed change takes to show up on {@code GET /events}.
+ */
+@Data
+@ConfigurationProperties(prefix = "popcorn-palace.outbox")
+public class OutboxProperties {
+
+    private Duration relayInterval = Duration.ofMillis(500);
+
+    private int relayBatchSize = 500;
+
+    private int maxFeedLimit = 1000;
+}
@@ -0,0 +1,21 @@
+package com.att.tdp.popcorn_palace.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+/**
+ * R2DBC connection used by the {@code reactive} profile. Kept apart from
+ * {@code spring.r2dbc.*} because the JDBC data source stays in charge of the
+ * schema and must not be replaced by Boot's R2DBC auto-configuration.
+ */
+@Data
+@ConfigurationProperties(prefix = "popcorn-palace.reactive.datasource")
+public class ReactiveDataSourceProperties {
+
+    private String url = "r2dbc:pool:postgresql://localhost:5432/popcorn-palace";
+
+    private String username;
+
+    private String password;
+}
@@ -0,0 +1,105 @@
+package com.att.tdp.popcorn_palace.config;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.att.tdp.popcorn_palace.routing.ReadYourWritesFilter;
+import com.att.tdp.popcorn_palace.routing.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Replaces the auto-configured data source when read replicas are configured.
+ * The exposed data source hands out lazy connections: transactions marked
+ * {@code readOnly} get their physical connection from the replicas, all other
+ * work from the primary. Connections are fetched lazily so that the read-only
+ * flag, which the transaction manager sets after beginning the transaction,
+ * is known when the target is chosen.
+ */
+@Configuration
+@ConditionalOnProperty(name = "popcorn-palace.datasource.replicas[0].url")
+public class ReadReplicaConfiguration {
+
+    @Bean
+    public DataSource dataSource(DataSourceProperties dataSourceProperties, ReplicaDataSourceProperties properties,
+            Environment environment, MeterRegistry meterRegistry) {
+        HikariDataSource primary = dataSourceProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+
+        List<HikariDataSource> replicas = new ArrayList<>();
+        for (int i = 0; i < properties.getReplicas().size(); i++) {
+            replicas.add(replicaPool(i, properties.getReplicas().get(i), meterRegistry));
+        }
+        ReplicaRoutingDataSource router = new ReplicaRoutingDataSource(primary, replicas,
+                properties.getRetryInterval());
+        Gauge.builder("popcorn.datasource.replicas.healthy", router, ReplicaRoutingDataSource::healthyReplicas)
+                .description("Read replicas currently accepting connections")
+                .register(meterRegistry);
+
+        return new RoutingDataSource(primary, router);
+    }
+
+    @Bean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    public ReadYourWritesFilter readYourWritesFilter(ReplicaDataSourceProperties properties) {
+        return new ReadYourWritesFilter(properties.getReadYourWritesWindow());
+    }
+
+    private static HikariDataSource replicaPool(int index, ReplicaDataSourceProperties.Replica replica,
+            MeterRegistry meterRegistry) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName("replica-" + index);
+        dataSource.setJdbcUrl(replica.getUrl());
+        dataSource.setUsername(replica.getUsername());
+        dataSource.setPassword(replica.getPassword());
+        dataSource.setMaximumPoolSize(replica.getMaximumPoolSize());
+        dataSource.setConnectionTimeout(replica.getConnectionTimeout().toMillis());
+        dataSource.setReadOnly(true);
+        // Start even when the replica is down; the router fails over until it is back
+        dataSource.setInitializationFailTimeout(-1);
+        dataSource.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+        return dataSource;
+    }
+
+    /**
+     * Lazy proxy over the primary whose read-only connections come from the
+     * replica router. Closing it shuts down all pools.
+     */
+    static class RoutingDataSource extends LazyConnectionDataSourceProxy implements Closeable {
+
+        private final HikariDataSource primary;
+        private final ReplicaRoutingDataSource replicas;
+
+        RoutingDataSource(HikariDataSource primary, ReplicaRoutingDataSource replicas) {
+            super(primary);
+            setReadOnlyDataSource(replicas);
+            this.primary = primary;
+            this.replicas = replicas;
+        }
+
+        @Override
+        public void close() throws IOException {
+            replicas.close();
+            primary.close();
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.att.tdp.popcorn_palace.config;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+/**
+ * Read replicas next to the primary {@code spring.datasource}. When at least
+ * one replica is configured, read-only transactions are spread over the
+ * replicas round-robin and everything else stays on the primary.
+ */
+@Data
+@ConfigurationProperties(prefix = "popcorn-palace.datasource")
+public class ReplicaDataSourceProperties {
+
+    private List<Replica> replicas = new ArrayList<>();
+
+    /** How long a replica that failed to hand out a connection is skipped before it is tried again. */
+    private Duration retryInterval = Duration.ofSeconds(10);
+
+    /** How long a client's reads stay on the primary after it issued a write. */
+    private Duration readYourWritesWindow = Duration.ofSeconds(5);
+
+    @Data
+    public static class Replica {
+
+        private String url;
+
+        private String username;
+
+        private String password;
+
+        private int maximumPoolSize = 10;
+
+        private Duration connectionTimeout = Duration.ofSeconds(2);
+    }
+}
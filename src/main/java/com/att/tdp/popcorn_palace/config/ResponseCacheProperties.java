@@ -0,0 +1,32 @@
+package com.att.tdp.popcorn_palace.config;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+/**
+ * Cache of serialized catalog responses. Entries are dropped whenever the
+ * catalog changes on this node; the time to live bounds how long a change
+ * made on another node, or a refill from a lagging replica, can stay visible.
+ */
+@Data
+@ConfigurationProperties(prefix = "popcorn-palace.response-cache")
+public class ResponseCacheProperties {
+
+    private boolean enabled = false;
+
+    // Path patterns of the GET endpoints whose responses are cached
+    private List<String> paths = new ArrayList<>(List.of(
+            "/movies/all", "/showtimes", "/showtimes/movie/*", "/showtimes/theater/*"));
+
+    private Duration ttl = Duration.ofSeconds(60);
+
+    private int maxEntries = 1000;
+
+    // Smaller bodies are not worth a gzip variant
+    private int gzipMinSize = 512;
+}
@@ -0,0 +1,32 @@
+package com.att.tdp.popcorn_palace.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+/**
+ * Limits and defaults of the schedule packing engine. Requests may set their
+ * own cleaning buffer and start granularity; the limits bound how much work a
+ * single request can ask for.
+ */
+@Data
+@ConfigurationProperties(prefix = "popcorn-palace.scheduling")
+public class SchedulingProperties {
+
+    /** Time kept free between two showtimes of a theater. */
+    private int cleaningMinutes = 15;
+
+    /** Showtimes start on multiples of this many minutes past midnight. */
+    private int startGranularityMinutes = 5;
+
+    /** Longest period one request may schedule. */
+    private int maxDays = 31;
+
+    /** Most screenings one request may ask for. */
+    private int maxScreenings = 20000;
+
+    /** Time the local search may spend placing screenings the greedy pass left over. */
+    private Duration localSearchBudget = Duration.ofMillis(300);
+}
@@ -0,0 +1,23 @@
+package com.att.tdp.popcorn_palace.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+/**
+ * Live seat map streams. Seat changes are collected per showtime and sent to
+ * all subscribers once per flush interval; the heartbeat keeps idle
+ * connections open through proxies.
+ */
+@Data
+@ConfigurationProperties(prefix = "popcorn-palace.seat-stream")
+public class SeatStreamProperties {
+
+    private Duration flushInterval = Duration.ofMillis(100);
+
+    private Duration heartbeatInterval = Duration.ofSeconds(15);
+
+    private Duration timeout = Duration.ofMinutes(30);
+}
@@ -0,0 +1,21 @@
+package com.att.tdp.popcorn_palace.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+/**
+ * What happens when a request exceeds its endpoint's SQL statement budget:
+ * nothing, a warning in the log, or an exception. The tests run with
+ * {@code fail} so that query-count regressions break the build.
+ */
+@Data
+@ConfigurationProperties(prefix = "popcorn-palace.sql-budget")
+public class SqlBudgetProperties {
+
+    private Mode mode = Mode.LOG;
+
+    public enum Mode {
+        OFF, LOG, FAIL
+    }
+}
@@ -0,0 +1,39 @@
+package com.att.tdp.popcorn_palace.config;
+
+import jakarta.persistence.EntityManagerFactory;
+
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationInitializer;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.orm.jpa.AbstractEntityManagerFactoryBean;
+
+/**
+ * Startup behaviour shared by all profiles. The fast-start profile turns on
+ * lazy initialization; this keeps the beans eager whose cost would otherwise
+ * move into the first request or whose failure should stop the startup.
+ */
+@Configuration
+public class StartupConfiguration {
+
+    /**
+     * Migrations must have run and Hibernate must be bootstrapped before the
+     * instance reports ready. Beans with {@code @Scheduled} methods are kept
+     * eager by Spring Boot itself.
+     */
+    @Bean
+    static LazyInitializationExcludeFilter eagerPersistence() {
+        return LazyInitializationExcludeFilter.forBeanTypes(FlywayMigrationInitializer.class,
+                AbstractEntityManagerFactoryBean.class, EntityManagerFactory.class);
+    }
+
+    @Bean
+    FlywayMigrationStrategy flywayMigrationStrategy(StartupProperties properties) {
+        return flyway -> {
+            if (!properties.isTrainingRun()) {
+                flyway.migrate();
+            }
+        };
+    }
+}
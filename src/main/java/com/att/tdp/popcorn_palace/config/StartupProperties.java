@@ -0,0 +1,20 @@
+package com.att.tdp.popcorn_palace.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+/**
+ * Startup reporting and the AppCDS training run. During the training run the
+ * context is only refreshed to record which classes get loaded, so nothing
+ * may touch the database.
+ */
+@Data
+@ConfigurationProperties(prefix = "popcorn-palace.startup")
+public class StartupProperties {
+
+    // Number of slowest bean instantiations listed in the startup report
+    private int slowestBeans = 10;
+
+    private boolean trainingRun = false;
+}
@@ -0,0 +1,26 @@
+package com.att.tdp.popcorn_palace.config;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+/**
+ * Seating configuration of the theaters. Showtimes only carry a theater name,
+ * so the number of seats is resolved here: a per-theater override when one is
+ * configured, otherwise the default capacity.
+ */
+@Data
+@ConfigurationProperties(prefix = "popcorn-palace.theaters")
+public class TheaterProperties {
+
+    private int defaultCapacity = 100;
+
+    private Map<String, Integer> capacity = new HashMap<>();
+
+    public int capacityOf(String theater) {
+        return capacity.getOrDefault(theater, defaultCapacity);
+    }
+}
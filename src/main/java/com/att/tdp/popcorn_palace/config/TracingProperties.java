@@ -0,0 +1,36 @@
+package com.att.tdp.popcorn_palace.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+/**
+ * The in-memory trace store behind {@code /actuator/traces}. Which requests
+ * are traced is decided by {@code management.tracing.sampling.probability};
+ * of those, the slowest are kept whole and the durations of every operation
+ * feed its percentiles.
+ */
+@Data
+@ConfigurationProperties(prefix = "popcorn-palace.tracing")
+public class TracingProperties {
+
+    /** Traces taking at least this long are kept with all their spans. */
+    private Duration slowThreshold = Duration.ofMillis(500);
+
+    /** Slow traces kept, the oldest being dropped first. */
+    private int slowTraces = 50;
+
+    /** Most recent durations per operation the percentiles are computed from. */
+    private int reservoirSize = 1024;
+
+    /** Traces whose spans are still being collected; spans of further traces are dropped. */
+    private int maxPendingTraces = 1000;
+
+    /** Spans kept per trace. */
+    private int maxSpansPerTrace = 200;
+
+    /** SQL attached to a span is cut off after this many characters. */
+    private int maxSqlLength = 2000;
+}
@@ -0,0 +1,39 @@
+package com.att.tdp.popcorn_palace.config;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+/**
+ * Waiting rooms in front of the booking endpoint for high-demand showtimes.
+ * Clients of a showtime with an open room queue for a pass and are let
+ * through at {@code admission-rate}; bookings without a valid pass are
+ * refused. Rooms are opened for the listed showtimes at startup or through
+ * the admin API.
+ */
+@Data
+@ConfigurationProperties(prefix = "popcorn-palace.waiting-room")
+public class WaitingRoomProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Key queue tokens and passes are signed with. Must be the same on every
+     * node of a cluster; when left empty a random key is used, which only
+     * suits a single node.
+     */
+    private String secret = "";
+
+    /** Clients let through per second, unless a room is opened with its own rate. */
+    private double admissionRate = 20;
+
+    /** How long a pass may be used for booking once it was handed out. */
+    private Duration passTtl = Duration.ofMinutes(2);
+
+    /** Showtimes whose rooms are open from startup. */
+    private List<Long> showtimes = new ArrayList<>();
+}
@@ -0,0 +1,135 @@
+package com.att.tdp.popcorn_palace.controller;
+
+import com.att.tdp.popcorn_palace.bulkhead.Bulkhead;
+import com.att.tdp.popcorn_palace.bulkhead.Workload;
+import com.att.tdp.popcorn_palace.dto.BulkOperationResultDTO;
+import com.att.tdp.popcorn_palace.dto.RepriceRequestDTO;
+import com.att.tdp.popcorn_palace.dto.ScheduleRequestDTO;
+import com.att.tdp.popcorn_palace.dto.ScheduleResultDTO;
+import com.att.tdp.popcorn_palace.metrics.StatementBudget;
+import com.att.tdp.popcorn_palace.service.BulkOperationService;
+import com.att.tdp.popcorn_palace.service.SalesProjector;
+import com.att.tdp.popcorn_palace.service.SchedulingService;
+import com.att.tdp.popcorn_palace.waitingroom.WaitingRooms;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequestMapping("/admin")
+@Tag(name = "Admin", description = "Bulk maintenance APIs")
+public class AdminController {
+
+    private final BulkOperationService bulkOperationService;
+    private final SalesProjector salesProjector;
+    private final WaitingRooms waitingRooms;
+    private final SchedulingService schedulingService;
+
+    @Autowired
+    public AdminController(BulkOperationService bulkOperationService, SalesProjector salesProjector,
+            WaitingRooms waitingRooms, SchedulingService schedulingService) {
+        this.bulkOperationService = bulkOperationService;
+        this.salesProjector = salesProjector;
+        this.waitingRooms = waitingRooms;
+        this.schedulingService = schedulingService;
+    }
+
+    @Operation(summary = "Delete showtimes of a movie", description = "Delete all showtimes (and their bookings) of a movie starting after the given time, defaulting to now")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Showtimes deleted, affected row counts returned"),
+            @ApiResponse(responseCode = "404", description = "Movie not found")
+    })
+    @StatementBudget(6)
+    @Bulkhead(Workload.EXPORT)
+    @DeleteMapping("/movies/{movieId}/showtimes")
+    public ResponseEntity<BulkOperationResultDTO> deleteShowtimesForMovie(@PathVariable Long movieId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime after) {
+        return ResponseEntity.ok(bulkOperationService.deleteShowtimesForMovie(movieId, after));
+    }
+
+    @Operation(summary = "Reprice a theater", description = "Set the price of all showtimes in a theater, optionally only from a given start time")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Showtimes repriced, affected row count returned"),
+            @ApiResponse(responseCode = "400", description = "Invalid price")
+    })
+    @StatementBudget(2)
+    @Bulkhead(Workload.EXPORT)
+    @PostMapping("/theaters/{theater}/reprice")
+    public ResponseEntity<BulkOperationResultDTO> repriceTheater(@PathVariable String theater,
+            @Valid @RequestBody RepriceRequestDTO request) {
+        return ResponseEntity.ok(bulkOperationService.repriceTheater(theater, request));
+    }
+
+    @Operation(summary = "Drop a movie", description = "Delete a movie together with its showtimes and their bookings")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Movie dropped, affected row counts returned"),
+            @ApiResponse(responseCode = "404", description = "Movie not found")
+    })
+    @StatementBudget(7)
+    @Bulkhead(Workload.EXPORT)
+    @DeleteMapping("/movies/{title}")
+    public ResponseEntity<BulkOperationResultDTO> dropMovie(@PathVariable String title) {
+        return ResponseEntity.ok(bulkOperationService.dropMovie(title));
+    }
+
+    @Operation(summary = "Rebuild sales analytics", description = "Recompute the sales rollups from all showtimes and bookings, valuing tickets at the current showtime prices")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Analytics rebuilt, showtime and ticket counts returned")
+    })
+    @StatementBudget(10)
+    @Bulkhead(Workload.EXPORT)
+    @PostMapping("/analytics/rebuild")
+    public ResponseEntity<BulkOperationResultDTO> rebuildSalesAnalytics() {
+        return ResponseEntity.ok(salesProjector.rebuild());
+    }
+
+    @Operation(summary = "Pack a schedule", description = "Place the requested screenings of each movie in the theaters' free opening hours without overlaps, keeping the cleaning buffer between showtimes, and save them unless it is a dry run")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Schedule packed, its showtimes and the screenings that did not fit returned"),
+            @ApiResponse(responseCode = "400", description = "Invalid request"),
+            @ApiResponse(responseCode = "404", description = "Movie not found")
+    })
+    @StatementBudget(4)
+    @Bulkhead(Workload.EXPORT)
+    @PostMapping("/schedules")
+    public ResponseEntity<ScheduleResultDTO> packSchedule(@Valid @RequestBody ScheduleRequestDTO request) {
+        return ResponseEntity.ok(schedulingService.packSchedule(request));
+    }
+
+    @Operation(summary = "Open a waiting room", description = "Require bookings for the showtime to go through a waiting room letting clients through at the given rate per second, or change the rate of an open room")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Waiting room open"),
+            @ApiResponse(responseCode = "400", description = "Invalid admission rate")
+    })
+    @StatementBudget(0)
+    @Bulkhead(Workload.EXPORT)
+    @PutMapping("/showtimes/{showtimeId}/waiting-room")
+    public ResponseEntity<Void> openWaitingRoom(@PathVariable Long showtimeId,
+            @RequestParam(required = false) Double admissionRate) {
+        waitingRooms.open(showtimeId, admissionRate);
+        return ResponseEntity.ok().build();
+    }
+
+    @Operation(summary = "Close a waiting room", description = "Let bookings for the showtime through without a pass again")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Waiting room closed"),
+            @ApiResponse(responseCode = "404", description = "The showtime has no open waiting room")
+    })
+    @StatementBudget(0)
+    @Bulkhead(Workload.EXPORT)
+    @DeleteMapping("/showtimes/{showtimeId}/waiting-room")
+    public ResponseEntity<Void> closeWaitingRoom(@PathVariable Long showtimeId) {
+        waitingRooms.close(showtimeId);
+        return ResponseEntity.ok().build();
+    }
+}
@@ -0,0 +1,47 @@
+package com.att.tdp.popcorn_palace.controller;
+
+import com.att.tdp.popcorn_palace.bulkhead.Bulkhead;
+import com.att.tdp.popcorn_palace.bulkhead.Workload;
+import com.att.tdp.popcorn_palace.dto.SalesReportDTO;
+import com.att.tdp.popcorn_palace.metrics.StatementBudget;
+import com.att.tdp.popcorn_palace.service.SalesReportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequestMapping("/analytics")
+@Tag(name = "Analytics", description = "Sales and occupancy reporting APIs")
+public class AnalyticsController {
+
+    private final SalesReportService salesReportService;
+
+    @Autowired
+    public AnalyticsController(SalesReportService salesReportService) {
+        this.salesReportService = salesReportService;
+    }
+
+    @Operation(summary = "Get a sales report", description = "Tickets, revenue and fill rate per hour, day or week of showtime start, movie and theater, for showtimes starting in [from, to)")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Report returned, with the change feed sequence it includes"),
+            @ApiResponse(responseCode = "400", description = "Invalid granularity or time range, or too many buckets")
+    })
+    @StatementBudget(2)
+    @Bulkhead(Workload.READ)
+    @GetMapping("/sales")
+    public ResponseEntity<SalesReportDTO> getSalesReport(@RequestParam(defaultValue = "day") String granularity,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) Long movieId, @RequestParam(required = false) String theater) {
+        return ResponseEntity.ok(salesReportService.getSalesReport(granularity, from, to, movieId, theater));
+    }
+}
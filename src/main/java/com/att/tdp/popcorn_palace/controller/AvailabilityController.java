@@ -0,0 +1,50 @@
+package com.att.tdp.popcorn_palace.controller;
+
+import com.att.tdp.popcorn_palace.availability.AvailabilityIndex;
+import com.att.tdp.popcorn_palace.bulkhead.Bulkhead;
+import com.att.tdp.popcorn_palace.bulkhead.Workload;
+import com.att.tdp.popcorn_palace.dto.AvailabilityOptionDTO;
+import com.att.tdp.popcorn_palace.metrics.StatementBudget;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequestMapping("/availability")
+@Tag(name = "Availability", description = "Seat availability search across showtimes")
+public class AvailabilityController {
+
+    private final AvailabilityIndex availabilityIndex;
+
+    @Autowired
+    public AvailabilityController(AvailabilityIndex availabilityIndex) {
+        this.availabilityIndex = availabilityIndex;
+    }
+
+    @Operation(summary = "Find showtimes with free seats", description = "Upcoming showtimes of a movie starting in [from, to) that can seat the party, earliest and then cheapest first, each with suggested seats")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Matching showtimes returned; empty if none can seat the party"),
+            @ApiResponse(responseCode = "400", description = "Invalid party size, limit or time range")
+    })
+    // Searches are answered from memory; only reloading a stale index reads the database
+    @StatementBudget(2)
+    @Bulkhead(Workload.READ)
+    @GetMapping
+    public ResponseEntity<List<AvailabilityOptionDTO>> findAvailability(@RequestParam Long movieId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "1") int seats, @RequestParam(defaultValue = "false") boolean contiguous,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(availabilityIndex.search(movieId, from, to, seats, contiguous, limit));
+    }
+}
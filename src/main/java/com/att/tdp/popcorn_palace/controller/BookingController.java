@@ -1,38 +1,70 @@
 package com.att.tdp.popcorn_palace.controller;
 
+import com.att.tdp.popcorn_palace.bulkhead.Bulkhead;
+import com.att.tdp.popcorn_palace.bulkhead.Workload;
+import com.att.tdp.popcorn_palace.config.BinaryContentConfiguration;
+import com.att.tdp.popcorn_palace.admission.BookingRateLimiter;
+import com.att.tdp.popcorn_palace.async.BookingQueue;
+import com.att.tdp.popcorn_palace.cluster.SeatLocks;
 import com.att.tdp.popcorn_palace.dto.BookingDTO;
+import com.att.tdp.popcorn_palace.dto.BookingRequestStatusDTO;
+import com.att.tdp.popcorn_palace.dto.UserLedgerDTO;
+import com.att.tdp.popcorn_palace.exception.ConflictException;
+import com.att.tdp.popcorn_palace.hotspots.HotspotTracker;
+import com.att.tdp.popcorn_palace.metrics.StatementBudget;
 import com.att.tdp.popcorn_palace.service.BookingService;
+import com.att.tdp.popcorn_palace.waitingroom.WaitingRooms;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.net.URI;
 import java.util.List;
 import java.util.UUID;
 import java.util.HashMap;
 import java.util.Map;
 
 @RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequestMapping("/bookings")
 @Tag(name = "Booking", description = "Booking management APIs")
 public class BookingController {
 
     private final BookingService bookingService;
+    private final BookingRateLimiter bookingRateLimiter;
+    private final HotspotTracker hotspotTracker;
+    private final SeatLocks seatLocks;
+    private final WaitingRooms waitingRooms;
+    private final BookingQueue bookingQueue;
 
     @Autowired
-    public BookingController(BookingService bookingService) {
+    public BookingController(BookingService bookingService, BookingRateLimiter bookingRateLimiter,
+            HotspotTracker hotspotTracker, SeatLocks seatLocks, WaitingRooms waitingRooms,
+            BookingQueue bookingQueue) {
         this.bookingService = bookingService;
+        this.bookingRateLimiter = bookingRateLimiter;
+        this.hotspotTracker = hotspotTracker;
+        this.seatLocks = seatLocks;
+        this.waitingRooms = waitingRooms;
+        this.bookingQueue = bookingQueue;
     }
 
     @Operation(summary = "Get all bookings", description = "Retrieve a list of all available bookings")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Successfully retrieved all bookings")
     })
-    @GetMapping
+    @StatementBudget(1)
+    @Bulkhead(Workload.EXPORT)
+    @GetMapping(produces = { MediaType.APPLICATION_JSON_VALUE,
+            MediaType.APPLICATION_CBOR_VALUE, BinaryContentConfiguration.APPLICATION_SMILE_VALUE })
     public ResponseEntity<List<BookingDTO>> getAllBookings() {
         return ResponseEntity.ok(bookingService.getAllBookings());
     }
@@ -41,17 +73,73 @@ public class BookingController {
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Booking created successfully"),
             @ApiResponse(responseCode = "400", description = "Invalid input"),
+            @ApiResponse(responseCode = "403", description = "The showtime has a waiting room and no valid pass was presented"),
             @ApiResponse(responseCode = "404", description = "Showtime not found"),
-            @ApiResponse(responseCode = "409", description = "Seat already booked")
+            @ApiResponse(responseCode = "409", description = "Seat already booked"),
+            @ApiResponse(responseCode = "429", description = "Too many booking attempts for the user or the showtime"),
+            @ApiResponse(responseCode = "503", description = "Service overloaded, retry after the Retry-After delay")
     })
+    @StatementBudget(5)
+    @Bulkhead(Workload.BOOKING)
     @PostMapping
-    public ResponseEntity<Map<String, UUID>> bookTicket(@Valid @RequestBody BookingDTO bookingDTO) {
-        UUID bookingId = bookingService.bookTicket(bookingDTO);
+    public ResponseEntity<Map<String, UUID>> bookTicket(@Valid @RequestBody BookingDTO bookingDTO,
+            @RequestHeader(value = WaitingRooms.PASS_HEADER, required = false) String queuePass) {
+        // Count attempts before admission, so a showtime being throttled still shows up as hot
+        hotspotTracker.recordBookingAttempt(bookingDTO.getShowtimeId(), bookingDTO.getUserId());
+        waitingRooms.checkPass(bookingDTO.getShowtimeId(), bookingDTO.getUserId(), queuePass);
+        bookingRateLimiter.checkBooking(bookingDTO.getUserId(), bookingDTO.getShowtimeId());
+        UUID bookingId;
+        try {
+            // Held until the booking has committed, so a second attempt for the seat sees it
+            bookingId = seatLocks.withSeat(bookingDTO.getShowtimeId(), bookingDTO.getSeatNumber(),
+                    () -> bookingService.bookTicket(bookingDTO));
+        } catch (ConflictException | DataIntegrityViolationException e) {
+            // Includes seats lost to a concurrent booking at commit time
+            hotspotTracker.recordConflict(bookingDTO.getShowtimeId(), bookingDTO.getUserId());
+            throw e;
+        }
         Map<String, UUID> response = new HashMap<>();
         response.put("bookingId", bookingId);
         return ResponseEntity.ok(response);
     }
 
+    @Operation(summary = "Submit a booking request", description = "Queue a booking and answer at once with the request's id; the outcome is polled from the returned location or posted to the callback URL")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "202", description = "Booking request queued"),
+            @ApiResponse(responseCode = "400", description = "Invalid input or callback URL"),
+            @ApiResponse(responseCode = "403", description = "The showtime has a waiting room and no valid pass was presented"),
+            @ApiResponse(responseCode = "429", description = "Too many booking attempts for the user or the showtime"),
+            @ApiResponse(responseCode = "503", description = "Booking queue full, retry after the Retry-After delay")
+    })
+    @StatementBudget(0)
+    @Bulkhead(Workload.BOOKING)
+    @PostMapping("/requests")
+    public ResponseEntity<BookingRequestStatusDTO> submitBooking(@Valid @RequestBody BookingDTO bookingDTO,
+            @RequestParam(required = false) URI callbackUrl,
+            @RequestHeader(value = WaitingRooms.PASS_HEADER, required = false) String queuePass) {
+        hotspotTracker.recordBookingAttempt(bookingDTO.getShowtimeId(), bookingDTO.getUserId());
+        waitingRooms.checkPass(bookingDTO.getShowtimeId(), bookingDTO.getUserId(), queuePass);
+        bookingRateLimiter.checkBooking(bookingDTO.getUserId(), bookingDTO.getShowtimeId());
+        BookingRequestStatusDTO status = bookingQueue.submit(bookingDTO, callbackUrl);
+        return ResponseEntity.accepted()
+                .location(URI.create("/bookings/requests/" + status.getRequestId()))
+                .body(status);
+    }
+
+    @StatementBudget(0)
+    @Bulkhead(Workload.READ)
+    @GetMapping("/requests/{requestId}")
+    @Operation(summary = "Get a booking request", description = "Retrieve the state of a submitted booking request and, once booked, its booking id")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved the booking request"),
+            @ApiResponse(responseCode = "404", description = "Unknown booking request, or its outcome has expired")
+    })
+    public ResponseEntity<BookingRequestStatusDTO> getBookingRequest(@PathVariable String requestId) {
+        return ResponseEntity.ok(bookingQueue.getStatus(requestId));
+    }
+
+    @StatementBudget(1)
+    @Bulkhead(Workload.READ)
     @GetMapping("/{bookingId}")
     @Operation(summary = "Get booking by ID", description = "Retrieve a booking by its unique ID")
     @ApiResponses(value = {
@@ -62,7 +150,10 @@ public class BookingController {
         return ResponseEntity.ok(bookingService.getBookingById(bookingId));
     }
 
-    @GetMapping("/user/{userId}")
+    @StatementBudget(1)
+    @Bulkhead(Workload.READ)
+    @GetMapping(value = "/user/{userId}", produces = { MediaType.APPLICATION_JSON_VALUE,
+            MediaType.APPLICATION_CBOR_VALUE, BinaryContentConfiguration.APPLICATION_SMILE_VALUE })
     @Operation(summary = "Get bookings by user", description = "Retrieve a list of bookings by user ID")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Successfully retrieved bookings by user ID")
@@ -71,6 +162,22 @@ public class BookingController {
         return ResponseEntity.ok(bookingService.getBookingsByUser(userId));
     }
 
+    @StatementBudget(1)
+    @Bulkhead(Workload.READ)
+    @GetMapping(value = "/user/{userId}/ledger", produces = { MediaType.APPLICATION_JSON_VALUE,
+            MediaType.APPLICATION_CBOR_VALUE, BinaryContentConfiguration.APPLICATION_SMILE_VALUE })
+    @Operation(summary = "Get a user's booking ledger", description = "Retrieve a page of the user's bookings, newest showtime first, with showtime and movie details and the user's upcoming and past booking counts")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Ledger page returned, with the cursor of the next page"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor or limit")
+    })
+    public ResponseEntity<UserLedgerDTO> getUserLedger(@PathVariable UUID userId,
+            @RequestParam(required = false) String cursor, @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(bookingService.getUserLedger(userId, cursor, limit));
+    }
+
+    @StatementBudget(5)
+    @Bulkhead(Workload.BOOKING)
     @DeleteMapping("/{bookingId}")
     @Operation(summary = "Cancel a booking", description = "Deletes a booking by its unique ID. If the booking does not exist, an error is returned.")
     @ApiResponses(value = {
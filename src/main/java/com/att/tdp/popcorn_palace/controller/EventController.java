@@ -0,0 +1,42 @@
+package com.att.tdp.popcorn_palace.controller;
+
+import com.att.tdp.popcorn_palace.bulkhead.Bulkhead;
+import com.att.tdp.popcorn_palace.bulkhead.Workload;
+import com.att.tdp.popcorn_palace.dto.EventFeedDTO;
+import com.att.tdp.popcorn_palace.metrics.StatementBudget;
+import com.att.tdp.popcorn_palace.service.OutboxService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequestMapping("/events")
+@Tag(name = "Events", description = "Change feed of booking and showtime events")
+public class EventController {
+
+    private final OutboxService outboxService;
+
+    @Autowired
+    public EventController(OutboxService outboxService) {
+        this.outboxService = outboxService;
+    }
+
+    @Operation(summary = "Read the change feed", description = "Get published events with a sequence greater than the given one, in sequence order")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Events returned, together with the sequence to continue from"),
+            @ApiResponse(responseCode = "400", description = "Invalid sequence or limit")
+    })
+    @StatementBudget(1)
+    @Bulkhead(Workload.READ)
+    @GetMapping
+    public ResponseEntity<EventFeedDTO> getEvents(@RequestParam(defaultValue = "0") long after,
+            @RequestParam(defaultValue = "100") int limit) {
+        return ResponseEntity.ok(outboxService.getEventsAfter(after, limit));
+    }
+}
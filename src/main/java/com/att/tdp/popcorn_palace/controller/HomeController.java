@@ -1,5 +1,7 @@
 package com.att.tdp.popcorn_palace.controller;
 
+import com.att.tdp.popcorn_palace.metrics.StatementBudget;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.GetMapping;
 
@@ -7,6 +9,7 @@ import org.springframework.web.bind.annotation.GetMapping;
  * Controller to handle root URL redirects
  */
 @Controller
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class HomeController {
 
     /**
@@ -14,6 +17,7 @@ public class HomeController {
      * 
      * @return redirect to Swagger UI
      */
+    @StatementBudget(0)
     @GetMapping("/")
     public String home() {
         return "redirect:/swagger-ui/index.html";
@@ -1,6 +1,11 @@
 package com.att.tdp.popcorn_palace.controller;
 
+import com.att.tdp.popcorn_palace.bulkhead.Bulkhead;
+import com.att.tdp.popcorn_palace.bulkhead.Workload;
+import com.att.tdp.popcorn_palace.config.BinaryContentConfiguration;
 import com.att.tdp.popcorn_palace.dto.MovieDTO;
+import com.att.tdp.popcorn_palace.dto.MovieDetailDTO;
+import com.att.tdp.popcorn_palace.metrics.StatementBudget;
 import com.att.tdp.popcorn_palace.service.MovieService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -10,13 +15,16 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
 
 @RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequestMapping("/movies")
 @Tag(name = "Movie", description = "Movie management APIs")
 public class MovieController {
@@ -32,7 +40,10 @@ public class MovieController {
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Successfully retrieved the list of movies", content = @Content(mediaType = "application/json", schema = @Schema(implementation = MovieDTO.class)))
     })
-    @GetMapping("/all")
+    @StatementBudget(1)
+    @Bulkhead(Workload.EXPORT)
+    @GetMapping(value = "/all", produces = { MediaType.APPLICATION_JSON_VALUE,
+            MediaType.APPLICATION_CBOR_VALUE, BinaryContentConfiguration.APPLICATION_SMILE_VALUE })
     public ResponseEntity<List<MovieDTO>> getAllMovies() {
         return ResponseEntity.ok(movieService.getAllMovies());
     }
@@ -42,16 +53,32 @@ public class MovieController {
             @ApiResponse(responseCode = "200", description = "Successfully retrieved the movie", content = @Content(mediaType = "application/json", schema = @Schema(implementation = MovieDTO.class))),
             @ApiResponse(responseCode = "404", description = "Movie not found")
     })
+    @StatementBudget(1)
+    @Bulkhead(Workload.READ)
     @GetMapping("/{id}")
     public ResponseEntity<MovieDTO> getMovieById(@PathVariable Long id) {
         return ResponseEntity.ok(movieService.getMovieById(id));
     }
 
+    @Operation(summary = "Get movie detail", description = "Retrieve a movie with its upcoming showtimes and remaining seats per showtime")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved the movie detail", content = @Content(mediaType = "application/json", schema = @Schema(implementation = MovieDetailDTO.class))),
+            @ApiResponse(responseCode = "404", description = "Movie not found")
+    })
+    @StatementBudget(3)
+    @Bulkhead(Workload.READ)
+    @GetMapping("/{id}/detail")
+    public ResponseEntity<MovieDetailDTO> getMovieDetail(@PathVariable Long id) {
+        return ResponseEntity.ok(movieService.getMovieDetail(id));
+    }
+
     @Operation(summary = "Get movie by title", description = "Retrieve a movie by its title")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Successfully retrieved the movie", content = @Content(mediaType = "application/json", schema = @Schema(implementation = MovieDTO.class))),
             @ApiResponse(responseCode = "404", description = "Movie not found")
     })
+    @StatementBudget(1)
+    @Bulkhead(Workload.READ)
     @GetMapping("/title/{title}")
     public ResponseEntity<MovieDTO> getMovieByTitle(@PathVariable String title) {
         return ResponseEntity.ok(movieService.getMovieByTitle(title));
@@ -61,7 +88,10 @@ public class MovieController {
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Successfully retrieved the movies", content = @Content(mediaType = "application/json", schema = @Schema(implementation = MovieDTO.class)))
     })
-    @GetMapping("/genre/{genre}")
+    @StatementBudget(1)
+    @Bulkhead(Workload.READ)
+    @GetMapping(value = "/genre/{genre}", produces = { MediaType.APPLICATION_JSON_VALUE,
+            MediaType.APPLICATION_CBOR_VALUE, BinaryContentConfiguration.APPLICATION_SMILE_VALUE })
     public ResponseEntity<List<MovieDTO>> getMoviesByGenre(@PathVariable String genre) {
         return ResponseEntity.ok(movieService.getMoviesByGenre(genre));
     }
@@ -70,7 +100,10 @@ public class MovieController {
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Successfully retrieved the movies", content = @Content(mediaType = "application/json", schema = @Schema(implementation = MovieDTO.class)))
     })
-    @GetMapping("/year/{year}")
+    @StatementBudget(1)
+    @Bulkhead(Workload.READ)
+    @GetMapping(value = "/year/{year}", produces = { MediaType.APPLICATION_JSON_VALUE,
+            MediaType.APPLICATION_CBOR_VALUE, BinaryContentConfiguration.APPLICATION_SMILE_VALUE })
     public ResponseEntity<List<MovieDTO>> getMoviesByReleaseYear(@PathVariable Integer year) {
         return ResponseEntity.ok(movieService.getMoviesByReleaseYear(year));
     }
@@ -79,6 +112,7 @@ public class MovieController {
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Successfully added the movie", content = @Content(mediaType = "application/json", schema = @Schema(implementation = MovieDTO.class)))
     })
+    @StatementBudget(2)
     @PostMapping
     public ResponseEntity<MovieDTO> addMovie(@Valid @RequestBody MovieDTO movieDTO) {
         return new ResponseEntity<>(movieService.addMovie(movieDTO), HttpStatus.OK);
@@ -88,6 +122,7 @@ public class MovieController {
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Successfully updated the movie", content = @Content(mediaType = "application/json", schema = @Schema(implementation = MovieDTO.class)))
     })
+    @StatementBudget(2)
     @PostMapping("/update/{title}")
     public ResponseEntity<MovieDTO> updateMovie(@PathVariable String title, @Valid @RequestBody MovieDTO movieDTO) {
         movieService.updateMovie(title, movieDTO); // Add this line to actually update the movie
@@ -97,6 +132,7 @@ public class MovieController {
                 .build();
     }
 
+    @StatementBudget(2)
     @DeleteMapping("/{title}")
     @Operation(summary = "Delete a movie by title", description = "Delete a movie from the database by its title")
     @ApiResponses(value = {
@@ -1,6 +1,11 @@
 package com.att.tdp.popcorn_palace.controller;
 
+import com.att.tdp.popcorn_palace.bulkhead.Bulkhead;
+import com.att.tdp.popcorn_palace.bulkhead.Workload;
+import com.att.tdp.popcorn_palace.config.BinaryContentConfiguration;
 import com.att.tdp.popcorn_palace.dto.ShowtimeDTO;
+import com.att.tdp.popcorn_palace.metrics.StatementBudget;
+import com.att.tdp.popcorn_palace.seats.SeatStreamHub;
 import com.att.tdp.popcorn_palace.service.ShowtimeService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -8,29 +13,38 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 
 @RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequestMapping("/showtimes")
 @Tag(name = "Showtime", description = "Showtime management APIs")
 public class ShowtimeController {
 
     private final ShowtimeService showtimeService;
+    private final SeatStreamHub seatStreamHub;
 
     @Autowired
-    public ShowtimeController(ShowtimeService showtimeService) {
+    public ShowtimeController(ShowtimeService showtimeService, SeatStreamHub seatStreamHub) {
         this.showtimeService = showtimeService;
+        this.seatStreamHub = seatStreamHub;
     }
 
     @Operation(summary = "Get all showtimes", description = "Retrieve a list of all available showtimes")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Successfully retrieved all showtimes")
     })
-    @GetMapping
+    @StatementBudget(1)
+    @Bulkhead(Workload.EXPORT)
+    @GetMapping(produces = { MediaType.APPLICATION_JSON_VALUE,
+            MediaType.APPLICATION_CBOR_VALUE, BinaryContentConfiguration.APPLICATION_SMILE_VALUE })
     public ResponseEntity<List<ShowtimeDTO>> getAllShowtimes() {
         return ResponseEntity.ok(showtimeService.getAllShowtimes());
     }
@@ -40,17 +54,33 @@ public class ShowtimeController {
             @ApiResponse(responseCode = "200", description = "Successfully retrieved the showtime"),
             @ApiResponse(responseCode = "404", description = "Showtime not found")
     })
+    @StatementBudget(1)
+    @Bulkhead(Workload.READ)
     @GetMapping("/{id}")
     public ResponseEntity<ShowtimeDTO> getShowtimeById(@PathVariable Long id) {
         return ResponseEntity.ok(showtimeService.getShowtimeById(id));
     }
 
+    @Operation(summary = "Stream the seat map", description = "Server-Sent Events stream of a showtime's seats: a snapshot event on connect, then seats events with the seats claimed and released since the previous event")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Stream opened"),
+            @ApiResponse(responseCode = "404", description = "Showtime not found")
+    })
+    @StatementBudget(3)
+    @GetMapping(value = "/{id}/seats/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamSeats(@PathVariable Long id) {
+        return seatStreamHub.subscribe(id);
+    }
+
     @Operation(summary = "Get showtimes by movie", description = "Retrieve all showtimes for a specific movie")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Successfully retrieved showtimes"),
             @ApiResponse(responseCode = "404", description = "Movie not found")
     })
-    @GetMapping("/movie/{movieId}")
+    @StatementBudget(2)
+    @Bulkhead(Workload.READ)
+    @GetMapping(value = "/movie/{movieId}", produces = { MediaType.APPLICATION_JSON_VALUE,
+            MediaType.APPLICATION_CBOR_VALUE, BinaryContentConfiguration.APPLICATION_SMILE_VALUE })
     public ResponseEntity<List<ShowtimeDTO>> getShowtimesByMovie(@PathVariable Long movieId) {
         return ResponseEntity.ok(showtimeService.getShowtimesByMovie(movieId));
     }
@@ -60,7 +90,10 @@ public class ShowtimeController {
             @ApiResponse(responseCode = "200", description = "Successfully retrieved showtimes"),
             @ApiResponse(responseCode = "404", description = "No showtimes found for this theater")
     })
-    @GetMapping("/theater/{theater}")
+    @StatementBudget(1)
+    @Bulkhead(Workload.READ)
+    @GetMapping(value = "/theater/{theater}", produces = { MediaType.APPLICATION_JSON_VALUE,
+            MediaType.APPLICATION_CBOR_VALUE, BinaryContentConfiguration.APPLICATION_SMILE_VALUE })
     public ResponseEntity<List<ShowtimeDTO>> getShowtimesByTheater(@PathVariable String theater) {
         return ResponseEntity.ok(showtimeService.getShowtimesByTheater(theater));
     }
@@ -72,6 +105,7 @@ public class ShowtimeController {
             @ApiResponse(responseCode = "404", description = "Movie not found"),
             @ApiResponse(responseCode = "409", description = "Overlapping showtime in theater")
     })
+    @StatementBudget(4)
     @PostMapping
     public ResponseEntity<ShowtimeDTO> addShowtime(@Valid @RequestBody ShowtimeDTO showtimeDTO) {
         return new ResponseEntity<>(showtimeService.addShowtime(showtimeDTO), HttpStatus.OK);
@@ -84,6 +118,7 @@ public class ShowtimeController {
             @ApiResponse(responseCode = "404", description = "Showtime not found"),
             @ApiResponse(responseCode = "409", description = "Overlapping showtime in theater")
     })
+    @StatementBudget(7)
     @PostMapping("/update/{id}")
     public ResponseEntity<Void> updateShowtime(@PathVariable Long id, @Valid @RequestBody ShowtimeDTO showtimeDTO) {
         showtimeService.updateShowtime(id, showtimeDTO);
@@ -95,6 +130,7 @@ public class ShowtimeController {
             @ApiResponse(responseCode = "200", description = "Showtime deleted successfully"),
             @ApiResponse(responseCode = "404", description = "Showtime not found")
     })
+    @StatementBudget(4)
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteShowtime(@PathVariable Long id) {
         showtimeService.deleteShowtime(id);
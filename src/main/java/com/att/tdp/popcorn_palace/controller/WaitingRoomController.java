@@ -0,0 +1,57 @@
+package com.att.tdp.popcorn_palace.controller;
+
+import com.att.tdp.popcorn_palace.bulkhead.Bulkhead;
+import com.att.tdp.popcorn_palace.bulkhead.Workload;
+import com.att.tdp.popcorn_palace.dto.WaitingRoomStatusDTO;
+import com.att.tdp.popcorn_palace.metrics.StatementBudget;
+import com.att.tdp.popcorn_palace.waitingroom.WaitingRooms;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.UUID;
+
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequestMapping("/showtimes/{showtimeId}/waiting-room")
+@Tag(name = "Waiting room", description = "Queueing APIs for high-demand showtimes")
+public class WaitingRoomController {
+
+    private final WaitingRooms waitingRooms;
+
+    @Autowired
+    public WaitingRoomController(WaitingRooms waitingRooms) {
+        this.waitingRooms = waitingRooms;
+    }
+
+    @Operation(summary = "Join a waiting room", description = "Queue for a pass to book the showtime; returns a queue token with the position and estimated wait")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Joined the queue"),
+            @ApiResponse(responseCode = "404", description = "The showtime has no open waiting room")
+    })
+    @StatementBudget(0)
+    @Bulkhead(Workload.READ)
+    @PostMapping
+    public ResponseEntity<WaitingRoomStatusDTO> join(@PathVariable Long showtimeId, @RequestParam UUID userId) {
+        return ResponseEntity.ok(waitingRooms.join(showtimeId, userId));
+    }
+
+    @Operation(summary = "Get a waiting room position", description = "Report the position and estimated wait of a queue token, or the booking pass once it has been let through")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Position returned, with a pass once admitted"),
+            @ApiResponse(responseCode = "400", description = "Invalid or expired queue token"),
+            @ApiResponse(responseCode = "404", description = "The showtime has no open waiting room")
+    })
+    @StatementBudget(0)
+    @Bulkhead(Workload.READ)
+    @GetMapping
+    public ResponseEntity<WaitingRoomStatusDTO> getStatus(@PathVariable Long showtimeId,
+            @RequestHeader(WaitingRooms.QUEUE_TOKEN_HEADER) String queueToken) {
+        return ResponseEntity.ok(waitingRooms.getStatus(showtimeId, queueToken));
+    }
+}
@@ -0,0 +1,9 @@
+package com.att.tdp.popcorn_palace.exception;
+
+import org.springframework.http.HttpStatus;
+
+public class QueuePassRequiredException extends ApiException {
+    public QueuePassRequiredException(String message) {
+        super(message, HttpStatus.FORBIDDEN);
+    }
+}
@@ -0,0 +1,27 @@
+package com.att.tdp.popcorn_palace.exception;
+
+import java.time.Duration;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * A request turned away for lack of capacity rather than for what it asked;
+ * the response tells the client when to try again.
+ */
+public abstract class RetryLaterException extends ApiException {
+    private final Duration retryAfter;
+
+    protected RetryLaterException(String message, HttpStatus status, Duration retryAfter) {
+        super(message, status);
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+
+    /** Whole seconds for the Retry-After header, rounded up and at least one. */
+    public long getRetryAfterSeconds() {
+        return Math.max(1, (retryAfter.toMillis() + 999) / 1000);
+    }
+}
@@ -0,0 +1,11 @@
+package com.att.tdp.popcorn_palace.exception;
+
+import java.time.Duration;
+
+import org.springframework.http.HttpStatus;
+
+public class ServiceUnavailableException extends RetryLaterException {
+    public ServiceUnavailableException(String message, Duration retryAfter) {
+        super(message, HttpStatus.SERVICE_UNAVAILABLE, retryAfter);
+    }
+}
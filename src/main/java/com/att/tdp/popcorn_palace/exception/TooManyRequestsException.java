@@ -0,0 +1,11 @@
+package com.att.tdp.popcorn_palace.exception;
+
+import java.time.Duration;
+
+import org.springframework.http.HttpStatus;
+
+public class TooManyRequestsException extends RetryLaterException {
+    public TooManyRequestsException(String message, Duration retryAfter) {
+        super(message, HttpStatus.TOO_MANY_REQUESTS, retryAfter);
+    }
+}
@@ -0,0 +1,66 @@
+package com.att.tdp.popcorn_palace.hotspots;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Count-Min sketch over 128-bit keys. Estimates never undercount; they
+ * overcount by at most {@code e / width} of the total with probability
+ * {@code 1 - e^-depth}. Updates are lock-free and allocate nothing.
+ */
+final class CountMinSketch {
+
+    // Odd 64-bit constants, one per row, so the rows hash independently
+    private static final long[] SEEDS = {
+            0x9E3779B97F4A7C15L, 0xC2B2AE3D27D4EB4FL, 0x165667B19E3779F9L, 0xD6E8FEB86659FD93L,
+            0xFF51AFD7ED558CCDL, 0xC4CEB9FE1A85EC53L, 0x27D4EB2F165667C5L, 0x94D049BB133111EBL
+    };
+
+    private final int depth;
+    private final int width;
+    private final int mask;
+    private final AtomicLongArray counts;
+
+    CountMinSketch(int depth, int width) {
+        if (depth < 1 || depth > SEEDS.length) {
+            throw new IllegalArgumentException("Sketch depth must be between 1 and " + SEEDS.length);
+        }
+        this.depth = depth;
+        this.width = Integer.highestOneBit(Math.max(1, width - 1)) << 1;
+        this.mask = this.width - 1;
+        this.counts = new AtomicLongArray(depth * this.width);
+    }
+
+    void add(long hi, long lo) {
+        for (int row = 0; row < depth; row++) {
+            counts.getAndIncrement(row * width + index(row, hi, lo));
+        }
+    }
+
+    long estimate(long hi, long lo) {
+        long min = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            min = Math.min(min, counts.get(row * width + index(row, hi, lo)));
+        }
+        return min;
+    }
+
+    void clear() {
+        for (int i = 0; i < counts.length(); i++) {
+            counts.set(i, 0);
+        }
+    }
+
+    private int index(int row, long hi, long lo) {
+        return (int) (mix(lo ^ mix(hi + SEEDS[row])) & mask);
+    }
+
+    // MurmurHash3 finalizer
+    static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
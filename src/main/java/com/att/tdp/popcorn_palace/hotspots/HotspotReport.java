@@ -0,0 +1,15 @@
+package com.att.tdp.popcorn_palace.hotspots;
+
+import java.util.List;
+
+/**
+ * The hottest showtimes and users over the sliding window. Counts are sketch
+ * estimates: they may overcount, never undercount, and {@code error} bounds
+ * how much of the count may predate the key entering the top-K summary.
+ */
+public record HotspotReport(double windowSeconds, List<Hotspot> showtimes, List<Hotspot> users) {
+
+    public record Hotspot(String id, long attempts, long conflicts, long seatReads, double attemptsPerSecond,
+            double conflictRate, long error) {
+    }
+}
@@ -0,0 +1,105 @@
+package com.att.tdp.popcorn_palace.hotspots;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.function.LongSupplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.att.tdp.popcorn_palace.config.HotspotProperties;
+import com.att.tdp.popcorn_palace.hotspots.SlidingHeavyHitters.HeavyHitter;
+
+/**
+ * Streaming heavy-hitter tracking of showtimes and users. Booking attempts,
+ * seat conflicts and seat map reads are counted into fixed-size sketches over
+ * a sliding window, so memory stays the same however many showtimes and
+ * users there are, and recording an event allocates nothing and never waits.
+ */
+@Component
+public class HotspotTracker {
+
+    static final int ATTEMPT = 0;
+    static final int CONFLICT = 1;
+    static final int SEAT_READ = 2;
+
+    // Attempts and seat reads make a key hot; conflicts only describe it
+    private static final boolean[] RANKED = {true, false, true};
+
+    private final HotspotProperties properties;
+    private final LongSupplier clock;
+    private final SlidingHeavyHitters showtimes;
+    private final SlidingHeavyHitters users;
+
+    @Autowired
+    public HotspotTracker(HotspotProperties properties) {
+        this(properties, System::nanoTime);
+    }
+
+    HotspotTracker(HotspotProperties properties, LongSupplier clock) {
+        this.properties = properties;
+        this.clock = clock;
+        long now = clock.getAsLong();
+        this.showtimes = new SlidingHeavyHitters(properties.getBuckets(), RANKED, properties.getSketchDepth(),
+                properties.getSketchWidth(), properties.getTopK(), now);
+        this.users = new SlidingHeavyHitters(properties.getBuckets(), RANKED, properties.getSketchDepth(),
+                properties.getSketchWidth(), properties.getTopK(), now);
+    }
+
+    public void recordBookingAttempt(Long showtimeId, UUID userId) {
+        record(ATTEMPT, showtimeId, userId);
+    }
+
+    /**
+     * Counts a booking attempt that lost the seat to another booking.
+     */
+    public void recordConflict(Long showtimeId, UUID userId) {
+        record(CONFLICT, showtimeId, userId);
+    }
+
+    public void recordSeatRead(Long showtimeId) {
+        if (properties.isEnabled() && showtimeId != null) {
+            showtimes.record(SEAT_READ, 0, showtimeId);
+        }
+    }
+
+    private void record(int kind, Long showtimeId, UUID userId) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        if (showtimeId != null) {
+            showtimes.record(kind, 0, showtimeId);
+        }
+        if (userId != null) {
+            users.record(kind, userId.getMostSignificantBits(), userId.getLeastSignificantBits());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${popcorn-palace.hotspots.bucket-interval:10s}")
+    public void rotate() {
+        long now = clock.getAsLong();
+        showtimes.rotate(now);
+        users.rotate(now);
+    }
+
+    public HotspotReport report(int limit) {
+        long windowNanos = showtimes.windowNanos(clock.getAsLong());
+        double windowSeconds = Math.max(windowNanos, 1_000_000L) / 1e9;
+        List<HotspotReport.Hotspot> hotShowtimes = showtimes.top(limit).stream()
+                .map(hitter -> hotspot(String.valueOf(hitter.lo()), hitter, windowSeconds))
+                .toList();
+        List<HotspotReport.Hotspot> hotUsers = users.top(limit).stream()
+                .map(hitter -> hotspot(new UUID(hitter.hi(), hitter.lo()).toString(), hitter, windowSeconds))
+                .toList();
+        return new HotspotReport(windowSeconds, hotShowtimes, hotUsers);
+    }
+
+    private static HotspotReport.Hotspot hotspot(String id, HeavyHitter hitter, double windowSeconds) {
+        long attempts = hitter.counts()[ATTEMPT];
+        long conflicts = hitter.counts()[CONFLICT];
+        return new HotspotReport.Hotspot(id, attempts, conflicts, hitter.counts()[SEAT_READ],
+                attempts / windowSeconds, attempts == 0 ? 0 : Math.min(1.0, (double) conflicts / attempts),
+                hitter.error());
+    }
+}
@@ -0,0 +1,29 @@
+package com.att.tdp.popcorn_palace.hotspots;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+/**
+ * {@code /actuator/hotspots}: the showtimes and users with the most booking
+ * attempts and seat map reads right now, with their attempt and conflict
+ * rates.
+ */
+@Component
+@Endpoint(id = "hotspots")
+public class HotspotsEndpoint {
+
+    private static final int DEFAULT_LIMIT = 10;
+
+    private final HotspotTracker hotspotTracker;
+
+    public HotspotsEndpoint(HotspotTracker hotspotTracker) {
+        this.hotspotTracker = hotspotTracker;
+    }
+
+    @ReadOperation
+    public HotspotReport hotspots(@Nullable Integer limit) {
+        return hotspotTracker.report(limit != null && limit > 0 ? limit : DEFAULT_LIMIT);
+    }
+}
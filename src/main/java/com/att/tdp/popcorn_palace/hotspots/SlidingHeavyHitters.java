@@ -0,0 +1,117 @@
+package com.att.tdp.popcorn_palace.hotspots;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Heavy hitters of one key space over a sliding window. The window is a ring
+ * of sub-windows, each with one Count-Min sketch per event kind and a
+ * Space-Saving summary of candidate keys; {@link #rotate} drops the oldest
+ * sub-window by clearing it in place. Recording an event touches the current
+ * sub-window only and allocates nothing.
+ */
+final class SlidingHeavyHitters {
+
+    /**
+     * A key with its estimated event counts per kind over the window.
+     */
+    record HeavyHitter(long hi, long lo, long[] counts, long error) {
+    }
+
+    private final int kinds;
+    private final boolean[] ranked;
+    private final CountMinSketch[][] sketches;
+    private final SpaceSaving[] candidates;
+    private final long[] startedAt;
+    private volatile int current;
+
+    /**
+     * @param ranked which event kinds make a key a candidate and count towards
+     *               its rank
+     */
+    SlidingHeavyHitters(int buckets, boolean[] ranked, int depth, int width, int topK, long now) {
+        this.kinds = ranked.length;
+        this.ranked = ranked.clone();
+        this.sketches = new CountMinSketch[buckets][kinds];
+        this.candidates = new SpaceSaving[buckets];
+        this.startedAt = new long[buckets];
+        for (int bucket = 0; bucket < buckets; bucket++) {
+            for (int kind = 0; kind < kinds; kind++) {
+                sketches[bucket][kind] = new CountMinSketch(depth, width);
+            }
+            candidates[bucket] = new SpaceSaving(topK);
+            startedAt[bucket] = now;
+        }
+    }
+
+    void record(int kind, long hi, long lo) {
+        int bucket = current;
+        sketches[bucket][kind].add(hi, lo);
+        if (ranked[kind]) {
+            candidates[bucket].offer(hi, lo);
+        }
+    }
+
+    /**
+     * Starts a new sub-window in place of the oldest one. Events recorded
+     * concurrently may land in either; both are part of the window.
+     */
+    synchronized void rotate(long now) {
+        int next = (current + 1) % candidates.length;
+        for (CountMinSketch sketch : sketches[next]) {
+            sketch.clear();
+        }
+        candidates[next].clear();
+        startedAt[next] = now;
+        current = next;
+    }
+
+    /**
+     * Time covered by the window, from the start of the oldest sub-window.
+     */
+    long windowNanos(long now) {
+        int oldest = (current + 1) % candidates.length;
+        return now - startedAt[oldest];
+    }
+
+    /**
+     * The keys with the most ranked events over the window, with their counts
+     * estimated from the sketches of all sub-windows.
+     */
+    List<HeavyHitter> top(int limit) {
+        Map<Key, Long> errors = new HashMap<>();
+        for (SpaceSaving summary : candidates) {
+            for (SpaceSaving.Entry entry : summary.entries()) {
+                errors.merge(new Key(entry.hi(), entry.lo()), entry.error(), Long::sum);
+            }
+        }
+        List<HeavyHitter> hitters = new ArrayList<>(errors.size());
+        errors.forEach((key, error) -> {
+            long[] counts = new long[kinds];
+            for (CountMinSketch[] bucket : sketches) {
+                for (int kind = 0; kind < kinds; kind++) {
+                    counts[kind] += bucket[kind].estimate(key.hi(), key.lo());
+                }
+            }
+            hitters.add(new HeavyHitter(key.hi(), key.lo(), counts, error));
+        });
+        hitters.sort(Comparator.comparingLong(this::rank).reversed());
+        return hitters.subList(0, Math.min(limit, hitters.size()));
+    }
+
+    private long rank(HeavyHitter hitter) {
+        long rank = 0;
+        for (int kind = 0; kind < kinds; kind++) {
+            if (ranked[kind]) {
+                rank += hitter.counts()[kind];
+            }
+        }
+        return rank;
+    }
+
+    private record Key(long hi, long lo) {
+    }
+}
@@ -0,0 +1,97 @@
+package com.att.tdp.popcorn_palace.hotspots;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Space-Saving summary of the most frequent 128-bit keys in fixed arrays.
+ * A key that is not tracked replaces the least frequent one and inherits its
+ * count as the error bound, so every key occurring more than
+ * {@code total / capacity} times is guaranteed to be tracked. Lookups scan
+ * the arrays, which for a few dozen slots is cheaper than hashing.
+ * <p>
+ * Updates that find the summary locked by another thread are dropped rather
+ * than waited for, so measuring never blocks the request being measured;
+ * under heavy contention the counts are sampled, and a truly hot key still
+ * shows up because it keeps arriving.
+ */
+final class SpaceSaving {
+
+    record Entry(long hi, long lo, long count, long error) {
+    }
+
+    private final long[] his;
+    private final long[] los;
+    private final long[] counts;
+    private final long[] errors;
+    private final ReentrantLock lock = new ReentrantLock();
+    private int size;
+
+    SpaceSaving(int capacity) {
+        his = new long[capacity];
+        los = new long[capacity];
+        counts = new long[capacity];
+        errors = new long[capacity];
+    }
+
+    /**
+     * Counts one occurrence of the key.
+     *
+     * @return {@code false} when the update was dropped because of contention
+     */
+    boolean offer(long hi, long lo) {
+        if (!lock.tryLock()) {
+            return false;
+        }
+        try {
+            int min = 0;
+            for (int i = 0; i < size; i++) {
+                if (his[i] == hi && los[i] == lo) {
+                    counts[i]++;
+                    return true;
+                }
+                if (counts[i] < counts[min]) {
+                    min = i;
+                }
+            }
+            if (size < counts.length) {
+                his[size] = hi;
+                los[size] = lo;
+                counts[size] = 1;
+                errors[size] = 0;
+                size++;
+            } else {
+                his[min] = hi;
+                los[min] = lo;
+                errors[min] = counts[min];
+                counts[min]++;
+            }
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    List<Entry> entries() {
+        lock.lock();
+        try {
+            List<Entry> entries = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                entries.add(new Entry(his[i], los[i], counts[i], errors[i]));
+            }
+            return entries;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void clear() {
+        lock.lock();
+        try {
+            size = 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
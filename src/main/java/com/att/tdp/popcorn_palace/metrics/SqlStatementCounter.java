@@ -0,0 +1,81 @@
+package com.att.tdp.popcorn_palace.metrics;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.stereotype.Component;
+
+/**
+ * Counts the SQL statements Hibernate prepares on the current thread. A
+ * {@link Scope} is opened per unit of work (an HTTP request, a test) and reads
+ * the number of statements issued while it was open; statements outside any
+ * scope are not counted. A capturing scope also keeps the statements' text,
+ * for tracing.
+ */
+@Component
+public class SqlStatementCounter implements StatementInspector {
+
+    private static final ThreadLocal<Scope> CURRENT = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        Scope scope = CURRENT.get();
+        if (scope != null) {
+            scope.count++;
+            if (scope.statements != null) {
+                scope.statements.add(sql);
+            }
+        }
+        return sql;
+    }
+
+    public Scope open() {
+        return open(null);
+    }
+
+    public Scope openCapturing() {
+        return open(new ArrayList<>());
+    }
+
+    private Scope open(List<String> statements) {
+        Scope scope = new Scope(CURRENT.get(), statements);
+        CURRENT.set(scope);
+        return scope;
+    }
+
+    public static final class Scope implements AutoCloseable {
+        private final Scope parent;
+        private final List<String> statements;
+        private int count;
+
+        private Scope(Scope parent, List<String> statements) {
+            this.parent = parent;
+            this.statements = statements;
+        }
+
+        public int count() {
+            return count;
+        }
+
+        /**
+         * @return the statements issued directly in this scope, empty unless it captures them
+         */
+        public List<String> statements() {
+            return statements != null ? statements : List.of();
+        }
+
+        // Nested scopes also count towards the enclosing one
+        @Override
+        public void close() {
+            if (parent != null) {
+                parent.count += count;
+            }
+            if (parent == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(parent);
+            }
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.att.tdp.popcorn_palace.metrics;
+
+import java.io.IOException;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import com.att.tdp.popcorn_palace.config.SqlBudgetProperties;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Records how many SQL statements each request issued, tagged like
+ * {@code http.server.requests} with the method and the matched URI template,
+ * and checks the count against the handler's {@link StatementBudget}.
+ * The check runs after the response has been written, so in {@code fail} mode
+ * the exception reaches the caller only where the filter chain is invoked
+ * directly, as it is by MockMvc in the tests.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class SqlStatementMetricsFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(SqlStatementMetricsFilter.class);
+
+    private final SqlStatementCounter counter;
+    private final MeterRegistry meterRegistry;
+    private final SqlBudgetProperties budgetProperties;
+
+    public SqlStatementMetricsFilter(SqlStatementCounter counter, MeterRegistry meterRegistry,
+            SqlBudgetProperties budgetProperties) {
+        this.counter = counter;
+        this.meterRegistry = meterRegistry;
+        this.budgetProperties = budgetProperties;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        try (SqlStatementCounter.Scope scope = counter.open()) {
+            chain.doFilter(request, response);
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+            DistributionSummary.builder("popcorn.http.sql.statements")
+                    .description("SQL statements issued per HTTP request")
+                    .tag("method", request.getMethod())
+                    .tag("uri", uri)
+                    .register(meterRegistry)
+                    .record(scope.count());
+            checkBudget(request, uri, scope.count());
+        }
+    }
+
+    private void checkBudget(HttpServletRequest request, String uri, int statements) {
+        if (budgetProperties.getMode() == SqlBudgetProperties.Mode.OFF) {
+            return;
+        }
+        Object handler = request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE);
+        if (!(handler instanceof HandlerMethod handlerMethod)) {
+            return;
+        }
+        StatementBudget budget = handlerMethod.getMethodAnnotation(StatementBudget.class);
+        if (budget == null || statements <= budget.value()) {
+            return;
+        }
+
+        Counter.builder("popcorn.http.sql.budget.exceeded")
+                .description("Requests that issued more SQL statements than their endpoint's budget")
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .increment();
+        String endpoint = request.getMethod() + " " + uri;
+        if (budgetProperties.getMode() == SqlBudgetProperties.Mode.FAIL) {
+            throw new StatementBudgetExceededException(endpoint, statements, budget.value());
+        }
+        logger.warn("{} issued {} SQL statements, its budget is {}", endpoint, statements, budget.value());
+    }
+}
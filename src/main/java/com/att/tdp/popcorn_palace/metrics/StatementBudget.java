@@ -0,0 +1,22 @@
+package com.att.tdp.popcorn_palace.metrics;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Declares the maximum number of SQL statements one request to the annotated
+ * endpoint may issue. The budget does not grow with the size of the result,
+ * so an endpoint that starts loading an association per row exceeds it as
+ * soon as the data has more rows than the budget allows.
+ * {@link SqlStatementMetricsFilter} checks every request against it.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface StatementBudget {
+
+    int value();
+}
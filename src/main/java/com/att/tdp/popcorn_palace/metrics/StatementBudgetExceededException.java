@@ -0,0 +1,12 @@
+package com.att.tdp.popcorn_palace.metrics;
+
+/**
+ * Thrown in {@code fail} mode when a request issued more SQL statements than
+ * its endpoint's {@link StatementBudget}.
+ */
+public class StatementBudgetExceededException extends RuntimeException {
+
+    public StatementBudgetExceededException(String endpoint, int statements, int budget) {
+        super(endpoint + " issued " + statements + " SQL statements, its budget is " + budget);
+    }
+}
@@ -6,6 +6,7 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
@@ -37,4 +38,8 @@ public class Booking {
     @NotNull(message = "User ID is required")
     @Column(name = "user_id", nullable = false)
     private UUID userId;
+
+    // Copy of the showtime's start, so a user's ledger is ordered by an index on bookings alone
+    @Column(name = "showtime_start", nullable = false)
+    private LocalDateTime showtimeStart;
 }
\ No newline at end of file
@@ -0,0 +1,23 @@
+package com.att.tdp.popcorn_palace.model;
+
+public enum OutboxEventType {
+    BOOKING_CREATED("Booking"),
+    BOOKING_CANCELLED("Booking"),
+    SHOWTIME_CREATED("Showtime"),
+    SHOWTIME_UPDATED("Showtime"),
+    SHOWTIME_DELETED("Showtime"),
+    // Set-based admin operations record one event for the whole statement
+    MOVIE_SHOWTIMES_DELETED("Movie"),
+    THEATER_REPRICED("Theater"),
+    MOVIE_DROPPED("Movie");
+
+    private final String aggregateType;
+
+    OutboxEventType(String aggregateType) {
+        this.aggregateType = aggregateType;
+    }
+
+    public String getAggregateType() {
+        return aggregateType;
+    }
+}
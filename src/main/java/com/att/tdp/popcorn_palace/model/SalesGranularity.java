@@ -0,0 +1,36 @@
+package com.att.tdp.popcorn_palace.model;
+
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+
+/**
+ * Bucket sizes of the sales rollups. Buckets are keyed by the showtime's
+ * start; weeks are ISO weeks starting on Monday.
+ */
+public enum SalesGranularity {
+    HOUR(ChronoUnit.HOURS),
+    DAY(ChronoUnit.DAYS),
+    WEEK(ChronoUnit.WEEKS);
+
+    private final ChronoUnit unit;
+
+    SalesGranularity(ChronoUnit unit) {
+        this.unit = unit;
+    }
+
+    public LocalDateTime bucketStart(LocalDateTime time) {
+        return switch (this) {
+            case HOUR -> time.truncatedTo(ChronoUnit.HOURS);
+            case DAY -> time.truncatedTo(ChronoUnit.DAYS);
+            case WEEK -> time.truncatedTo(ChronoUnit.DAYS).with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        };
+    }
+
+    // Number of buckets starting in [from, to), for bucket-aligned from
+    public long bucketsBetween(LocalDateTime from, LocalDateTime to) {
+        long whole = unit.between(from, to);
+        return from.plus(whole, unit).isBefore(to) ? whole + 1 : whole;
+    }
+}
@@ -0,0 +1,57 @@
+package com.att.tdp.popcorn_palace.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * Sales totals of one movie in one theater over one bucket of showtime start
+ * times. Maintained by {@code SalesProjector}; only read through JPA.
+ */
+@Entity
+@Table(name = "sales_rollups")
+@IdClass(SalesRollup.Key.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SalesRollup {
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(length = 8)
+    private SalesGranularity granularity;
+
+    @Id
+    @Column(name = "bucket_start")
+    private LocalDateTime bucketStart;
+
+    @Id
+    @Column(name = "movie_id")
+    private Long movieId;
+
+    @Id
+    private String theater;
+
+    @Column(nullable = false)
+    private long showtimes;
+
+    @Column(nullable = false)
+    private long tickets;
+
+    @Column(nullable = false)
+    private double revenue;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private SalesGranularity granularity;
+        private LocalDateTime bucketStart;
+        private Long movieId;
+        private String theater;
+    }
+}
@@ -0,0 +1,43 @@
+package com.att.tdp.popcorn_palace.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+
+/**
+ * The sales projection's copy of a showtime, with the tickets and revenue it
+ * has taken. The price is as of the last event applied; tickets keep the price
+ * they sold at.
+ */
+@Entity
+@Table(name = "sales_showtimes")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SalesShowtime {
+    @Id
+    @Column(name = "showtime_id")
+    private Long showtimeId;
+
+    @Column(name = "movie_id", nullable = false)
+    private Long movieId;
+
+    @Column(nullable = false)
+    private String theater;
+
+    @Column(name = "start_time", nullable = false)
+    private LocalDateTime startTime;
+
+    @Column(nullable = false)
+    private double price;
+
+    @Column(nullable = false)
+    private long tickets;
+
+    @Column(nullable = false)
+    private double revenue;
+}
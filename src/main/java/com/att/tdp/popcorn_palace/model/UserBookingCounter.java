@@ -0,0 +1,30 @@
+package com.att.tdp.popcorn_palace.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.util.UUID;
+
+/**
+ * A user's booking counts, kept current by every booking write. A booking is
+ * upcoming until the periodic rollover passes its showtime's start.
+ */
+@Entity
+@Table(name = "user_booking_counters")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UserBookingCounter {
+    @Id
+    @Column(name = "user_id")
+    private UUID userId;
+
+    @Column(nullable = false)
+    private long upcoming;
+
+    @Column(nullable = false)
+    private long past;
+}
@@ -0,0 +1,63 @@
+package com.att.tdp.popcorn_palace.reactive;
+
+import java.util.Map;
+import java.util.UUID;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+import com.att.tdp.popcorn_palace.dto.BookingDTO;
+import com.att.tdp.popcorn_palace.exception.ConflictException;
+import com.att.tdp.popcorn_palace.hotspots.HotspotTracker;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive counterpart of {@link com.att.tdp.popcorn_palace.controller.BookingController}.
+ */
+@Component
+@Profile("reactive")
+public class BookingHandler {
+
+    private final ReactiveBookingService bookingService;
+    private final RequestBodies requestBodies;
+    private final HotspotTracker hotspotTracker;
+
+    public BookingHandler(ReactiveBookingService bookingService, RequestBodies requestBodies,
+            HotspotTracker hotspotTracker) {
+        this.bookingService = bookingService;
+        this.requestBodies = requestBodies;
+        this.hotspotTracker = hotspotTracker;
+    }
+
+    public Mono<ServerResponse> getAllBookings(ServerRequest request) {
+        return ServerResponse.ok().body(bookingService.getAllBookings(), BookingDTO.class);
+    }
+
+    public Mono<ServerResponse> bookTicket(ServerRequest request) {
+        return requestBodies.read(request, BookingDTO.class)
+                .doOnNext(booking -> hotspotTracker.recordBookingAttempt(booking.getShowtimeId(), booking.getUserId()))
+                .flatMap(booking -> bookingService.bookTicket(booking)
+                        .doOnError(ConflictException.class,
+                                e -> hotspotTracker.recordConflict(booking.getShowtimeId(), booking.getUserId())))
+                .flatMap(bookingId -> ServerResponse.ok().bodyValue(Map.of("bookingId", bookingId)));
+    }
+
+    public Mono<ServerResponse> getBookingById(ServerRequest request) {
+        return bookingService.getBookingById(UUID.fromString(request.pathVariable("bookingId")))
+                .flatMap(booking -> ServerResponse.ok().bodyValue(booking));
+    }
+
+    public Mono<ServerResponse> getBookingsByUser(ServerRequest request) {
+        return ServerResponse.ok().body(
+                bookingService.getBookingsByUser(UUID.fromString(request.pathVariable("userId"))),
+                BookingDTO.class);
+    }
+
+    public Mono<ServerResponse> cancelBooking(ServerRequest request) {
+        return bookingService.cancelBooking(UUID.fromString(request.pathVariable("bookingId")))
+                .then(ServerResponse.ok().build());
+    }
+}
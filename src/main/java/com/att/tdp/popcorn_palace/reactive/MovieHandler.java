@@ -0,0 +1,78 @@
+package com.att.tdp.popcorn_palace.reactive;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+import com.att.tdp.popcorn_palace.dto.MovieDTO;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive counterpart of {@link com.att.tdp.popcorn_palace.controller.MovieController}.
+ */
+@Component
+@Profile("reactive")
+public class MovieHandler {
+
+    private final ReactiveMovieService movieService;
+    private final RequestBodies requestBodies;
+
+    public MovieHandler(ReactiveMovieService movieService, RequestBodies requestBodies) {
+        this.movieService = movieService;
+        this.requestBodies = requestBodies;
+    }
+
+    public Mono<ServerResponse> getAllMovies(ServerRequest request) {
+        return ServerResponse.ok().body(movieService.getAllMovies(), MovieDTO.class);
+    }
+
+    public Mono<ServerResponse> getMovieById(ServerRequest request) {
+        return movieService.getMovieById(Long.valueOf(request.pathVariable("id")))
+                .flatMap(movie -> ServerResponse.ok().bodyValue(movie));
+    }
+
+    public Mono<ServerResponse> getMovieDetail(ServerRequest request) {
+        return movieService.getMovieDetail(Long.valueOf(request.pathVariable("id")))
+                .flatMap(detail -> ServerResponse.ok().bodyValue(detail));
+    }
+
+    public Mono<ServerResponse> getMovieByTitle(ServerRequest request) {
+        return movieService.getMovieByTitle(request.pathVariable("title"))
+                .flatMap(movie -> ServerResponse.ok().bodyValue(movie));
+    }
+
+    public Mono<ServerResponse> getMoviesByGenre(ServerRequest request) {
+        return movieService.getMoviesByGenre(request.pathVariable("genre"))
+                .flatMap(movies -> ServerResponse.ok().bodyValue(movies));
+    }
+
+    public Mono<ServerResponse> getMoviesByReleaseYear(ServerRequest request) {
+        return movieService.getMoviesByReleaseYear(Integer.valueOf(request.pathVariable("year")))
+                .flatMap(movies -> ServerResponse.ok().bodyValue(movies));
+    }
+
+    public Mono<ServerResponse> addMovie(ServerRequest request) {
+        return requestBodies.read(request, MovieDTO.class)
+                .flatMap(movieService::addMovie)
+                .flatMap(movie -> ServerResponse.ok().bodyValue(movie));
+    }
+
+    public Mono<ServerResponse> updateMovie(ServerRequest request) {
+        String title = request.pathVariable("title");
+        return requestBodies.read(request, MovieDTO.class)
+                .flatMap(movieDTO -> movieService.updateMovie(title, movieDTO))
+                .then(ServerResponse.ok()
+                        .header("message", "Movie '" + title + "' was successfully updated")
+                        .build());
+    }
+
+    public Mono<ServerResponse> deleteMovieByTitle(ServerRequest request) {
+        String title = request.pathVariable("title");
+        return movieService.deleteMovie(title)
+                .then(ServerResponse.ok()
+                        .header("message", "Movie '" + title + "' was successfully deleted")
+                        .build());
+    }
+}
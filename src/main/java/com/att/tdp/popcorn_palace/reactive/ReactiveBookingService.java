@@ -0,0 +1,175 @@
+package com.att.tdp.popcorn_palace.reactive;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+
+import com.att.tdp.popcorn_palace.config.TheaterProperties;
+import com.att.tdp.popcorn_palace.dto.BookingDTO;
+import com.att.tdp.popcorn_palace.exception.ConflictException;
+import com.att.tdp.popcorn_palace.exception.InvalidRequestException;
+import com.att.tdp.popcorn_palace.exception.ResourceNotFoundException;
+import com.att.tdp.popcorn_palace.model.OutboxEventType;
+import com.att.tdp.popcorn_palace.repository.UserBookingCounterUpsertRepository;
+
+import io.r2dbc.spi.Readable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking counterpart of {@link com.att.tdp.popcorn_palace.service.BookingService}
+ * on R2DBC. A seat taken concurrently between the existence check and the
+ * insert is caught by the unique constraint and reported as a conflict, as in
+ * the blocking variant.
+ */
+@Service
+@Profile("reactive")
+public class ReactiveBookingService {
+
+    private static final String SELECT_BOOKING = "SELECT booking_id, showtime_id, seat_number, user_id FROM bookings";
+
+    private final DatabaseClient databaseClient;
+    private final TransactionalOperator transactionalOperator;
+    private final ReactiveOutbox outbox;
+    private final TheaterProperties theaterProperties;
+    private final String addUpcoming;
+
+    public ReactiveBookingService(DatabaseClient databaseClient, TransactionalOperator transactionalOperator,
+            ReactiveOutbox outbox, TheaterProperties theaterProperties) {
+        this.databaseClient = databaseClient;
+        this.transactionalOperator = transactionalOperator;
+        this.outbox = outbox;
+        this.theaterProperties = theaterProperties;
+        this.addUpcoming = UserBookingCounterUpsertRepository.addUpcomingStatement(
+                databaseClient.getConnectionFactory().getMetadata().getName());
+    }
+
+    public Mono<UUID> bookTicket(BookingDTO bookingDTO) {
+        UUID bookingId = UUID.randomUUID();
+        return showtime(bookingDTO.getShowtimeId())
+                .switchIfEmpty(Mono.error(
+                        () -> new ResourceNotFoundException("Showtime", "id", bookingDTO.getShowtimeId())))
+                .flatMap(showtime -> validate(bookingDTO, showtime.getKey(), showtime.getValue())
+                        .then(seatTaken(bookingDTO))
+                        .flatMap(taken -> taken
+                                ? Mono.error(new ConflictException("Seat " + bookingDTO.getSeatNumber() +
+                                        " is already booked for showtime " + bookingDTO.getShowtimeId()))
+                                : insert(bookingId, bookingDTO, showtime.getKey())))
+                .as(transactionalOperator::transactional)
+                .onErrorMap(DataIntegrityViolationException.class,
+                        e -> new ConflictException("Could not create booking: " + e.getMessage()));
+    }
+
+    private Mono<Void> validate(BookingDTO bookingDTO, LocalDateTime startTime, String theater) {
+        if (startTime.isBefore(LocalDateTime.now())) {
+            return Mono.error(new InvalidRequestException("Cannot book tickets for a showtime that has already started"));
+        }
+        int capacity = theaterProperties.capacityOf(theater);
+        if (bookingDTO.getSeatNumber() > capacity) {
+            return Mono.error(new InvalidRequestException("Seat number must be at most " + capacity
+                    + " in theater " + theater));
+        }
+        return Mono.empty();
+    }
+
+    private Mono<UUID> insert(UUID bookingId, BookingDTO bookingDTO, LocalDateTime showtimeStart) {
+        return databaseClient.sql("INSERT INTO bookings (booking_id, showtime_id, seat_number, user_id, showtime_start)"
+                + " VALUES (:bookingId, :showtimeId, :seatNumber, :userId, :showtimeStart)")
+                .bind("bookingId", bookingId)
+                .bind("showtimeId", bookingDTO.getShowtimeId())
+                .bind("seatNumber", bookingDTO.getSeatNumber())
+                .bind("userId", bookingDTO.getUserId())
+                .bind("showtimeStart", showtimeStart)
+                .fetch()
+                .rowsUpdated()
+                .then(addUpcoming(bookingDTO.getUserId(), 1))
+                .then(outbox.record(OutboxEventType.BOOKING_CREATED, bookingId, BookingDTO.builder()
+                        .bookingId(bookingId)
+                        .showtimeId(bookingDTO.getShowtimeId())
+                        .seatNumber(bookingDTO.getSeatNumber())
+                        .userId(bookingDTO.getUserId())
+                        .build()))
+                .thenReturn(bookingId);
+    }
+
+    public Mono<Void> cancelBooking(UUID bookingId) {
+        return databaseClient.sql("SELECT b.booking_id, b.showtime_id, b.seat_number, b.user_id, s.start_time"
+                + " FROM bookings b JOIN showtimes s ON s.id = b.showtime_id WHERE b.booking_id = :bookingId")
+                .bind("bookingId", bookingId)
+                .map(row -> Map.entry(toBookingDTO(row), row.get("start_time", LocalDateTime.class)))
+                .one()
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Booking", "id", bookingId)))
+                .flatMap(booking -> booking.getValue().isBefore(LocalDateTime.now())
+                        ? Mono.error(new InvalidRequestException(
+                                "Cannot cancel tickets for a showtime that has already started"))
+                        : databaseClient.sql("DELETE FROM bookings WHERE booking_id = :bookingId")
+                                .bind("bookingId", bookingId)
+                                .fetch()
+                                .rowsUpdated()
+                                .then(addUpcoming(booking.getKey().getUserId(), -1))
+                                .then(outbox.record(OutboxEventType.BOOKING_CANCELLED, bookingId, booking.getKey())))
+                .then()
+                .as(transactionalOperator::transactional);
+    }
+
+    private Mono<Long> addUpcoming(UUID userId, long delta) {
+        return databaseClient.sql(addUpcoming)
+                .bind("userId", userId)
+                .bind("delta", delta)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    public Mono<BookingDTO> getBookingById(UUID bookingId) {
+        return databaseClient.sql(SELECT_BOOKING + " WHERE booking_id = :bookingId")
+                .bind("bookingId", bookingId)
+                .map(ReactiveBookingService::toBookingDTO)
+                .one()
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Booking", "id", bookingId)));
+    }
+
+    public Flux<BookingDTO> getAllBookings() {
+        return databaseClient.sql(SELECT_BOOKING)
+                .map(ReactiveBookingService::toBookingDTO)
+                .all();
+    }
+
+    public Flux<BookingDTO> getBookingsByUser(UUID userId) {
+        return databaseClient.sql(SELECT_BOOKING + " WHERE user_id = :userId")
+                .bind("userId", userId)
+                .map(ReactiveBookingService::toBookingDTO)
+                .all();
+    }
+
+    // Start time and theater of the showtime
+    private Mono<Map.Entry<LocalDateTime, String>> showtime(Long showtimeId) {
+        return databaseClient.sql("SELECT start_time, theater FROM showtimes WHERE id = :id")
+                .bind("id", showtimeId)
+                .map(row -> Map.entry(row.get("start_time", LocalDateTime.class), row.get("theater", String.class)))
+                .one();
+    }
+
+    private Mono<Boolean> seatTaken(BookingDTO bookingDTO) {
+        return databaseClient.sql("SELECT COUNT(*) AS cnt FROM bookings"
+                + " WHERE showtime_id = :showtimeId AND seat_number = :seatNumber")
+                .bind("showtimeId", bookingDTO.getShowtimeId())
+                .bind("seatNumber", bookingDTO.getSeatNumber())
+                .map(row -> row.get("cnt", Long.class) > 0)
+                .one();
+    }
+
+    static BookingDTO toBookingDTO(Readable row) {
+        return BookingDTO.builder()
+                .bookingId(row.get("booking_id", UUID.class))
+                .showtimeId(row.get("showtime_id", Long.class))
+                .seatNumber(row.get("seat_number", Integer.class))
+                .userId(row.get("user_id", UUID.class))
+                .build();
+    }
+}
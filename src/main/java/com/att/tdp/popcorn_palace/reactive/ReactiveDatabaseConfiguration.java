@@ -0,0 +1,58 @@
+package com.att.tdp.popcorn_palace.reactive;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.r2dbc.ConnectionFactoryBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.connection.R2dbcTransactionManager;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.transaction.reactive.TransactionalOperator;
+
+import com.att.tdp.popcorn_palace.config.ReactiveDataSourceProperties;
+
+import io.r2dbc.spi.Closeable;
+import io.r2dbc.spi.ConnectionFactory;
+import reactor.core.publisher.Mono;
+
+/**
+ * R2DBC access for the reactive API. The connection factory and its
+ * transaction manager are deliberately not exposed as beans: a
+ * {@code ConnectionFactory} bean would switch off the JDBC data source
+ * auto-configuration, and a second transaction manager would make the
+ * services' {@code @Transactional} ambiguous.
+ */
+@Configuration
+@Profile("reactive")
+public class ReactiveDatabaseConfiguration implements DisposableBean {
+
+    private final ConnectionFactory connectionFactory;
+
+    public ReactiveDatabaseConfiguration(ReactiveDataSourceProperties properties) {
+        ConnectionFactoryBuilder builder = ConnectionFactoryBuilder.withUrl(properties.getUrl());
+        if (properties.getUsername() != null) {
+            builder.username(properties.getUsername());
+        }
+        if (properties.getPassword() != null) {
+            builder.password(properties.getPassword());
+        }
+        this.connectionFactory = builder.build();
+    }
+
+    @Bean
+    public DatabaseClient reactiveDatabaseClient() {
+        return DatabaseClient.create(connectionFactory);
+    }
+
+    @Bean
+    public TransactionalOperator reactiveTransactionalOperator() {
+        return TransactionalOperator.create(new R2dbcTransactionManager(connectionFactory));
+    }
+
+    @Override
+    public void destroy() {
+        if (connectionFactory instanceof Closeable closeable) {
+            Mono.from(closeable.close()).block();
+        }
+    }
+}
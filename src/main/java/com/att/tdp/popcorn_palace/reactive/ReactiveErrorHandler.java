@@ -0,0 +1,96 @@
+package com.att.tdp.popcorn_palace.reactive;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.codec.DecodingException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.HandlerFilterFunction;
+import org.springframework.web.reactive.function.server.HandlerFunction;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.server.ServerWebInputException;
+
+import com.att.tdp.popcorn_palace.exception.ApiException;
+import com.att.tdp.popcorn_palace.exception.ErrorResponse;
+import com.fasterxml.jackson.databind.exc.InvalidFormatException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import reactor.core.publisher.Mono;
+
+/**
+ * Functional-endpoint equivalent of
+ * {@link com.att.tdp.popcorn_palace.exception.GlobalExceptionHandler}: maps the
+ * same exceptions to the same statuses and {@link ErrorResponse} bodies, and
+ * counts them under the same meter.
+ */
+@Component
+@Profile("reactive")
+public class ReactiveErrorHandler implements HandlerFilterFunction<ServerResponse, ServerResponse> {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReactiveErrorHandler.class);
+
+    private final MeterRegistry meterRegistry;
+
+    public ReactiveErrorHandler(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Mono<ServerResponse> filter(ServerRequest request, HandlerFunction<ServerResponse> next) {
+        return Mono.defer(() -> next.handle(request)).onErrorResume(this::handle);
+    }
+
+    Mono<ServerResponse> handle(Throwable ex) {
+        if (ex instanceof ApiException apiException) {
+            countException(ex, apiException.getStatus());
+            return respond(apiException.getStatus(), ex.getMessage(), Map.of());
+        }
+        if (ex instanceof RequestBodyValidationException validation) {
+            return respond(HttpStatus.BAD_REQUEST, "Validation failed for one or more fields", validation.getErrors());
+        }
+        if (ex instanceof DataIntegrityViolationException) {
+            countException(ex, HttpStatus.CONFLICT);
+            return respond(HttpStatus.CONFLICT, "The request conflicts with the current state of the resource",
+                    Map.of());
+        }
+        if (ex instanceof ServerWebInputException || ex instanceof DecodingException) {
+            String message = "Malformed or incomplete JSON: please check your request body for missing values or syntax errors.";
+            Throwable cause = ex;
+            while (cause.getCause() != null && cause.getCause() != cause) {
+                cause = cause.getCause();
+            }
+            if (cause instanceof InvalidFormatException) {
+                message = "Invalid format: " + cause.getMessage();
+            }
+            return respond(HttpStatus.BAD_REQUEST, message, Map.of());
+        }
+        if (ex instanceof IllegalArgumentException) {
+            return respond(HttpStatus.BAD_REQUEST, "Invalid format: " + ex.getMessage(), Map.of());
+        }
+        logger.error("Unexpected error occurred", ex);
+        return respond(HttpStatus.INTERNAL_SERVER_ERROR, "An unexpected error occurred. Please try again later.",
+                Map.of());
+    }
+
+    private Mono<ServerResponse> respond(HttpStatus status, String message, Map<String, String> errors) {
+        ErrorResponse error = new ErrorResponse(status.value(), message, LocalDateTime.now());
+        error.addValidationErrors(errors);
+        return ServerResponse.status(status).bodyValue(error);
+    }
+
+    private void countException(Throwable ex, HttpStatus status) {
+        Counter.builder("popcorn.api.exceptions")
+                .description("Handled exceptions by type and resulting status")
+                .tag("type", ex.getClass().getSimpleName())
+                .tag("status", String.valueOf(status.value()))
+                .register(meterRegistry)
+                .increment();
+    }
+}
@@ -0,0 +1,220 @@
+package com.att.tdp.popcorn_palace.reactive;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+
+import com.att.tdp.popcorn_palace.config.TheaterProperties;
+import com.att.tdp.popcorn_palace.dto.MovieDTO;
+import com.att.tdp.popcorn_palace.dto.MovieDetailDTO;
+import com.att.tdp.popcorn_palace.dto.ShowtimeAvailabilityDTO;
+import com.att.tdp.popcorn_palace.exception.ConflictException;
+import com.att.tdp.popcorn_palace.exception.ResourceNotFoundException;
+
+import io.r2dbc.spi.Readable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking counterpart of {@link com.att.tdp.popcorn_palace.service.MovieService}
+ * on R2DBC, with the same lookups, conflict checks and error types.
+ */
+@Service
+@Profile("reactive")
+public class ReactiveMovieService {
+
+    private static final String SELECT_MOVIE = "SELECT id, title, genre, duration, rating, release_year FROM movies";
+
+    private final DatabaseClient databaseClient;
+    private final TransactionalOperator transactionalOperator;
+    private final TheaterProperties theaterProperties;
+
+    public ReactiveMovieService(DatabaseClient databaseClient, TransactionalOperator transactionalOperator,
+            TheaterProperties theaterProperties) {
+        this.databaseClient = databaseClient;
+        this.transactionalOperator = transactionalOperator;
+        this.theaterProperties = theaterProperties;
+    }
+
+    public Flux<MovieDTO> getAllMovies() {
+        return databaseClient.sql(SELECT_MOVIE)
+                .map(ReactiveMovieService::toMovieDTO)
+                .all();
+    }
+
+    public Mono<MovieDTO> getMovieById(Long id) {
+        return findById(id)
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Movie", "id", id)));
+    }
+
+    /**
+     * Same three queries as the blocking variant: the movie, its upcoming
+     * showtimes and one grouped count of booked seats.
+     */
+    public Mono<MovieDetailDTO> getMovieDetail(Long id) {
+        return getMovieById(id).flatMap(movie -> databaseClient.sql(
+                "SELECT id, theater, start_time, end_time, price FROM showtimes"
+                        + " WHERE movie_id = :movieId AND start_time > :now ORDER BY start_time")
+                .bind("movieId", id)
+                .bind("now", LocalDateTime.now())
+                .map(row -> ShowtimeAvailabilityDTO.builder()
+                        .id(row.get("id", Long.class))
+                        .theater(row.get("theater", String.class))
+                        .startTime(row.get("start_time", LocalDateTime.class))
+                        .endTime(row.get("end_time", LocalDateTime.class))
+                        .price(row.get("price", Double.class))
+                        .build())
+                .all()
+                .collectList()
+                .flatMap(showtimes -> bookedSeats(showtimes)
+                        .map(booked -> MovieDetailDTO.builder()
+                                .movie(movie)
+                                .showtimes(showtimes.stream()
+                                        .map(showtime -> withAvailability(showtime,
+                                                booked.getOrDefault(showtime.getId(), 0L)))
+                                        .collect(Collectors.toList()))
+                                .build())));
+    }
+
+    public Mono<MovieDTO> getMovieByTitle(String title) {
+        return findByTitle(title)
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Movie", "title", title)));
+    }
+
+    public Mono<List<MovieDTO>> getMoviesByGenre(String genre) {
+        return databaseClient.sql(SELECT_MOVIE + " WHERE genre = :genre")
+                .bind("genre", genre)
+                .map(ReactiveMovieService::toMovieDTO)
+                .all()
+                .collectList()
+                .filter(movies -> !movies.isEmpty())
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Movie", "genre", genre)));
+    }
+
+    public Mono<List<MovieDTO>> getMoviesByReleaseYear(Integer year) {
+        return databaseClient.sql(SELECT_MOVIE + " WHERE release_year = :year")
+                .bind("year", year)
+                .map(ReactiveMovieService::toMovieDTO)
+                .all()
+                .collectList()
+                .filter(movies -> !movies.isEmpty())
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Movie", "release year", year)));
+    }
+
+    public Mono<MovieDTO> addMovie(MovieDTO movieDTO) {
+        return existsByTitle(movieDTO.getTitle())
+                .flatMap(exists -> exists
+                        ? Mono.error(new ConflictException(
+                                "Movie with title " + movieDTO.getTitle() + " already exists"))
+                        : databaseClient.sql("INSERT INTO movies (title, genre, duration, rating, release_year)"
+                                + " VALUES (:title, :genre, :duration, :rating, :releaseYear)")
+                                .bind("title", movieDTO.getTitle())
+                                .bind("genre", movieDTO.getGenre())
+                                .bind("duration", movieDTO.getDuration())
+                                .bind("rating", movieDTO.getRating())
+                                .bind("releaseYear", movieDTO.getReleaseYear())
+                                .filter(statement -> statement.returnGeneratedValues("id"))
+                                .map(row -> row.get("id", Long.class))
+                                .one()
+                                .map(id -> withId(movieDTO, id)))
+                .as(transactionalOperator::transactional);
+    }
+
+    public Mono<MovieDTO> updateMovie(String movieTitle, MovieDTO movieDTO) {
+        return getMovieByTitle(movieTitle)
+                .flatMap(movie -> (movieTitle.equals(movieDTO.getTitle())
+                        ? Mono.just(false)
+                        : existsByTitle(movieDTO.getTitle()))
+                        .flatMap(exists -> exists
+                                ? Mono.error(new ConflictException(
+                                        "Movie with title " + movieDTO.getTitle() + " already exists"))
+                                : databaseClient.sql("UPDATE movies SET title = :title, genre = :genre,"
+                                        + " duration = :duration, rating = :rating, release_year = :releaseYear"
+                                        + " WHERE id = :id")
+                                        .bind("title", movieDTO.getTitle())
+                                        .bind("genre", movieDTO.getGenre())
+                                        .bind("duration", movieDTO.getDuration())
+                                        .bind("rating", movieDTO.getRating())
+                                        .bind("releaseYear", movieDTO.getReleaseYear())
+                                        .bind("id", movie.getId())
+                                        .fetch()
+                                        .rowsUpdated()
+                                        .thenReturn(withId(movieDTO, movie.getId()))))
+                .as(transactionalOperator::transactional);
+    }
+
+    public Mono<Void> deleteMovie(String movieTitle) {
+        return existsByTitle(movieTitle)
+                .flatMap(exists -> exists
+                        ? databaseClient.sql("DELETE FROM movies WHERE title = :title")
+                                .bind("title", movieTitle)
+                                .fetch()
+                                .rowsUpdated()
+                                .then()
+                        : Mono.error(new ResourceNotFoundException("Movie", "title", movieTitle)))
+                .as(transactionalOperator::transactional);
+    }
+
+    private Mono<MovieDTO> findById(Long id) {
+        return databaseClient.sql(SELECT_MOVIE + " WHERE id = :id")
+                .bind("id", id)
+                .map(ReactiveMovieService::toMovieDTO)
+                .one();
+    }
+
+    private Mono<MovieDTO> findByTitle(String title) {
+        return databaseClient.sql(SELECT_MOVIE + " WHERE title = :title")
+                .bind("title", title)
+                .map(ReactiveMovieService::toMovieDTO)
+                .one();
+    }
+
+    private Mono<Boolean> existsByTitle(String title) {
+        return databaseClient.sql("SELECT COUNT(*) AS cnt FROM movies WHERE title = :title")
+                .bind("title", title)
+                .map(row -> row.get("cnt", Long.class) > 0)
+                .one();
+    }
+
+    private Mono<Map<Long, Long>> bookedSeats(List<ShowtimeAvailabilityDTO> showtimes) {
+        if (showtimes.isEmpty()) {
+            return Mono.just(Map.of());
+        }
+        return databaseClient.sql("SELECT showtime_id, COUNT(*) AS booked FROM bookings"
+                + " WHERE showtime_id IN (:ids) GROUP BY showtime_id")
+                .bind("ids", showtimes.stream().map(ShowtimeAvailabilityDTO::getId).toList())
+                .map(row -> Map.entry(row.get("showtime_id", Long.class), row.get("booked", Long.class)))
+                .all()
+                .collectMap(Map.Entry::getKey, Map.Entry::getValue);
+    }
+
+    private ShowtimeAvailabilityDTO withAvailability(ShowtimeAvailabilityDTO showtime, long booked) {
+        int capacity = theaterProperties.capacityOf(showtime.getTheater());
+        showtime.setCapacity(capacity);
+        showtime.setBookedSeats(booked);
+        showtime.setRemainingSeats(Math.max(0, capacity - booked));
+        return showtime;
+    }
+
+    private static MovieDTO withId(MovieDTO movieDTO, Long id) {
+        movieDTO.setId(id);
+        return movieDTO;
+    }
+
+    static MovieDTO toMovieDTO(Readable row) {
+        return MovieDTO.builder()
+                .id(row.get("id", Long.class))
+                .title(row.get("title", String.class))
+                .genre(row.get("genre", String.class))
+                .duration(row.get("duration", Integer.class))
+                .rating(row.get("rating", Double.class))
+                .releaseYear(row.get("release_year", Integer.class))
+                .build();
+    }
+}
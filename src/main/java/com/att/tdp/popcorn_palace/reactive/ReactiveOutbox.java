@@ -0,0 +1,53 @@
+package com.att.tdp.popcorn_palace.reactive;
+
+import java.time.LocalDateTime;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+
+import com.att.tdp.popcorn_palace.model.OutboxEventType;
+import com.att.tdp.popcorn_palace.repository.OutboxEventBatchRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking counterpart of {@link com.att.tdp.popcorn_palace.service.OutboxService#record}.
+ * Callers compose it into their {@code transactionalOperator} chain, so the
+ * event commits or rolls back together with the change it describes.
+ */
+@Component
+@Profile("reactive")
+public class ReactiveOutbox {
+
+    private final DatabaseClient databaseClient;
+    private final ObjectMapper objectMapper;
+
+    public ReactiveOutbox(DatabaseClient databaseClient, ObjectMapper objectMapper) {
+        this.databaseClient = databaseClient;
+        this.objectMapper = objectMapper;
+    }
+
+    public Mono<Void> record(OutboxEventType type, Object aggregateId, Object payload) {
+        return Mono.fromCallable(() -> serialize(type, payload))
+                .flatMap(json -> databaseClient.sql(OutboxEventBatchRepository.INSERT)
+                        .bind("eventType", type.name())
+                        .bind("aggregateType", type.getAggregateType())
+                        .bind("aggregateId", String.valueOf(aggregateId))
+                        .bind("payload", json)
+                        .bind("createdAt", LocalDateTime.now())
+                        .fetch()
+                        .rowsUpdated())
+                .then();
+    }
+
+    private String serialize(OutboxEventType type, Object payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize " + type + " event payload", e);
+        }
+    }
+}
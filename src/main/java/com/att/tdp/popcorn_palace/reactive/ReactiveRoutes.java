@@ -0,0 +1,65 @@
+package com.att.tdp.popcorn_palace.reactive;
+
+import static org.springframework.web.reactive.function.server.RequestPredicates.accept;
+import static org.springframework.web.reactive.function.server.RouterFunctions.route;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+/**
+ * Functional routes of the reactive API. Paths, methods and responses match
+ * the MVC controllers so clients can switch between the two stacks.
+ */
+@Configuration
+@Profile("reactive")
+public class ReactiveRoutes {
+
+    @Bean
+    public RouterFunction<ServerResponse> movieRoutes(MovieHandler handler, ReactiveErrorHandler errorHandler) {
+        return route()
+                .path("/movies", builder -> builder
+                        .GET("/all", handler::getAllMovies)
+                        .GET("/title/{title}", handler::getMovieByTitle)
+                        .GET("/genre/{genre}", handler::getMoviesByGenre)
+                        .GET("/year/{year}", handler::getMoviesByReleaseYear)
+                        .GET("/{id}/detail", handler::getMovieDetail)
+                        .GET("/{id}", handler::getMovieById)
+                        .POST("/update/{title}", accept(MediaType.APPLICATION_JSON), handler::updateMovie)
+                        .POST(accept(MediaType.APPLICATION_JSON), handler::addMovie)
+                        .DELETE("/{title}", handler::deleteMovieByTitle))
+                .filter(errorHandler)
+                .build();
+    }
+
+    @Bean
+    public RouterFunction<ServerResponse> showtimeRoutes(ShowtimeHandler handler, ReactiveErrorHandler errorHandler) {
+        return route()
+                .path("/showtimes", builder -> builder
+                        .GET("/movie/{movieId}", handler::getShowtimesByMovie)
+                        .GET("/theater/{theater}", handler::getShowtimesByTheater)
+                        .GET("/{id}", handler::getShowtimeById)
+                        .GET(handler::getAllShowtimes)
+                        .POST("/update/{id}", accept(MediaType.APPLICATION_JSON), handler::updateShowtime)
+                        .POST(accept(MediaType.APPLICATION_JSON), handler::addShowtime)
+                        .DELETE("/{id}", handler::deleteShowtime))
+                .filter(errorHandler)
+                .build();
+    }
+
+    @Bean
+    public RouterFunction<ServerResponse> bookingRoutes(BookingHandler handler, ReactiveErrorHandler errorHandler) {
+        return route()
+                .path("/bookings", builder -> builder
+                        .GET("/user/{userId}", handler::getBookingsByUser)
+                        .GET("/{bookingId}", handler::getBookingById)
+                        .GET(handler::getAllBookings)
+                        .POST(accept(MediaType.APPLICATION_JSON), handler::bookTicket)
+                        .DELETE("/{bookingId}", handler::cancelBooking))
+                .filter(errorHandler)
+                .build();
+    }
+}
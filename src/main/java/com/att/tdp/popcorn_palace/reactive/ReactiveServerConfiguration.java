@@ -0,0 +1,21 @@
+package com.att.tdp.popcorn_palace.reactive;
+
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+/**
+ * Runs the reactive API on Reactor Netty. Tomcat is on the classpath for the
+ * MVC stack and Boot would otherwise prefer it for WebFlux as well, serving
+ * requests through the servlet adapter instead of Netty's event loops.
+ */
+@Configuration
+@Profile("reactive")
+public class ReactiveServerConfiguration {
+
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+}
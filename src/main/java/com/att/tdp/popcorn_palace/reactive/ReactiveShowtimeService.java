@@ -0,0 +1,228 @@
+package com.att.tdp.popcorn_palace.reactive;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+
+import com.att.tdp.popcorn_palace.dto.ShowtimeDTO;
+import com.att.tdp.popcorn_palace.exception.ConflictException;
+import com.att.tdp.popcorn_palace.exception.InvalidRequestException;
+import com.att.tdp.popcorn_palace.exception.ResourceNotFoundException;
+import com.att.tdp.popcorn_palace.model.OutboxEventType;
+import com.att.tdp.popcorn_palace.repository.UserBookingCounterRepository;
+
+import io.r2dbc.spi.Readable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking counterpart of {@link com.att.tdp.popcorn_palace.service.ShowtimeService}
+ * on R2DBC, with the same time-window validation and overlap conflicts.
+ */
+@Service
+@Profile("reactive")
+public class ReactiveShowtimeService {
+
+    private static final String SELECT_SHOWTIME = "SELECT id, movie_id, theater, start_time, end_time, price FROM showtimes";
+
+    private final DatabaseClient databaseClient;
+    private final TransactionalOperator transactionalOperator;
+    private final ReactiveOutbox outbox;
+
+    public ReactiveShowtimeService(DatabaseClient databaseClient, TransactionalOperator transactionalOperator,
+            ReactiveOutbox outbox) {
+        this.databaseClient = databaseClient;
+        this.transactionalOperator = transactionalOperator;
+        this.outbox = outbox;
+    }
+
+    public Flux<ShowtimeDTO> getAllShowtimes() {
+        return databaseClient.sql(SELECT_SHOWTIME)
+                .map(ReactiveShowtimeService::toShowtimeDTO)
+                .all();
+    }
+
+    public Mono<ShowtimeDTO> getShowtimeById(Long showtimeId) {
+        return findById(showtimeId)
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Showtime", "id", showtimeId)));
+    }
+
+    public Mono<List<ShowtimeDTO>> getShowtimesByMovie(Long movieId) {
+        return movieExists(movieId)
+                .flatMap(exists -> exists
+                        ? databaseClient.sql(SELECT_SHOWTIME + " WHERE movie_id = :movieId")
+                                .bind("movieId", movieId)
+                                .map(ReactiveShowtimeService::toShowtimeDTO)
+                                .all()
+                                .collectList()
+                        : Mono.error(new ResourceNotFoundException("Movie", "id", movieId)));
+    }
+
+    public Mono<List<ShowtimeDTO>> getShowtimesByTheater(String theater) {
+        return databaseClient.sql(SELECT_SHOWTIME + " WHERE theater = :theater")
+                .bind("theater", theater)
+                .map(ReactiveShowtimeService::toShowtimeDTO)
+                .all()
+                .collectList()
+                .filter(showtimes -> !showtimes.isEmpty())
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Showtime", "theater", theater)));
+    }
+
+    public Mono<ShowtimeDTO> addShowtime(ShowtimeDTO showtimeDTO) {
+        return movieExists(showtimeDTO.getMovieId())
+                .flatMap(exists -> exists
+                        ? validateTimes(showtimeDTO)
+                        : Mono.error(new ResourceNotFoundException("Movie", "id", showtimeDTO.getMovieId())))
+                .then(hasOverlap(showtimeDTO, null))
+                .flatMap(overlaps -> overlaps
+                        ? Mono.error(new ConflictException(
+                                "There is already a showtime scheduled in this theater at the selected time"))
+                        : databaseClient.sql("INSERT INTO showtimes (movie_id, theater, start_time, end_time, price)"
+                                + " VALUES (:movieId, :theater, :startTime, :endTime, :price)")
+                                .bind("movieId", showtimeDTO.getMovieId())
+                                .bind("theater", showtimeDTO.getTheater())
+                                .bind("startTime", showtimeDTO.getStartTime())
+                                .bind("endTime", showtimeDTO.getEndTime())
+                                .bind("price", showtimeDTO.getPrice())
+                                .filter(statement -> statement.returnGeneratedValues("id"))
+                                .map(row -> row.get("id", Long.class))
+                                .one()
+                                .map(id -> withId(showtimeDTO, id))
+                                .flatMap(created -> outbox.record(OutboxEventType.SHOWTIME_CREATED, created.getId(),
+                                        created).thenReturn(created)))
+                .as(transactionalOperator::transactional);
+    }
+
+    public Mono<ShowtimeDTO> updateShowtime(Long showtimeId, ShowtimeDTO showtimeDTO) {
+        return getShowtimeById(showtimeId)
+                .flatMap(current -> validateTimes(showtimeDTO)
+                        .then(movieExists(showtimeDTO.getMovieId()))
+                        .flatMap(exists -> exists
+                                ? checkOverlap(current, showtimeDTO)
+                                : Mono.error(new ResourceNotFoundException("Movie", "id", showtimeDTO.getMovieId())))
+                        .then(databaseClient.sql("UPDATE showtimes SET movie_id = :movieId, theater = :theater,"
+                                + " start_time = :startTime, end_time = :endTime, price = :price WHERE id = :id")
+                                .bind("movieId", showtimeDTO.getMovieId())
+                                .bind("theater", showtimeDTO.getTheater())
+                                .bind("startTime", showtimeDTO.getStartTime())
+                                .bind("endTime", showtimeDTO.getEndTime())
+                                .bind("price", showtimeDTO.getPrice())
+                                .bind("id", showtimeId)
+                                .fetch()
+                                .rowsUpdated())
+                        .then(current.getStartTime().equals(showtimeDTO.getStartTime())
+                                ? Mono.empty()
+                                : moveBookings(showtimeId, current.getStartTime(), showtimeDTO.getStartTime()))
+                        .then(outbox.record(OutboxEventType.SHOWTIME_UPDATED, showtimeId,
+                                Map.of("previous", current, "current", withId(showtimeDTO, showtimeId))))
+                        .thenReturn(showtimeDTO))
+                .as(transactionalOperator::transactional);
+    }
+
+    public Mono<Void> deleteShowtime(Long showtimeId) {
+        return databaseClient.sql("DELETE FROM showtimes WHERE id = :id")
+                .bind("id", showtimeId)
+                .fetch()
+                .rowsUpdated()
+                .flatMap(deleted -> deleted > 0
+                        ? outbox.record(OutboxEventType.SHOWTIME_DELETED, showtimeId, Map.of("id", showtimeId))
+                        : Mono.error(new ResourceNotFoundException("Showtime", "id", showtimeId)))
+                .as(transactionalOperator::transactional);
+    }
+
+    // Keeps the ledger columns in step; see ShowtimeService#updateShowtime
+    private Mono<Void> moveBookings(Long showtimeId, LocalDateTime previousStart, LocalDateTime startTime) {
+        Mono<Long> updated = databaseClient.sql("UPDATE bookings SET showtime_start = :startTime WHERE showtime_id = :id")
+                .bind("startTime", startTime)
+                .bind("id", showtimeId)
+                .fetch()
+                .rowsUpdated();
+        if (!previousStart.isBefore(LocalDateTime.now())) {
+            return updated.then();
+        }
+        return updated
+                .then(databaseClient.sql(UserBookingCounterRepository.LOCK_ROLLED_UNTIL)
+                        .map(row -> row.get("rolled_until", LocalDateTime.class))
+                        .one())
+                .flatMap(rolledUntil -> previousStart.isAfter(rolledUntil)
+                        ? Mono.<Long>empty()
+                        : databaseClient.sql(UserBookingCounterRepository.RECLASSIFY_AS_UPCOMING)
+                                .bind("showtimeId", showtimeId)
+                                .fetch()
+                                .rowsUpdated())
+                .then();
+    }
+
+    private Mono<Void> validateTimes(ShowtimeDTO showtimeDTO) {
+        if (showtimeDTO.getStartTime().isAfter(showtimeDTO.getEndTime())) {
+            return Mono.error(new InvalidRequestException("Start time must be before end time"));
+        }
+        if (showtimeDTO.getStartTime().isBefore(LocalDateTime.now())) {
+            return Mono.error(new InvalidRequestException("Showtime must be scheduled for future dates"));
+        }
+        return Mono.empty();
+    }
+
+    // Only an actual change of theater or time window can introduce an overlap
+    private Mono<Void> checkOverlap(ShowtimeDTO current, ShowtimeDTO requested) {
+        if (current.getTheater().equals(requested.getTheater())
+                && current.getStartTime().equals(requested.getStartTime())
+                && current.getEndTime().equals(requested.getEndTime())) {
+            return Mono.empty();
+        }
+        return hasOverlap(requested, current.getId())
+                .flatMap(overlaps -> overlaps
+                        ? Mono.error(new ConflictException(
+                                "There is already a showtime scheduled in this theater at the selected time"))
+                        : Mono.<Void>empty());
+    }
+
+    private Mono<Boolean> hasOverlap(ShowtimeDTO showtimeDTO, Long excludedId) {
+        String sql = "SELECT COUNT(*) AS cnt FROM showtimes WHERE theater = :theater"
+                + " AND NOT (end_time <= :startTime OR start_time >= :endTime)"
+                + (excludedId != null ? " AND id <> :excludedId" : "");
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(sql)
+                .bind("theater", showtimeDTO.getTheater())
+                .bind("startTime", showtimeDTO.getStartTime())
+                .bind("endTime", showtimeDTO.getEndTime());
+        if (excludedId != null) {
+            spec = spec.bind("excludedId", excludedId);
+        }
+        return spec.map(row -> row.get("cnt", Long.class) > 0).one();
+    }
+
+    private Mono<Boolean> movieExists(Long movieId) {
+        return databaseClient.sql("SELECT COUNT(*) AS cnt FROM movies WHERE id = :id")
+                .bind("id", movieId)
+                .map(row -> row.get("cnt", Long.class) > 0)
+                .one();
+    }
+
+    private Mono<ShowtimeDTO> findById(Long showtimeId) {
+        return databaseClient.sql(SELECT_SHOWTIME + " WHERE id = :id")
+                .bind("id", showtimeId)
+                .map(ReactiveShowtimeService::toShowtimeDTO)
+                .one();
+    }
+
+    private static ShowtimeDTO withId(ShowtimeDTO showtimeDTO, Long id) {
+        showtimeDTO.setId(id);
+        return showtimeDTO;
+    }
+
+    static ShowtimeDTO toShowtimeDTO(Readable row) {
+        return ShowtimeDTO.builder()
+                .id(row.get("id", Long.class))
+                .movieId(row.get("movie_id", Long.class))
+                .theater(row.get("theater", String.class))
+                .startTime(row.get("start_time", LocalDateTime.class))
+                .endTime(row.get("end_time", LocalDateTime.class))
+                .price(row.get("price", Double.class))
+                .build();
+    }
+}
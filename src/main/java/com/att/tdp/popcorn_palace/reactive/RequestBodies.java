@@ -0,0 +1,44 @@
+package com.att.tdp.popcorn_palace.reactive;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.server.ServerWebInputException;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reads and validates JSON request bodies for the functional endpoints, the
+ * way {@code @Valid @RequestBody} does for the MVC controllers.
+ */
+@Component
+@Profile("reactive")
+public class RequestBodies {
+
+    private final Validator validator;
+
+    public RequestBodies(Validator validator) {
+        this.validator = validator;
+    }
+
+    public <T> Mono<T> read(ServerRequest request, Class<T> type) {
+        return request.bodyToMono(type)
+                .switchIfEmpty(Mono.error(() -> new ServerWebInputException("Request body is missing")))
+                .flatMap(body -> {
+                    Set<ConstraintViolation<T>> violations = validator.validate(body);
+                    if (violations.isEmpty()) {
+                        return Mono.just(body);
+                    }
+                    Map<String, String> errors = new HashMap<>();
+                    violations.forEach(violation -> errors.put(
+                            violation.getPropertyPath().toString(), violation.getMessage()));
+                    return Mono.error(new RequestBodyValidationException(errors));
+                });
+    }
+}
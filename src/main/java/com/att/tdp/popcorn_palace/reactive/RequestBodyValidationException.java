@@ -0,0 +1,21 @@
+package com.att.tdp.popcorn_palace.reactive;
+
+import java.util.Map;
+
+/**
+ * Bean validation failure of a request body, carrying the field errors that
+ * MVC reports for {@code @Valid} arguments.
+ */
+public class RequestBodyValidationException extends RuntimeException {
+
+    private final Map<String, String> errors;
+
+    public RequestBodyValidationException(Map<String, String> errors) {
+        super("Validation failed for one or more fields");
+        this.errors = errors;
+    }
+
+    public Map<String, String> getErrors() {
+        return errors;
+    }
+}
@@ -0,0 +1,63 @@
+package com.att.tdp.popcorn_palace.reactive;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+import com.att.tdp.popcorn_palace.dto.ShowtimeDTO;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive counterpart of {@link com.att.tdp.popcorn_palace.controller.ShowtimeController}.
+ */
+@Component
+@Profile("reactive")
+public class ShowtimeHandler {
+
+    private final ReactiveShowtimeService showtimeService;
+    private final RequestBodies requestBodies;
+
+    public ShowtimeHandler(ReactiveShowtimeService showtimeService, RequestBodies requestBodies) {
+        this.showtimeService = showtimeService;
+        this.requestBodies = requestBodies;
+    }
+
+    public Mono<ServerResponse> getAllShowtimes(ServerRequest request) {
+        return ServerResponse.ok().body(showtimeService.getAllShowtimes(), ShowtimeDTO.class);
+    }
+
+    public Mono<ServerResponse> getShowtimeById(ServerRequest request) {
+        return showtimeService.getShowtimeById(Long.valueOf(request.pathVariable("id")))
+                .flatMap(showtime -> ServerResponse.ok().bodyValue(showtime));
+    }
+
+    public Mono<ServerResponse> getShowtimesByMovie(ServerRequest request) {
+        return showtimeService.getShowtimesByMovie(Long.valueOf(request.pathVariable("movieId")))
+                .flatMap(showtimes -> ServerResponse.ok().bodyValue(showtimes));
+    }
+
+    public Mono<ServerResponse> getShowtimesByTheater(ServerRequest request) {
+        return showtimeService.getShowtimesByTheater(request.pathVariable("theater"))
+                .flatMap(showtimes -> ServerResponse.ok().bodyValue(showtimes));
+    }
+
+    public Mono<ServerResponse> addShowtime(ServerRequest request) {
+        return requestBodies.read(request, ShowtimeDTO.class)
+                .flatMap(showtimeService::addShowtime)
+                .flatMap(showtime -> ServerResponse.ok().bodyValue(showtime));
+    }
+
+    public Mono<ServerResponse> updateShowtime(ServerRequest request) {
+        Long id = Long.valueOf(request.pathVariable("id"));
+        return requestBodies.read(request, ShowtimeDTO.class)
+                .flatMap(showtimeDTO -> showtimeService.updateShowtime(id, showtimeDTO))
+                .then(ServerResponse.ok().build());
+    }
+
+    public Mono<ServerResponse> deleteShowtime(ServerRequest request) {
+        return showtimeService.deleteShowtime(Long.valueOf(request.pathVariable("id")))
+                .then(ServerResponse.ok().build());
+    }
+}
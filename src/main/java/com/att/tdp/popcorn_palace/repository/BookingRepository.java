@@ -1,9 +1,14 @@
 package com.att.tdp.popcorn_palace.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.att.tdp.popcorn_palace.model.Booking;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -17,4 +22,34 @@ public interface BookingRepository extends JpaRepository<Booking, UUID> {
 
     List<Booking> findByUserId(UUID userId);
 
+    @Query("SELECT b.showtimeId FROM Booking b WHERE b.bookingId = :bookingId")
+    Optional<Long> findShowtimeIdByBookingId(@Param("bookingId") UUID bookingId);
+
+    @Query("SELECT b.seatNumber FROM Booking b WHERE b.showtimeId = :showtimeId")
+    List<Integer> findSeatNumbersByShowtimeId(@Param("showtimeId") Long showtimeId);
+
+    @Query("SELECT b.showtimeId AS showtimeId, COUNT(b) AS bookedSeats FROM Booking b " +
+            "WHERE b.showtimeId IN :showtimeIds GROUP BY b.showtimeId")
+    List<ShowtimeSeatCount> countByShowtimeIds(@Param("showtimeIds") Collection<Long> showtimeIds);
+
+    @Query("SELECT b.showtimeId AS showtimeId, b.seatNumber AS seatNumber FROM Booking b " +
+            "WHERE b.showtimeStart >= :from AND b.showtimeStart < :to")
+    List<ShowtimeSeat> findSeatsByShowtimeStartBetween(@Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to);
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Booking b SET b.showtimeStart = :start WHERE b.showtimeId = :showtimeId")
+    int updateShowtimeStart(@Param("showtimeId") Long showtimeId, @Param("start") LocalDateTime start);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Booking b WHERE b.showtimeId IN " +
+            "(SELECT s.id FROM Showtime s WHERE s.movie.id = :movieId AND s.startTime > :after)")
+    int deleteByMovieIdAndShowtimeStartAfter(
+            @Param("movieId") Long movieId,
+            @Param("after") LocalDateTime after);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Booking b WHERE b.showtimeId IN (SELECT s.id FROM Showtime s WHERE s.movie.id = :movieId)")
+    int deleteByMovieId(@Param("movieId") Long movieId);
+
 }
@@ -1,6 +1,9 @@
 package com.att.tdp.popcorn_palace.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.att.tdp.popcorn_palace.model.Movie;
@@ -18,6 +21,9 @@ public interface MovieRepository extends JpaRepository<Movie, Long> {
 
     boolean existsByTitle(String title);
 
-    void deleteByTitle(String title);
+    // Single DELETE statement instead of the derived load-then-remove
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Movie m WHERE m.title = :title")
+    int deleteByTitle(@Param("title") String title);
 
 }
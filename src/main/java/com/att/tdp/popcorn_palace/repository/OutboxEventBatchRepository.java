@@ -0,0 +1,23 @@
+package com.att.tdp.popcorn_palace.repository;
+
+import java.util.List;
+
+import com.att.tdp.popcorn_palace.model.OutboxEvent;
+
+/**
+ * Inserts of many outbox events at once, for changes that create many rows in
+ * one go. Event ids are identity values, which keeps Hibernate from batching
+ * their inserts.
+ */
+public interface OutboxEventBatchRepository {
+
+    // Shared with the reactive variant, which writes its events with the same statement
+    String INSERT = "INSERT INTO outbox_events"
+            + " (event_type, aggregate_type, aggregate_id, payload, created_at)"
+            + " VALUES (:eventType, :aggregateType, :aggregateId, :payload, :createdAt)";
+
+    /**
+     * Inserts the events in one JDBC batch; their ids are not read back.
+     */
+    void insertAll(List<OutboxEvent> events);
+}
@@ -0,0 +1,26 @@
+package com.att.tdp.popcorn_palace.repository;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.att.tdp.popcorn_palace.model.OutboxEvent;
+
+import java.util.List;
+
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long>, OutboxEventBatchRepository {
+
+    // Locked so that relays on several nodes never number the same events twice.
+    // Native because the PostgreSQL dialect renders PESSIMISTIC_WRITE as
+    // FOR NO KEY UPDATE, which H2 does not understand
+    @Query(value = "SELECT * FROM outbox_events WHERE published_at IS NULL ORDER BY id LIMIT :limit FOR UPDATE",
+            nativeQuery = true)
+    List<OutboxEvent> findUnpublished(@Param("limit") int limit);
+
+    @Query("SELECT COALESCE(MAX(e.sequence), 0) FROM OutboxEvent e")
+    long findLastSequence();
+
+    @Query("SELECT e FROM OutboxEvent e WHERE e.sequence > :after ORDER BY e.sequence")
+    List<OutboxEvent> findPublishedAfter(@Param("after") long after, Pageable page);
+}
@@ -0,0 +1,102 @@
+package com.att.tdp.popcorn_palace.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.att.tdp.popcorn_palace.model.SalesGranularity;
+import com.att.tdp.popcorn_palace.model.SalesRollup;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Hour, day and week rollups of the sales projection. Every change is one
+ * MERGE covering all three granularities; bulk changes aggregate the affected
+ * rows of {@code sales_showtimes} into the same shape.
+ */
+public interface SalesRollupRepository extends JpaRepository<SalesRollup, SalesRollup.Key> {
+
+    String HOUR = "DATE_TRUNC('hour', start_time)";
+
+    String DAY = "DATE_TRUNC('day', start_time)";
+
+    // DATE_TRUNC('week') starts weeks on Sunday in H2 and on Monday in PostgreSQL
+    String WEEK = "DATE_TRUNC('day', start_time) - (EXTRACT(ISODOW FROM start_time) - 1) * INTERVAL '1' DAY";
+
+    String TOTALS = " movie_id, theater, COUNT(*) AS showtimes, SUM(tickets) AS tickets, SUM(revenue) AS revenue"
+            + " FROM sales_showtimes";
+
+    String MOVIE = " WHERE movie_id = :movieId";
+
+    String MOVIE_STARTING_AFTER = " WHERE movie_id = :movieId AND start_time > :after";
+
+    String MATCH = " ON r.granularity = d.granularity AND r.bucket_start = d.bucket_start"
+            + " AND r.movie_id = d.movie_id AND r.theater = d.theater";
+
+    String SUBTRACT = " WHEN MATCHED THEN UPDATE SET showtimes = r.showtimes - d.showtimes,"
+            + " tickets = r.tickets - d.tickets, revenue = r.revenue - d.revenue";
+
+    @Modifying
+    @Query(value = "MERGE INTO sales_rollups r USING (VALUES"
+            + " ('HOUR', CAST(:hour AS TIMESTAMP(6)), CAST(:movieId AS BIGINT), CAST(:theater AS VARCHAR(255)),"
+            + " CAST(:showtimes AS BIGINT), CAST(:tickets AS BIGINT), CAST(:revenue AS DOUBLE PRECISION)),"
+            + " ('DAY', :day, :movieId, :theater, :showtimes, :tickets, :revenue),"
+            + " ('WEEK', :week, :movieId, :theater, :showtimes, :tickets, :revenue))"
+            + " AS d (granularity, bucket_start, movie_id, theater, showtimes, tickets, revenue)"
+            + MATCH
+            + " WHEN MATCHED THEN UPDATE SET showtimes = r.showtimes + d.showtimes,"
+            + " tickets = r.tickets + d.tickets, revenue = r.revenue + d.revenue"
+            + " WHEN NOT MATCHED THEN INSERT (granularity, bucket_start, movie_id, theater, showtimes, tickets, revenue)"
+            + " VALUES (d.granularity, d.bucket_start, d.movie_id, d.theater, d.showtimes, d.tickets, d.revenue)",
+            nativeQuery = true)
+    int add(@Param("hour") LocalDateTime hour, @Param("day") LocalDateTime day, @Param("week") LocalDateTime week,
+            @Param("movieId") Long movieId, @Param("theater") String theater, @Param("showtimes") long showtimes,
+            @Param("tickets") long tickets, @Param("revenue") double revenue);
+
+    @Modifying(flushAutomatically = true)
+    @Query(value = "MERGE INTO sales_rollups r USING ("
+            + "SELECT 'HOUR' AS granularity, " + HOUR + " AS bucket_start," + TOTALS + MOVIE
+            + " GROUP BY " + HOUR + ", movie_id, theater"
+            + " UNION ALL SELECT 'DAY', " + DAY + "," + TOTALS + MOVIE
+            + " GROUP BY " + DAY + ", movie_id, theater"
+            + " UNION ALL SELECT 'WEEK', " + WEEK + "," + TOTALS + MOVIE
+            + " GROUP BY " + WEEK + ", movie_id, theater) d"
+            + MATCH + SUBTRACT, nativeQuery = true)
+    int subtractMovie(@Param("movieId") Long movieId);
+
+    @Modifying(flushAutomatically = true)
+    @Query(value = "MERGE INTO sales_rollups r USING ("
+            + "SELECT 'HOUR' AS granularity, " + HOUR + " AS bucket_start," + TOTALS + MOVIE_STARTING_AFTER
+            + " GROUP BY " + HOUR + ", movie_id, theater"
+            + " UNION ALL SELECT 'DAY', " + DAY + "," + TOTALS + MOVIE_STARTING_AFTER
+            + " GROUP BY " + DAY + ", movie_id, theater"
+            + " UNION ALL SELECT 'WEEK', " + WEEK + "," + TOTALS + MOVIE_STARTING_AFTER
+            + " GROUP BY " + WEEK + ", movie_id, theater) d"
+            + MATCH + SUBTRACT, nativeQuery = true)
+    int subtractMovieStartingAfter(@Param("movieId") Long movieId, @Param("after") LocalDateTime after);
+
+    @Modifying
+    @Query(value = "DELETE FROM sales_rollups", nativeQuery = true)
+    int deleteAllRollups();
+
+    // Rebuild: all three granularities from sales_showtimes in one statement
+    @Modifying
+    @Query(value = "INSERT INTO sales_rollups (granularity, bucket_start, movie_id, theater, showtimes, tickets, revenue)"
+            + " SELECT 'HOUR', " + HOUR + "," + TOTALS + " GROUP BY " + HOUR + ", movie_id, theater"
+            + " UNION ALL SELECT 'DAY', " + DAY + "," + TOTALS + " GROUP BY " + DAY + ", movie_id, theater"
+            + " UNION ALL SELECT 'WEEK', " + WEEK + "," + TOTALS + " GROUP BY " + WEEK + ", movie_id, theater",
+            nativeQuery = true)
+    int rollUpAll();
+
+    // A range scan of the primary key; buckets whose showtimes all went away are left out
+    @Query("SELECT r FROM SalesRollup r WHERE r.granularity = :granularity"
+            + " AND r.bucketStart >= :from AND r.bucketStart < :to"
+            + " AND (:movieId IS NULL OR r.movieId = :movieId) AND (:theater IS NULL OR r.theater = :theater)"
+            + " AND r.showtimes > 0"
+            + " ORDER BY r.bucketStart, r.movieId, r.theater")
+    List<SalesRollup> findReport(@Param("granularity") SalesGranularity granularity,
+            @Param("from") LocalDateTime from, @Param("to") LocalDateTime to,
+            @Param("movieId") Long movieId, @Param("theater") String theater);
+}
@@ -0,0 +1,109 @@
+package com.att.tdp.popcorn_palace.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.att.tdp.popcorn_palace.model.SalesShowtime;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Showtimes and tickets of the sales projection, and the feed position it has
+ * applied. Bulk statements clear the persistence context, since they change
+ * rows the projector may have loaded.
+ */
+public interface SalesShowtimeRepository extends JpaRepository<SalesShowtime, Long> {
+
+    // Serializes projectors and rebuilds across nodes
+    @Query(value = "SELECT last_sequence FROM sales_projection WHERE id = 1 FOR UPDATE", nativeQuery = true)
+    Long lockLastSequence();
+
+    @Query(value = "SELECT last_sequence FROM sales_projection WHERE id = 1", nativeQuery = true)
+    Long findLastSequence();
+
+    @Modifying
+    @Query(value = "UPDATE sales_projection SET last_sequence = :sequence WHERE id = 1", nativeQuery = true)
+    int updateLastSequence(@Param("sequence") long sequence);
+
+    // Inserts nothing, and returns 0, for a ticket that was already counted
+    @Modifying
+    @Query(value = "MERGE INTO sales_tickets t"
+            + " USING (VALUES (CAST(:bookingId AS UUID), CAST(:showtimeId AS BIGINT), CAST(:price AS DOUBLE PRECISION)))"
+            + " AS d (booking_id, showtime_id, price)"
+            + " ON t.booking_id = d.booking_id"
+            + " WHEN NOT MATCHED THEN INSERT (booking_id, showtime_id, price) VALUES (d.booking_id, d.showtime_id, d.price)",
+            nativeQuery = true)
+    int insertTicket(@Param("bookingId") UUID bookingId, @Param("showtimeId") Long showtimeId,
+            @Param("price") double price);
+
+    @Query(value = "SELECT price FROM sales_tickets WHERE booking_id = :bookingId", nativeQuery = true)
+    Optional<Double> findTicketPrice(@Param("bookingId") UUID bookingId);
+
+    @Modifying
+    @Query(value = "DELETE FROM sales_tickets WHERE booking_id = :bookingId", nativeQuery = true)
+    int deleteTicket(@Param("bookingId") UUID bookingId);
+
+    @Modifying
+    @Query(value = "DELETE FROM sales_tickets WHERE showtime_id = :showtimeId", nativeQuery = true)
+    int deleteTicketsByShowtimeId(@Param("showtimeId") Long showtimeId);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE SalesShowtime s SET s.price = :price WHERE s.theater = :theater")
+    int updatePriceByTheater(@Param("theater") String theater, @Param("price") double price);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE SalesShowtime s SET s.price = :price WHERE s.theater = :theater AND s.startTime >= :from")
+    int updatePriceByTheaterAndStartTimeFrom(@Param("theater") String theater, @Param("price") double price,
+            @Param("from") LocalDateTime from);
+
+    @Modifying
+    @Query(value = "DELETE FROM sales_tickets WHERE showtime_id IN"
+            + " (SELECT showtime_id FROM sales_showtimes WHERE movie_id = :movieId)", nativeQuery = true)
+    int deleteTicketsByMovieId(@Param("movieId") Long movieId);
+
+    @Modifying
+    @Query(value = "DELETE FROM sales_tickets WHERE showtime_id IN"
+            + " (SELECT showtime_id FROM sales_showtimes WHERE movie_id = :movieId AND start_time > :after)",
+            nativeQuery = true)
+    int deleteTicketsByMovieIdAndStartTimeAfter(@Param("movieId") Long movieId, @Param("after") LocalDateTime after);
+
+    @Modifying(clearAutomatically = true)
+    @Query("DELETE FROM SalesShowtime s WHERE s.movieId = :movieId")
+    int deleteByMovieId(@Param("movieId") Long movieId);
+
+    @Modifying(clearAutomatically = true)
+    @Query("DELETE FROM SalesShowtime s WHERE s.movieId = :movieId AND s.startTime > :after")
+    int deleteByMovieIdAndStartTimeAfter(@Param("movieId") Long movieId, @Param("after") LocalDateTime after);
+
+    @Modifying
+    @Query(value = "DELETE FROM sales_tickets", nativeQuery = true)
+    int deleteAllTickets();
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "DELETE FROM sales_showtimes", nativeQuery = true)
+    int deleteAllShowtimes();
+
+    // Rebuild: the current showtimes, then their tickets at the current price, then the totals
+    @Modifying
+    @Query(value = "INSERT INTO sales_showtimes (showtime_id, movie_id, theater, start_time, price, tickets, revenue)"
+            + " SELECT id, movie_id, theater, start_time, price, 0, 0 FROM showtimes", nativeQuery = true)
+    int copyShowtimes();
+
+    // Joined to the copied showtimes, so a showtime created meanwhile is left to its events
+    @Modifying
+    @Query(value = "INSERT INTO sales_tickets (booking_id, showtime_id, price)"
+            + " SELECT b.booking_id, b.showtime_id, s.price FROM bookings b"
+            + " JOIN sales_showtimes s ON s.showtime_id = b.showtime_id", nativeQuery = true)
+    int copyTickets();
+
+    @Modifying
+    @Query(value = "UPDATE sales_showtimes SET"
+            + " tickets = (SELECT COUNT(*) FROM sales_tickets t WHERE t.showtime_id = sales_showtimes.showtime_id),"
+            + " revenue = (SELECT COALESCE(SUM(t.price), 0) FROM sales_tickets t"
+            + " WHERE t.showtime_id = sales_showtimes.showtime_id)", nativeQuery = true)
+    int countTickets();
+}
@@ -0,0 +1,17 @@
+package com.att.tdp.popcorn_palace.repository;
+
+import java.util.List;
+
+import com.att.tdp.popcorn_palace.model.Showtime;
+
+/**
+ * Inserts of many showtimes at once. Showtime ids are identity values, which
+ * keeps Hibernate from batching their inserts.
+ */
+public interface ShowtimeBatchRepository {
+
+    /**
+     * Inserts the showtimes in one JDBC batch and sets their generated ids.
+     */
+    void insertAll(List<Showtime> showtimes);
+}
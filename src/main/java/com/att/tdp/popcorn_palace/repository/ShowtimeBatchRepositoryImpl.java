@@ -0,0 +1,51 @@
+package com.att.tdp.popcorn_palace.repository;
+
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+
+import com.att.tdp.popcorn_palace.metrics.SqlStatementCounter;
+import com.att.tdp.popcorn_palace.model.Showtime;
+
+class ShowtimeBatchRepositoryImpl implements ShowtimeBatchRepository {
+
+    private static final String INSERT = "INSERT INTO showtimes (movie_id, theater, start_time, end_time, price)"
+            + " VALUES (:movieId, :theater, :startTime, :endTime, :price)";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final SqlStatementCounter statementCounter;
+
+    ShowtimeBatchRepositoryImpl(NamedParameterJdbcTemplate jdbcTemplate, SqlStatementCounter statementCounter) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.statementCounter = statementCounter;
+    }
+
+    @Override
+    public void insertAll(List<Showtime> showtimes) {
+        if (showtimes.isEmpty()) {
+            return;
+        }
+        SqlParameterSource[] rows = showtimes.stream()
+                .map(showtime -> new MapSqlParameterSource()
+                        .addValue("movieId", showtime.getMovieId())
+                        .addValue("theater", showtime.getTheater())
+                        .addValue("startTime", showtime.getStartTime())
+                        .addValue("endTime", showtime.getEndTime())
+                        .addValue("price", showtime.getPrice()))
+                .toArray(SqlParameterSource[]::new);
+        KeyHolder keys = new GeneratedKeyHolder();
+        // Issued past Hibernate, so counted here to stay within statement budgets
+        statementCounter.inspect(INSERT);
+        jdbcTemplate.batchUpdate(INSERT, rows, keys, new String[] { "id" });
+
+        List<Map<String, Object>> generated = keys.getKeyList();
+        for (int i = 0; i < showtimes.size(); i++) {
+            showtimes.get(i).setId(((Number) generated.get(i).values().iterator().next()).longValue());
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.att.tdp.popcorn_palace.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -9,18 +10,55 @@ import com.att.tdp.popcorn_palace.model.Showtime;
 
 import java.time.LocalDateTime;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
-public interface ShowtimeRepository extends JpaRepository<Showtime, Long> {
+public interface ShowtimeRepository extends JpaRepository<Showtime, Long>, ShowtimeBatchRepository {
         List<Showtime> findByMovieId(Long movieId);
 
         List<Showtime> findByTheater(String theater);
 
+        List<Showtime> findByMovieIdAndStartTimeAfterOrderByStartTime(Long movieId, LocalDateTime after);
+
+        @Query("SELECT s FROM Showtime s WHERE s.startTime >= :from AND s.startTime < :to")
+        List<Showtime> findStartingBetween(
+                        @Param("from") LocalDateTime from,
+                        @Param("to") LocalDateTime to);
+
         @Query("SELECT s FROM Showtime s WHERE s.theater = :theater AND " +
                         "NOT (s.endTime <= :startTime OR s.startTime >= :endTime)")
         List<Showtime> findOverlappingShowtimes(
                         @Param("theater") String theater,
                         @Param("startTime") LocalDateTime startTime,
                         @Param("endTime") LocalDateTime endTime);
+
+        @Query("SELECT s FROM Showtime s WHERE s.theater IN :theaters AND s.endTime > :from AND s.startTime < :to")
+        List<Showtime> findByTheatersOverlapping(
+                        @Param("theaters") Collection<String> theaters,
+                        @Param("from") LocalDateTime from,
+                        @Param("to") LocalDateTime to);
+
+        @Modifying(flushAutomatically = true, clearAutomatically = true)
+        @Query("DELETE FROM Showtime s WHERE s.movie.id = :movieId AND s.startTime > :after")
+        int deleteByMovieIdAndStartTimeAfter(
+                        @Param("movieId") Long movieId,
+                        @Param("after") LocalDateTime after);
+
+        @Modifying(flushAutomatically = true, clearAutomatically = true)
+        @Query("DELETE FROM Showtime s WHERE s.movie.id = :movieId")
+        int deleteByMovieId(@Param("movieId") Long movieId);
+
+        @Modifying(flushAutomatically = true, clearAutomatically = true)
+        @Query("UPDATE Showtime s SET s.price = :price WHERE s.theater = :theater")
+        int updatePriceByTheater(
+                        @Param("theater") String theater,
+                        @Param("price") Double price);
+
+        @Modifying(flushAutomatically = true, clearAutomatically = true)
+        @Query("UPDATE Showtime s SET s.price = :price WHERE s.theater = :theater AND s.startTime >= :from")
+        int updatePriceByTheaterAndStartTimeFrom(
+                        @Param("theater") String theater,
+                        @Param("price") Double price,
+                        @Param("from") LocalDateTime from);
 }
\ No newline at end of file
@@ -0,0 +1,8 @@
+package com.att.tdp.popcorn_palace.repository;
+
+// Projection of one claimed seat of a showtime
+public interface ShowtimeSeat {
+    Long getShowtimeId();
+
+    Integer getSeatNumber();
+}
@@ -0,0 +1,8 @@
+package com.att.tdp.popcorn_palace.repository;
+
+// Projection of the number of booked seats per showtime
+public interface ShowtimeSeatCount {
+    Long getShowtimeId();
+
+    Long getBookedSeats();
+}
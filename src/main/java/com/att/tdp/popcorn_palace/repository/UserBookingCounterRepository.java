@@ -0,0 +1,106 @@
+package com.att.tdp.popcorn_palace.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.att.tdp.popcorn_palace.model.UserBookingCounter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Per-user booking counters and the ledger read. Counter updates are single
+ * MERGE statements, which PostgreSQL (15 and later) and H2 both understand,
+ * except for the upsert of {@link UserBookingCounterUpsertRepository}; the
+ * statements are shared with the reactive variant.
+ */
+public interface UserBookingCounterRepository extends JpaRepository<UserBookingCounter, UUID>,
+        UserBookingCounterUpsertRepository {
+
+    // Used only when the showtime's previous start had already been rolled over
+    String RECLASSIFY_AS_UPCOMING = "MERGE INTO user_booking_counters c"
+            + " USING (SELECT user_id, COUNT(*) AS n FROM bookings WHERE showtime_id = :showtimeId GROUP BY user_id) d"
+            + " ON c.user_id = d.user_id"
+            + " WHEN MATCHED THEN UPDATE SET upcoming = c.upcoming + d.n, past = c.past - d.n";
+
+    String LOCK_ROLLED_UNTIL = "SELECT rolled_until FROM booking_counter_rollover WHERE id = 1 FOR UPDATE";
+
+    String REMOVE_MOVIE_BOOKINGS = "MERGE INTO user_booking_counters c"
+            + " USING (SELECT b.user_id,"
+            + " SUM(CASE WHEN b.showtime_start > r.rolled_until THEN 1 ELSE 0 END) AS upcoming,"
+            + " SUM(CASE WHEN b.showtime_start > r.rolled_until THEN 0 ELSE 1 END) AS past"
+            + " FROM bookings b JOIN showtimes s ON s.id = b.showtime_id"
+            + " CROSS JOIN booking_counter_rollover r"
+            + " WHERE r.id = 1 AND s.movie_id = :movieId";
+
+    String REMOVE_MOVIE_BOOKINGS_END = " GROUP BY b.user_id) d"
+            + " ON c.user_id = d.user_id"
+            + " WHEN MATCHED THEN UPDATE SET upcoming = c.upcoming - d.upcoming, past = c.past - d.past";
+
+    // The id is read as text, which converts to a UUID the same way on either database
+    String LEDGER = "SELECT c.upcoming AS upcoming, c.past AS past, CAST(b.booking_id AS VARCHAR) AS bookingId,"
+            + " b.showtime_id AS showtimeId, b.seat_number AS seatNumber, b.showtime_start AS showtimeStart,"
+            + " s.theater AS theater, m.title AS movieTitle"
+            + " FROM user_booking_counters c"
+            + " LEFT JOIN (SELECT booking_id, showtime_id, seat_number, showtime_start FROM bookings"
+            + " WHERE user_id = :userId";
+
+    String LEDGER_END = " ORDER BY showtime_start DESC, booking_id DESC LIMIT :limit) b ON 1 = 1"
+            + " LEFT JOIN showtimes s ON s.id = b.showtime_id"
+            + " LEFT JOIN movies m ON m.id = s.movie_id"
+            + " WHERE c.user_id = :userId"
+            + " ORDER BY b.showtime_start DESC, b.booking_id DESC";
+
+    @Modifying
+    @Query(value = RECLASSIFY_AS_UPCOMING, nativeQuery = true)
+    int reclassifyAsUpcoming(@Param("showtimeId") Long showtimeId);
+
+    @Modifying
+    @Query(value = REMOVE_MOVIE_BOOKINGS + REMOVE_MOVIE_BOOKINGS_END, nativeQuery = true)
+    int removeMovieBookings(@Param("movieId") Long movieId);
+
+    @Modifying
+    @Query(value = REMOVE_MOVIE_BOOKINGS + " AND s.start_time > :after" + REMOVE_MOVIE_BOOKINGS_END,
+            nativeQuery = true)
+    int removeMovieBookingsStartingAfter(@Param("movieId") Long movieId, @Param("after") LocalDateTime after);
+
+    /**
+     * Moves the bookings of showtimes that started in {@code (from, until]}
+     * from upcoming to past.
+     */
+    @Modifying
+    @Query(value = "MERGE INTO user_booking_counters c"
+            + " USING (SELECT b.user_id, COUNT(*) AS n FROM bookings b WHERE b.showtime_id IN"
+            + " (SELECT s.id FROM showtimes s WHERE s.start_time > :from AND s.start_time <= :until)"
+            + " GROUP BY b.user_id) d"
+            + " ON c.user_id = d.user_id"
+            + " WHEN MATCHED THEN UPDATE SET upcoming = c.upcoming - d.n, past = c.past + d.n",
+            nativeQuery = true)
+    int rollOver(@Param("from") LocalDateTime from, @Param("until") LocalDateTime until);
+
+    // Serializes the rollover with writes that classify bookings by it, across nodes
+    @Query(value = LOCK_ROLLED_UNTIL, nativeQuery = true)
+    LocalDateTime lockRolledUntil();
+
+    @Modifying
+    @Query(value = "UPDATE booking_counter_rollover SET rolled_until = :until WHERE id = 1", nativeQuery = true)
+    int updateRolledUntil(@Param("until") LocalDateTime until);
+
+    /**
+     * The newest page of a user's ledger together with the user's counters,
+     * in one statement. Empty for a user who never booked.
+     */
+    @Query(value = LEDGER + LEDGER_END, nativeQuery = true)
+    List<UserLedgerRow> findLedgerHead(@Param("userId") UUID userId, @Param("limit") int limit);
+
+    /**
+     * The ledger page following the booking given by the cursor position.
+     */
+    @Query(value = LEDGER + " AND (showtime_start, booking_id) < (:beforeStart, :beforeId)" + LEDGER_END,
+            nativeQuery = true)
+    List<UserLedgerRow> findLedgerPage(@Param("userId") UUID userId, @Param("beforeStart") LocalDateTime beforeStart,
+            @Param("beforeId") UUID beforeId, @Param("limit") int limit);
+}
@@ -0,0 +1,33 @@
+package com.att.tdp.popcorn_palace.repository;
+
+import java.util.UUID;
+
+/**
+ * Adds to a user's upcoming bookings, creating the counter on the user's
+ * first booking. Two first bookings of the same user can race to create it;
+ * PostgreSQL's upsert makes the later one wait and update, where a MERGE
+ * fails it with a key violation. H2 has no {@code ON CONFLICT ... DO UPDATE},
+ * so it keeps the MERGE.
+ */
+public interface UserBookingCounterUpsertRepository {
+
+    String ADD_UPCOMING = "INSERT INTO user_booking_counters AS c (user_id, upcoming, past)"
+            + " VALUES (:userId, :delta, 0)"
+            + " ON CONFLICT (user_id) DO UPDATE SET upcoming = c.upcoming + EXCLUDED.upcoming";
+
+    String ADD_UPCOMING_MERGE = "MERGE INTO user_booking_counters c"
+            + " USING (VALUES (CAST(:userId AS UUID), CAST(:delta AS BIGINT))) AS d (user_id, delta)"
+            + " ON c.user_id = d.user_id"
+            + " WHEN MATCHED THEN UPDATE SET upcoming = c.upcoming + d.delta"
+            + " WHEN NOT MATCHED THEN INSERT (user_id, upcoming, past) VALUES (d.user_id, d.delta, 0)";
+
+    /**
+     * The statement for the database with the given product name, as reported
+     * by JDBC or R2DBC metadata; shared with the reactive variant.
+     */
+    static String addUpcomingStatement(String databaseName) {
+        return databaseName != null && databaseName.startsWith("H2") ? ADD_UPCOMING_MERGE : ADD_UPCOMING;
+    }
+
+    int addUpcoming(UUID userId, long delta);
+}
@@ -0,0 +1,38 @@
+package com.att.tdp.popcorn_palace.repository;
+
+import java.util.UUID;
+
+import jakarta.persistence.EntityManager;
+
+import org.hibernate.Session;
+
+class UserBookingCounterUpsertRepositoryImpl implements UserBookingCounterUpsertRepository {
+
+    private final EntityManager entityManager;
+    private volatile String addUpcoming;
+
+    UserBookingCounterUpsertRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    // Native, so Hibernate flushes the pending booking first and the statement is counted like any other
+    @Override
+    public int addUpcoming(UUID userId, long delta) {
+        return entityManager.createNativeQuery(addUpcomingStatement())
+                .setParameter("userId", userId)
+                .setParameter("delta", delta)
+                .executeUpdate();
+    }
+
+    // Resolved on first use from the transaction's connection, rather than taking one at startup
+    private String addUpcomingStatement() {
+        String statement = addUpcoming;
+        if (statement == null) {
+            String databaseName = entityManager.unwrap(Session.class)
+                    .doReturningWork(connection -> connection.getMetaData().getDatabaseProductName());
+            statement = UserBookingCounterUpsertRepository.addUpcomingStatement(databaseName);
+            addUpcoming = statement;
+        }
+        return statement;
+    }
+}
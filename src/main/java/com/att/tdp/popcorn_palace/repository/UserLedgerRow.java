@@ -0,0 +1,27 @@
+package com.att.tdp.popcorn_palace.repository;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * One row of a user's ledger page: the user's counters, repeated on every row,
+ * and one booking with its showtime and movie, or no booking when the page
+ * is empty.
+ */
+public interface UserLedgerRow {
+    long getUpcoming();
+
+    long getPast();
+
+    UUID getBookingId();
+
+    Long getShowtimeId();
+
+    Integer getSeatNumber();
+
+    LocalDateTime getShowtimeStart();
+
+    String getTheater();
+
+    String getMovieTitle();
+}
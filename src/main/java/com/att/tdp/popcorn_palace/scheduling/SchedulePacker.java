@@ -0,0 +1,306 @@
+package com.att.tdp.popcorn_palace.scheduling;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Packs screenings into the free time of theaters. The opening hours of each
+ * theater, less existing showtimes and their cleaning buffers, are cut into
+ * gaps; each gap is a bin holding its length plus one cleaning buffer, and a
+ * screening takes its running time plus the buffer, rounded up to the start
+ * granularity. Screenings of a gap run back to back from its first aligned
+ * start, so any set of them that fits the bin also ends before the gap does
+ * and keeps the buffer to whatever follows.
+ *
+ * <p>Screenings are placed longest first into the fullest gap that still
+ * takes them (best-fit decreasing), which keeps a film on the same screen
+ * until that screen's day is full. Screenings left over are then retried by
+ * a local search that moves a placed screening to another gap, or swaps it
+ * with a shorter one there, when that frees enough room, for as long as the
+ * time budget allows. The greedy pass costs O(n log n) in the number of gaps
+ * and screenings.
+ */
+public final class SchedulePacker {
+
+    /** A stretch of time in a theater: opening hours or an existing showtime. */
+    public record Window(String theater, LocalDateTime start, LocalDateTime end) {
+    }
+
+    /** A screening to place, with its running time. */
+    public record Screening(Long movieId, int minutes) {
+    }
+
+    /** A placed screening. */
+    public record Slot(String theater, Long movieId, LocalDateTime start, LocalDateTime end) {
+    }
+
+    /**
+     * @param openMinutes free theater time the screenings were packed into
+     */
+    public record Result(List<Slot> slots, List<Screening> unplaced, long openMinutes) {
+    }
+
+    private static final Comparator<Bin> BY_FREE = Comparator.<Bin>comparingInt(bin -> bin.free)
+            .thenComparingInt(bin -> bin.index);
+
+    private final int cleaningMinutes;
+    private final int granularityMinutes;
+
+    public SchedulePacker(int cleaningMinutes, int granularityMinutes) {
+        if (cleaningMinutes < 0 || granularityMinutes < 1) {
+            throw new IllegalArgumentException("Cleaning buffer must not be negative and granularity must be positive");
+        }
+        this.cleaningMinutes = cleaningMinutes;
+        this.granularityMinutes = granularityMinutes;
+    }
+
+    /**
+     * @param openingHours the theaters' opening windows, in the order screens are to be filled
+     * @param busy existing showtimes that the schedule must keep clear of
+     * @param deadlineNanos {@link System#nanoTime()} after which the local search stops
+     */
+    public Result pack(List<Window> openingHours, List<Window> busy, List<Screening> screenings,
+            long deadlineNanos) {
+        Placement placement = new Placement(bins(openingHours, busy));
+
+        List<Screening> order = new ArrayList<>(screenings);
+        order.sort(Comparator.comparingInt(this::footprint).reversed()
+                .thenComparing(Screening::movieId, Comparator.nullsFirst(Comparator.naturalOrder())));
+        List<Screening> unplaced = new ArrayList<>();
+        for (Screening screening : order) {
+            Bin bin = placement.fitting(footprint(screening));
+            if (bin == null) {
+                unplaced.add(screening);
+            } else {
+                placement.add(bin, screening);
+            }
+        }
+
+        List<Screening> left = improve(placement, unplaced, deadlineNanos);
+        long openMinutes = placement.bins.stream().mapToLong(bin -> bin.capacity - cleaningMinutes).sum();
+        return new Result(slots(placement.bins), left, openMinutes);
+    }
+
+    private List<Bin> bins(List<Window> openingHours, List<Window> busy) {
+        Map<String, List<Window>> busyByTheater = new LinkedHashMap<>();
+        for (Window window : busy) {
+            busyByTheater.computeIfAbsent(window.theater(), t -> new ArrayList<>()).add(window);
+        }
+        busyByTheater.values().forEach(windows -> windows.sort(Comparator.comparing(Window::start)));
+
+        List<Bin> bins = new ArrayList<>();
+        for (Window hours : openingHours) {
+            LocalDateTime cursor = hours.start();
+            for (Window showtime : busyByTheater.getOrDefault(hours.theater(), List.of())) {
+                LocalDateTime blockedFrom = showtime.start().minusMinutes(cleaningMinutes);
+                LocalDateTime blockedUntil = showtime.end().plusMinutes(cleaningMinutes);
+                if (!blockedUntil.isAfter(cursor)) {
+                    continue;
+                }
+                if (!blockedFrom.isBefore(hours.end())) {
+                    break;
+                }
+                addBin(bins, hours.theater(), cursor, blockedFrom);
+                cursor = blockedUntil;
+            }
+            addBin(bins, hours.theater(), cursor, hours.end());
+        }
+        return bins;
+    }
+
+    private void addBin(List<Bin> bins, String theater, LocalDateTime from, LocalDateTime until) {
+        LocalDateTime start = align(from);
+        long minutes = ChronoUnit.MINUTES.between(start, until);
+        if (minutes > 0) {
+            bins.add(new Bin(theater, start, (int) minutes + cleaningMinutes, bins.size()));
+        }
+    }
+
+    // Rounds up to the next start on the granularity grid, counted from midnight
+    private LocalDateTime align(LocalDateTime time) {
+        LocalDateTime minute = time.truncatedTo(ChronoUnit.MINUTES);
+        if (minute.isBefore(time)) {
+            minute = minute.plusMinutes(1);
+        }
+        int remainder = (minute.getHour() * 60 + minute.getMinute()) % granularityMinutes;
+        return remainder == 0 ? minute : minute.plusMinutes(granularityMinutes - remainder);
+    }
+
+    private int footprint(Screening screening) {
+        int minutes = screening.minutes() + cleaningMinutes;
+        return (minutes + granularityMinutes - 1) / granularityMinutes * granularityMinutes;
+    }
+
+    /**
+     * Retries the screenings the greedy pass left over, longest first. When a
+     * screening finds no move, longer ones cannot either until something
+     * changes, so they are skipped.
+     */
+    private List<Screening> improve(Placement placement, List<Screening> unplaced, long deadlineNanos) {
+        List<Screening> left = new ArrayList<>();
+        int failedAt = Integer.MAX_VALUE;
+        for (Screening screening : unplaced) {
+            int footprint = footprint(screening);
+            if (footprint >= failedAt || System.nanoTime() - deadlineNanos > 0 || !placement.makeRoom(screening)) {
+                left.add(screening);
+                failedAt = Math.min(failedAt, footprint);
+            } else {
+                failedAt = Integer.MAX_VALUE;
+            }
+        }
+        return left;
+    }
+
+    private List<Slot> slots(List<Bin> bins) {
+        List<Slot> slots = new ArrayList<>();
+        for (Bin bin : bins) {
+            LocalDateTime start = bin.start;
+            for (Screening screening : bin.screenings) {
+                slots.add(new Slot(bin.theater, screening.movieId(), start, start.plusMinutes(screening.minutes())));
+                start = start.plusMinutes(footprint(screening));
+            }
+        }
+        return slots;
+    }
+
+    /**
+     * The gaps with what they hold, indexed by free room, and per screening
+     * footprint by the free room of the gaps holding one.
+     */
+    private final class Placement {
+        private final List<Bin> bins;
+        private final TreeSet<Bin> open = new TreeSet<>(BY_FREE);
+        private final Map<Integer, TreeSet<Bin>> holding = new HashMap<>();
+
+        private Placement(List<Bin> bins) {
+            this.bins = bins;
+            open.addAll(bins);
+        }
+
+        // The fullest gap with room for the footprint
+        private Bin fitting(int footprint) {
+            return open.ceiling(Bin.probe(footprint));
+        }
+
+        private Bin fittingOther(TreeSet<Bin> candidates, int footprint, Bin except) {
+            Bin bin = candidates.ceiling(Bin.probe(footprint));
+            return bin == except ? candidates.higher(bin) : bin;
+        }
+
+        /**
+         * Places the screening, directly or after one move: a screening of
+         * some gap goes to another gap with room for it, or is swapped with a
+         * shorter one there, and the gap it left takes the new screening.
+         */
+        private boolean makeRoom(Screening screening) {
+            int footprint = footprint(screening);
+            Bin direct = fitting(footprint);
+            if (direct != null) {
+                add(direct, screening);
+                return true;
+            }
+            for (Bin target : bins) {
+                int needed = footprint - target.free;
+                for (Screening moved : distinctFootprints(target)) {
+                    int movedFootprint = footprint(moved);
+                    if (movedFootprint < needed) {
+                        continue;
+                    }
+                    Bin other = fittingOther(open, movedFootprint, target);
+                    if (other != null) {
+                        remove(target, moved);
+                        add(other, moved);
+                        add(target, screening);
+                        return true;
+                    }
+                    for (Map.Entry<Integer, TreeSet<Bin>> candidates : holding.entrySet()) {
+                        int backFootprint = candidates.getKey();
+                        if (backFootprint >= movedFootprint || movedFootprint - backFootprint < needed) {
+                            continue;
+                        }
+                        other = fittingOther(candidates.getValue(), movedFootprint - backFootprint, target);
+                        if (other != null) {
+                            Screening back = other.screenings.stream()
+                                    .filter(s -> footprint(s) == backFootprint)
+                                    .findFirst()
+                                    .orElseThrow();
+                            remove(target, moved);
+                            remove(other, back);
+                            add(other, moved);
+                            add(target, back);
+                            add(target, screening);
+                            return true;
+                        }
+                    }
+                }
+            }
+            return false;
+        }
+
+        private void add(Bin bin, Screening screening) {
+            change(bin, () -> {
+                bin.screenings.add(screening);
+                bin.free -= footprint(screening);
+            });
+        }
+
+        private void remove(Bin bin, Screening screening) {
+            change(bin, () -> {
+                bin.screenings.remove(screening);
+                bin.free += footprint(screening);
+            });
+        }
+
+        // Bins are ordered by their free room, so they leave every index before it changes
+        private void change(Bin bin, Runnable change) {
+            open.remove(bin);
+            for (Screening screening : distinctFootprints(bin)) {
+                holding.get(footprint(screening)).remove(bin);
+            }
+            change.run();
+            open.add(bin);
+            for (Screening screening : distinctFootprints(bin)) {
+                holding.computeIfAbsent(footprint(screening), f -> new TreeSet<>(BY_FREE)).add(bin);
+            }
+        }
+
+        private List<Screening> distinctFootprints(Bin bin) {
+            List<Screening> distinct = new ArrayList<>();
+            for (Screening screening : bin.screenings) {
+                if (distinct.stream().noneMatch(d -> footprint(d) == footprint(screening))) {
+                    distinct.add(screening);
+                }
+            }
+            return distinct;
+        }
+    }
+
+    private static final class Bin {
+        private final String theater;
+        private final LocalDateTime start;
+        private final int capacity;
+        private final int index;
+        private final List<Screening> screenings = new ArrayList<>();
+        private int free;
+
+        private Bin(String theater, LocalDateTime start, int capacity, int index) {
+            this.theater = theater;
+            this.start = start;
+            this.capacity = capacity;
+            this.index = index;
+            this.free = capacity;
+        }
+
+        // Sorts before every bin with at least this much room
+        private static Bin probe(int free) {
+            return new Bin(null, null, free, -1);
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.att.tdp.popcorn_palace.seats;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.att.tdp.popcorn_palace.dto.SeatDeltaDTO;
+import com.att.tdp.popcorn_palace.dto.SeatSnapshotDTO;
+
+/**
+ * In-memory seat map of one showtime together with its subscribers. The map is
+ * loaded from the database once, when the first subscriber connects, and kept
+ * current from committed seat changes; every message is serialized once and
+ * the same bytes are sent to all subscribers.
+ */
+class SeatChannel {
+
+    private final Long showtimeId;
+    private final Set<SeatSubscriber> subscribers = ConcurrentHashMap.newKeySet();
+
+    private boolean loaded;
+    private int capacity;
+    private final BitSet claimed = new BitSet();
+    private long version;
+
+    // Seats changed since the last flush; a seat toggled back cancels out
+    private final Map<Integer, Boolean> pending = new TreeMap<>();
+    private long flushedVersion;
+
+    private long snapshotVersion = -1;
+    private Set<DataWithMediaType> snapshotMessage;
+
+    SeatChannel(Long showtimeId) {
+        this.showtimeId = showtimeId;
+    }
+
+    Long getShowtimeId() {
+        return showtimeId;
+    }
+
+    Collection<SeatSubscriber> getSubscribers() {
+        return subscribers;
+    }
+
+    void addSubscriber(SeatSubscriber subscriber) {
+        subscribers.add(subscriber);
+    }
+
+    void removeSubscriber(SeatSubscriber subscriber) {
+        subscribers.remove(subscriber);
+    }
+
+    boolean hasSubscribers() {
+        return !subscribers.isEmpty();
+    }
+
+    synchronized boolean isLoaded() {
+        return loaded;
+    }
+
+    synchronized void load(int capacity, Collection<Integer> claimedSeats) {
+        if (loaded) {
+            return;
+        }
+        this.capacity = capacity;
+        claimedSeats.stream().filter(this::inRange).forEach(claimed::set);
+        loaded = true;
+    }
+
+    /**
+     * Applies a committed seat change. Changes that arrive before the map is
+     * loaded are already contained in the data it is loaded from.
+     */
+    synchronized void apply(int seatNumber, boolean seatClaimed) {
+        if (!loaded || !inRange(seatNumber) || claimed.get(seatNumber) == seatClaimed) {
+            return;
+        }
+        claimed.set(seatNumber, seatClaimed);
+        version++;
+        if (pending.remove(seatNumber) == null) {
+            pending.put(seatNumber, seatClaimed);
+        }
+    }
+
+    // Seats beyond the theater's capacity are not on the map, and would only grow the bit set
+    private boolean inRange(int seatNumber) {
+        return seatNumber >= 1 && seatNumber <= capacity;
+    }
+
+    /**
+     * Takes the changes collected since the last flush as one delta message, or
+     * {@code null} when nothing changed.
+     */
+    synchronized Set<DataWithMediaType> drainDelta(Function<Object, String> serializer) {
+        if (version == flushedVersion) {
+            return null;
+        }
+        List<Integer> claimedSeats = new ArrayList<>();
+        List<Integer> releasedSeats = new ArrayList<>();
+        pending.forEach((seat, seatClaimed) -> (seatClaimed ? claimedSeats : releasedSeats).add(seat));
+        SeatDeltaDTO delta = SeatDeltaDTO.builder()
+                .showtimeId(showtimeId)
+                .fromVersion(flushedVersion)
+                .version(version)
+                .claimed(claimedSeats)
+                .released(releasedSeats)
+                .build();
+        pending.clear();
+        flushedVersion = version;
+        return message("seats", version, serializer.apply(delta));
+    }
+
+    /**
+     * Full seat map at the current version. Cached per version, so subscribers
+     * that fall behind together share one serialized snapshot.
+     */
+    synchronized Set<DataWithMediaType> snapshot(Function<Object, String> serializer) {
+        if (snapshotVersion != version) {
+            SeatSnapshotDTO snapshot = SeatSnapshotDTO.builder()
+                    .showtimeId(showtimeId)
+                    .version(version)
+                    .capacity(capacity)
+                    .claimedSeats(claimed.stream().boxed().toList())
+                    .build();
+            snapshotMessage = message("snapshot", version, serializer.apply(snapshot));
+            snapshotVersion = version;
+        }
+        return snapshotMessage;
+    }
+
+    private static Set<DataWithMediaType> message(String name, long version, String json) {
+        return SseEmitter.event()
+                .name(name)
+                .id(String.valueOf(version))
+                .data(json, MediaType.APPLICATION_JSON)
+                .build();
+    }
+}
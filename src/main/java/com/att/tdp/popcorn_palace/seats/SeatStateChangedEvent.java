@@ -0,0 +1,8 @@
+package com.att.tdp.popcorn_palace.seats;
+
+/**
+ * Published by the booking service when a seat is claimed or released. Seat
+ * streams only act on it once the booking transaction has committed.
+ */
+public record SeatStateChangedEvent(Long showtimeId, Integer seatNumber, boolean claimed) {
+}
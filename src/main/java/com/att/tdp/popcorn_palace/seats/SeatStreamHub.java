@@ -0,0 +1,221 @@
+package com.att.tdp.popcorn_palace.seats;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.event.EventListener;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.att.tdp.popcorn_palace.cluster.OwnershipChangedEvent;
+import com.att.tdp.popcorn_palace.config.SeatStreamProperties;
+import com.att.tdp.popcorn_palace.config.TheaterProperties;
+import com.att.tdp.popcorn_palace.exception.ResourceNotFoundException;
+import com.att.tdp.popcorn_palace.hotspots.HotspotTracker;
+import com.att.tdp.popcorn_palace.model.Showtime;
+import com.att.tdp.popcorn_palace.repository.BookingRepository;
+import com.att.tdp.popcorn_palace.repository.ShowtimeRepository;
+import com.att.tdp.popcorn_palace.routing.ReadYourWrites;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Fans committed seat changes out to live seat map streams. Each showtime
+ * with subscribers has one in-memory {@link SeatChannel}: it is read from the
+ * database once when the first client connects, and after that a booking or
+ * cancellation costs one in-memory update and, per flush, one serialized
+ * delta shared by all subscribers, independent of how many are connected.
+ * Sends run on virtual threads, so a slow client only holds up itself.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class SeatStreamHub implements SmartLifecycle, DisposableBean {
+
+    private final Map<Long, SeatChannel> channels = new ConcurrentHashMap<>();
+    private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+
+    private final ShowtimeRepository showtimeRepository;
+    private final BookingRepository bookingRepository;
+    private final TheaterProperties theaterProperties;
+    private final SeatStreamProperties properties;
+    private final ObjectMapper objectMapper;
+    private final HotspotTracker hotspotTracker;
+    private final Counter resnapshots;
+    private volatile boolean running;
+
+    public SeatStreamHub(ShowtimeRepository showtimeRepository, BookingRepository bookingRepository,
+            TheaterProperties theaterProperties, SeatStreamProperties properties, ObjectMapper objectMapper,
+            HotspotTracker hotspotTracker, MeterRegistry meterRegistry) {
+        this.showtimeRepository = showtimeRepository;
+        this.bookingRepository = bookingRepository;
+        this.theaterProperties = theaterProperties;
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.hotspotTracker = hotspotTracker;
+        this.resnapshots = Counter.builder("popcorn.seats.stream.resnapshots")
+                .description("Deltas replaced by a snapshot because the subscriber was still busy")
+                .register(meterRegistry);
+        Gauge.builder("popcorn.seats.stream.subscribers", this, SeatStreamHub::subscriberCount)
+                .description("Connected seat map stream subscribers")
+                .register(meterRegistry);
+        Gauge.builder("popcorn.seats.stream.showtimes", channels, Map::size)
+                .description("Showtimes with a live seat map")
+                .register(meterRegistry);
+    }
+
+    public SseEmitter subscribe(Long showtimeId) {
+        hotspotTracker.recordSeatRead(showtimeId);
+        if (!showtimeRepository.existsById(showtimeId)) {
+            throw new ResourceNotFoundException("Showtime", "id", showtimeId);
+        }
+
+        SseEmitter emitter = new SseEmitter(properties.getTimeout().toMillis());
+        SeatSubscriber[] subscriber = new SeatSubscriber[1];
+        // Registering the subscriber inside compute keeps the channel from being evicted in between
+        SeatChannel channel = channels.compute(showtimeId, (id, existing) -> {
+            SeatChannel c = existing != null ? existing : new SeatChannel(id);
+            subscriber[0] = new SeatSubscriber(emitter, () -> c.snapshot(this::serialize), senders,
+                    resnapshots::increment, s -> unsubscribe(id, s));
+            c.addSubscriber(subscriber[0]);
+            return c;
+        });
+        emitter.onCompletion(() -> unsubscribe(showtimeId, subscriber[0]));
+        emitter.onTimeout(() -> unsubscribe(showtimeId, subscriber[0]));
+        emitter.onError(e -> unsubscribe(showtimeId, subscriber[0]));
+
+        try {
+            ensureLoaded(channel);
+        } catch (RuntimeException e) {
+            unsubscribe(showtimeId, subscriber[0]);
+            throw e;
+        }
+        subscriber[0].start();
+        return emitter;
+    }
+
+    /**
+     * Loads the seat map while holding the channel's lock, which
+     * {@link SeatChannel#apply} also takes. Seat changes that commit during the
+     * read wait for it and are applied on top, so none are lost between the
+     * read and the first delta.
+     */
+    private void ensureLoaded(SeatChannel channel) {
+        synchronized (channel) {
+            if (channel.isLoaded()) {
+                return;
+            }
+            // Read committed state from the primary; a lagging replica could miss a claim
+            boolean primaryRequired = ReadYourWrites.isPrimaryRequired();
+            ReadYourWrites.requirePrimary();
+            try {
+                Showtime showtime = showtimeRepository.findById(channel.getShowtimeId())
+                        .orElseThrow(() -> new ResourceNotFoundException("Showtime", "id", channel.getShowtimeId()));
+                List<Integer> claimedSeats = bookingRepository.findSeatNumbersByShowtimeId(channel.getShowtimeId());
+                channel.load(theaterProperties.capacityOf(showtime.getTheater()), claimedSeats);
+            } finally {
+                if (!primaryRequired) {
+                    ReadYourWrites.clear();
+                }
+            }
+        }
+    }
+
+    // The last subscriber to leave drops the channel; the next one reloads it
+    private void unsubscribe(Long showtimeId, SeatSubscriber subscriber) {
+        channels.computeIfPresent(showtimeId, (id, channel) -> {
+            channel.removeSubscriber(subscriber);
+            return channel.hasSubscribers() ? channel : null;
+        });
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onSeatStateChanged(SeatStateChangedEvent event) {
+        SeatChannel channel = channels.get(event.showtimeId());
+        if (channel != null) {
+            channel.apply(event.seatNumber(), event.claimed());
+        }
+    }
+
+    /**
+     * Ends the streams of showtimes handed to another member. Their clients
+     * reconnect and are relayed to the new owner, which loads the seat map
+     * afresh; this node no longer sees those showtimes' seat changes.
+     */
+    @EventListener
+    public void onOwnershipChanged(OwnershipChangedEvent event) {
+        channels.values().removeIf(channel -> {
+            if (!event.lost(channel.getShowtimeId())) {
+                return false;
+            }
+            channel.getSubscribers().forEach(subscriber -> subscriber.getEmitter().complete());
+            return true;
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${popcorn-palace.seat-stream.flush-interval:100ms}")
+    public void flush() {
+        for (SeatChannel channel : channels.values()) {
+            Set<DataWithMediaType> delta = channel.drainDelta(this::serialize);
+            if (delta != null) {
+                channel.getSubscribers().forEach(subscriber -> subscriber.offer(delta));
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${popcorn-palace.seat-stream.heartbeat-interval:15s}")
+    public void heartbeat() {
+        channels.values().forEach(channel -> channel.getSubscribers().forEach(SeatSubscriber::ping));
+    }
+
+    int subscriberCount() {
+        return channels.values().stream().mapToInt(channel -> channel.getSubscribers().size()).sum();
+    }
+
+    private String serialize(Object message) {
+        try {
+            return objectMapper.writeValueAsString(message);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize seat map message", e);
+        }
+    }
+
+    @Override
+    public void start() {
+        running = true;
+    }
+
+    /**
+     * Ends all streams. Runs before the web server's graceful shutdown, which
+     * would otherwise wait for these never-ending requests until it times out.
+     */
+    @Override
+    public void stop() {
+        running = false;
+        channels.values().forEach(channel -> channel.getSubscribers().forEach(s -> s.getEmitter().complete()));
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public void destroy() {
+        senders.shutdownNow();
+    }
+}
@@ -0,0 +1,103 @@
+package com.att.tdp.popcorn_palace.seats;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * One connected seat map client. At most one send is in flight per client;
+ * a delta that arrives while the previous send is still blocked on a slow
+ * connection is dropped, and once the connection catches up the client gets
+ * a fresh snapshot instead. Memory per client therefore stays constant no
+ * matter how far behind it is.
+ */
+class SeatSubscriber {
+
+    static final Set<DataWithMediaType> HEARTBEAT = SseEmitter.event().comment("heartbeat").build();
+
+    private final SseEmitter emitter;
+    private final Supplier<Set<DataWithMediaType>> snapshot;
+    private final Executor executor;
+    private final Runnable onResnapshot;
+    private final Consumer<SeatSubscriber> onFailure;
+
+    private final AtomicBoolean sending = new AtomicBoolean();
+    // A new subscriber starts out needing the snapshot
+    private volatile boolean snapshotRequired = true;
+
+    SeatSubscriber(SseEmitter emitter, Supplier<Set<DataWithMediaType>> snapshot, Executor executor,
+            Runnable onResnapshot, Consumer<SeatSubscriber> onFailure) {
+        this.emitter = emitter;
+        this.snapshot = snapshot;
+        this.executor = executor;
+        this.onResnapshot = onResnapshot;
+        this.onFailure = onFailure;
+    }
+
+    SseEmitter getEmitter() {
+        return emitter;
+    }
+
+    /**
+     * Queues a delta for sending, or marks the subscriber for a resnapshot when
+     * it is still busy with an earlier message.
+     */
+    void offer(Set<DataWithMediaType> delta) {
+        if (sending.compareAndSet(false, true)) {
+            executor.execute(() -> drain(delta));
+        } else if (!snapshotRequired) {
+            snapshotRequired = true;
+            onResnapshot.run();
+        }
+    }
+
+    /**
+     * Sends a heartbeat when the connection is idle; a busy connection, or one
+     * about to get a snapshot, does not need one.
+     */
+    void ping() {
+        if (!snapshotRequired && sending.compareAndSet(false, true)) {
+            executor.execute(() -> drain(HEARTBEAT));
+        }
+    }
+
+    /**
+     * Sends the initial snapshot; called once the seat map is loaded.
+     */
+    void start() {
+        if (sending.compareAndSet(false, true)) {
+            executor.execute(() -> drain(null));
+        }
+    }
+
+    private void drain(Set<DataWithMediaType> message) {
+        while (true) {
+            if (snapshotRequired) {
+                // The snapshot already contains everything the dropped deltas did
+                snapshotRequired = false;
+                message = snapshot.get();
+            }
+            if (message != null) {
+                try {
+                    emitter.send(message);
+                } catch (IOException | IllegalStateException e) {
+                    // Client went away or the async request already completed
+                    onFailure.accept(this);
+                    return;
+                }
+            }
+            sending.set(false);
+            // Catch a resnapshot request that raced with the end of this send
+            if (!snapshotRequired || !sending.compareAndSet(false, true)) {
+                return;
+            }
+            message = null;
+        }
+    }
+}
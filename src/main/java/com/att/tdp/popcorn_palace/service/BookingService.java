@@ -1,36 +1,64 @@
 package com.att.tdp.popcorn_palace.service;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
 import java.util.List;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
 import jakarta.persistence.EntityNotFoundException;
-import jakarta.transaction.Transactional;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import io.micrometer.core.annotation.Timed;
+
+import com.att.tdp.popcorn_palace.config.LedgerProperties;
+import com.att.tdp.popcorn_palace.config.TheaterProperties;
 import com.att.tdp.popcorn_palace.dto.BookingDTO;
+import com.att.tdp.popcorn_palace.dto.LedgerEntryDTO;
+import com.att.tdp.popcorn_palace.dto.UserLedgerDTO;
 import com.att.tdp.popcorn_palace.exception.ConflictException;
 import com.att.tdp.popcorn_palace.exception.InvalidRequestException;
 import com.att.tdp.popcorn_palace.exception.ResourceNotFoundException;
 import com.att.tdp.popcorn_palace.model.Booking;
+import com.att.tdp.popcorn_palace.model.OutboxEventType;
 import com.att.tdp.popcorn_palace.model.Showtime;
 import com.att.tdp.popcorn_palace.repository.BookingRepository;
 import com.att.tdp.popcorn_palace.repository.ShowtimeRepository;
+import com.att.tdp.popcorn_palace.repository.UserBookingCounterRepository;
+import com.att.tdp.popcorn_palace.repository.UserLedgerRow;
+import com.att.tdp.popcorn_palace.seats.SeatStateChangedEvent;
 
 @Service
+@Timed(value = "popcorn.service", description = "Service method execution time")
 public class BookingService {
 
     private final BookingRepository bookingRepository;
     private final ShowtimeRepository showtimeRepository;
+    private final UserBookingCounterRepository counterRepository;
+    private final OutboxService outboxService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final LedgerProperties ledgerProperties;
+    private final TheaterProperties theaterProperties;
 
     @Autowired
-    public BookingService(BookingRepository bookingRepository, ShowtimeRepository showtimeRepository) {
+    public BookingService(BookingRepository bookingRepository, ShowtimeRepository showtimeRepository,
+            UserBookingCounterRepository counterRepository, OutboxService outboxService,
+            ApplicationEventPublisher eventPublisher, LedgerProperties ledgerProperties,
+            TheaterProperties theaterProperties) {
         this.bookingRepository = bookingRepository;
         this.showtimeRepository = showtimeRepository;
+        this.counterRepository = counterRepository;
+        this.outboxService = outboxService;
+        this.eventPublisher = eventPublisher;
+        this.ledgerProperties = ledgerProperties;
+        this.theaterProperties = theaterProperties;
     }
 
     @Transactional
@@ -43,6 +71,11 @@ public class BookingService {
         if (showtime.getStartTime().isBefore(now)) {
             throw new InvalidRequestException("Cannot book tickets for a showtime that has already started");
         }
+        int capacity = theaterProperties.capacityOf(showtime.getTheater());
+        if (bookingDTO.getSeatNumber() > capacity) {
+            throw new InvalidRequestException("Seat number must be at most " + capacity + " in theater "
+                    + showtime.getTheater());
+        }
 
         // Check if the seat is already booked
         if (bookingRepository.existsByShowtimeIdAndSeatNumber(
@@ -56,11 +89,23 @@ public class BookingService {
                 .showtimeId(bookingDTO.getShowtimeId())
                 .seatNumber(bookingDTO.getSeatNumber())
                 .userId(bookingDTO.getUserId())
+                .showtimeStart(showtime.getStartTime())
                 .build();
 
         try {
             // Attempt to save the booking
             Booking savedBooking = bookingRepository.save(booking);
+            // A bookable showtime has not started, so the booking is always upcoming
+            counterRepository.addUpcoming(bookingDTO.getUserId(), 1);
+            outboxService.record(OutboxEventType.BOOKING_CREATED, savedBooking.getBookingId(),
+                    BookingDTO.builder()
+                            .bookingId(savedBooking.getBookingId())
+                            .showtimeId(savedBooking.getShowtimeId())
+                            .seatNumber(savedBooking.getSeatNumber())
+                            .userId(savedBooking.getUserId())
+                            .build());
+            eventPublisher.publishEvent(new SeatStateChangedEvent(
+                    savedBooking.getShowtimeId(), savedBooking.getSeatNumber(), true));
             return savedBooking.getBookingId();
         } catch (DataIntegrityViolationException e) {
             throw new ConflictException("Could not create booking: " + e.getMessage());
@@ -84,8 +129,12 @@ public class BookingService {
         }
 
         bookingRepository.deleteById(bookingId);
+        counterRepository.addUpcoming(booking.getUserId(), -1);
+        outboxService.record(OutboxEventType.BOOKING_CANCELLED, bookingId, convertToDTO(booking));
+        eventPublisher.publishEvent(new SeatStateChangedEvent(showtime.getId(), booking.getSeatNumber(), false));
     }
 
+    @Transactional(readOnly = true)
     public BookingDTO getBookingById(UUID bookingId) {
         Booking booking = bookingRepository.findById(bookingId)
                 .orElseThrow(() -> new ResourceNotFoundException("Booking", "id", bookingId));
@@ -93,22 +142,85 @@ public class BookingService {
         return convertToDTO(booking);
     }
 
+    @Transactional(readOnly = true)
     public List<BookingDTO> getAllBookings() {
         return bookingRepository.findAll().stream()
                 .map(this::convertToDTO)
                 .collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
     public List<BookingDTO> getBookingsByUser(UUID userId) {
         return bookingRepository.findByUserId(userId).stream()
                 .map(this::convertToDTO)
                 .collect(Collectors.toList());
     }
 
+    /**
+     * A page of the user's ledger, newest showtime first, with the user's
+     * upcoming and past counts. The first page, and every following one, is
+     * a single statement reading the user's bookings in index order.
+     */
+    @Transactional(readOnly = true)
+    public UserLedgerDTO getUserLedger(UUID userId, String cursor, Integer limit) {
+        int pageSize = limit != null ? limit : ledgerProperties.getDefaultLimit();
+        if (pageSize < 1 || pageSize > ledgerProperties.getMaxLimit()) {
+            throw new InvalidRequestException("limit must be between 1 and " + ledgerProperties.getMaxLimit());
+        }
+        List<UserLedgerRow> rows;
+        if (cursor == null || cursor.isEmpty()) {
+            rows = counterRepository.findLedgerHead(userId, pageSize);
+        } else {
+            LedgerEntryDTO position = decodeCursor(cursor);
+            rows = counterRepository.findLedgerPage(userId, position.getShowtimeStart(), position.getBookingId(),
+                    pageSize);
+        }
+
+        List<LedgerEntryDTO> entries = rows.stream()
+                .filter(row -> row.getBookingId() != null)
+                .map(row -> LedgerEntryDTO.builder()
+                        .bookingId(row.getBookingId())
+                        .showtimeId(row.getShowtimeId())
+                        .seatNumber(row.getSeatNumber())
+                        .showtimeStart(row.getShowtimeStart())
+                        .theater(row.getTheater())
+                        .movieTitle(row.getMovieTitle())
+                        .build())
+                .collect(Collectors.toList());
+        return UserLedgerDTO.builder()
+                .userId(userId)
+                .upcoming(rows.isEmpty() ? 0 : rows.get(0).getUpcoming())
+                .past(rows.isEmpty() ? 0 : rows.get(0).getPast())
+                .entries(entries)
+                .nextCursor(entries.size() < pageSize ? null : encodeCursor(entries.get(entries.size() - 1)))
+                .build();
+    }
+
+    // The cursor is the position of the last entry returned: its showtime start and booking id
+    private static String encodeCursor(LedgerEntryDTO last) {
+        String position = last.getShowtimeStart() + "|" + last.getBookingId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static LedgerEntryDTO decodeCursor(String cursor) {
+        try {
+            String[] position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|");
+            if (position.length != 2) {
+                throw new InvalidRequestException("Invalid ledger cursor");
+            }
+            return LedgerEntryDTO.builder()
+                    .showtimeStart(LocalDateTime.parse(position[0]))
+                    .bookingId(UUID.fromString(position[1]))
+                    .build();
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new InvalidRequestException("Invalid ledger cursor");
+        }
+    }
+
     private BookingDTO convertToDTO(Booking booking) {
         return BookingDTO.builder()
                 .bookingId(booking.getBookingId())
-                .showtimeId(booking.getShowtime().getId()) // Direct access to showtime's ID
+                .showtimeId(booking.getShowtimeId()) // Mapped column, the showtime itself is not needed
                 .seatNumber(booking.getSeatNumber())
                 .userId(booking.getUserId())
                 .build();
@@ -0,0 +1,116 @@
+package com.att.tdp.popcorn_palace.service;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import io.micrometer.core.annotation.Timed;
+
+import com.att.tdp.popcorn_palace.cache.CatalogChangedEvent;
+import com.att.tdp.popcorn_palace.dto.BulkOperationResultDTO;
+import com.att.tdp.popcorn_palace.dto.RepriceRequestDTO;
+import com.att.tdp.popcorn_palace.exception.ResourceNotFoundException;
+import com.att.tdp.popcorn_palace.model.Movie;
+import com.att.tdp.popcorn_palace.model.OutboxEventType;
+import com.att.tdp.popcorn_palace.repository.BookingRepository;
+import com.att.tdp.popcorn_palace.repository.MovieRepository;
+import com.att.tdp.popcorn_palace.repository.ShowtimeRepository;
+import com.att.tdp.popcorn_palace.repository.UserBookingCounterRepository;
+
+/**
+ * Set-based maintenance operations. Every method issues a fixed number of
+ * JPQL bulk statements inside a single transaction, independent of how many
+ * rows are affected, and reports the row counts back to the caller.
+ */
+@Service
+@Timed(value = "popcorn.service", description = "Service method execution time")
+public class BulkOperationService {
+
+    private final MovieRepository movieRepository;
+    private final ShowtimeRepository showtimeRepository;
+    private final BookingRepository bookingRepository;
+    private final UserBookingCounterRepository counterRepository;
+    private final OutboxService outboxService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    public BulkOperationService(MovieRepository movieRepository, ShowtimeRepository showtimeRepository,
+            BookingRepository bookingRepository, UserBookingCounterRepository counterRepository,
+            OutboxService outboxService, ApplicationEventPublisher eventPublisher) {
+        this.movieRepository = movieRepository;
+        this.showtimeRepository = showtimeRepository;
+        this.bookingRepository = bookingRepository;
+        this.counterRepository = counterRepository;
+        this.outboxService = outboxService;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Transactional
+    public BulkOperationResultDTO deleteShowtimesForMovie(Long movieId, LocalDateTime after) {
+        if (!movieRepository.existsById(movieId)) {
+            throw new ResourceNotFoundException("Movie", "id", movieId);
+        }
+        LocalDateTime cutoff = after != null ? after : LocalDateTime.now();
+
+        // Bookings reference showtimes, so they have to go first, and their counts before them
+        counterRepository.lockRolledUntil();
+        counterRepository.removeMovieBookingsStartingAfter(movieId, cutoff);
+        int bookings = bookingRepository.deleteByMovieIdAndShowtimeStartAfter(movieId, cutoff);
+        int showtimes = showtimeRepository.deleteByMovieIdAndStartTimeAfter(movieId, cutoff);
+
+        BulkOperationResultDTO result = BulkOperationResultDTO.builder()
+                .operation("deleteShowtimesForMovie")
+                .showtimesAffected(showtimes)
+                .bookingsAffected(bookings)
+                .build();
+        // One summary event per operation; the individual rows were never loaded
+        outboxService.record(OutboxEventType.MOVIE_SHOWTIMES_DELETED, movieId,
+                Map.of("startingAfter", cutoff, "result", result));
+        eventPublisher.publishEvent(new CatalogChangedEvent("showtimes of a movie deleted"));
+        return result;
+    }
+
+    @Transactional
+    public BulkOperationResultDTO repriceTheater(String theater, RepriceRequestDTO request) {
+        int showtimes = request.getFrom() == null
+                ? showtimeRepository.updatePriceByTheater(theater, request.getPrice())
+                : showtimeRepository.updatePriceByTheaterAndStartTimeFrom(theater, request.getPrice(),
+                        request.getFrom());
+
+        BulkOperationResultDTO result = BulkOperationResultDTO.builder()
+                .operation("repriceTheater")
+                .showtimesAffected(showtimes)
+                .build();
+        outboxService.record(OutboxEventType.THEATER_REPRICED, theater,
+                Map.of("request", request, "result", result));
+        eventPublisher.publishEvent(new CatalogChangedEvent("theater repriced"));
+        return result;
+    }
+
+    @Transactional
+    public BulkOperationResultDTO dropMovie(String movieTitle) {
+        Movie movie = movieRepository.findByTitle(movieTitle)
+                .orElseThrow(() -> new ResourceNotFoundException("Movie", "title", movieTitle));
+
+        counterRepository.lockRolledUntil();
+        counterRepository.removeMovieBookings(movie.getId());
+        int bookings = bookingRepository.deleteByMovieId(movie.getId());
+        int showtimes = showtimeRepository.deleteByMovieId(movie.getId());
+        int movies = movieRepository.deleteByTitle(movieTitle);
+
+        BulkOperationResultDTO result = BulkOperationResultDTO.builder()
+                .operation("dropMovie")
+                .moviesAffected(movies)
+                .showtimesAffected(showtimes)
+                .bookingsAffected(bookings)
+                .build();
+        outboxService.record(OutboxEventType.MOVIE_DROPPED, movie.getId(),
+                Map.of("title", movieTitle, "result", result));
+        eventPublisher.publishEvent(new CatalogChangedEvent("movie dropped"));
+        return result;
+    }
+}
@@ -0,0 +1,43 @@
+package com.att.tdp.popcorn_palace.service;
+
+import java.time.LocalDateTime;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.att.tdp.popcorn_palace.config.LedgerProperties;
+import com.att.tdp.popcorn_palace.repository.UserBookingCounterRepository;
+
+/**
+ * Moves bookings from the users' upcoming to their past counters once their
+ * showtime has started. Each run covers the showtimes that started since the
+ * previous run, on whichever node gets there first; the rollover row lock
+ * keeps nodes from counting a showtime twice.
+ */
+@Service
+public class LedgerRollover {
+
+    private final UserBookingCounterRepository counterRepository;
+    private final LedgerProperties properties;
+
+    @Autowired
+    public LedgerRollover(UserBookingCounterRepository counterRepository, LedgerProperties properties) {
+        this.counterRepository = counterRepository;
+        this.properties = properties;
+    }
+
+    @Scheduled(fixedDelayString = "${popcorn-palace.ledger.rollover-interval:1m}")
+    @Transactional
+    public int rollOver() {
+        LocalDateTime rolledUntil = counterRepository.lockRolledUntil();
+        LocalDateTime until = LocalDateTime.now().minus(properties.getRolloverGrace());
+        if (!until.isAfter(rolledUntil)) {
+            return 0;
+        }
+        int users = counterRepository.rollOver(rolledUntil, until);
+        counterRepository.updateRolledUntil(until);
+        return users;
+    }
+}
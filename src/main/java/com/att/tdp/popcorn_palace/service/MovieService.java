@@ -1,45 +1,98 @@
 package com.att.tdp.popcorn_palace.service;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
-import jakarta.transaction.Transactional;
-
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import io.micrometer.core.annotation.Timed;
 
+import com.att.tdp.popcorn_palace.cache.CatalogChangedEvent;
+import com.att.tdp.popcorn_palace.config.TheaterProperties;
 import com.att.tdp.popcorn_palace.dto.MovieDTO;
+import com.att.tdp.popcorn_palace.dto.MovieDetailDTO;
+import com.att.tdp.popcorn_palace.dto.ShowtimeAvailabilityDTO;
 import com.att.tdp.popcorn_palace.exception.ConflictException;
 import com.att.tdp.popcorn_palace.exception.ResourceNotFoundException;
 import com.att.tdp.popcorn_palace.model.Movie;
+import com.att.tdp.popcorn_palace.model.Showtime;
+import com.att.tdp.popcorn_palace.repository.BookingRepository;
 import com.att.tdp.popcorn_palace.repository.MovieRepository;
+import com.att.tdp.popcorn_palace.repository.ShowtimeRepository;
+import com.att.tdp.popcorn_palace.repository.ShowtimeSeatCount;
 
 @Service
+@Timed(value = "popcorn.service", description = "Service method execution time")
 public class MovieService {
 
     private final MovieRepository movieRepository;
+    private final ShowtimeRepository showtimeRepository;
+    private final BookingRepository bookingRepository;
+    private final TheaterProperties theaterProperties;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Autowired
-    public MovieService(MovieRepository movieRepository) {
+    public MovieService(MovieRepository movieRepository, ShowtimeRepository showtimeRepository,
+            BookingRepository bookingRepository, TheaterProperties theaterProperties,
+            ApplicationEventPublisher eventPublisher) {
         this.movieRepository = movieRepository;
+        this.showtimeRepository = showtimeRepository;
+        this.bookingRepository = bookingRepository;
+        this.theaterProperties = theaterProperties;
+        this.eventPublisher = eventPublisher;
     }
 
+    @Transactional(readOnly = true)
     public List<MovieDTO> getAllMovies() {
         return movieRepository.findAll().stream()
                 .map(this::convertToDTO)
                 .collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
     public MovieDTO getMovieById(Long id) {
         return convertToDTO(movieRepository.findById(id).orElseThrow(() -> new RuntimeException("Movie not found")));
     }
 
+    /**
+     * Builds the movie page in at most three queries: the movie, its upcoming
+     * showtimes, and one grouped count of booked seats across those showtimes.
+     */
+    @Transactional(readOnly = true)
+    public MovieDetailDTO getMovieDetail(Long id) {
+        Movie movie = movieRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Movie", "id", id));
+
+        List<Showtime> showtimes = showtimeRepository.findByMovieIdAndStartTimeAfterOrderByStartTime(id,
+                LocalDateTime.now());
+
+        Map<Long, Long> bookedSeats = showtimes.isEmpty()
+                ? Map.of()
+                : bookingRepository.countByShowtimeIds(showtimes.stream().map(Showtime::getId).toList()).stream()
+                        .collect(Collectors.toMap(ShowtimeSeatCount::getShowtimeId, ShowtimeSeatCount::getBookedSeats));
+
+        return MovieDetailDTO.builder()
+                .movie(convertToDTO(movie))
+                .showtimes(showtimes.stream()
+                        .map(showtime -> convertToAvailabilityDTO(showtime,
+                                bookedSeats.getOrDefault(showtime.getId(), 0L)))
+                        .collect(Collectors.toList()))
+                .build();
+    }
+
+    @Transactional(readOnly = true)
     public MovieDTO getMovieByTitle(String title) {
         return convertToDTO(
                 movieRepository.findByTitle(title)
                         .orElseThrow(() -> new ResourceNotFoundException("Movie", "title", title)));
     }
 
+    @Transactional(readOnly = true)
     public List<MovieDTO> getMoviesByGenre(String genre) {
         List<Movie> movies = movieRepository.findByGenre(genre);
         if (movies.isEmpty()) {
@@ -50,6 +103,7 @@ public class MovieService {
                 .collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
     public List<MovieDTO> getMoviesByReleaseYear(Integer year) {
         List<Movie> movies = movieRepository.findByReleaseYear(year);
 
@@ -62,6 +116,7 @@ public class MovieService {
                 .collect(Collectors.toList());
     }
 
+    @Transactional
     public MovieDTO addMovie(MovieDTO movieDTO) {
         if (movieRepository.existsByTitle(movieDTO.getTitle())) {
             throw new ConflictException("Movie with title " + movieDTO.getTitle() + " already exists");
@@ -69,6 +124,7 @@ public class MovieService {
 
         Movie movie = convertToEntity(movieDTO);
         Movie savedMovie = movieRepository.save(movie);
+        eventPublisher.publishEvent(new CatalogChangedEvent("movie added"));
         return convertToDTO(savedMovie);
     }
 
@@ -90,6 +146,7 @@ public class MovieService {
         movie.setReleaseYear(movieDTO.getReleaseYear());
 
         Movie updatedMovie = movieRepository.save(movie);
+        eventPublisher.publishEvent(new CatalogChangedEvent("movie updated"));
         return convertToDTO(updatedMovie);
     }
 
@@ -100,6 +157,7 @@ public class MovieService {
         }
 
         movieRepository.deleteByTitle(movieTitle);
+        eventPublisher.publishEvent(new CatalogChangedEvent("movie deleted"));
     }
 
     // convert movie entity to movie dto
@@ -114,6 +172,20 @@ public class MovieService {
                 .build();
     }
 
+    private ShowtimeAvailabilityDTO convertToAvailabilityDTO(Showtime showtime, long booked) {
+        int capacity = theaterProperties.capacityOf(showtime.getTheater());
+        return ShowtimeAvailabilityDTO.builder()
+                .id(showtime.getId())
+                .theater(showtime.getTheater())
+                .startTime(showtime.getStartTime())
+                .endTime(showtime.getEndTime())
+                .price(showtime.getPrice())
+                .capacity(capacity)
+                .bookedSeats(booked)
+                .remainingSeats(Math.max(0, capacity - booked))
+                .build();
+    }
+
     // convert movie dto to movie entity
     private Movie convertToEntity(MovieDTO movieDTO) {
         return Movie.builder()
@@ -0,0 +1,57 @@
+package com.att.tdp.popcorn_palace.service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.att.tdp.popcorn_palace.config.OutboxProperties;
+import com.att.tdp.popcorn_palace.model.OutboxEvent;
+import com.att.tdp.popcorn_palace.repository.OutboxEventRepository;
+
+/**
+ * Publishes committed outbox events: numbers them with the next feed
+ * sequences, which makes them visible on {@code GET /events}, and hands them
+ * to in-process listeners as {@link com.att.tdp.popcorn_palace.dto.OutboxEventDTO}
+ * application events. Listeners that must only see committed events should use
+ * {@code @TransactionalEventListener}.
+ */
+@Service
+public class OutboxRelay {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final OutboxService outboxService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final OutboxProperties properties;
+
+    @Autowired
+    public OutboxRelay(OutboxEventRepository outboxEventRepository, OutboxService outboxService,
+            ApplicationEventPublisher eventPublisher, OutboxProperties properties) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.outboxService = outboxService;
+        this.eventPublisher = eventPublisher;
+        this.properties = properties;
+    }
+
+    @Scheduled(fixedDelayString = "${popcorn-palace.outbox.relay-interval:500ms}")
+    @Transactional
+    public int publishPending() {
+        List<OutboxEvent> pending = outboxEventRepository.findUnpublished(properties.getRelayBatchSize());
+        if (pending.isEmpty()) {
+            return 0;
+        }
+
+        long sequence = outboxEventRepository.findLastSequence();
+        LocalDateTime now = LocalDateTime.now();
+        for (OutboxEvent event : pending) {
+            event.setSequence(++sequence);
+            event.setPublishedAt(now);
+            eventPublisher.publishEvent(outboxService.convertToDTO(event));
+        }
+        return pending.size();
+    }
+}
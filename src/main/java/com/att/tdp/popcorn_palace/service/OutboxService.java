@@ -0,0 +1,114 @@
+package com.att.tdp.popcorn_palace.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import io.micrometer.core.annotation.Timed;
+
+import com.att.tdp.popcorn_palace.config.OutboxProperties;
+import com.att.tdp.popcorn_palace.dto.EventFeedDTO;
+import com.att.tdp.popcorn_palace.dto.OutboxEventDTO;
+import com.att.tdp.popcorn_palace.exception.InvalidRequestException;
+import com.att.tdp.popcorn_palace.model.OutboxEvent;
+import com.att.tdp.popcorn_palace.model.OutboxEventType;
+import com.att.tdp.popcorn_palace.repository.OutboxEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@Service
+@Timed(value = "popcorn.service", description = "Service method execution time")
+public class OutboxService {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+    private final OutboxProperties properties;
+
+    @Autowired
+    public OutboxService(OutboxEventRepository outboxEventRepository, ObjectMapper objectMapper,
+            OutboxProperties properties) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+    }
+
+    /**
+     * Records a change event. Must run inside the transaction that makes the
+     * change, so the event is committed or rolled back together with it.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(OutboxEventType type, Object aggregateId, Object payload) {
+        outboxEventRepository.save(OutboxEvent.builder()
+                .eventType(type)
+                .aggregateType(type.getAggregateType())
+                .aggregateId(String.valueOf(aggregateId))
+                .payload(serialize(type, payload))
+                .createdAt(LocalDateTime.now())
+                .build());
+    }
+
+    /**
+     * Records one event per entry of {@code payloads}, keyed by aggregate id,
+     * in a single batch. Same transaction rule as {@link #record}.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordAll(OutboxEventType type, Map<?, ?> payloads) {
+        LocalDateTime now = LocalDateTime.now();
+        List<OutboxEvent> events = new ArrayList<>(payloads.size());
+        payloads.forEach((aggregateId, payload) -> events.add(OutboxEvent.builder()
+                .eventType(type)
+                .aggregateType(type.getAggregateType())
+                .aggregateId(String.valueOf(aggregateId))
+                .payload(serialize(type, payload))
+                .createdAt(now)
+                .build()));
+        outboxEventRepository.insertAll(events);
+    }
+
+    @Transactional(readOnly = true)
+    public EventFeedDTO getEventsAfter(long after, int limit) {
+        if (after < 0) {
+            throw new InvalidRequestException("after must not be negative");
+        }
+        if (limit < 1 || limit > properties.getMaxFeedLimit()) {
+            throw new InvalidRequestException("limit must be between 1 and " + properties.getMaxFeedLimit());
+        }
+
+        List<OutboxEventDTO> events = outboxEventRepository.findPublishedAfter(after, PageRequest.ofSize(limit))
+                .stream()
+                .map(this::convertToDTO)
+                .collect(Collectors.toList());
+
+        return EventFeedDTO.builder()
+                .events(events)
+                .lastSequence(events.isEmpty() ? after : events.get(events.size() - 1).getSequence())
+                .build();
+    }
+
+    private String serialize(OutboxEventType type, Object payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize " + type + " event payload", e);
+        }
+    }
+
+    OutboxEventDTO convertToDTO(OutboxEvent event) {
+        return OutboxEventDTO.builder()
+                .sequence(event.getSequence())
+                .type(event.getEventType())
+                .aggregateType(event.getAggregateType())
+                .aggregateId(event.getAggregateId())
+                .payload(event.getPayload())
+                .occurredAt(event.getCreatedAt())
+                .build();
+    }
+}
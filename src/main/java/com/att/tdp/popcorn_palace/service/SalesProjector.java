@@ -0,0 +1,229 @@
+package com.att.tdp.popcorn_palace.service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.att.tdp.popcorn_palace.config.AnalyticsProperties;
+import com.att.tdp.popcorn_palace.dto.BulkOperationResultDTO;
+import com.att.tdp.popcorn_palace.dto.RepriceRequestDTO;
+import com.att.tdp.popcorn_palace.dto.ShowtimeDTO;
+import com.att.tdp.popcorn_palace.model.OutboxEvent;
+import com.att.tdp.popcorn_palace.model.SalesGranularity;
+import com.att.tdp.popcorn_palace.model.SalesShowtime;
+import com.att.tdp.popcorn_palace.repository.OutboxEventRepository;
+import com.att.tdp.popcorn_palace.repository.SalesRollupRepository;
+import com.att.tdp.popcorn_palace.repository.SalesShowtimeRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Keeps the sales analytics current by applying the change feed in sequence
+ * order, from the position stored with the projection. Booking writes do no
+ * analytics work of their own.
+ *
+ * <p>Applying an event twice changes nothing: tickets are recorded by booking
+ * id and showtime events carry the showtime's full state. A rebuild from the
+ * base tables can therefore resume the feed from the position it started at,
+ * replaying events it may already contain. Nodes take turns through the lock
+ * on the position row.
+ */
+@Service
+public class SalesProjector {
+
+    private final SalesShowtimeRepository showtimeRepository;
+    private final SalesRollupRepository rollupRepository;
+    private final OutboxEventRepository outboxEventRepository;
+    private final AnalyticsProperties properties;
+    private final ObjectMapper objectMapper;
+
+    @Autowired
+    public SalesProjector(SalesShowtimeRepository showtimeRepository, SalesRollupRepository rollupRepository,
+            OutboxEventRepository outboxEventRepository, AnalyticsProperties properties, ObjectMapper objectMapper) {
+        this.showtimeRepository = showtimeRepository;
+        this.rollupRepository = rollupRepository;
+        this.outboxEventRepository = outboxEventRepository;
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Applies the next batch of published events. The first run after the
+     * projection was created backfills it from the base tables instead.
+     */
+    @Scheduled(fixedDelayString = "${popcorn-palace.analytics.projection-interval:1s}")
+    @Transactional
+    public int project() {
+        Long lastSequence = showtimeRepository.lockLastSequence();
+        if (lastSequence == null) {
+            rebuildLocked();
+            return 0;
+        }
+
+        List<OutboxEvent> events = outboxEventRepository.findPublishedAfter(lastSequence,
+                PageRequest.ofSize(properties.getBatchSize()));
+        if (events.isEmpty()) {
+            return 0;
+        }
+        events.forEach(this::apply);
+        showtimeRepository.updateLastSequence(events.get(events.size() - 1).getSequence());
+        return events.size();
+    }
+
+    /**
+     * Recomputes the projection from showtimes and bookings. History before
+     * the rebuild is valued at today's showtime prices, since bookings do not
+     * record what they were sold at.
+     */
+    @Transactional
+    public BulkOperationResultDTO rebuild() {
+        showtimeRepository.lockLastSequence();
+        return rebuildLocked();
+    }
+
+    private BulkOperationResultDTO rebuildLocked() {
+        // Events up to here are contained in the tables read below; later ones are replayed
+        long sequence = outboxEventRepository.findLastSequence();
+        rollupRepository.deleteAllRollups();
+        showtimeRepository.deleteAllTickets();
+        showtimeRepository.deleteAllShowtimes();
+
+        int showtimes = showtimeRepository.copyShowtimes();
+        int tickets = showtimeRepository.copyTickets();
+        showtimeRepository.countTickets();
+        rollupRepository.rollUpAll();
+        showtimeRepository.updateLastSequence(sequence);
+
+        return BulkOperationResultDTO.builder()
+                .operation("rebuildSalesAnalytics")
+                .showtimesAffected(showtimes)
+                .bookingsAffected(tickets)
+                .build();
+    }
+
+    private void apply(OutboxEvent event) {
+        JsonNode payload = read(event.getPayload());
+        switch (event.getEventType()) {
+            case BOOKING_CREATED -> bookingCreated(UUID.fromString(payload.get("bookingId").asText()),
+                    payload.get("showtimeId").asLong());
+            case BOOKING_CANCELLED -> bookingCancelled(UUID.fromString(payload.get("bookingId").asText()),
+                    payload.get("showtimeId").asLong());
+            case SHOWTIME_CREATED -> showtimeChanged(convert(payload, ShowtimeDTO.class));
+            case SHOWTIME_UPDATED -> showtimeChanged(convert(payload.get("current"), ShowtimeDTO.class));
+            case SHOWTIME_DELETED -> showtimeDeleted(payload.get("id").asLong());
+            case THEATER_REPRICED -> theaterRepriced(event.getAggregateId(),
+                    convert(payload.get("request"), RepriceRequestDTO.class));
+            case MOVIE_SHOWTIMES_DELETED -> movieShowtimesDeleted(Long.valueOf(event.getAggregateId()),
+                    convert(payload.get("startingAfter"), LocalDateTime.class));
+            case MOVIE_DROPPED -> movieShowtimesDeleted(Long.valueOf(event.getAggregateId()), null);
+        }
+    }
+
+    private void bookingCreated(UUID bookingId, Long showtimeId) {
+        showtimeRepository.findById(showtimeId).ifPresent(showtime -> {
+            if (showtimeRepository.insertTicket(bookingId, showtimeId, showtime.getPrice()) == 0) {
+                return;
+            }
+            showtime.setTickets(showtime.getTickets() + 1);
+            showtime.setRevenue(showtime.getRevenue() + showtime.getPrice());
+            addToRollups(showtime, 0, 1, showtime.getPrice());
+        });
+    }
+
+    private void bookingCancelled(UUID bookingId, Long showtimeId) {
+        showtimeRepository.findTicketPrice(bookingId).ifPresent(price -> {
+            showtimeRepository.deleteTicket(bookingId);
+            showtimeRepository.findById(showtimeId).ifPresent(showtime -> {
+                showtime.setTickets(showtime.getTickets() - 1);
+                showtime.setRevenue(showtime.getRevenue() - price);
+                addToRollups(showtime, 0, -1, -price);
+            });
+        });
+    }
+
+    // Created and updated alike: the event holds the showtime as it is now
+    private void showtimeChanged(ShowtimeDTO current) {
+        SalesShowtime showtime = showtimeRepository.findById(current.getId()).orElse(null);
+        if (showtime == null) {
+            showtime = showtimeRepository.save(SalesShowtime.builder()
+                    .showtimeId(current.getId())
+                    .movieId(current.getMovieId())
+                    .theater(current.getTheater())
+                    .startTime(current.getStartTime())
+                    .price(current.getPrice())
+                    .build());
+            addToRollups(showtime, 1, 0, 0);
+            return;
+        }
+
+        showtime.setPrice(current.getPrice());
+        if (showtime.getMovieId().equals(current.getMovieId()) && showtime.getTheater().equals(current.getTheater())
+                && showtime.getStartTime().equals(current.getStartTime())) {
+            return;
+        }
+        // Moves the showtime, with what it has sold, to its new buckets
+        addToRollups(showtime, -1, -showtime.getTickets(), -showtime.getRevenue());
+        showtime.setMovieId(current.getMovieId());
+        showtime.setTheater(current.getTheater());
+        showtime.setStartTime(current.getStartTime());
+        addToRollups(showtime, 1, showtime.getTickets(), showtime.getRevenue());
+    }
+
+    private void showtimeDeleted(Long showtimeId) {
+        showtimeRepository.findById(showtimeId).ifPresent(showtime -> {
+            addToRollups(showtime, -1, -showtime.getTickets(), -showtime.getRevenue());
+            showtimeRepository.deleteTicketsByShowtimeId(showtimeId);
+            showtimeRepository.delete(showtime);
+        });
+    }
+
+    private void theaterRepriced(String theater, RepriceRequestDTO request) {
+        if (request.getFrom() == null) {
+            showtimeRepository.updatePriceByTheater(theater, request.getPrice());
+        } else {
+            showtimeRepository.updatePriceByTheaterAndStartTimeFrom(theater, request.getPrice(), request.getFrom());
+        }
+    }
+
+    private void movieShowtimesDeleted(Long movieId, LocalDateTime after) {
+        if (after == null) {
+            rollupRepository.subtractMovie(movieId);
+            showtimeRepository.deleteTicketsByMovieId(movieId);
+            showtimeRepository.deleteByMovieId(movieId);
+        } else {
+            rollupRepository.subtractMovieStartingAfter(movieId, after);
+            showtimeRepository.deleteTicketsByMovieIdAndStartTimeAfter(movieId, after);
+            showtimeRepository.deleteByMovieIdAndStartTimeAfter(movieId, after);
+        }
+    }
+
+    private void addToRollups(SalesShowtime showtime, long showtimes, long tickets, double revenue) {
+        LocalDateTime start = showtime.getStartTime();
+        rollupRepository.add(SalesGranularity.HOUR.bucketStart(start), SalesGranularity.DAY.bucketStart(start),
+                SalesGranularity.WEEK.bucketStart(start), showtime.getMovieId(), showtime.getTheater(),
+                showtimes, tickets, revenue);
+    }
+
+    private JsonNode read(String payload) {
+        try {
+            return objectMapper.readTree(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not read change feed event payload", e);
+        }
+    }
+
+    private <T> T convert(JsonNode node, Class<T> type) {
+        try {
+            return objectMapper.treeToValue(node, type);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not read change feed event payload", e);
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.att.tdp.popcorn_palace.service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import io.micrometer.core.annotation.Timed;
+
+import com.att.tdp.popcorn_palace.config.AnalyticsProperties;
+import com.att.tdp.popcorn_palace.config.TheaterProperties;
+import com.att.tdp.popcorn_palace.dto.SalesBucketDTO;
+import com.att.tdp.popcorn_palace.dto.SalesReportDTO;
+import com.att.tdp.popcorn_palace.exception.InvalidRequestException;
+import com.att.tdp.popcorn_palace.model.SalesGranularity;
+import com.att.tdp.popcorn_palace.model.SalesRollup;
+import com.att.tdp.popcorn_palace.repository.SalesRollupRepository;
+import com.att.tdp.popcorn_palace.repository.SalesShowtimeRepository;
+
+/**
+ * Sales and occupancy reports, read from the rollups kept by
+ * {@link SalesProjector}. A report costs one range scan over the requested
+ * buckets, whatever the number of bookings behind them.
+ */
+@Service
+@Timed(value = "popcorn.service", description = "Service method execution time")
+public class SalesReportService {
+
+    private final SalesRollupRepository rollupRepository;
+    private final SalesShowtimeRepository showtimeRepository;
+    private final TheaterProperties theaterProperties;
+    private final AnalyticsProperties properties;
+
+    @Autowired
+    public SalesReportService(SalesRollupRepository rollupRepository, SalesShowtimeRepository showtimeRepository,
+            TheaterProperties theaterProperties, AnalyticsProperties properties) {
+        this.rollupRepository = rollupRepository;
+        this.showtimeRepository = showtimeRepository;
+        this.theaterProperties = theaterProperties;
+        this.properties = properties;
+    }
+
+    @Transactional(readOnly = true)
+    public SalesReportDTO getSalesReport(String granularityName, LocalDateTime from, LocalDateTime to,
+            Long movieId, String theater) {
+        SalesGranularity granularity = parseGranularity(granularityName);
+        if (!from.isBefore(to)) {
+            throw new InvalidRequestException("from must be before to");
+        }
+        LocalDateTime start = granularity.bucketStart(from);
+        if (granularity.bucketsBetween(start, to) > properties.getMaxBuckets()) {
+            throw new InvalidRequestException("A report covers at most " + properties.getMaxBuckets() + " "
+                    + granularity.name().toLowerCase() + " buckets");
+        }
+
+        List<SalesBucketDTO> buckets = rollupRepository.findReport(granularity, start, to, movieId, theater).stream()
+                .map(this::convertToDTO)
+                .collect(Collectors.toList());
+        return SalesReportDTO.builder()
+                .granularity(granularity)
+                .from(start)
+                .to(to)
+                .projectedSequence(showtimeRepository.findLastSequence())
+                .buckets(buckets)
+                .totals(bucket(null, movieId, theater,
+                        buckets.stream().mapToLong(SalesBucketDTO::getShowtimes).sum(),
+                        buckets.stream().mapToLong(SalesBucketDTO::getCapacity).sum(),
+                        buckets.stream().mapToLong(SalesBucketDTO::getTickets).sum(),
+                        buckets.stream().mapToDouble(SalesBucketDTO::getRevenue).sum()))
+                .build();
+    }
+
+    private static SalesGranularity parseGranularity(String name) {
+        try {
+            return SalesGranularity.valueOf(name.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new InvalidRequestException("granularity must be one of hour, day or week");
+        }
+    }
+
+    private SalesBucketDTO convertToDTO(SalesRollup rollup) {
+        return bucket(rollup.getBucketStart(), rollup.getMovieId(), rollup.getTheater(), rollup.getShowtimes(),
+                rollup.getShowtimes() * theaterProperties.capacityOf(rollup.getTheater()), rollup.getTickets(),
+                rollup.getRevenue());
+    }
+
+    private static SalesBucketDTO bucket(LocalDateTime bucketStart, Long movieId, String theater, long showtimes,
+            long capacity, long tickets, double revenue) {
+        return SalesBucketDTO.builder()
+                .bucketStart(bucketStart)
+                .movieId(movieId)
+                .theater(theater)
+                .showtimes(showtimes)
+                .capacity(capacity)
+                .tickets(tickets)
+                .revenue(revenue)
+                .fillRate(capacity == 0 ? 0 : (double) tickets / capacity)
+                .build();
+    }
+}
@@ -0,0 +1,193 @@
+package com.att.tdp.popcorn_palace.service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import io.micrometer.core.annotation.Timed;
+
+import com.att.tdp.popcorn_palace.cache.CatalogChangedEvent;
+import com.att.tdp.popcorn_palace.config.SchedulingProperties;
+import com.att.tdp.popcorn_palace.dto.ScheduleRequestDTO;
+import com.att.tdp.popcorn_palace.dto.ScheduleResultDTO;
+import com.att.tdp.popcorn_palace.dto.ScreeningTargetDTO;
+import com.att.tdp.popcorn_palace.dto.ShowtimeDTO;
+import com.att.tdp.popcorn_palace.exception.InvalidRequestException;
+import com.att.tdp.popcorn_palace.exception.ResourceNotFoundException;
+import com.att.tdp.popcorn_palace.model.Movie;
+import com.att.tdp.popcorn_palace.model.OutboxEventType;
+import com.att.tdp.popcorn_palace.model.Showtime;
+import com.att.tdp.popcorn_palace.repository.MovieRepository;
+import com.att.tdp.popcorn_palace.repository.ShowtimeRepository;
+import com.att.tdp.popcorn_palace.scheduling.SchedulePacker;
+
+/**
+ * Builds showtime schedules with {@link SchedulePacker} around the showtimes
+ * already in the requested theaters, and saves them as one batch of
+ * showtimes and one batch of their {@code SHOWTIME_CREATED} events. A request
+ * costs the same four statements however many showtimes it creates.
+ *
+ * <p>Like {@code POST /showtimes}, the overlap check is not locked: showtimes
+ * added to the same theaters while a schedule is being saved are not seen.
+ */
+@Service
+@Timed(value = "popcorn.service", description = "Service method execution time")
+public class SchedulingService {
+
+    private final MovieRepository movieRepository;
+    private final ShowtimeRepository showtimeRepository;
+    private final OutboxService outboxService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final SchedulingProperties properties;
+
+    @Autowired
+    public SchedulingService(MovieRepository movieRepository, ShowtimeRepository showtimeRepository,
+            OutboxService outboxService, ApplicationEventPublisher eventPublisher, SchedulingProperties properties) {
+        this.movieRepository = movieRepository;
+        this.showtimeRepository = showtimeRepository;
+        this.outboxService = outboxService;
+        this.eventPublisher = eventPublisher;
+        this.properties = properties;
+    }
+
+    @Transactional
+    public ScheduleResultDTO packSchedule(ScheduleRequestDTO request) {
+        long started = System.nanoTime();
+        validate(request);
+        int cleaning = request.getCleaningMinutes() != null ? request.getCleaningMinutes()
+                : properties.getCleaningMinutes();
+        int granularity = request.getStartGranularityMinutes() != null ? request.getStartGranularityMinutes()
+                : properties.getStartGranularityMinutes();
+
+        Map<Long, ScreeningTargetDTO> targets = request.getMovies().stream()
+                .collect(Collectors.toMap(ScreeningTargetDTO::getMovieId, Function.identity(),
+                        (a, b) -> a, LinkedHashMap::new));
+        Map<Long, Movie> movies = movieRepository.findAllById(targets.keySet()).stream()
+                .collect(Collectors.toMap(Movie::getId, Function.identity()));
+        for (Long movieId : targets.keySet()) {
+            if (!movies.containsKey(movieId)) {
+                throw new ResourceNotFoundException("Movie", "id", movieId);
+            }
+        }
+
+        List<SchedulePacker.Window> openingHours = openingHours(request);
+        if (openingHours.isEmpty()) {
+            throw new InvalidRequestException("The requested days have no opening hours left in the future");
+        }
+        LocalDateTime from = openingHours.stream().map(SchedulePacker.Window::start).min(LocalDateTime::compareTo)
+                .orElseThrow();
+        LocalDateTime to = openingHours.stream().map(SchedulePacker.Window::end).max(LocalDateTime::compareTo)
+                .orElseThrow();
+        List<SchedulePacker.Window> busy = showtimeRepository.findByTheatersOverlapping(request.getTheaters(),
+                        from.minusMinutes(cleaning), to.plusMinutes(cleaning)).stream()
+                .map(s -> new SchedulePacker.Window(s.getTheater(), s.getStartTime(), s.getEndTime()))
+                .toList();
+
+        List<SchedulePacker.Screening> screenings = new ArrayList<>();
+        targets.values().forEach(target -> {
+            int minutes = movies.get(target.getMovieId()).getDuration();
+            for (int i = 0; i < target.getScreenings(); i++) {
+                screenings.add(new SchedulePacker.Screening(target.getMovieId(), minutes));
+            }
+        });
+
+        SchedulePacker.Result packed = new SchedulePacker(cleaning, granularity).pack(openingHours, busy, screenings,
+                System.nanoTime() + properties.getLocalSearchBudget().toNanos());
+
+        List<Showtime> showtimes = packed.slots().stream()
+                .map(slot -> Showtime.builder()
+                        .movieId(slot.movieId())
+                        .movie(movies.get(slot.movieId()))
+                        .theater(slot.theater())
+                        .startTime(slot.start())
+                        .endTime(slot.end())
+                        .price(targets.get(slot.movieId()).getPrice())
+                        .build())
+                .toList();
+        if (!request.isDryRun() && !showtimes.isEmpty()) {
+            showtimeRepository.insertAll(showtimes);
+            Map<Long, ShowtimeDTO> created = new LinkedHashMap<>();
+            showtimes.forEach(showtime -> created.put(showtime.getId(), convertToDTO(showtime)));
+            outboxService.recordAll(OutboxEventType.SHOWTIME_CREATED, created);
+            eventPublisher.publishEvent(new CatalogChangedEvent("schedule packed"));
+        }
+
+        Map<Long, Integer> unscheduled = new TreeMap<>();
+        packed.unplaced().forEach(screening -> unscheduled.merge(screening.movieId(), 1, Integer::sum));
+        long filmMinutes = packed.slots().stream()
+                .mapToLong(slot -> movies.get(slot.movieId()).getDuration())
+                .sum();
+        return ScheduleResultDTO.builder()
+                .persisted(!request.isDryRun())
+                .requested(screenings.size())
+                .scheduled(showtimes.size())
+                .unscheduled(unscheduled)
+                .utilization(packed.openMinutes() == 0 ? 0 : (double) filmMinutes / packed.openMinutes())
+                .computeMillis(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started))
+                .showtimes(showtimes.stream().map(this::convertToDTO).toList())
+                .build();
+    }
+
+    private void validate(ScheduleRequestDTO request) {
+        if (request.getDays() > properties.getMaxDays()) {
+            throw new InvalidRequestException("A schedule covers at most " + properties.getMaxDays() + " days");
+        }
+        if (new HashSet<>(request.getTheaters()).size() != request.getTheaters().size()) {
+            throw new InvalidRequestException("Each theater may only be listed once");
+        }
+        if (request.getMovies().stream().map(ScreeningTargetDTO::getMovieId).distinct().count()
+                != request.getMovies().size()) {
+            throw new InvalidRequestException("Each movie may only be listed once");
+        }
+        long screenings = request.getMovies().stream().mapToLong(ScreeningTargetDTO::getScreenings).sum();
+        if (screenings > properties.getMaxScreenings()) {
+            throw new InvalidRequestException("A schedule holds at most " + properties.getMaxScreenings()
+                    + " screenings");
+        }
+    }
+
+    // Theater by theater, day by day, so each screen is filled before the next; past hours are left out
+    private List<SchedulePacker.Window> openingHours(ScheduleRequestDTO request) {
+        LocalDateTime now = LocalDateTime.now();
+        boolean pastMidnight = !request.getClosesAt().isAfter(request.getOpensAt());
+        List<SchedulePacker.Window> windows = new ArrayList<>();
+        for (String theater : request.getTheaters()) {
+            for (int day = 0; day < request.getDays(); day++) {
+                LocalDate date = request.getFrom().plusDays(day);
+                LocalDateTime opens = date.atTime(request.getOpensAt());
+                LocalDateTime closes = (pastMidnight ? date.plusDays(1) : date).atTime(request.getClosesAt());
+                if (opens.isBefore(now)) {
+                    opens = now;
+                }
+                if (opens.isBefore(closes)) {
+                    windows.add(new SchedulePacker.Window(theater, opens, closes));
+                }
+            }
+        }
+        return windows;
+    }
+
+    private ShowtimeDTO convertToDTO(Showtime showtime) {
+        return ShowtimeDTO.builder()
+                .id(showtime.getId())
+                .movieId(showtime.getMovieId())
+                .theater(showtime.getTheater())
+                .startTime(showtime.getStartTime())
+                .endTime(showtime.getEndTime())
+                .price(showtime.getPrice())
+                .build();
+    }
+}
@@ -2,46 +2,67 @@ package com.att.tdp.popcorn_palace.service;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
-import jakarta.transaction.Transactional;
-
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import io.micrometer.core.annotation.Timed;
 
+import com.att.tdp.popcorn_palace.cache.CatalogChangedEvent;
 import com.att.tdp.popcorn_palace.dto.ShowtimeDTO;
 import com.att.tdp.popcorn_palace.exception.ResourceNotFoundException;
 import com.att.tdp.popcorn_palace.exception.ConflictException;
 import com.att.tdp.popcorn_palace.exception.InvalidRequestException;
 import com.att.tdp.popcorn_palace.model.Movie;
+import com.att.tdp.popcorn_palace.model.OutboxEventType;
 import com.att.tdp.popcorn_palace.model.Showtime;
+import com.att.tdp.popcorn_palace.repository.BookingRepository;
 import com.att.tdp.popcorn_palace.repository.MovieRepository;
 import com.att.tdp.popcorn_palace.repository.ShowtimeRepository;
+import com.att.tdp.popcorn_palace.repository.UserBookingCounterRepository;
 
 @Service
+@Timed(value = "popcorn.service", description = "Service method execution time")
 public class ShowtimeService {
 
     private final ShowtimeRepository showtimeRepository;
     private final MovieRepository movieRepository;
+    private final BookingRepository bookingRepository;
+    private final UserBookingCounterRepository counterRepository;
+    private final OutboxService outboxService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Autowired
-    public ShowtimeService(ShowtimeRepository showtimeRepository, MovieRepository movieRepository) {
+    public ShowtimeService(ShowtimeRepository showtimeRepository, MovieRepository movieRepository,
+            BookingRepository bookingRepository, UserBookingCounterRepository counterRepository,
+            OutboxService outboxService, ApplicationEventPublisher eventPublisher) {
         this.showtimeRepository = showtimeRepository;
         this.movieRepository = movieRepository;
+        this.bookingRepository = bookingRepository;
+        this.counterRepository = counterRepository;
+        this.outboxService = outboxService;
+        this.eventPublisher = eventPublisher;
     }
 
+    @Transactional(readOnly = true)
     public List<ShowtimeDTO> getAllShowtimes() {
         return showtimeRepository.findAll().stream()
                 .map(this::convertToDTO)
                 .collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
     public ShowtimeDTO getShowtimeById(Long showtimeId) {
         return showtimeRepository.findById(showtimeId)
                 .map(this::convertToDTO)
                 .orElseThrow(() -> new ResourceNotFoundException("Showtime", "id", showtimeId));
     }
 
+    @Transactional(readOnly = true)
     public List<ShowtimeDTO> getShowtimesByMovie(Long movieId) {
         // Validate movie exists
         if (!movieRepository.existsById(movieId)) {
@@ -53,6 +74,7 @@ public class ShowtimeService {
                 .collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
     public List<ShowtimeDTO> getShowtimesByTheater(String theater) {
         List<Showtime> showtimes = showtimeRepository.findByTheater(theater);
 
@@ -96,7 +118,10 @@ public class ShowtimeService {
         Showtime showtime = convertToEntity(showtimeDTO, movie);
         Showtime savedShowtime = showtimeRepository.save(showtime);
 
-        return convertToDTO(savedShowtime);
+        ShowtimeDTO created = convertToDTO(savedShowtime);
+        outboxService.record(OutboxEventType.SHOWTIME_CREATED, created.getId(), created);
+        eventPublisher.publishEvent(new CatalogChangedEvent("showtime added"));
+        return created;
     }
 
     @Transactional
@@ -113,6 +138,8 @@ public class ShowtimeService {
         }
         Movie movie = movieRepository.findById(showtimeDTO.getMovieId())
                 .orElseThrow(() -> new ResourceNotFoundException("Movie", "id", showtimeDTO.getMovieId()));
+        ShowtimeDTO previous = convertToDTO(showtime);
+        LocalDateTime previousStart = showtime.getStartTime();
         showtime.setMovie(movie);
 
         // Only check for overlapping showtimes if we're changing the time or theater
@@ -141,15 +168,29 @@ public class ShowtimeService {
         showtime.setPrice(showtimeDTO.getPrice());
 
         Showtime updatedShowtime = showtimeRepository.save(showtime);
-        return convertToDTO(updatedShowtime);
+        if (!previousStart.equals(showtimeDTO.getStartTime())) {
+            bookingRepository.updateShowtimeStart(showtimeId, showtimeDTO.getStartTime());
+            // Moved from the past into the future: its bookings may already be counted as past
+            if (previousStart.isBefore(now) && !previousStart.isAfter(counterRepository.lockRolledUntil())) {
+                counterRepository.reclassifyAsUpcoming(showtimeId);
+            }
+        }
+        ShowtimeDTO current = convertToDTO(updatedShowtime);
+        outboxService.record(OutboxEventType.SHOWTIME_UPDATED, showtimeId,
+                Map.of("previous", previous, "current", current));
+        eventPublisher.publishEvent(new CatalogChangedEvent("showtime updated"));
+        return current;
     }
 
+    @Transactional
     public void deleteShowtime(Long showtimeId) {
         if (!showtimeRepository.existsById(showtimeId)) {
             throw new ResourceNotFoundException("Showtime", "id", showtimeId);
         }
 
         showtimeRepository.deleteById(showtimeId);
+        outboxService.record(OutboxEventType.SHOWTIME_DELETED, showtimeId, Map.of("id", showtimeId));
+        eventPublisher.publishEvent(new CatalogChangedEvent("showtime deleted"));
     }
 
     private ShowtimeDTO convertToDTO(Showtime showtime) {
@@ -0,0 +1,62 @@
+package com.att.tdp.popcorn_palace.startup;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Records the time from JVM start until the first API request has been
+ * answered as {@code popcorn.startup.first.request}. Actuator requests such as
+ * health probes are not counted, as they arrive before any user traffic.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class FirstRequestFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(FirstRequestFilter.class);
+
+    private final AtomicBoolean recorded = new AtomicBoolean();
+    private final AtomicLong uptimeMillis = new AtomicLong(-1);
+
+    public FirstRequestFilter(MeterRegistry meterRegistry) {
+        Gauge.builder("popcorn.startup.first.request", uptimeMillis,
+                millis -> millis.get() < 0 ? Double.NaN : millis.get() / 1000.0)
+                .description("Time from JVM start until the first API request was answered")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        chain.doFilter(request, response);
+        if (recorded.compareAndSet(false, true)) {
+            long uptime = ManagementFactory.getRuntimeMXBean().getUptime();
+            uptimeMillis.set(uptime);
+            logger.info("First request answered {} ms after JVM start", uptime);
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return recorded.get() || request.getRequestURI().startsWith(request.getContextPath() + "/actuator");
+    }
+}
@@ -0,0 +1,110 @@
+package com.att.tdp.popcorn_palace.startup;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline.TimelineEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
+import org.springframework.stereotype.Component;
+
+import com.att.tdp.popcorn_palace.config.StartupProperties;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+
+/**
+ * Logs how long each startup phase took once the application is ready and
+ * publishes the phases as {@code popcorn.startup.phase}. Phases are the
+ * top-level steps recorded by the {@link BufferingApplicationStartup} set up in
+ * {@code main}; the report also lists the slowest bean instantiations, whose
+ * times include the dependencies created along with them. Without a buffering
+ * startup, as in tests that do not go through {@code main}, there is nothing
+ * to report.
+ */
+@Component
+public class StartupReport {
+
+    private static final Logger logger = LoggerFactory.getLogger(StartupReport.class);
+
+    private static final String BEAN_INSTANTIATION = "spring.beans.instantiate";
+
+    private final StartupProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    public StartupReport(StartupProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @EventListener
+    public void onReady(ApplicationReadyEvent event) {
+        ApplicationStartup startup = event.getApplicationContext().getApplicationStartup();
+        if (!(startup instanceof BufferingApplicationStartup buffering)) {
+            return;
+        }
+        StartupTimeline timeline = buffering.getBufferedTimeline();
+        Map<String, Duration> phases = phases(timeline);
+        phases.forEach((phase, duration) -> TimeGauge.builder("popcorn.startup.phase", duration,
+                TimeUnit.MILLISECONDS, Duration::toMillis)
+                .description("Duration of a startup phase")
+                .tag("phase", phase)
+                .register(meterRegistry));
+        logger.info(format(phases, slowestBeans(timeline, properties.getSlowestBeans()), event.getTimeTaken()));
+    }
+
+    /**
+     * Durations of the top-level steps in the order they started; a step that
+     * occurs more than once is summed.
+     */
+    static Map<String, Duration> phases(StartupTimeline timeline) {
+        Map<String, Duration> phases = new LinkedHashMap<>();
+        for (TimelineEvent event : timeline.getEvents()) {
+            if (event.getStartupStep().getParentId() == null) {
+                phases.merge(event.getStartupStep().getName(), event.getDuration(), Duration::plus);
+            }
+        }
+        return phases;
+    }
+
+    static List<Map.Entry<String, Duration>> slowestBeans(StartupTimeline timeline, int limit) {
+        return timeline.getEvents().stream()
+                .filter(event -> BEAN_INSTANTIATION.equals(event.getStartupStep().getName()))
+                .map(event -> Map.entry(beanName(event.getStartupStep()), event.getDuration()))
+                .sorted(Map.Entry.<String, Duration>comparingByValue(Comparator.reverseOrder()))
+                .limit(limit)
+                .toList();
+    }
+
+    private static String beanName(StartupStep step) {
+        for (StartupStep.Tag tag : step.getTags()) {
+            if ("beanName".equals(tag.getKey())) {
+                return tag.getValue();
+            }
+        }
+        return "(unnamed)";
+    }
+
+    private static String format(Map<String, Duration> phases, List<Map.Entry<String, Duration>> beans,
+            Duration timeTaken) {
+        StringBuilder report = new StringBuilder("Startup report, ready after ")
+                .append(timeTaken != null ? timeTaken.toMillis() + " ms" : "an unknown time")
+                .append(System.lineSeparator()).append("  Phases:");
+        phases.forEach((phase, duration) -> report.append(System.lineSeparator())
+                .append(String.format("    %6d ms  %s", duration.toMillis(), phase)));
+        report.append(System.lineSeparator()).append("  Slowest beans (including their dependencies):");
+        beans.forEach(bean -> report.append(System.lineSeparator())
+                .append(String.format("    %6d ms  %s", bean.getValue().toMillis(), bean.getKey())));
+        return report.toString();
+    }
+}
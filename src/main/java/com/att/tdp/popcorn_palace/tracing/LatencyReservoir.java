@@ -0,0 +1,44 @@
+package com.att.tdp.popcorn_palace.tracing;
+
+import java.util.Arrays;
+
+/**
+ * The most recent durations of one operation in a ring buffer. Percentiles
+ * are computed on read by sorting a copy, which keeps recording a single
+ * array write.
+ */
+final class LatencyReservoir {
+
+    private final long[] samples;
+
+    private long count;
+    private long max;
+
+    LatencyReservoir(int size) {
+        this.samples = new long[size];
+    }
+
+    synchronized void record(long nanos) {
+        samples[(int) (count % samples.length)] = nanos;
+        count++;
+        max = Math.max(max, nanos);
+    }
+
+    synchronized TraceReport.Operation summarize(String name) {
+        long[] sorted = Arrays.copyOf(samples, (int) Math.min(count, samples.length));
+        Arrays.sort(sorted);
+        return new TraceReport.Operation(name, count, millis(percentile(sorted, 0.5)),
+                millis(percentile(sorted, 0.9)), millis(percentile(sorted, 0.99)), millis(max));
+    }
+
+    private static long percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        return sorted[(int) Math.ceil(quantile * sorted.length) - 1];
+    }
+
+    static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
@@ -0,0 +1,28 @@
+package com.att.tdp.popcorn_palace.tracing;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Latency percentiles per operation over the sampled traces, and the most
+ * recent traces that took longer than the slow threshold, newest first.
+ * Operations are span names: HTTP routes, service methods, repository calls
+ * and transaction phases.
+ */
+public record TraceReport(double slowThresholdMs, List<Operation> operations, List<Trace> slowTraces) {
+
+    public record Operation(String name, long count, double p50Ms, double p90Ms, double p99Ms, double maxMs) {
+    }
+
+    public record Trace(String traceId, String name, Instant startedAt, double durationMs, List<SpanRecord> spans) {
+    }
+
+    /**
+     * A span of a trace; {@code offsetMs} is its start relative to the start of
+     * the trace.
+     */
+    public record SpanRecord(String spanId, String parentSpanId, String name, double offsetMs, double durationMs,
+            boolean error, Map<String, String> attributes) {
+    }
+}
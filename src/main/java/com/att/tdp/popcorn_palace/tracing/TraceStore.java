@@ -0,0 +1,146 @@
+package com.att.tdp.popcorn_palace.tracing;
+
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.stereotype.Component;
+
+import com.att.tdp.popcorn_palace.config.TracingProperties;
+
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.sdk.trace.ReadWriteSpan;
+import io.opentelemetry.sdk.trace.ReadableSpan;
+import io.opentelemetry.sdk.trace.SpanProcessor;
+import io.opentelemetry.sdk.trace.data.SpanData;
+
+/**
+ * In-process exporter for the OpenTelemetry SDK. Every finished span feeds
+ * the latency reservoir of its name; the spans of a trace are collected until
+ * its local root ends, and the trace is kept if it was slow. Nothing leaves
+ * the process, so latency can be investigated on a single node without a
+ * collector; an OTLP exporter can be added next to it as usual.
+ */
+@Component
+public class TraceStore implements SpanProcessor {
+
+    private static final int MAX_OPERATIONS = 500;
+
+    private final Map<String, LatencyReservoir> operations = new ConcurrentHashMap<>();
+    private final Map<String, List<SpanData>> pending = new HashMap<>();
+    private final Deque<TraceReport.Trace> slowTraces = new ArrayDeque<>();
+
+    private final TracingProperties properties;
+
+    public TraceStore(TracingProperties properties) {
+        this.properties = properties;
+    }
+
+    @Override
+    public void onStart(Context parentContext, ReadWriteSpan span) {
+    }
+
+    @Override
+    public boolean isStartRequired() {
+        return false;
+    }
+
+    @Override
+    public void onEnd(ReadableSpan span) {
+        SpanData data = span.toSpanData();
+        reservoir(data.getName()).ifPresent(reservoir -> reservoir.record(span.getLatencyNanos()));
+
+        // A span with a parent on another node, such as a relayed request, is the root of this node's part
+        boolean localRoot = !data.getParentSpanContext().isValid() || data.getParentSpanContext().isRemote();
+        List<SpanData> spans;
+        synchronized (pending) {
+            spans = pending.get(data.getTraceId());
+            if (spans == null && !localRoot && pending.size() < properties.getMaxPendingTraces()) {
+                spans = new ArrayList<>();
+                pending.put(data.getTraceId(), spans);
+            }
+            if (localRoot) {
+                pending.remove(data.getTraceId());
+            } else if (spans != null && spans.size() < properties.getMaxSpansPerTrace()) {
+                spans.add(data);
+            }
+        }
+        if (localRoot && span.getLatencyNanos() >= properties.getSlowThreshold().toNanos()) {
+            keep(toTrace(data, spans != null ? spans : List.of()));
+        }
+    }
+
+    @Override
+    public boolean isEndRequired() {
+        return true;
+    }
+
+    public TraceReport report(int limit) {
+        List<TraceReport.Operation> summaries = operations.entrySet().stream()
+                .map(entry -> entry.getValue().summarize(entry.getKey()))
+                .sorted(Comparator.comparingDouble(TraceReport.Operation::p99Ms).reversed())
+                .toList();
+        List<TraceReport.Trace> slow;
+        synchronized (slowTraces) {
+            slow = slowTraces.stream().limit(limit).toList();
+        }
+        return new TraceReport(LatencyReservoir.millis(properties.getSlowThreshold().toNanos()), summaries, slow);
+    }
+
+    public Optional<TraceReport.Trace> slowTrace(String traceId) {
+        synchronized (slowTraces) {
+            return slowTraces.stream().filter(trace -> trace.traceId().equals(traceId)).findFirst();
+        }
+    }
+
+    // Span names are low-cardinality routes and method names; the cap only guards against a misbehaving one
+    private Optional<LatencyReservoir> reservoir(String name) {
+        LatencyReservoir reservoir = operations.get(name);
+        if (reservoir == null && operations.size() < MAX_OPERATIONS) {
+            reservoir = operations.computeIfAbsent(name, n -> new LatencyReservoir(properties.getReservoirSize()));
+        }
+        return Optional.ofNullable(reservoir);
+    }
+
+    private void keep(TraceReport.Trace trace) {
+        synchronized (slowTraces) {
+            slowTraces.addFirst(trace);
+            while (slowTraces.size() > properties.getSlowTraces()) {
+                slowTraces.removeLast();
+            }
+        }
+    }
+
+    private static TraceReport.Trace toTrace(SpanData root, List<SpanData> children) {
+        List<SpanData> spans = new ArrayList<>(children.size() + 1);
+        spans.add(root);
+        spans.addAll(children);
+        spans.sort(Comparator.comparingLong(SpanData::getStartEpochNanos));
+        long start = root.getStartEpochNanos();
+        List<TraceReport.SpanRecord> records = spans.stream()
+                .map(span -> new TraceReport.SpanRecord(span.getSpanId(),
+                        span.getParentSpanContext().isValid() ? span.getParentSpanId() : null,
+                        span.getName(),
+                        LatencyReservoir.millis(span.getStartEpochNanos() - start),
+                        LatencyReservoir.millis(span.getEndEpochNanos() - span.getStartEpochNanos()),
+                        span.getStatus().getStatusCode() == StatusCode.ERROR,
+                        attributes(span)))
+                .toList();
+        return new TraceReport.Trace(root.getTraceId(), root.getName(), Instant.ofEpochSecond(0, start),
+                LatencyReservoir.millis(root.getEndEpochNanos() - start), records);
+    }
+
+    private static Map<String, String> attributes(SpanData span) {
+        Map<String, String> attributes = new HashMap<>();
+        span.getAttributes().forEach((key, value) -> attributes.put(key.getKey(), String.valueOf(value)));
+        return attributes;
+    }
+}
@@ -0,0 +1,35 @@
+package com.att.tdp.popcorn_palace.tracing;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+/**
+ * {@code /actuator/traces}: latency percentiles per operation and the most
+ * recent slow traces with their spans; {@code /actuator/traces/{traceId}}
+ * returns one of those traces.
+ */
+@Component
+@Endpoint(id = "traces")
+public class TracesEndpoint {
+
+    private static final int DEFAULT_LIMIT = 10;
+
+    private final TraceStore traceStore;
+
+    public TracesEndpoint(TraceStore traceStore) {
+        this.traceStore = traceStore;
+    }
+
+    @ReadOperation
+    public TraceReport traces(@Nullable Integer limit) {
+        return traceStore.report(limit != null && limit > 0 ? limit : DEFAULT_LIMIT);
+    }
+
+    @ReadOperation
+    public TraceReport.Trace trace(@Selector String traceId) {
+        return traceStore.slowTrace(traceId).orElse(null);
+    }
+}
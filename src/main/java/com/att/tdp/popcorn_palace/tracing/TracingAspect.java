@@ -0,0 +1,97 @@
+package com.att.tdp.popcorn_palace.tracing;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import com.att.tdp.popcorn_palace.config.TracingProperties;
+import com.att.tdp.popcorn_palace.metrics.SqlStatementCounter;
+
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+
+/**
+ * Adds a span per service method and per repository call to traced requests;
+ * repository spans carry the SQL they issued. Runs outside the transaction
+ * advice, so a service span contains the transaction's begin and commit
+ * reported by {@link TransactionSpans}. Work outside a sampled trace is not
+ * touched.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class TracingAspect {
+
+    private final Map<Class<?>, String> repositoryNames = new ConcurrentHashMap<>();
+
+    private final Tracer tracer;
+    private final SqlStatementCounter statementCounter;
+    private final TracingProperties properties;
+
+    public TracingAspect(Tracer tracer, SqlStatementCounter statementCounter, TracingProperties properties) {
+        this.tracer = tracer;
+        this.statementCounter = statementCounter;
+        this.properties = properties;
+    }
+
+    @Around("@within(org.springframework.stereotype.Service)")
+    public Object traceService(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (!isTracing()) {
+            return joinPoint.proceed();
+        }
+        String name = joinPoint.getSignature().getDeclaringType().getSimpleName() + "."
+                + joinPoint.getSignature().getName();
+        Span span = tracer.nextSpan().name(name).start();
+        try (Tracer.SpanInScope ignored = tracer.withSpan(span)) {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            span.error(e);
+            throw e;
+        } finally {
+            span.end();
+        }
+    }
+
+    @Around("this(org.springframework.data.repository.Repository)")
+    public Object traceRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (!isTracing()) {
+            return joinPoint.proceed();
+        }
+        String name = repositoryNames.computeIfAbsent(joinPoint.getThis().getClass(),
+                type -> AopProxyUtils.proxiedUserInterfaces(joinPoint.getThis())[0].getSimpleName())
+                + "." + joinPoint.getSignature().getName();
+        Span span = tracer.nextSpan().name(name).start();
+        SqlStatementCounter.Scope statements = statementCounter.openCapturing();
+        try (Tracer.SpanInScope ignored = tracer.withSpan(span)) {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            span.error(e);
+            throw e;
+        } finally {
+            statements.close();
+            tagStatements(span, statements, properties.getMaxSqlLength());
+            span.end();
+        }
+    }
+
+    private boolean isTracing() {
+        Span current = tracer.currentSpan();
+        return current != null && !current.isNoop();
+    }
+
+    static void tagStatements(Span span, SqlStatementCounter.Scope statements, int maxLength) {
+        if (statements.count() == 0) {
+            return;
+        }
+        String sql = String.join(";\n", statements.statements());
+        span.tag("db.statement", sql.length() > maxLength ? sql.substring(0, maxLength) + "..." : sql);
+        span.tag("db.statement.count", statements.count());
+    }
+}
@@ -0,0 +1,104 @@
+package com.att.tdp.popcorn_palace.tracing;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+
+import com.att.tdp.popcorn_palace.config.TracingProperties;
+import com.att.tdp.popcorn_palace.metrics.SqlStatementCounter;
+
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+
+/**
+ * Spans for the begin, commit and rollback of new transactions. Beginning a
+ * transaction takes its connection from the pool, so the begin span is where
+ * pool waits show up; the commit span includes Hibernate's flush and carries
+ * the inserts and updates deferred to it.
+ */
+@Component
+public class TransactionSpans implements TransactionExecutionListener {
+
+    // A transaction may begin inside another one's commit, from an after-commit callback
+    private static final ThreadLocal<Deque<Phase>> CURRENT = ThreadLocal.withInitial(ArrayDeque::new);
+
+    private static final Phase UNTRACED = new Phase(null, null);
+
+    private final Tracer tracer;
+    private final SqlStatementCounter statementCounter;
+    private final TracingProperties properties;
+
+    public TransactionSpans(Tracer tracer, SqlStatementCounter statementCounter, TracingProperties properties) {
+        this.tracer = tracer;
+        this.statementCounter = statementCounter;
+        this.properties = properties;
+    }
+
+    @Override
+    public void beforeBegin(TransactionExecution transaction) {
+        start("transaction begin", transaction);
+    }
+
+    @Override
+    public void afterBegin(TransactionExecution transaction, @Nullable Throwable beginFailure) {
+        end(beginFailure);
+    }
+
+    @Override
+    public void beforeCommit(TransactionExecution transaction) {
+        start("transaction commit", transaction);
+    }
+
+    @Override
+    public void afterCommit(TransactionExecution transaction, @Nullable Throwable commitFailure) {
+        end(commitFailure);
+    }
+
+    @Override
+    public void beforeRollback(TransactionExecution transaction) {
+        start("transaction rollback", transaction);
+    }
+
+    @Override
+    public void afterRollback(TransactionExecution transaction, @Nullable Throwable rollbackFailure) {
+        end(rollbackFailure);
+    }
+
+    private void start(String name, TransactionExecution transaction) {
+        Span current = tracer.currentSpan();
+        if (current == null || current.isNoop()) {
+            // Pushed all the same, so every end pops the phase its start pushed
+            CURRENT.get().push(UNTRACED);
+            return;
+        }
+        Span span = tracer.nextSpan().name(name)
+                .tag("transaction.name", String.valueOf(transaction.getTransactionName()))
+                .tag("transaction.read-only", transaction.isReadOnly())
+                .start();
+        CURRENT.get().push(new Phase(span, statementCounter.openCapturing()));
+    }
+
+    private void end(@Nullable Throwable failure) {
+        Deque<Phase> phases = CURRENT.get();
+        Phase phase = phases.poll();
+        if (phases.isEmpty()) {
+            CURRENT.remove();
+        }
+        if (phase == null || phase == UNTRACED) {
+            return;
+        }
+        phase.statements().close();
+        TracingAspect.tagStatements(phase.span(), phase.statements(), properties.getMaxSqlLength());
+        if (failure != null) {
+            phase.span().error(failure);
+        }
+        phase.span().end();
+    }
+
+    private record Phase(Span span, SqlStatementCounter.Scope statements) {
+    }
+}
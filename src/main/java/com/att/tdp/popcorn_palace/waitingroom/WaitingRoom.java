@@ -0,0 +1,71 @@
+package com.att.tdp.popcorn_palace.waitingroom;
+
+/**
+ * The queue of one showtime, kept as two numbers: the tickets handed out so
+ * far and the admission frontier, which advances by {@code admissionRate}
+ * tickets per second. A client holding ticket {@code t} is through once the
+ * frontier has reached {@code t}; nothing is stored per client. Like a token
+ * bucket the frontier is advanced on access, and an idle room banks at most
+ * one second of admissions for the next arrivals.
+ */
+final class WaitingRoom {
+
+    private final long epoch;
+
+    private double admissionRate;
+    private long issued;
+    private double frontier;
+    private long advancedAt;
+
+    WaitingRoom(long epoch, double admissionRate, long now) {
+        this.epoch = epoch;
+        this.admissionRate = admissionRate;
+        this.frontier = burst();
+        this.advancedAt = now;
+    }
+
+    long epoch() {
+        return epoch;
+    }
+
+    synchronized double admissionRate() {
+        return admissionRate;
+    }
+
+    synchronized void setAdmissionRate(double admissionRate, long now) {
+        advance(now);
+        this.admissionRate = admissionRate;
+    }
+
+    /**
+     * @return the ticket of a new client, numbered from 1
+     */
+    synchronized long join(long now) {
+        advance(now);
+        return ++issued;
+    }
+
+    /**
+     * @return the highest ticket let through so far
+     */
+    synchronized long frontier(long now) {
+        advance(now);
+        return (long) frontier;
+    }
+
+    synchronized long waiting(long now) {
+        advance(now);
+        return Math.max(0, issued - (long) frontier);
+    }
+
+    private double burst() {
+        return Math.max(1, admissionRate);
+    }
+
+    private void advance(long now) {
+        if (now > advancedAt) {
+            frontier = Math.min(issued + burst(), frontier + (now - advancedAt) * admissionRate / 1000.0);
+            advancedAt = now;
+        }
+    }
+}
@@ -0,0 +1,204 @@
+package com.att.tdp.popcorn_palace.waitingroom;
+
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.LongSupplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.att.tdp.popcorn_palace.config.WaitingRoomProperties;
+import com.att.tdp.popcorn_palace.dto.WaitingRoomStatusDTO;
+import com.att.tdp.popcorn_palace.exception.InvalidRequestException;
+import com.att.tdp.popcorn_palace.exception.QueuePassRequiredException;
+import com.att.tdp.popcorn_palace.exception.ResourceNotFoundException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Waiting rooms of high-demand showtimes. Joining hands out a signed queue
+ * token carrying the client's ticket; polling with it reports the position
+ * and, once the room's admission frontier has passed the ticket, a signed
+ * pass the booking endpoint requires for that showtime and user. The server
+ * holds two numbers per room and nothing per client.
+ *
+ * <p>A ticket only earns passes while fewer than {@code admission-rate} times
+ * {@code pass-ttl} later tickets have been let through, which bounds how many
+ * admitted clients can be booking at once. Rooms live on the node owning the
+ * showtime; tokens of a room that was closed, or that moved to another node,
+ * are refused and the client joins again.
+ */
+@Component
+public class WaitingRooms {
+
+    public static final String QUEUE_TOKEN_HEADER = "X-Queue-Token";
+
+    public static final String PASS_HEADER = "X-Queue-Pass";
+
+    private static final Logger logger = LoggerFactory.getLogger(WaitingRooms.class);
+
+    private final Map<Long, WaitingRoom> rooms = new ConcurrentHashMap<>();
+
+    private final WaitingRoomProperties properties;
+    private final QueueTokens tokens;
+    private final LongSupplier clock;
+    private final Counter joined;
+    private final Counter refused;
+
+    @Autowired
+    public WaitingRooms(WaitingRoomProperties properties, MeterRegistry meterRegistry) {
+        this(properties, meterRegistry, System::currentTimeMillis);
+    }
+
+    WaitingRooms(WaitingRoomProperties properties, MeterRegistry meterRegistry, LongSupplier clock) {
+        this.properties = properties;
+        this.tokens = new QueueTokens(key(properties.getSecret()));
+        this.clock = clock;
+        this.joined = Counter.builder("popcorn.waitingroom.joined")
+                .description("Clients that joined a waiting room")
+                .register(meterRegistry);
+        this.refused = Counter.builder("popcorn.waitingroom.refused")
+                .description("Bookings refused for lack of a valid waiting room pass")
+                .register(meterRegistry);
+        Gauge.builder("popcorn.waitingroom.waiting", this, WaitingRooms::waiting)
+                .description("Clients queued in waiting rooms and not yet let through")
+                .register(meterRegistry);
+        properties.getShowtimes().forEach(showtimeId -> open(showtimeId, null));
+    }
+
+    private static byte[] key(String secret) {
+        if (secret != null && !secret.isBlank()) {
+            return secret.getBytes(StandardCharsets.UTF_8);
+        }
+        logger.warn("No waiting room secret configured, signing with a random key that other nodes do not share");
+        byte[] key = new byte[32];
+        new SecureRandom().nextBytes(key);
+        return key;
+    }
+
+    /**
+     * Opens the showtime's waiting room, or changes the admission rate of an
+     * open one without disturbing its queue.
+     *
+     * @param admissionRate clients let through per second, {@code null} for the configured default
+     */
+    public void open(Long showtimeId, Double admissionRate) {
+        double rate = admissionRate != null ? admissionRate : properties.getAdmissionRate();
+        if (!(rate > 0)) {
+            throw new InvalidRequestException("admissionRate must be positive");
+        }
+        long now = clock.getAsLong();
+        rooms.merge(showtimeId, new WaitingRoom(ThreadLocalRandom.current().nextLong(), rate, now), (room, fresh) -> {
+            room.setAdmissionRate(rate, now);
+            return room;
+        });
+    }
+
+    /**
+     * Closes the waiting room; bookings for the showtime no longer need a pass.
+     */
+    public void close(Long showtimeId) {
+        if (rooms.remove(showtimeId) == null) {
+            throw new ResourceNotFoundException("Waiting room", "showtime id", showtimeId);
+        }
+    }
+
+    public boolean isOpen(Long showtimeId) {
+        return properties.isEnabled() && rooms.containsKey(showtimeId);
+    }
+
+    public WaitingRoomStatusDTO join(Long showtimeId, UUID userId) {
+        WaitingRoom room = room(showtimeId);
+        long ticket = room.join(clock.getAsLong());
+        joined.increment();
+        String token = tokens.sign("q:" + showtimeId + ":" + room.epoch() + ":" + ticket + ":" + userId);
+        return status(showtimeId, room, token, ticket, userId);
+    }
+
+    public WaitingRoomStatusDTO getStatus(Long showtimeId, String queueToken) {
+        WaitingRoom room = room(showtimeId);
+        String[] fields = fields(tokens.verify(queueToken), "q", 5);
+        if (fields == null || !fields[1].equals(String.valueOf(showtimeId))) {
+            throw new InvalidRequestException("Invalid queue token");
+        }
+        if (!fields[2].equals(String.valueOf(room.epoch()))) {
+            throw new InvalidRequestException("The waiting room was reopened, please join again");
+        }
+        return status(showtimeId, room, queueToken, Long.parseLong(fields[3]), UUID.fromString(fields[4]));
+    }
+
+    /**
+     * Lets a booking through if the showtime has no open waiting room or the
+     * pass was issued to this user for this showtime and has not expired.
+     *
+     * @throws QueuePassRequiredException otherwise
+     */
+    public void checkPass(Long showtimeId, UUID userId, String pass) {
+        if (!isOpen(showtimeId)) {
+            return;
+        }
+        String[] fields = fields(tokens.verify(pass), "p", 4);
+        if (fields == null || !fields[1].equals(String.valueOf(showtimeId)) || !fields[2].equals(String.valueOf(userId))
+                || Long.parseLong(fields[3]) < clock.getAsLong()) {
+            refused.increment();
+            throw new QueuePassRequiredException("Showtime " + showtimeId + " is booked through its waiting room:"
+                    + " join at /showtimes/" + showtimeId + "/waiting-room and book with the pass it issues in the "
+                    + PASS_HEADER + " header");
+        }
+    }
+
+    private WaitingRoomStatusDTO status(Long showtimeId, WaitingRoom room, String token, long ticket, UUID userId) {
+        long now = clock.getAsLong();
+        long frontier = room.frontier(now);
+        double rate = room.admissionRate();
+        WaitingRoomStatusDTO.WaitingRoomStatusDTOBuilder status = WaitingRoomStatusDTO.builder()
+                .showtimeId(showtimeId)
+                .token(token);
+        if (ticket > frontier) {
+            long position = ticket - frontier;
+            return status.position(position)
+                    .estimatedWaitSeconds((long) Math.ceil(position / rate))
+                    .build();
+        }
+        if (frontier - ticket >= Math.max(1, rate * properties.getPassTtl().toSeconds())) {
+            throw new InvalidRequestException("The queue token has expired, please join again");
+        }
+        long expiresAt = now + properties.getPassTtl().toMillis();
+        return status.admitted(true)
+                .pass(tokens.sign("p:" + showtimeId + ":" + userId + ":" + expiresAt))
+                .passExpiresAt(LocalDateTime.ofInstant(Instant.ofEpochMilli(expiresAt), ZoneId.systemDefault()))
+                .build();
+    }
+
+    private WaitingRoom room(Long showtimeId) {
+        WaitingRoom room = properties.isEnabled() ? rooms.get(showtimeId) : null;
+        if (room == null) {
+            throw new ResourceNotFoundException("Waiting room", "showtime id", showtimeId);
+        }
+        return room;
+    }
+
+    private static String[] fields(String payload, String kind, int count) {
+        if (payload == null) {
+            return null;
+        }
+        String[] fields = payload.split(":");
+        return fields.length == count && fields[0].equals(kind) ? fields : null;
+    }
+
+    private double waiting() {
+        long now = clock.getAsLong();
+        return rooms.values().stream().mapToLong(room -> room.waiting(now)).sum();
+    }
+}
@@ -0,0 +1,31 @@
+-- Schema as previously derived by Hibernate from the entities. Databases created
+-- that way are baselined at this version instead (spring.flyway.baseline-on-migrate).
+
+CREATE TABLE movies (
+    id           BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    title        VARCHAR(255)     NOT NULL,
+    genre        VARCHAR(255)     NOT NULL,
+    duration     INTEGER          NOT NULL,
+    rating       DOUBLE PRECISION NOT NULL,
+    release_year INTEGER          NOT NULL,
+    CONSTRAINT uk_movies_title UNIQUE (title)
+);
+
+CREATE TABLE showtimes (
+    id         BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    movie_id   BIGINT           NOT NULL,
+    theater    VARCHAR(255)     NOT NULL,
+    start_time TIMESTAMP(6)     NOT NULL,
+    end_time   TIMESTAMP(6)     NOT NULL,
+    price      DOUBLE PRECISION NOT NULL,
+    CONSTRAINT fk_showtimes_movie FOREIGN KEY (movie_id) REFERENCES movies (id)
+);
+
+CREATE TABLE bookings (
+    booking_id  UUID    PRIMARY KEY,
+    showtime_id BIGINT  NOT NULL,
+    seat_number INTEGER NOT NULL,
+    user_id     UUID    NOT NULL,
+    CONSTRAINT uk_bookings_showtime_seat UNIQUE (showtime_id, seat_number),
+    CONSTRAINT fk_bookings_showtime FOREIGN KEY (showtime_id) REFERENCES showtimes (id)
+);
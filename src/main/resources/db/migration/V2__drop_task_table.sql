@@ -0,0 +1,2 @@
+-- Left behind by the schema.sql/data.sql scripts that ran on every startup
+DROP TABLE IF EXISTS task;
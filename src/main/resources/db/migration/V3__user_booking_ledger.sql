@@ -0,0 +1,26 @@
+-- Per-user booking ledger: bookings carry their showtime's start, so a user's
+-- ledger is read in order straight from one index, and per-user counters
+-- answer "how many upcoming / past" without counting rows.
+
+ALTER TABLE bookings ADD COLUMN showtime_start TIMESTAMP(6);
+UPDATE bookings SET showtime_start = (SELECT s.start_time FROM showtimes s WHERE s.id = bookings.showtime_id);
+ALTER TABLE bookings ALTER COLUMN showtime_start SET NOT NULL;
+
+CREATE INDEX idx_bookings_user_ledger ON bookings (user_id, showtime_start, booking_id);
+
+CREATE TABLE user_booking_counters (
+    user_id  UUID   PRIMARY KEY,
+    upcoming BIGINT NOT NULL,
+    past     BIGINT NOT NULL
+);
+
+-- Bookings of showtimes starting up to rolled_until are counted as past
+CREATE TABLE booking_counter_rollover (
+    id            INTEGER      PRIMARY KEY,
+    rolled_until  TIMESTAMP(6) NOT NULL
+);
+
+-- Everything starts out upcoming; the first rollover moves what has already started
+INSERT INTO booking_counter_rollover (id, rolled_until) VALUES (1, TIMESTAMP '1970-01-01 00:00:00');
+INSERT INTO user_booking_counters (user_id, upcoming, past)
+    SELECT user_id, COUNT(*), 0 FROM bookings GROUP BY user_id;
@@ -0,0 +1,47 @@
+-- Sales and occupancy analytics, projected from the change feed (outbox_events)
+-- by SalesProjector. Everything here can be rebuilt from showtimes and bookings.
+
+-- One row per showtime: where it falls in the rollups and what it has sold so far
+CREATE TABLE sales_showtimes (
+    showtime_id BIGINT           PRIMARY KEY,
+    movie_id    BIGINT           NOT NULL,
+    theater     VARCHAR(255)     NOT NULL,
+    start_time  TIMESTAMP(6)     NOT NULL,
+    price       DOUBLE PRECISION NOT NULL,
+    tickets     BIGINT           NOT NULL,
+    revenue     DOUBLE PRECISION NOT NULL
+);
+
+CREATE INDEX idx_sales_showtimes_movie ON sales_showtimes (movie_id, start_time);
+CREATE INDEX idx_sales_showtimes_theater ON sales_showtimes (theater, start_time);
+
+-- The price each ticket sold at, so a cancellation takes back exactly that amount
+-- and a replayed event is recognized as already applied
+CREATE TABLE sales_tickets (
+    booking_id  UUID             PRIMARY KEY,
+    showtime_id BIGINT           NOT NULL,
+    price       DOUBLE PRECISION NOT NULL
+);
+
+CREATE INDEX idx_sales_tickets_showtime ON sales_tickets (showtime_id);
+
+-- Totals per hour, day and ISO week of showtime start, movie and theater. Seat capacity
+-- is configured per theater, so reports derive it from the number of showtimes
+CREATE TABLE sales_rollups (
+    granularity  VARCHAR(8)       NOT NULL,
+    bucket_start TIMESTAMP(6)     NOT NULL,
+    movie_id     BIGINT           NOT NULL,
+    theater      VARCHAR(255)     NOT NULL,
+    showtimes    BIGINT           NOT NULL,
+    tickets      BIGINT           NOT NULL,
+    revenue      DOUBLE PRECISION NOT NULL,
+    CONSTRAINT pk_sales_rollups PRIMARY KEY (granularity, bucket_start, movie_id, theater)
+);
+
+-- Feed position applied so far; NULL until the first rebuild, which the projector runs on its own
+CREATE TABLE sales_projection (
+    id            INTEGER PRIMARY KEY,
+    last_sequence BIGINT
+);
+
+INSERT INTO sales_projection (id, last_sequence) VALUES (1, NULL);
@@ -0,0 +1,3 @@
+-- Range scans that load the availability index: upcoming showtimes and their booked seats
+CREATE INDEX idx_showtimes_start ON showtimes (start_time);
+CREATE INDEX idx_bookings_showtime_start ON bookings (showtime_start, showtime_id);
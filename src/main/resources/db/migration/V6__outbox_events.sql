@@ -0,0 +1,17 @@
+-- Change feed written by the services in the same transaction as their changes.
+-- Databases that ran the outbox under ddl-auto: update already have the table,
+-- so it is only created where missing.
+
+CREATE TABLE IF NOT EXISTS outbox_events (
+    id             BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    sequence       BIGINT,
+    event_type     VARCHAR(40)   NOT NULL,
+    aggregate_type VARCHAR(40)   NOT NULL,
+    aggregate_id   VARCHAR(255)  NOT NULL,
+    payload        VARCHAR(4000) NOT NULL,
+    created_at     TIMESTAMP(6)  NOT NULL,
+    published_at   TIMESTAMP(6),
+    CONSTRAINT uk_outbox_events_sequence UNIQUE (sequence)
+);
+
+CREATE INDEX IF NOT EXISTS idx_outbox_events_unpublished ON outbox_events (published_at, id);
@@ -0,0 +1,54 @@
+package com.att.tdp.popcorn_palace;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Upgrades a database shaped like the ones the earlier ddl-auto: update setup created, with no migration history
+class BaselineMigrationTest {
+
+        private static final String URL = "jdbc:h2:mem:baseline;MODE=PostgreSQL;DB_CLOSE_DELAY=-1";
+
+        // Test that a baselined database is migrated to a schema that Hibernate validates
+        @Test
+        void baselinedDatabase_ShouldMigrateAndValidate() throws Exception {
+                try (Connection connection = DriverManager.getConnection(URL, "sa", "password");
+                                Statement statement = connection.createStatement()) {
+                        statement.execute("CREATE TABLE movies (id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,"
+                                        + " title VARCHAR(255) NOT NULL UNIQUE, genre VARCHAR(255) NOT NULL,"
+                                        + " duration INTEGER NOT NULL, rating DOUBLE PRECISION NOT NULL,"
+                                        + " release_year INTEGER NOT NULL)");
+                        statement.execute("CREATE TABLE showtimes (id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,"
+                                        + " movie_id BIGINT NOT NULL REFERENCES movies (id), theater VARCHAR(255) NOT NULL,"
+                                        + " start_time TIMESTAMP(6) NOT NULL, end_time TIMESTAMP(6) NOT NULL,"
+                                        + " price DOUBLE PRECISION NOT NULL)");
+                        statement.execute("CREATE TABLE bookings (booking_id UUID PRIMARY KEY,"
+                                        + " showtime_id BIGINT NOT NULL REFERENCES showtimes (id), seat_number INTEGER NOT NULL,"
+                                        + " user_id UUID NOT NULL, UNIQUE (showtime_id, seat_number))");
+                        statement.execute("CREATE TABLE task (id BIGINT PRIMARY KEY)");
+                }
+
+                // Starting runs the migrations and then Hibernate's validation, which fails on a missing table
+                try (ConfigurableApplicationContext context = new SpringApplicationBuilder(PopcornPalaceApplication.class)
+                                .run("--server.port=0",
+                                                "--spring.datasource.url=" + URL,
+                                                "--spring.flyway.baseline-on-migrate=true")) {
+                        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+                        List<String> versions = jdbcTemplate.queryForList(
+                                        "SELECT \"version\" || ':' || \"type\" FROM \"flyway_schema_history\""
+                                                        + " WHERE \"version\" IS NOT NULL ORDER BY \"installed_rank\"",
+                                        String.class);
+                        assertEquals(List.of("1:BASELINE", "2:SQL", "3:SQL", "4:SQL", "5:SQL", "6:SQL"), versions,
+                                        "The database should be baselined at V1 and take every later migration");
+                        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM outbox_events", Integer.class));
+                }
+        }
+}
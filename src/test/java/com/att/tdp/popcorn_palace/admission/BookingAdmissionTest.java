@@ -0,0 +1,158 @@
+package com.att.tdp.popcorn_palace.admission;
+
+import com.att.tdp.popcorn_palace.config.BookingAdmissionProperties;
+import com.att.tdp.popcorn_palace.exception.TooManyRequestsException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class BookingAdmissionTest {
+
+    private BookingAdmissionProperties properties;
+    private MeterRegistry meterRegistry;
+    private AtomicLong clock;
+    private BookingRateLimiter rateLimiter;
+
+    @BeforeEach
+    void setUp() {
+        properties = new BookingAdmissionProperties();
+        properties.setUser(new BookingAdmissionProperties.RateLimit(2, 1));
+        properties.setShowtime(new BookingAdmissionProperties.RateLimit(3, 10));
+        meterRegistry = new SimpleMeterRegistry();
+        clock = new AtomicLong();
+        rateLimiter = new BookingRateLimiter(properties, meterRegistry, clock::get);
+    }
+
+    // Test that a user gets the burst, is then rejected with the wait until the next token, and recovers
+    @Test
+    void checkBooking_OverUserBurst_ShouldRejectUntilRefilled() {
+        UUID userId = UUID.randomUUID();
+        rateLimiter.checkBooking(userId, 1L);
+        rateLimiter.checkBooking(userId, 1L);
+
+        TooManyRequestsException ex = assertThrows(TooManyRequestsException.class,
+                () -> rateLimiter.checkBooking(userId, 1L));
+        assertEquals(Duration.ofSeconds(1), ex.getRetryAfter());
+        assertEquals(1, ex.getRetryAfterSeconds());
+        assertEquals(1.0, rejected("user"));
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        assertDoesNotThrow(() -> rateLimiter.checkBooking(userId, 1L));
+    }
+
+    // Test that attempts spread over many users are still capped per showtime
+    @Test
+    void checkBooking_OverShowtimeBurst_ShouldRejectAcrossUsers() {
+        for (int i = 0; i < 3; i++) {
+            rateLimiter.checkBooking(UUID.randomUUID(), 7L);
+        }
+
+        assertThrows(TooManyRequestsException.class, () -> rateLimiter.checkBooking(UUID.randomUUID(), 7L));
+        assertDoesNotThrow(() -> rateLimiter.checkBooking(UUID.randomUUID(), 8L),
+                "Other showtimes have their own bucket");
+        assertEquals(1.0, rejected("showtime"));
+    }
+
+    // Test that refilled buckets are dropped and partly used ones are kept
+    @Test
+    void evictIdleBuckets_ShouldDropOnlyFullBuckets() {
+        rateLimiter.checkBooking(UUID.randomUUID(), 1L);
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(5));
+        rateLimiter.checkBooking(UUID.randomUUID(), 2L);
+
+        rateLimiter.evictIdleBuckets();
+
+        assertEquals(2.0, meterRegistry.get("popcorn.booking.admission.buckets").gauge().value(),
+                "Only the buckets of the recent attempt should remain");
+    }
+
+    // Test that disabled admission lets every attempt through
+    @Test
+    void checkBooking_WhenDisabled_ShouldNotLimit() {
+        properties.setEnabled(false);
+        UUID userId = UUID.randomUUID();
+        for (int i = 0; i < 10; i++) {
+            rateLimiter.checkBooking(userId, 1L);
+        }
+    }
+
+    // Test that the limit grows while used at steady latency and backs off when latency jumps
+    @Test
+    void adaptiveLimit_ShouldGrowWhenHealthyAndBackOffOnLatency() {
+        BookingAdmissionProperties.Concurrency settings = properties.getConcurrency();
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(settings);
+        for (int i = 0; i < 10; i++) {
+            limit.onSample(TimeUnit.MILLISECONDS.toNanos(5), false, limit.getLimit());
+        }
+        assertEquals(settings.getInitialLimit() + 10, limit.getLimit());
+
+        for (int i = 0; i < 10; i++) {
+            limit.onSample(TimeUnit.MILLISECONDS.toNanos(100), false, limit.getLimit());
+        }
+        assertTrue(limit.getLimit() < settings.getInitialLimit(), "Rising latency should shrink the limit");
+    }
+
+    // Test that waiting for a pooled connection backs off and the limit never drops below the minimum
+    @Test
+    void adaptiveLimit_ShouldBackOffOnPoolWaitsDownToMinimum() {
+        BookingAdmissionProperties.Concurrency settings = properties.getConcurrency();
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(settings);
+        for (int i = 0; i < 100; i++) {
+            limit.onSample(TimeUnit.MILLISECONDS.toNanos(5), true, 1);
+        }
+        assertEquals(settings.getMinLimit(), limit.getLimit());
+    }
+
+    // Test that the limit does not grow while mostly unused
+    @Test
+    void adaptiveLimit_ShouldNotGrowWhenIdle() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(properties.getConcurrency());
+        for (int i = 0; i < 10; i++) {
+            limit.onSample(TimeUnit.MILLISECONDS.toNanos(5), false, 1);
+        }
+        assertEquals(properties.getConcurrency().getInitialLimit(), limit.getLimit());
+    }
+
+    // Test that booking writes beyond the limit are shed with 503 and reads pass
+    @Test
+    @SuppressWarnings("unchecked")
+    void filter_AtLimit_ShouldShedBookingWrites() throws Exception {
+        properties.getConcurrency().setInitialLimit(0);
+        properties.getConcurrency().setMinLimit(0);
+        AdaptiveConcurrencyFilter filter = new AdaptiveConcurrencyFilter(properties, mock(ObjectProvider.class),
+                new ObjectMapper().registerModule(new JavaTimeModule()), meterRegistry);
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(new MockHttpServletRequest("POST", "/bookings"), response, chain);
+
+        assertEquals(503, response.getStatus());
+        assertEquals("1", response.getHeader("Retry-After"));
+        assertNull(chain.getRequest(), "A shed request must not reach the controller");
+        assertEquals(1.0, rejected("overload"));
+
+        MockHttpServletResponse read = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("GET", "/bookings/user/" + UUID.randomUUID()), read,
+                new MockFilterChain());
+        assertEquals(200, read.getStatus());
+    }
+
+    private double rejected(String reason) {
+        return meterRegistry.get("popcorn.booking.admission.rejected").tag("reason", reason).counter().count();
+    }
+}
@@ -0,0 +1,96 @@
+package com.att.tdp.popcorn_palace.admission;
+
+import com.att.tdp.popcorn_palace.config.DbAdmissionProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DatabaseAdmissionFilterTest {
+
+    private DbAdmissionProperties properties;
+    private MeterRegistry meterRegistry;
+    private DatabaseAdmissionFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        properties = new DbAdmissionProperties();
+        properties.setEnabled(true);
+        properties.setMaxConcurrent(1);
+        properties.setMaxWait(Duration.ofMillis(50));
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new DatabaseAdmissionFilter(properties,
+                new ObjectMapper().registerModule(new JavaTimeModule()), meterRegistry);
+    }
+
+    @Test
+    void request_ShouldPassWhenPermitIsFree() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/movies/all"), response, chain);
+
+        assertEquals(200, response.getStatus());
+        assertNotNull(chain.getRequest(), "The request should reach the rest of the chain");
+        assertEquals(0.0, meterRegistry.get("popcorn.db.admission.active").gauge().value());
+    }
+
+    @Test
+    void request_ShouldBeRejectedWhenAllPermitsAreHeld() throws Exception {
+        CountDownLatch admitted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Void> holder = CompletableFuture.runAsync(() -> {
+            try {
+                filter.doFilter(new MockHttpServletRequest("POST", "/bookings"), new MockHttpServletResponse(),
+                        (req, res) -> {
+                            admitted.countDown();
+                            try {
+                                release.await(5, TimeUnit.SECONDS);
+                            } catch (InterruptedException e) {
+                                Thread.currentThread().interrupt();
+                            }
+                        });
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        assertTrue(admitted.await(5, TimeUnit.SECONDS));
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(new MockHttpServletRequest("POST", "/bookings"), response, chain);
+
+        assertEquals(503, response.getStatus());
+        assertEquals("1", response.getHeader("Retry-After"));
+        assertTrue(response.getContentAsString().contains("\"status\":503"));
+        assertNull(chain.getRequest(), "A rejected request must not reach the controller");
+        assertEquals(1.0, meterRegistry.get("popcorn.db.admission.rejected").counter().count());
+
+        release.countDown();
+        holder.get(5, TimeUnit.SECONDS);
+        assertEquals(0.0, meterRegistry.get("popcorn.db.admission.active").gauge().value());
+    }
+
+    @Test
+    void actuatorRequest_ShouldBypassAdmission() throws Exception {
+        properties.setMaxConcurrent(0);
+        filter = new DatabaseAdmissionFilter(properties, new ObjectMapper(), new SimpleMeterRegistry());
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/actuator/health"), response, new MockFilterChain());
+
+        assertEquals(200, response.getStatus());
+    }
+}
@@ -0,0 +1,224 @@
+package com.att.tdp.popcorn_palace.async;
+
+import com.att.tdp.popcorn_palace.bulkhead.Workload;
+import com.att.tdp.popcorn_palace.bulkhead.WorkloadContext;
+import com.att.tdp.popcorn_palace.cluster.SeatLocks;
+import com.att.tdp.popcorn_palace.config.AsyncBookingProperties;
+import com.att.tdp.popcorn_palace.config.BulkheadProperties;
+import com.att.tdp.popcorn_palace.dto.BookingDTO;
+import com.att.tdp.popcorn_palace.dto.BookingRequestStatusDTO;
+import com.att.tdp.popcorn_palace.exception.ConflictException;
+import com.att.tdp.popcorn_palace.exception.InvalidRequestException;
+import com.att.tdp.popcorn_palace.exception.ResourceNotFoundException;
+import com.att.tdp.popcorn_palace.exception.ServiceUnavailableException;
+import com.att.tdp.popcorn_palace.hotspots.HotspotTracker;
+import com.att.tdp.popcorn_palace.service.BookingService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class BookingQueueTest {
+
+    private static final Long SHOWTIME = 11L;
+
+    private AsyncBookingProperties properties;
+    private BookingService bookingService;
+    private HotspotTracker hotspotTracker;
+    private MeterRegistry meterRegistry;
+    private AtomicLong clock;
+    private BookingQueue bookingQueue;
+
+    @BeforeEach
+    void setUp() {
+        properties = new AsyncBookingProperties();
+        properties.setWorkers(2);
+        properties.setResultTtl(Duration.ofMinutes(1));
+        bookingService = mock(BookingService.class);
+        hotspotTracker = mock(HotspotTracker.class);
+        meterRegistry = new SimpleMeterRegistry();
+        clock = new AtomicLong(1_000_000);
+        bookingQueue = newQueue();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        bookingQueue.destroy();
+    }
+
+    // Test that a queued request is booked by a worker on the booking pool and then reported as confirmed
+    @Test
+    void submit_ShouldConfirmOnWorker() {
+        UUID bookingId = UUID.randomUUID();
+        AtomicReference<Workload> workload = new AtomicReference<>();
+        when(bookingService.bookTicket(any(BookingDTO.class))).thenAnswer(invocation -> {
+            workload.set(WorkloadContext.current());
+            return bookingId;
+        });
+
+        BookingRequestStatusDTO pending = bookingQueue.submit(booking(1), null);
+        assertEquals(BookingRequestState.PENDING, pending.getState());
+        assertTrue(pending.getRequestId().startsWith(SHOWTIME + "-"), "The request id should lead with the showtime");
+
+        BookingRequestStatusDTO outcome = awaitOutcome(pending.getRequestId());
+        assertEquals(BookingRequestState.CONFIRMED, outcome.getState());
+        assertEquals(bookingId, outcome.getBookingId());
+        assertNull(outcome.getError());
+        assertEquals(Workload.BOOKING, workload.get());
+        assertEquals(1, meterRegistry.get("popcorn.booking.async.completed").tag("state", "confirmed").counter().count());
+    }
+
+    // Test that a taken seat rejects the request with the error a synchronous booking would get
+    @Test
+    void submit_WhenSeatTaken_ShouldReject() {
+        when(bookingService.bookTicket(any(BookingDTO.class))).thenThrow(new ConflictException("Seat 1 is already booked"));
+
+        BookingRequestStatusDTO outcome = awaitOutcome(bookingQueue.submit(booking(1), null).getRequestId());
+        assertEquals(BookingRequestState.REJECTED, outcome.getState());
+        assertEquals(409, outcome.getError().getStatus());
+        assertEquals("Seat 1 is already booked", outcome.getError().getMessage());
+        verify(hotspotTracker).recordConflict(SHOWTIME, outcome.getUserId());
+    }
+
+    // Test that submissions beyond the workers and the queue are refused at once and the queued ones still complete
+    @Test
+    void submit_WhenQueueFull_ShouldRefuse() throws Exception {
+        bookingQueue.destroy();
+        properties.setWorkers(1);
+        properties.setQueueCapacity(1);
+        meterRegistry = new SimpleMeterRegistry();
+        bookingQueue = newQueue();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(bookingService.bookTicket(any(BookingDTO.class))).thenAnswer(invocation -> {
+            started.countDown();
+            release.await();
+            return UUID.randomUUID();
+        });
+
+        String running = bookingQueue.submit(booking(1), null).getRequestId();
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        String queued = bookingQueue.submit(booking(2), null).getRequestId();
+        assertEquals(1, bookingQueue.getQueueDepth());
+        assertEquals(1, meterRegistry.get("popcorn.booking.async.queued").gauge().value());
+
+        ServiceUnavailableException e = assertThrows(ServiceUnavailableException.class,
+                () -> bookingQueue.submit(booking(3), null));
+        assertEquals(properties.getRetryAfter(), e.getRetryAfter());
+        assertEquals(1, meterRegistry.get("popcorn.booking.async.rejected").counter().count());
+
+        release.countDown();
+        assertEquals(BookingRequestState.CONFIRMED, awaitOutcome(running).getState());
+        assertEquals(BookingRequestState.CONFIRMED, awaitOutcome(queued).getState());
+    }
+
+    // Test that the outcome is posted to the callback URL
+    @Test
+    void submit_WithCallback_ShouldPostOutcome() throws Exception {
+        properties.setCallbackHosts(List.of("localhost"));
+        UUID bookingId = UUID.randomUUID();
+        when(bookingService.bookTicket(any(BookingDTO.class))).thenReturn(bookingId);
+        CompletableFuture<byte[]> received = new CompletableFuture<>();
+        HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/callback", exchange -> {
+            received.complete(exchange.getRequestBody().readAllBytes());
+            exchange.sendResponseHeaders(204, -1);
+            exchange.close();
+        });
+        server.start();
+        try {
+            URI callbackUrl = URI.create("http://localhost:" + server.getAddress().getPort() + "/callback");
+            String requestId = bookingQueue.submit(booking(1), callbackUrl).getRequestId();
+
+            JsonNode body = objectMapper().readTree(received.get(5, TimeUnit.SECONDS));
+            assertEquals(requestId, body.get("requestId").asText());
+            assertEquals("CONFIRMED", body.get("state").asText());
+            assertEquals(bookingId.toString(), body.get("bookingId").asText());
+        } finally {
+            server.stop(0);
+        }
+    }
+
+    // Test to reject callback URLs that are relative or not http
+    @Test
+    void submit_WithInvalidCallback_ShouldThrowException() {
+        assertThrows(InvalidRequestException.class, () -> bookingQueue.submit(booking(1), URI.create("/callback")));
+        assertThrows(InvalidRequestException.class,
+                () -> bookingQueue.submit(booking(1), URI.create("file:///etc/passwd")));
+    }
+
+    // Test to reject callbacks into the internal network, and hosts missing from a configured allow-list
+    @Test
+    void submit_WithInternalCallback_ShouldThrowException() {
+        for (String url : List.of("http://localhost/callback", "http://127.0.0.1/callback", "http://10.0.0.1/callback",
+                "http://192.168.1.1/callback", "http://169.254.169.254/latest/meta-data", "http://[::1]/callback",
+                "http://[fd00::1]/callback", "http://0.0.0.0/callback")) {
+            assertThrows(InvalidRequestException.class, () -> bookingQueue.submit(booking(1), URI.create(url)),
+                    url + " should be refused");
+        }
+
+        properties.setCallbackHosts(List.of("hooks.example.com"));
+        assertThrows(InvalidRequestException.class,
+                () -> bookingQueue.submit(booking(1), URI.create("https://other.example.com/callback")));
+    }
+
+    // Test that outcomes are forgotten once their time to live has passed
+    @Test
+    void evictCompleted_ShouldForgetExpiredOutcomes() {
+        when(bookingService.bookTicket(any(BookingDTO.class))).thenReturn(UUID.randomUUID());
+        String requestId = bookingQueue.submit(booking(1), null).getRequestId();
+        awaitOutcome(requestId);
+
+        clock.addAndGet(Duration.ofSeconds(59).toMillis());
+        bookingQueue.evictCompleted();
+        assertEquals(BookingRequestState.CONFIRMED, bookingQueue.getStatus(requestId).getState());
+
+        clock.addAndGet(Duration.ofSeconds(2).toMillis());
+        bookingQueue.evictCompleted();
+        assertThrows(ResourceNotFoundException.class, () -> bookingQueue.getStatus(requestId));
+    }
+
+    private BookingQueue newQueue() {
+        return new BookingQueue(properties, new BulkheadProperties(), bookingService, new SeatLocks(), hotspotTracker,
+                objectMapper(), meterRegistry, clock::get);
+    }
+
+    private static ObjectMapper objectMapper() {
+        return new ObjectMapper().findAndRegisterModules();
+    }
+
+    private BookingRequestStatusDTO awaitOutcome(String requestId) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        BookingRequestStatusDTO status;
+        while ((status = bookingQueue.getStatus(requestId)).getState() == BookingRequestState.PENDING) {
+            assertTrue(System.nanoTime() < deadline, "The request should complete");
+            Thread.onSpinWait();
+        }
+        return status;
+    }
+
+    private static BookingDTO booking(int seat) {
+        return BookingDTO.builder().showtimeId(SHOWTIME).seatNumber(seat).userId(UUID.randomUUID()).build();
+    }
+}
@@ -0,0 +1,128 @@
+package com.att.tdp.popcorn_palace.availability;
+
+import com.att.tdp.popcorn_palace.dto.AvailabilityOptionDTO;
+import com.att.tdp.popcorn_palace.dto.BookingDTO;
+import com.att.tdp.popcorn_palace.dto.ShowtimeDTO;
+import com.att.tdp.popcorn_palace.exception.InvalidRequestException;
+import com.att.tdp.popcorn_palace.model.Movie;
+import com.att.tdp.popcorn_palace.repository.MovieRepository;
+import com.att.tdp.popcorn_palace.service.BookingService;
+import com.att.tdp.popcorn_palace.service.ShowtimeService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Not transactional: seat changes reach the index only once their booking has committed
+@SpringBootTest(properties = {
+        "popcorn-palace.theaters.capacity.Availability-Hall=6",
+        "popcorn-palace.theaters.capacity.Availability-Annex=6"
+})
+class AvailabilityIndexTest {
+
+    @Autowired
+    private AvailabilityIndex availabilityIndex;
+
+    @Autowired
+    private ShowtimeService showtimeService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private MovieRepository movieRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Movie movie;
+    private LocalDateTime tomorrow;
+
+    @BeforeEach
+    void setUp() {
+        movie = movieRepository.save(Movie.builder().title("Available " + UUID.randomUUID()).genre("Drama")
+                .duration(100).rating(7.0).releaseYear(2024).build());
+        tomorrow = LocalDateTime.now().plusDays(1).withNano(0);
+    }
+
+    // Test that matching showtimes come earliest and then cheapest first, and bookings show up without a reload
+    @Test
+    void search_ShouldRankShowtimesAndFollowBookings() {
+        ShowtimeDTO hall = addShowtime("Availability-Hall", tomorrow, 20.0);
+        ShowtimeDTO annex = addShowtime("Availability-Annex", tomorrow, 15.0);
+        ShowtimeDTO later = addShowtime("Availability-Hall", tomorrow.plusHours(4), 10.0);
+
+        List<AvailabilityOptionDTO> options = search(2, false);
+        assertEquals(List.of(annex.getId(), hall.getId(), later.getId()), ids(options));
+        assertEquals(List.of(1, 2), options.get(0).getSeats());
+        assertEquals(6, options.get(0).getRemainingSeats());
+
+        double loads = meterRegistry.get("popcorn.availability.loads").timer().count();
+        book(hall, 2);
+        book(hall, 5);
+        book(annex, 1);
+        book(annex, 2);
+        book(annex, 3);
+        book(annex, 4);
+
+        options = search(3, false);
+        assertEquals(List.of(hall.getId(), later.getId()), ids(options), "The annex has only two seats left");
+        assertEquals(List.of(1, 3, 4), options.get(0).getSeats());
+        assertEquals(4, options.get(0).getRemainingSeats());
+        assertEquals(2, options.get(0).getLongestBlock());
+        assertEquals(loads, meterRegistry.get("popcorn.availability.loads").timer().count(),
+                "Committed bookings should update the index in place");
+    }
+
+    // Test that a party asking to sit together only gets showtimes with a long enough run, in its shortest one
+    @Test
+    void search_Contiguous_ShouldSuggestTightestBlock() {
+        // A day later than the other test, as the theater may only show one showtime at a time
+        ShowtimeDTO hall = addShowtime("Availability-Hall", tomorrow.plusDays(1), 20.0);
+        book(hall, 2);
+        book(hall, 5);
+
+        List<AvailabilityOptionDTO> pair = search(2, true);
+        assertEquals(List.of(hall.getId()), ids(pair));
+        assertEquals(List.of(3, 4), pair.get(0).getSeats());
+
+        assertTrue(search(3, true).isEmpty(), "No three adjacent seats are free");
+        assertEquals(1, search(3, false).size(), "Three seats apart are free");
+    }
+
+    // Test to reject invalid party sizes, limits and time ranges
+    @Test
+    void search_WithInvalidParameters_ShouldThrowException() {
+        assertThrows(InvalidRequestException.class,
+                () -> availabilityIndex.search(movie.getId(), null, null, 0, false, null));
+        assertThrows(InvalidRequestException.class,
+                () -> availabilityIndex.search(movie.getId(), null, null, 1, false, 1000));
+        assertThrows(InvalidRequestException.class,
+                () -> availabilityIndex.search(movie.getId(), tomorrow, tomorrow.minusHours(1), 1, false, null));
+    }
+
+    private List<AvailabilityOptionDTO> search(int seats, boolean contiguous) {
+        return availabilityIndex.search(movie.getId(), null, null, seats, contiguous, null);
+    }
+
+    private ShowtimeDTO addShowtime(String theater, LocalDateTime start, double price) {
+        return showtimeService.addShowtime(ShowtimeDTO.builder().movieId(movie.getId()).theater(theater)
+                .startTime(start).endTime(start.plusHours(2)).price(price).build());
+    }
+
+    private void book(ShowtimeDTO showtime, int seat) {
+        bookingService.bookTicket(BookingDTO.builder().showtimeId(showtime.getId()).seatNumber(seat)
+                .userId(UUID.randomUUID()).build());
+    }
+
+    private static List<Long> ids(List<AvailabilityOptionDTO> options) {
+        return options.stream().map(AvailabilityOptionDTO::getShowtimeId).toList();
+    }
+}
@@ -0,0 +1,123 @@
+package com.att.tdp.popcorn_palace.bulkhead;
+
+import com.att.tdp.popcorn_palace.config.BulkheadProperties;
+import com.att.tdp.popcorn_palace.dto.MovieDTO;
+import com.att.tdp.popcorn_palace.service.MovieService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class BulkheadTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private BulkheadRegistry registry;
+
+    @Autowired
+    private BulkheadProperties properties;
+
+    @Autowired
+    private MovieService movieService;
+
+    // Test that a full export bulkhead rejects exports while reads keep being served
+    @Test
+    void fullExportBulkhead_ShouldRejectExportsOnly() throws Exception {
+        MovieDTO movie = movieService.addMovie(MovieDTO.builder().title("Bulkhead " + UUID.randomUUID())
+                .genre("Drama").duration(100).rating(7.0).releaseYear(2024).build());
+        int held = 0;
+        try {
+            while (held < properties.getExport().getMaxConcurrent() && registry.tryAcquire(Workload.EXPORT)) {
+                held++;
+            }
+
+            mockMvc.perform(get("/movies/all"))
+                    .andExpect(status().isServiceUnavailable())
+                    .andExpect(header().string("Retry-After", "1"));
+            mockMvc.perform(get("/movies/{id}", movie.getId()))
+                    .andExpect(status().isOk());
+        } finally {
+            for (int i = 0; i < held; i++) {
+                registry.release(Workload.EXPORT);
+            }
+        }
+        mockMvc.perform(get("/movies/all")).andExpect(status().isOk());
+    }
+
+    // Test that a classified request gets its connection from its workload's pool
+    @Test
+    void classifiedRequest_ShouldUseWorkloadPool() throws Exception {
+        mockMvc.perform(get("/showtimes/theater/{theater}", "Bulkhead Hall"));
+
+        assertNotNull(registry.getPools().get(Workload.READ).getHikariPoolMXBean(),
+                "The read pool should have been started by the request");
+        assertNull(WorkloadContext.current(), "The workload must not leak past the request");
+    }
+
+    // Test that connections are routed by the current workload and fall back to the shared data source
+    @Test
+    void routingDataSource_ShouldFollowWorkloadContext() throws Exception {
+        DataSource shared = dataSource();
+        DataSource booking = dataSource();
+        WorkloadRoutingDataSource routing = new WorkloadRoutingDataSource(shared, Map.of(Workload.BOOKING, booking));
+
+        Connection outside = routing.getConnection();
+        WorkloadContext.set(Workload.BOOKING);
+        try {
+            assertSame(booking.getConnection(), routing.getConnection());
+        } finally {
+            WorkloadContext.clear();
+        }
+        assertSame(shared.getConnection(), outside);
+    }
+
+    // Test that requests beyond the waiting limit are rejected without waiting
+    @Test
+    void registry_WhenFull_ShouldRejectAndCount() {
+        BulkheadProperties bulkheads = new BulkheadProperties();
+        bulkheads.setBooking(new BulkheadProperties.Settings(1, 0, Duration.ofSeconds(10), 1, Duration.ofSeconds(1)));
+        DataSourceProperties dataSourceProperties = new DataSourceProperties();
+        dataSourceProperties.setUrl("jdbc:h2:mem:bulkhead-unit");
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        BulkheadRegistry unit = new BulkheadRegistry(bulkheads, dataSourceProperties, meterRegistry);
+        try {
+            assertTrue(unit.tryAcquire(Workload.BOOKING));
+            assertFalse(unit.tryAcquire(Workload.BOOKING), "No request may wait when max-waiting is 0");
+            assertEquals(1.0, meterRegistry.get("popcorn.bulkhead.active").tag("workload", "booking").gauge().value());
+            assertEquals(1.0, meterRegistry.get("popcorn.bulkhead.rejected").tag("workload", "booking")
+                    .counter().count());
+
+            unit.release(Workload.BOOKING);
+            assertTrue(unit.tryAcquire(Workload.BOOKING));
+        } finally {
+            unit.destroy();
+        }
+    }
+
+    private static DataSource dataSource() throws Exception {
+        DataSource dataSource = mock(DataSource.class);
+        Connection connection = mock(Connection.class);
+        when(dataSource.getConnection()).thenReturn(connection);
+        return dataSource;
+    }
+}
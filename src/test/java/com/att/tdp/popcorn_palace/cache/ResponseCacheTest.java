@@ -0,0 +1,182 @@
+package com.att.tdp.popcorn_palace.cache;
+
+import com.att.tdp.popcorn_palace.dto.MovieDTO;
+import com.att.tdp.popcorn_palace.metrics.ExpectedStatements;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = {
+                "popcorn-palace.response-cache.enabled=true",
+                "popcorn-palace.response-cache.gzip-min-size=1",
+                "popcorn-palace.response-cache.max-entries=3"
+})
+@AutoConfigureMockMvc
+class ResponseCacheTest {
+
+        @Autowired
+        private MockMvc mockMvc;
+
+        @Autowired
+        private ObjectMapper objectMapper;
+
+        @Autowired
+        private ResponseCache responseCache;
+
+        private String title;
+
+        @BeforeEach
+        void setUp() throws Exception {
+                // Start every test from an empty cache that already contains this test's movie
+                title = "Cached " + UUID.randomUUID();
+                addMovie(title);
+                responseCache.onCatalogChanged(new CatalogChangedEvent("test set-up"));
+        }
+
+        // Test that a repeated request is served from the cache without touching the database
+        @Test
+        @ExpectedStatements(max = 1)
+        void repeatedRequest_ShouldBeServedFromCache() throws Exception {
+                MvcResult miss = mockMvc.perform(get("/movies/all"))
+                                .andExpect(status().isOk())
+                                .andExpect(header().string(ResponseCacheFilter.CACHE_HEADER, "MISS"))
+                                .andReturn();
+                MvcResult hit = mockMvc.perform(get("/movies/all"))
+                                .andExpect(status().isOk())
+                                .andExpect(header().string(ResponseCacheFilter.CACHE_HEADER, "HIT"))
+                                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                                .andReturn();
+
+                assertArrayEquals(miss.getResponse().getContentAsByteArray(), hit.getResponse().getContentAsByteArray());
+                assertTrue(hit.getResponse().getContentAsString().contains(title));
+        }
+
+        // Test that each format is cached under its own key
+        @Test
+        void binaryAccept_ShouldBeCachedPerFormat() throws Exception {
+                mockMvc.perform(get("/movies/all"));
+                MvcResult miss = mockMvc.perform(get("/movies/all").header(HttpHeaders.ACCEPT, MediaType.APPLICATION_CBOR_VALUE))
+                                .andExpect(header().string(ResponseCacheFilter.CACHE_HEADER, "MISS"))
+                                .andReturn();
+                MvcResult hit = mockMvc.perform(get("/movies/all").header(HttpHeaders.ACCEPT, MediaType.APPLICATION_CBOR_VALUE))
+                                .andExpect(header().string(ResponseCacheFilter.CACHE_HEADER, "HIT"))
+                                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_CBOR))
+                                .andReturn();
+
+                assertArrayEquals(miss.getResponse().getContentAsByteArray(), hit.getResponse().getContentAsByteArray());
+        }
+
+        // Test that Accept headers negotiating the same format share one entry
+        @Test
+        void equivalentAccept_ShouldShareEntry() throws Exception {
+                mockMvc.perform(get("/movies/all"))
+                                .andExpect(header().string(ResponseCacheFilter.CACHE_HEADER, "MISS"));
+                mockMvc.perform(get("/movies/all").header(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON_VALUE))
+                                .andExpect(header().string(ResponseCacheFilter.CACHE_HEADER, "HIT"));
+                mockMvc.perform(get("/movies/all").header(HttpHeaders.ACCEPT, "text/html, application/json;q=0.9"))
+                                .andExpect(header().string(ResponseCacheFilter.CACHE_HEADER, "HIT"))
+                                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
+        }
+
+        // Test that a full cache evicts the least recently used entry to store a new one
+        @Test
+        void fullCache_ShouldEvictLeastRecentlyUsed() {
+                long generation = responseCache.generation();
+                for (String key : new String[] {"a", "b", "c"}) {
+                        responseCache.put(key, response(), generation);
+                }
+                assertNotNull(responseCache.get("a"));
+
+                responseCache.put("d", response(), generation);
+                assertNotNull(responseCache.get("a"), "A recently read entry should stay cached");
+                assertNull(responseCache.get("b"), "The least recently used entry should be evicted");
+                assertNotNull(responseCache.get("d"), "The new entry should be stored");
+        }
+
+        // Test that clients accepting gzip get the precompressed variant
+        @Test
+        void acceptGzip_ShouldServeCompressedVariant() throws Exception {
+                String plain = mockMvc.perform(get("/movies/all")).andReturn().getResponse().getContentAsString();
+
+                MvcResult hit = mockMvc.perform(get("/movies/all").header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate"))
+                                .andExpect(status().isOk())
+                                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                                .andExpect(header().string(HttpHeaders.VARY, containsString(HttpHeaders.ACCEPT_ENCODING)))
+                                .andReturn();
+
+                assertEquals(plain, gunzip(hit.getResponse().getContentAsByteArray()));
+        }
+
+        // Test that a matching ETag is answered without a body
+        @Test
+        void ifNoneMatch_ShouldReturnNotModified() throws Exception {
+                mockMvc.perform(get("/movies/all"));
+                String etag = mockMvc.perform(get("/movies/all"))
+                                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+                assertNotNull(etag);
+
+                mockMvc.perform(get("/movies/all").header(HttpHeaders.IF_NONE_MATCH, etag))
+                                .andExpect(status().isNotModified())
+                                .andExpect(content().string(""));
+        }
+
+        // Test that a catalog change drops the cached responses
+        @Test
+        void catalogChange_ShouldInvalidateCache() throws Exception {
+                mockMvc.perform(get("/movies/all"));
+                String newTitle = "Cached new " + UUID.randomUUID();
+                addMovie(newTitle);
+
+                mockMvc.perform(get("/movies/all"))
+                                .andExpect(header().string(ResponseCacheFilter.CACHE_HEADER, "MISS"))
+                                .andExpect(content().string(containsString(newTitle)));
+        }
+
+        // Test that error responses are not cached
+        @Test
+        void errorResponse_ShouldNotBeCached() throws Exception {
+                mockMvc.perform(get("/showtimes/theater/{theater}", "No Such Theater"))
+                                .andExpect(status().isNotFound());
+                mockMvc.perform(get("/showtimes/theater/{theater}", "No Such Theater"))
+                                .andExpect(status().isNotFound())
+                                .andExpect(header().string(ResponseCacheFilter.CACHE_HEADER, not("HIT")));
+        }
+
+        private void addMovie(String movieTitle) throws Exception {
+                MovieDTO movie = MovieDTO.builder().title(movieTitle).genre("Drama").duration(100).rating(7.0)
+                                .releaseYear(2024).build();
+                mockMvc.perform(post("/movies").contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(movie)))
+                                .andExpect(status().isOk());
+        }
+
+        private static CachedResponse response() {
+                return CachedResponse.of(MediaType.APPLICATION_JSON_VALUE, "[]".getBytes(StandardCharsets.UTF_8), 512,
+                                System.currentTimeMillis());
+        }
+
+        private static String gunzip(byte[] compressed) throws IOException {
+                try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+                        return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+                }
+        }
+}
@@ -0,0 +1,288 @@
+package com.att.tdp.popcorn_palace.cluster;
+
+import com.att.tdp.popcorn_palace.PopcornPalaceApplication;
+import com.att.tdp.popcorn_palace.config.ClusterProperties;
+import com.att.tdp.popcorn_palace.model.Movie;
+import com.att.tdp.popcorn_palace.model.Showtime;
+import com.att.tdp.popcorn_palace.repository.BookingRepository;
+import com.att.tdp.popcorn_palace.repository.MovieRepository;
+import com.att.tdp.popcorn_palace.repository.ShowtimeRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Two full application instances in one JVM, sharing one in-memory database like two nodes share Postgres
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ClusterRoutingTest {
+
+        private final HttpClient httpClient = HttpClient.newHttpClient();
+        private final ObjectMapper objectMapper = new ObjectMapper();
+
+        private ConfigurableApplicationContext nodeA;
+        private ConfigurableApplicationContext nodeB;
+        private String urlA;
+        private String urlB;
+        private Movie movie;
+
+        @BeforeAll
+        void startNodes() throws IOException {
+                int portA = freePort();
+                int portB = freePort();
+                urlA = "http://localhost:" + portA;
+                urlB = "http://localhost:" + portB;
+                nodeA = start(portA, urlA);
+                nodeB = start(portB, urlB);
+                movie = nodeA.getBean(MovieRepository.class).save(Movie.builder().title("Cluster " + UUID.randomUUID())
+                                .genre("Drama").duration(100).rating(7.0).releaseYear(2024).build());
+        }
+
+        @AfterAll
+        void stopNodes() {
+                nodeB.close();
+                nodeA.close();
+        }
+
+        // Test that every showtime has one owner and that a new member takes over only about its share
+        @Test
+        void ring_ShouldMoveOnlyTheNewMembersShare() {
+                ConsistentHashRing three = new ConsistentHashRing(List.of("http://a", "http://b", "http://c"), 128);
+                ConsistentHashRing four = new ConsistentHashRing(List.of("http://c", "http://a", "http://d", "http://b"), 128);
+                Map<String, Integer> owned = new HashMap<>();
+                int moved = 0;
+                for (long showtimeId = 1; showtimeId <= 10_000; showtimeId++) {
+                        String before = three.ownerOf(showtimeId);
+                        String after = four.ownerOf(showtimeId);
+                        owned.merge(before, 1, Integer::sum);
+                        if (!before.equals(after)) {
+                                assertEquals("http://d", after, "Keys may only move to the new member");
+                                moved++;
+                        }
+                }
+
+                owned.values().forEach(count -> assertTrue(count > 2_000 && count < 4_700,
+                                "Showtimes should be spread evenly, got " + owned));
+                assertTrue(moved > 1_500 && moved < 3_500, "About a quarter should move, moved " + moved);
+                assertNull(new ConsistentHashRing(List.of(), 128).ownerOf(1));
+        }
+
+        // Test that a booking and its cancellation sent to a non-owner are served by the owner
+        @Test
+        void booking_OnNonOwner_ShouldBeForwardedToOwner() throws Exception {
+                Showtime showtime = showtimeOwnedBy(urlB);
+                double forwardsBefore = forwards(nodeA);
+                double ownerForwardsBefore = forwards(nodeB);
+
+                HttpResponse<String> booked = post(urlA, showtime.getId(), 5);
+                assertEquals(200, booked.statusCode(), booked.body());
+                UUID bookingId = UUID.fromString(objectMapper.readTree(booked.body()).get("bookingId").asText());
+                assertTrue(nodeA.getBean(BookingRepository.class).existsById(bookingId));
+
+                HttpResponse<String> conflict = post(urlA, showtime.getId(), 5);
+                assertEquals(409, conflict.statusCode(), "The owner's conflict should be relayed as is");
+
+                HttpResponse<String> cancelled = httpClient.send(HttpRequest.newBuilder(
+                                URI.create(urlA + "/bookings/" + bookingId)).DELETE().build(),
+                                HttpResponse.BodyHandlers.ofString());
+                assertEquals(200, cancelled.statusCode(), cancelled.body());
+                assertFalse(nodeA.getBean(BookingRepository.class).existsById(bookingId));
+                assertEquals(forwardsBefore + 3, forwards(nodeA));
+                assertEquals(ownerForwardsBefore, forwards(nodeB), "The owner should serve forwarded requests itself");
+        }
+
+        // Test that a client claiming to be a member is still routed to the owner
+        @Test
+        void forwardedByHeader_WithoutSignature_ShouldStillBeForwarded() throws Exception {
+                Showtime showtime = showtimeOwnedBy(urlB);
+                double forwardsBefore = forwards(nodeA);
+
+                String body = objectMapper.writeValueAsString(Map.of("showtimeId", showtime.getId(), "seatNumber", 7,
+                                "userId", UUID.randomUUID()));
+                HttpResponse<String> booked = httpClient.send(HttpRequest.newBuilder(URI.create(urlA + "/bookings"))
+                                .header("Content-Type", "application/json")
+                                .header(RequestForwarder.FORWARDED_BY, urlB)
+                                .header(RequestForwarder.FORWARD_SIGNATURE, "forged")
+                                .POST(HttpRequest.BodyPublishers.ofString(body))
+                                .build(), HttpResponse.BodyHandlers.ofString());
+
+                assertEquals(200, booked.statusCode(), booked.body());
+                assertEquals(forwardsBefore + 1, forwards(nodeA), "A forged header should not skip the routing");
+        }
+
+        // Test that a member's signature only skips the routing for the body and time it was issued for
+        @Test
+        void forwardSignature_ShouldCoverBodyAndTime() throws Exception {
+                Showtime showtime = showtimeOwnedBy(urlB);
+                RequestForwarder forwarder = nodeA.getBean(RequestForwarder.class);
+                String signedBody = bookingBody(showtime.getId(), 8);
+                long now = System.currentTimeMillis();
+                double forwardsBefore = forwards(nodeA);
+
+                HttpResponse<String> signed = relayed(urlA, signedBody, now,
+                                forwarder.sign(urlB, "POST", "/bookings", now, signedBody.getBytes(StandardCharsets.UTF_8)));
+                assertEquals(200, signed.statusCode(), signed.body());
+                assertEquals(forwardsBefore, forwards(nodeA), "A valid relay should be served where it arrives");
+
+                String otherBody = bookingBody(showtime.getId(), 9);
+                assertEquals(200, relayed(urlA, otherBody, now, forwarder.sign(urlB, "POST", "/bookings", now,
+                                signedBody.getBytes(StandardCharsets.UTF_8))).statusCode());
+                assertEquals(forwardsBefore + 1, forwards(nodeA), "A signature should not cover another body");
+
+                long stale = now - Duration.ofMinutes(10).toMillis();
+                String staleBody = bookingBody(showtime.getId(), 10);
+                assertEquals(200, relayed(urlA, staleBody, stale, forwarder.sign(urlB, "POST", "/bookings", stale,
+                                staleBody.getBytes(StandardCharsets.UTF_8))).statusCode());
+                assertEquals(forwardsBefore + 2, forwards(nodeA), "An old signature should not be honoured");
+        }
+
+        // Test that members cannot be configured without the secret that signs relayed requests
+        @Test
+        void members_WithoutSecret_ShouldFailToStart() {
+                ClusterProperties properties = new ClusterProperties();
+                properties.setSelf("http://a");
+                properties.setMembers(List.of("http://a", "http://b"));
+                assertThrows(IllegalStateException.class,
+                                () -> new ClusterMembership(properties, event -> { }, new SimpleMeterRegistry()));
+        }
+
+        // Test that a relayed seat map stream ends when its showtime changes owner, and that work follows the new owner
+        @Test
+        void membershipChange_ShouldHandOffShowtimes() throws Exception {
+                Showtime showtime = showtimeOwnedBy(urlB);
+                HttpResponse<Stream<String>> stream = httpClient.send(HttpRequest.newBuilder(
+                                URI.create(urlA + "/showtimes/" + showtime.getId() + "/seats/stream")).build(),
+                                HttpResponse.BodyHandlers.ofLines());
+                assertEquals(200, stream.statusCode());
+                CompletableFuture<Long> events = CompletableFuture.supplyAsync(
+                                () -> stream.body().filter(line -> line.startsWith("event:")).count());
+
+                try {
+                        // Wait for the snapshot to be relayed before changing the owner
+                        Thread.sleep(500);
+                        update(List.of(urlA));
+
+                        assertEquals(1, events.get(10, TimeUnit.SECONDS), "The stream should end after the snapshot");
+                        assertTrue(ownership(nodeA).isLocal(showtime.getId()));
+                        double forwardsBefore = forwards(nodeB);
+                        assertEquals(200, post(urlB, showtime.getId(), 6).statusCode());
+                        assertEquals(forwardsBefore + 1, forwards(nodeB), "Node B should now forward to node A");
+                } finally {
+                        update(List.of(urlA, urlB));
+                }
+        }
+
+        // Test that the membership can be read and replaced over the actuator endpoint
+        @Test
+        void clusterEndpoint_ShouldReportAndReplaceMembership() throws Exception {
+                HttpResponse<String> response = httpClient.send(HttpRequest.newBuilder(
+                                URI.create(urlA + "/actuator/cluster")).build(), HttpResponse.BodyHandlers.ofString());
+                assertEquals(200, response.statusCode());
+                assertEquals(urlA, objectMapper.readTree(response.body()).get("self").asText());
+                long epoch = objectMapper.readTree(response.body()).get("epoch").asLong();
+
+                HttpResponse<String> updated = httpClient.send(HttpRequest.newBuilder(
+                                URI.create(urlA + "/actuator/cluster"))
+                                .header("Content-Type", "application/json")
+                                .POST(HttpRequest.BodyPublishers.ofString(
+                                                "{\"members\": \"" + urlB + "/, " + urlA + "\"}"))
+                                .build(), HttpResponse.BodyHandlers.ofString());
+
+                assertEquals(200, updated.statusCode(), updated.body());
+                assertEquals(epoch + 1, objectMapper.readTree(updated.body()).get("epoch").asLong());
+                assertEquals(List.of(urlA, urlB).stream().sorted().toList(), objectMapper.convertValue(
+                                objectMapper.readTree(updated.body()).get("members"), List.class));
+        }
+
+        private Showtime showtimeOwnedBy(String owner) {
+                ShowtimeRepository showtimes = nodeA.getBean(ShowtimeRepository.class);
+                ClusterMembership membership = ownership(nodeA);
+                while (true) {
+                        LocalDateTime start = LocalDateTime.now().plusDays(1);
+                        Showtime showtime = showtimes.save(Showtime.builder().movie(movie).theater("Cluster Hall")
+                                        .startTime(start).endTime(start.plusHours(2)).price(30.0).build());
+                        if (membership.ownerOf(showtime.getId()).equals(owner)) {
+                                return showtime;
+                        }
+                }
+        }
+
+        private HttpResponse<String> post(String node, Long showtimeId, int seat) throws Exception {
+                String body = objectMapper.writeValueAsString(Map.of("showtimeId", showtimeId, "seatNumber", seat,
+                                "userId", UUID.randomUUID()));
+                return httpClient.send(HttpRequest.newBuilder(URI.create(node + "/bookings"))
+                                .header("Content-Type", "application/json")
+                                .POST(HttpRequest.BodyPublishers.ofString(body))
+                                .build(), HttpResponse.BodyHandlers.ofString());
+        }
+
+        private String bookingBody(Long showtimeId, int seat) throws Exception {
+                return objectMapper.writeValueAsString(Map.of("showtimeId", showtimeId, "seatNumber", seat,
+                                "userId", UUID.randomUUID()));
+        }
+
+        private HttpResponse<String> relayed(String node, String body, long forwardedAt, String signature)
+                        throws Exception {
+                return httpClient.send(HttpRequest.newBuilder(URI.create(node + "/bookings"))
+                                .header("Content-Type", "application/json")
+                                .header(RequestForwarder.FORWARDED_BY, urlB)
+                                .header(RequestForwarder.FORWARDED_AT, String.valueOf(forwardedAt))
+                                .header(RequestForwarder.FORWARD_SIGNATURE, signature)
+                                .POST(HttpRequest.BodyPublishers.ofString(body))
+                                .build(), HttpResponse.BodyHandlers.ofString());
+        }
+
+                private void update(List<String> members) {
+                ownership(nodeA).update(members);
+                ownership(nodeB).update(members);
+        }
+
+        private static ClusterMembership ownership(ConfigurableApplicationContext node) {
+                return node.getBean(ClusterMembership.class);
+        }
+
+        private static double forwards(ConfigurableApplicationContext node) {
+                return node.getBean(MeterRegistry.class).get("popcorn.cluster.forwards")
+                                .tag("outcome", "forwarded").counter().count();
+        }
+
+        private ConfigurableApplicationContext start(int port, String self) {
+                return new SpringApplicationBuilder(PopcornPalaceApplication.class).run(
+                                "--server.port=" + port,
+                                "--spring.datasource.url=jdbc:h2:mem:cluster;MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+                                "--popcorn-palace.cluster.self=" + self,
+                                "--popcorn-palace.cluster.members=" + urlA + "," + urlB,
+                                "--popcorn-palace.cluster.secret=cluster-test-secret",
+                                "--popcorn-palace.cluster.forward-timeout=" + Duration.ofSeconds(10),
+                                "--management.endpoints.web.exposure.include=health,cluster");
+        }
+
+        private static int freePort() throws IOException {
+                try (ServerSocket socket = new ServerSocket(0)) {
+                        return socket.getLocalPort();
+                }
+        }
+}
@@ -0,0 +1,76 @@
+package com.att.tdp.popcorn_palace.controller;
+
+import com.att.tdp.popcorn_palace.dto.BulkOperationResultDTO;
+import com.att.tdp.popcorn_palace.dto.RepriceRequestDTO;
+import com.att.tdp.popcorn_palace.exception.ResourceNotFoundException;
+import com.att.tdp.popcorn_palace.service.BulkOperationService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+public class AdminControllerTest {
+
+        @Autowired
+        private MockMvc mockMvc;
+
+        @Autowired
+        private ObjectMapper objectMapper;
+
+        @MockBean
+        private BulkOperationService bulkOperationService;
+
+        @Test
+        void deleteShowtimesForMovie_ShouldReturnCounts() throws Exception {
+                when(bulkOperationService.deleteShowtimesForMovie(eq(1L), isNull()))
+                                .thenReturn(new BulkOperationResultDTO("deleteShowtimesForMovie", 0, 3, 12));
+
+                mockMvc.perform(delete("/admin/movies/{movieId}/showtimes", 1))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.showtimesAffected", is(3)))
+                                .andExpect(jsonPath("$.bookingsAffected", is(12)));
+        }
+
+        @Test
+        void repriceTheater_WithInvalidPrice_ShouldReturnBadRequest() throws Exception {
+                mockMvc.perform(post("/admin/theaters/{theater}/reprice", "Cinema 1")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(new RepriceRequestDTO(0.0, null))))
+                                .andExpect(status().isBadRequest());
+        }
+
+        @Test
+        void repriceTheater_ShouldReturnCount() throws Exception {
+                when(bulkOperationService.repriceTheater(eq("Cinema 1"), any(RepriceRequestDTO.class)))
+                                .thenReturn(new BulkOperationResultDTO("repriceTheater", 0, 7, 0));
+
+                mockMvc.perform(post("/admin/theaters/{theater}/reprice", "Cinema 1")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(new RepriceRequestDTO(25.0, null))))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.showtimesAffected", is(7)));
+        }
+
+        @Test
+        void dropMovie_WhenNotExists_ShouldReturnNotFound() throws Exception {
+                when(bulkOperationService.dropMovie("Missing"))
+                                .thenThrow(new ResourceNotFoundException("Movie", "title", "Missing"));
+
+                mockMvc.perform(delete("/admin/movies/{title}", "Missing"))
+                                .andExpect(status().isNotFound());
+        }
+}
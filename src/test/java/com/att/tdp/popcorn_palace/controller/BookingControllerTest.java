@@ -3,7 +3,9 @@ package com.att.tdp.popcorn_palace.controller;
 import com.att.tdp.popcorn_palace.dto.BookingDTO;
 import com.att.tdp.popcorn_palace.service.BookingService;
 import com.att.tdp.popcorn_palace.exception.ResourceNotFoundException;
+import com.att.tdp.popcorn_palace.waitingroom.WaitingRooms;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.dao.DataIntegrityViolationException;
 
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -16,7 +18,11 @@ import org.springframework.test.web.servlet.MockMvc;
 import java.util.Arrays;
 import java.util.UUID;
 
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.hasItem;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.startsWith;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
@@ -36,6 +42,9 @@ public class BookingControllerTest {
         @Autowired
         private ObjectMapper objectMapper;
 
+        @Autowired
+        private WaitingRooms waitingRooms;
+
         @MockBean
         private BookingService bookingService;
 
@@ -60,6 +69,143 @@ public class BookingControllerTest {
                                 .andExpect(jsonPath("$.bookingId", is(bookingId.toString())));
         }
 
+        @Test
+        public void bookTicket_WithWaitingRoom_ShouldRequirePass() throws Exception {
+                UUID userId = UUID.randomUUID();
+                BookingDTO inputBooking = BookingDTO.builder()
+                                .showtimeId(451L)
+                                .seatNumber(15)
+                                .userId(userId)
+                                .build();
+                when(bookingService.bookTicket(any(BookingDTO.class))).thenReturn(UUID.randomUUID());
+
+                waitingRooms.open(451L, null);
+                try {
+                        mockMvc.perform(post("/bookings")
+                                        .contentType(MediaType.APPLICATION_JSON)
+                                        .content(objectMapper.writeValueAsString(inputBooking)))
+                                        .andExpect(status().isForbidden())
+                                        .andExpect(jsonPath("$.message", containsString("/showtimes/451/waiting-room")));
+
+                        String token = objectMapper.readTree(mockMvc.perform(post("/showtimes/451/waiting-room")
+                                        .param("userId", userId.toString()))
+                                        .andExpect(status().isOk())
+                                        .andReturn().getResponse().getContentAsString()).get("token").asText();
+                        String pass = objectMapper.readTree(mockMvc.perform(get("/showtimes/451/waiting-room")
+                                        .header(WaitingRooms.QUEUE_TOKEN_HEADER, token))
+                                        .andExpect(status().isOk())
+                                        .andExpect(jsonPath("$.admitted", is(true)))
+                                        .andReturn().getResponse().getContentAsString()).get("pass").asText();
+
+                        mockMvc.perform(post("/bookings")
+                                        .contentType(MediaType.APPLICATION_JSON)
+                                        .header(WaitingRooms.PASS_HEADER, pass)
+                                        .content(objectMapper.writeValueAsString(inputBooking)))
+                                        .andExpect(status().isOk());
+                } finally {
+                        waitingRooms.close(451L);
+                }
+        }
+
+        @Test
+        public void submitBooking_ShouldAcceptAndResolveByPolling() throws Exception {
+                UUID bookingId = UUID.randomUUID();
+                BookingDTO inputBooking = BookingDTO.builder()
+                                .showtimeId(452L)
+                                .seatNumber(15)
+                                .userId(UUID.randomUUID())
+                                .build();
+                when(bookingService.bookTicket(any(BookingDTO.class))).thenReturn(bookingId);
+
+                String location = mockMvc.perform(post("/bookings/requests")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(inputBooking)))
+                                .andExpect(status().isAccepted())
+                                .andExpect(header().string("Location", startsWith("/bookings/requests/452-")))
+                                .andExpect(jsonPath("$.showtimeId", is(452)))
+                                .andReturn().getResponse().getHeader("Location");
+
+                long deadline = System.currentTimeMillis() + 5000;
+                String state;
+                do {
+                        state = objectMapper.readTree(mockMvc.perform(get(location))
+                                        .andExpect(status().isOk())
+                                        .andReturn().getResponse().getContentAsString()).get("state").asText();
+                } while (state.equals("PENDING") && System.currentTimeMillis() < deadline);
+
+                mockMvc.perform(get(location))
+                                .andExpect(jsonPath("$.state", is("CONFIRMED")))
+                                .andExpect(jsonPath("$.bookingId", is(bookingId.toString())));
+                mockMvc.perform(get("/bookings/requests/452-unknown"))
+                                .andExpect(status().isNotFound());
+        }
+
+        @Test
+        public void bookTicket_WithConcurrentSeatClaim_ShouldReturnConflict() throws Exception {
+                BookingDTO inputBooking = BookingDTO.builder()
+                                .showtimeId(1L)
+                                .seatNumber(15)
+                                .userId(UUID.fromString("84438967-f68f-4fa0-b620-0f08217e76af"))
+                                .build();
+
+                // The unique (showtime, seat) constraint fires at commit time
+                when(bookingService.bookTicket(any(BookingDTO.class)))
+                                .thenThrow(new DataIntegrityViolationException("duplicate key"));
+
+                mockMvc.perform(post("/bookings")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(inputBooking)))
+                                .andExpect(status().isConflict());
+        }
+
+        @Test
+        public void bookTicket_WithConflict_ShouldShowOnHotspotsEndpoint() throws Exception {
+                UUID userId = UUID.randomUUID();
+                BookingDTO inputBooking = BookingDTO.builder()
+                                .showtimeId(1L)
+                                .seatNumber(15)
+                                .userId(userId)
+                                .build();
+                when(bookingService.bookTicket(any(BookingDTO.class)))
+                                .thenThrow(new DataIntegrityViolationException("duplicate key"));
+
+                mockMvc.perform(post("/bookings")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(inputBooking)))
+                                .andExpect(status().isConflict());
+
+                String user = "$.users[?(@.id == '" + userId + "')]";
+                mockMvc.perform(get("/actuator/hotspots").param("limit", "100"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath(user + ".attempts", hasItem(greaterThanOrEqualTo(1))))
+                                .andExpect(jsonPath(user + ".conflicts", hasItem(greaterThanOrEqualTo(1))))
+                                .andExpect(jsonPath("$.showtimes[?(@.id == '1')]").isNotEmpty());
+        }
+
+        @Test
+        public void bookTicket_OverUserRateLimit_ShouldReturnTooManyRequests() throws Exception {
+                BookingDTO inputBooking = BookingDTO.builder()
+                                .showtimeId(1L)
+                                .seatNumber(15)
+                                .userId(UUID.randomUUID())
+                                .build();
+                when(bookingService.bookTicket(any(BookingDTO.class))).thenReturn(UUID.randomUUID());
+
+                // The default per-user burst is 10 attempts
+                for (int attempt = 0; attempt < 10; attempt++) {
+                        mockMvc.perform(post("/bookings")
+                                        .contentType(MediaType.APPLICATION_JSON)
+                                        .content(objectMapper.writeValueAsString(inputBooking)))
+                                        .andExpect(status().isOk());
+                }
+                mockMvc.perform(post("/bookings")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(inputBooking)))
+                                .andExpect(status().isTooManyRequests())
+                                .andExpect(header().string("Retry-After", "1"))
+                                .andExpect(jsonPath("$.status", is(429)));
+        }
+
         @Test
         public void bookTicket_WithMissingUserId_ShouldReturnBadRequest() throws Exception {
                 BookingDTO inputBooking = BookingDTO.builder()
@@ -0,0 +1,103 @@
+package com.att.tdp.popcorn_palace.controller;
+
+import com.att.tdp.popcorn_palace.config.BinaryContentConfiguration;
+import com.att.tdp.popcorn_palace.dto.BookingDTO;
+import com.att.tdp.popcorn_palace.dto.ShowtimeDTO;
+import com.att.tdp.popcorn_palace.service.BookingService;
+import com.att.tdp.popcorn_palace.service.ShowtimeService;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ContentNegotiationTest {
+
+        @Autowired
+        private MockMvc mockMvc;
+
+        @MockBean
+        private BookingService bookingService;
+
+        @MockBean
+        private ShowtimeService showtimeService;
+
+        // Test that JSON stays the default when the client does not ask for a format
+        @Test
+        void getBookingsByUser_WithoutAccept_ShouldReturnJson() throws Exception {
+                UUID userId = UUID.randomUUID();
+                when(bookingService.getBookingsByUser(userId)).thenReturn(bookings(userId, 3));
+
+                mockMvc.perform(get("/bookings/user/" + userId).header(HttpHeaders.ACCEPT, "*/*"))
+                                .andExpect(status().isOk())
+                                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
+        }
+
+        // Test that CBOR and Smile decode to the same bookings and are smaller than JSON
+        @Test
+        void getBookingsByUser_WithBinaryAccept_ShouldRoundTripAndShrink() throws Exception {
+                UUID userId = UUID.randomUUID();
+                List<BookingDTO> bookings = bookings(userId, 50);
+                when(bookingService.getBookingsByUser(userId)).thenReturn(bookings);
+
+                byte[] json = fetch("/bookings/user/" + userId, MediaType.APPLICATION_JSON_VALUE);
+                byte[] cbor = fetch("/bookings/user/" + userId, MediaType.APPLICATION_CBOR_VALUE);
+                byte[] smile = fetch("/bookings/user/" + userId, BinaryContentConfiguration.APPLICATION_SMILE_VALUE);
+
+                assertEquals(bookings, List.of(new CBORMapper().readValue(cbor, BookingDTO[].class)));
+                assertEquals(bookings, List.of(new SmileMapper().readValue(smile, BookingDTO[].class)));
+                assertTrue(cbor.length < json.length * 0.7, "CBOR should be well under JSON: " + cbor.length + " vs " + json.length);
+                assertTrue(smile.length < json.length * 0.7, "Smile should be well under JSON: " + smile.length + " vs " + json.length);
+        }
+
+        // Test that dates survive as numeric arrays
+        @Test
+        void getShowtimesByTheater_WithCbor_ShouldRoundTripDates() throws Exception {
+                String theater = "Binary Hall " + UUID.randomUUID();
+                LocalDateTime start = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+                List<ShowtimeDTO> showtimes = List.of(ShowtimeDTO.builder().id(1L).movieId(2L).theater(theater)
+                                .startTime(start).endTime(start.plusHours(2)).price(20.0).build());
+                when(showtimeService.getShowtimesByTheater(theater)).thenReturn(showtimes);
+
+                byte[] body = fetch("/showtimes/theater/" + theater, MediaType.APPLICATION_CBOR_VALUE);
+                CBORMapper mapper = new CBORMapper();
+                mapper.registerModule(new JavaTimeModule());
+                assertEquals(showtimes, List.of(mapper.readValue(body, ShowtimeDTO[].class)));
+                assertTrue(mapper.readTree(body).get(0).get("startTime").isArray());
+        }
+
+        private byte[] fetch(String path, String accept) throws Exception {
+                return mockMvc.perform(get(path).header(HttpHeaders.ACCEPT, accept))
+                                .andExpect(status().isOk())
+                                .andExpect(content().contentTypeCompatibleWith(accept))
+                                .andReturn().getResponse().getContentAsByteArray();
+        }
+
+        private static List<BookingDTO> bookings(UUID userId, int count) {
+                List<BookingDTO> bookings = new ArrayList<>();
+                for (int seat = 1; seat <= count; seat++) {
+                        bookings.add(BookingDTO.builder().bookingId(UUID.randomUUID()).showtimeId(7L).seatNumber(seat)
+                                        .userId(userId).build());
+                }
+                return bookings;
+        }
+}
@@ -1,6 +1,8 @@
 package com.att.tdp.popcorn_palace.controller;
 
 import com.att.tdp.popcorn_palace.dto.MovieDTO;
+import com.att.tdp.popcorn_palace.dto.MovieDetailDTO;
+import com.att.tdp.popcorn_palace.dto.ShowtimeAvailabilityDTO;
 import com.att.tdp.popcorn_palace.exception.ConflictException;
 import com.att.tdp.popcorn_palace.model.Movie;
 import com.att.tdp.popcorn_palace.service.MovieService;
@@ -52,6 +54,20 @@ public class MovieControllerTest {
                                 .andExpect(jsonPath("$[1].title", is("Movie Two")));
         }
 
+        @Test
+        void getMovieDetail_ShouldReturnMovieWithShowtimes() throws Exception {
+                MovieDTO movie = new MovieDTO(1L, "Movie One", "Action", 120, 8.0, 2024);
+                ShowtimeAvailabilityDTO showtime = ShowtimeAvailabilityDTO.builder()
+                                .id(5L).theater("Hall").capacity(100).bookedSeats(30).remainingSeats(70).build();
+                when(movieService.getMovieDetail(1L)).thenReturn(new MovieDetailDTO(movie, List.of(showtime)));
+
+                mockMvc.perform(get("/movies/{id}/detail", 1))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.movie.title", is("Movie One")))
+                                .andExpect(jsonPath("$.showtimes", hasSize(1)))
+                                .andExpect(jsonPath("$.showtimes[0].remainingSeats", is(70)));
+        }
+
         @Test
         void getMovieById_WhenExists_ShouldReturnMovie() throws Exception {
                 MovieDTO movie = new MovieDTO(1L, "Movie One", "Action", 120, 8.0, 2024);
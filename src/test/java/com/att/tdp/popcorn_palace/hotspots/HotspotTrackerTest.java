@@ -0,0 +1,145 @@
+package com.att.tdp.popcorn_palace.hotspots;
+
+import com.att.tdp.popcorn_palace.config.HotspotProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HotspotTrackerTest {
+
+    private HotspotProperties properties;
+    private AtomicLong clock;
+    private HotspotTracker tracker;
+
+    @BeforeEach
+    void setUp() {
+        properties = new HotspotProperties();
+        properties.setBuckets(3);
+        properties.setTopK(8);
+        properties.setSketchWidth(256);
+        clock = new AtomicLong();
+        tracker = new HotspotTracker(properties, clock::get);
+    }
+
+    // Test that Count-Min estimates are never below the true count, even when many keys collide
+    @Test
+    void countMinSketch_ShouldNeverUndercount() {
+        CountMinSketch sketch = new CountMinSketch(4, 64);
+        for (long key = 0; key < 1000; key++) {
+            for (int i = 0; i < key % 7; i++) {
+                sketch.add(0, key);
+            }
+        }
+
+        for (long key = 0; key < 1000; key++) {
+            assertTrue(sketch.estimate(0, key) >= key % 7, "Estimate for " + key + " is below its count");
+        }
+    }
+
+    // Test that a frequent key survives in the summary among a long tail of one-off keys
+    @Test
+    void spaceSaving_ShouldKeepHeavyHitter() {
+        SpaceSaving summary = new SpaceSaving(4);
+        for (long key = 0; key < 1000; key++) {
+            summary.offer(0, key);
+            summary.offer(0, -1);
+        }
+
+        SpaceSaving.Entry hot = summary.entries().stream()
+                .filter(entry -> entry.lo() == -1)
+                .findFirst()
+                .orElseThrow();
+        assertTrue(hot.count() >= 1000, "Space-Saving counts never go below the true count");
+    }
+
+    // Test that the hottest showtime and user are reported first with their attempt and conflict rates
+    @Test
+    void report_ShouldRankByAttemptsAndSeatReads() {
+        UUID hotUser = UUID.randomUUID();
+        for (int i = 0; i < 40; i++) {
+            tracker.recordBookingAttempt(7L, hotUser);
+            tracker.recordBookingAttempt((long) (100 + i), UUID.randomUUID());
+        }
+        for (int i = 0; i < 10; i++) {
+            tracker.recordConflict(7L, hotUser);
+            tracker.recordSeatRead(7L);
+        }
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(4));
+
+        HotspotReport report = tracker.report(3);
+
+        assertEquals(3, report.showtimes().size());
+        HotspotReport.Hotspot showtime = report.showtimes().get(0);
+        assertEquals("7", showtime.id());
+        assertTrue(showtime.attempts() >= 40);
+        assertTrue(showtime.conflicts() >= 10);
+        assertTrue(showtime.seatReads() >= 10);
+        assertEquals(4.0, report.windowSeconds(), 0.001);
+        assertEquals(showtime.attempts() / 4.0, showtime.attemptsPerSecond(), 0.001);
+        assertEquals((double) showtime.conflicts() / showtime.attempts(), showtime.conflictRate(), 0.001);
+        assertEquals(hotUser.toString(), report.users().get(0).id());
+    }
+
+    // Test that events fall out of the window once all its sub-windows have rotated past them
+    @Test
+    void rotate_ShouldExpireOldEvents() {
+        tracker.recordBookingAttempt(1L, UUID.randomUUID());
+        tracker.rotate();
+        tracker.recordBookingAttempt(2L, UUID.randomUUID());
+        tracker.rotate();
+
+        List<String> ids = tracker.report(10).showtimes().stream().map(HotspotReport.Hotspot::id).toList();
+        assertEquals(List.of("1", "2"), ids.stream().sorted().toList());
+
+        tracker.rotate();
+        ids = tracker.report(10).showtimes().stream().map(HotspotReport.Hotspot::id).toList();
+        assertEquals(List.of("2"), ids);
+    }
+
+    // Test that nothing is recorded while tracking is switched off
+    @Test
+    void record_WhenDisabled_ShouldIgnoreEvents() {
+        properties.setEnabled(false);
+        tracker.recordBookingAttempt(1L, UUID.randomUUID());
+        tracker.recordSeatRead(1L);
+
+        assertTrue(tracker.report(10).showtimes().isEmpty());
+        assertTrue(tracker.report(10).users().isEmpty());
+    }
+
+    // Test that recording allocates nothing, so it adds no GC pressure to the booking path
+    @Test
+    void record_ShouldNotAllocate() {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        UUID userId = UUID.randomUUID();
+        Long[] showtimeIds = new Long[64];
+        for (int i = 0; i < showtimeIds.length; i++) {
+            showtimeIds[i] = (long) i * 1000;
+        }
+        // Warm up so the measured loop runs compiled code
+        for (int i = 0; i < 100_000; i++) {
+            recordAll(showtimeIds[i & 63], userId);
+        }
+
+        long before = threads.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < 100_000; i++) {
+            recordAll(showtimeIds[i & 63], userId);
+        }
+        long allocated = threads.getCurrentThreadAllocatedBytes() - before;
+
+        assertTrue(allocated < 1024, "Recording allocated " + allocated + " bytes");
+    }
+
+    private void recordAll(Long showtimeId, UUID userId) {
+        tracker.recordBookingAttempt(showtimeId, userId);
+        tracker.recordConflict(showtimeId, userId);
+        tracker.recordSeatRead(showtimeId);
+    }
+}
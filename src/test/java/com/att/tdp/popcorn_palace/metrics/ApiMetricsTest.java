@@ -0,0 +1,71 @@
+package com.att.tdp.popcorn_palace.metrics;
+
+import com.att.tdp.popcorn_palace.exception.ConflictException;
+import com.att.tdp.popcorn_palace.service.MovieService;
+import com.att.tdp.popcorn_palace.service.ShowtimeService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+public class ApiMetricsTest {
+
+        @Autowired
+        private MockMvc mockMvc;
+
+        @Autowired
+        private MeterRegistry meterRegistry;
+
+        @Autowired
+        private MovieService movieService;
+
+        @MockBean
+        private ShowtimeService showtimeService;
+
+        @Test
+        void apiException_ShouldBeCountedByType() throws Exception {
+                when(showtimeService.getShowtimeById(7L)).thenThrow(new ConflictException("conflict"));
+
+                mockMvc.perform(get("/showtimes/{id}", 7))
+                                .andExpect(status().isConflict());
+
+                Counter counter = meterRegistry.find("popcorn.api.exceptions")
+                                .tags("type", "ConflictException", "status", "409").counter();
+                assertNotNull(counter, "A counter should be registered for ConflictException");
+                assertTrue(counter.count() >= 1, "The conflict should be counted");
+        }
+
+        @Test
+        void request_ShouldRecordSqlStatementCount() throws Exception {
+                mockMvc.perform(get("/movies/all"))
+                                .andExpect(status().isOk());
+
+                DistributionSummary summary = meterRegistry.find("popcorn.http.sql.statements")
+                                .tags("method", "GET", "uri", "/movies/all").summary();
+                assertNotNull(summary, "The statement count of the request should be recorded");
+                assertTrue(summary.max() >= 1, "Loading all movies issues at least one statement");
+        }
+
+        @Test
+        void serviceMethod_ShouldBeTimed() {
+                movieService.getAllMovies();
+
+                Timer timer = meterRegistry.find("popcorn.service")
+                                .tags("class", MovieService.class.getName(), "method", "getAllMovies").timer();
+                assertNotNull(timer, "Service methods should be timed");
+                assertTrue(timer.count() >= 1, "The invocation should be recorded");
+        }
+}
@@ -0,0 +1,20 @@
+package com.att.tdp.popcorn_palace.metrics;
+
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Fails the annotated test when its body issues more SQL statements than
+ * {@link #max()}. Set-up methods run outside the count.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@ExtendWith(StatementCountExtension.class)
+public @interface ExpectedStatements {
+
+    int max();
+}
@@ -0,0 +1,364 @@
+package com.att.tdp.popcorn_palace.metrics;
+
+import com.att.tdp.popcorn_palace.config.SqlBudgetProperties;
+import com.att.tdp.popcorn_palace.dto.BookingDTO;
+import com.att.tdp.popcorn_palace.dto.MovieDTO;
+import com.att.tdp.popcorn_palace.dto.RepriceRequestDTO;
+import com.att.tdp.popcorn_palace.dto.ShowtimeDTO;
+import com.att.tdp.popcorn_palace.model.Booking;
+import com.att.tdp.popcorn_palace.model.Movie;
+import com.att.tdp.popcorn_palace.model.Showtime;
+import com.att.tdp.popcorn_palace.model.UserBookingCounter;
+import com.att.tdp.popcorn_palace.repository.BookingRepository;
+import com.att.tdp.popcorn_palace.repository.MovieRepository;
+import com.att.tdp.popcorn_palace.repository.ShowtimeRepository;
+import com.att.tdp.popcorn_palace.repository.UserBookingCounterRepository;
+import com.att.tdp.popcorn_palace.service.BookingService;
+import com.att.tdp.popcorn_palace.service.ShowtimeService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.mvc.method.RequestMappingInfo;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Calls every endpoint against data with several rows per list, so that an
+ * association loaded per row pushes the request over its
+ * {@link StatementBudget}. The test configuration runs the budget check in
+ * fail mode, which makes the request itself throw.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class StatementBudgetTest {
+
+        private static final int ROWS = 5;
+
+        @Autowired
+        private MockMvc mockMvc;
+
+        @Autowired
+        private ObjectMapper objectMapper;
+
+        @Autowired
+        @Qualifier("requestMappingHandlerMapping")
+        private RequestMappingHandlerMapping handlerMapping;
+
+        @Autowired
+        private MovieRepository movieRepository;
+
+        @Autowired
+        private ShowtimeRepository showtimeRepository;
+
+        @Autowired
+        private BookingRepository bookingRepository;
+
+        @Autowired
+        private UserBookingCounterRepository counterRepository;
+
+        @Autowired
+        private BookingService bookingService;
+
+        @Autowired
+        private ShowtimeService showtimeService;
+
+        private Movie movie;
+        private final List<Showtime> showtimes = new ArrayList<>();
+        private final List<Booking> bookings = new ArrayList<>();
+        private UUID userId;
+        private String theater;
+        private String genre;
+
+        @BeforeEach
+        void setUp() {
+                String suffix = UUID.randomUUID().toString();
+                theater = "Budget Hall " + suffix;
+                genre = "Budget " + suffix;
+                userId = UUID.randomUUID();
+                movie = movieRepository.save(Movie.builder().title("Budget " + suffix).genre(genre)
+                                .duration(100).rating(7.0).releaseYear(2024).build());
+                movieRepository.save(Movie.builder().title("Budget other " + suffix).genre(genre)
+                                .duration(100).rating(7.0).releaseYear(2024).build());
+                LocalDateTime start = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.HOURS);
+                for (int i = 0; i < ROWS; i++) {
+                        Showtime showtime = showtimeRepository.save(Showtime.builder().movie(movie).theater(theater)
+                                        .startTime(start.plusHours(3L * i)).endTime(start.plusHours(3L * i + 2))
+                                        .price(20.0).build());
+                        showtimes.add(showtime);
+                        for (int seat = 1; seat <= 2; seat++) {
+                                bookings.add(bookingRepository.save(Booking.builder().showtimeId(showtime.getId())
+                                                .seatNumber(seat).userId(userId).showtimeStart(showtime.getStartTime())
+                                                .build()));
+                        }
+                }
+                counterRepository.save(UserBookingCounter.builder().userId(userId).upcoming(bookings.size()).build());
+        }
+
+        // Test that every API endpoint declares a statement budget
+        @Test
+        void everyEndpoint_ShouldDeclareStatementBudget() {
+                List<String> missing = new ArrayList<>();
+                for (Map.Entry<RequestMappingInfo, HandlerMethod> entry : handlerMapping.getHandlerMethods().entrySet()) {
+                        HandlerMethod handler = entry.getValue();
+                        if (handler.getBeanType().getPackageName().startsWith("com.att.tdp.popcorn_palace")
+                                        && !handler.hasMethodAnnotation(StatementBudget.class)) {
+                                missing.add(entry.getKey().toString());
+                        }
+                }
+                assertTrue(missing.isEmpty(), "Endpoints without @StatementBudget: " + missing);
+        }
+
+        // Test that a request over its budget fails in fail mode and is only counted in log mode
+        @Test
+        void budgetExceeded_ShouldFailOrLogByMode() throws Exception {
+                SqlStatementCounter counter = new SqlStatementCounter();
+                FilterChain twoStatements = (req, res) -> {
+                        counter.inspect("select 1");
+                        counter.inspect("select 2");
+                };
+
+                SqlBudgetProperties failMode = new SqlBudgetProperties();
+                failMode.setMode(SqlBudgetProperties.Mode.FAIL);
+                SqlStatementMetricsFilter failing = new SqlStatementMetricsFilter(counter, new SimpleMeterRegistry(),
+                                failMode);
+                StatementBudgetExceededException exception = assertThrows(StatementBudgetExceededException.class,
+                                () -> failing.doFilter(budgetedRequest(), new MockHttpServletResponse(), twoStatements));
+                assertEquals("GET /budgeted issued 2 SQL statements, its budget is 1", exception.getMessage());
+
+                SimpleMeterRegistry registry = new SimpleMeterRegistry();
+                SqlStatementMetricsFilter logging = new SqlStatementMetricsFilter(counter, registry,
+                                new SqlBudgetProperties());
+                logging.doFilter(budgetedRequest(), new MockHttpServletResponse(), twoStatements);
+                assertEquals(1.0, registry.get("popcorn.http.sql.budget.exceeded").counter().count());
+        }
+
+        private MockHttpServletRequest budgetedRequest() throws NoSuchMethodException {
+                MockHttpServletRequest request = new MockHttpServletRequest("GET", "/budgeted");
+                request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/budgeted");
+                request.setAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE,
+                                new HandlerMethod(this, getClass().getDeclaredMethod("budgetedEndpoint")));
+                return request;
+        }
+
+        @StatementBudget(1)
+        private void budgetedEndpoint() {
+        }
+
+        @Test
+        void getAllMovies() throws Exception {
+                mockMvc.perform(get("/movies/all")).andExpect(status().isOk());
+        }
+
+        @Test
+        void getMovieById() throws Exception {
+                mockMvc.perform(get("/movies/{id}", movie.getId())).andExpect(status().isOk());
+        }
+
+        @Test
+        void getMovieDetail() throws Exception {
+                mockMvc.perform(get("/movies/{id}/detail", movie.getId())).andExpect(status().isOk());
+        }
+
+        @Test
+        void getMovieByTitle() throws Exception {
+                mockMvc.perform(get("/movies/title/{title}", movie.getTitle())).andExpect(status().isOk());
+        }
+
+        @Test
+        void getMoviesByGenre() throws Exception {
+                mockMvc.perform(get("/movies/genre/{genre}", genre)).andExpect(status().isOk());
+        }
+
+        @Test
+        void getMoviesByReleaseYear() throws Exception {
+                mockMvc.perform(get("/movies/year/{year}", 2024)).andExpect(status().isOk());
+        }
+
+        @Test
+        void addMovie() throws Exception {
+                MovieDTO newMovie = MovieDTO.builder().title("Budget new " + UUID.randomUUID()).genre(genre)
+                                .duration(90).rating(6.0).releaseYear(2023).build();
+                mockMvc.perform(post("/movies").contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(newMovie)))
+                                .andExpect(status().isOk());
+        }
+
+        @Test
+        void updateMovie() throws Exception {
+                MovieDTO update = MovieDTO.builder().title(movie.getTitle()).genre(genre)
+                                .duration(110).rating(8.0).releaseYear(2024).build();
+                mockMvc.perform(post("/movies/update/{title}", movie.getTitle()).contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(update)))
+                                .andExpect(status().isOk());
+        }
+
+        @Test
+        void deleteMovie() throws Exception {
+                mockMvc.perform(delete("/movies/{title}", "Budget other " + genre.substring("Budget ".length())))
+                                .andExpect(status().isOk());
+        }
+
+        @Test
+        void getAllShowtimes() throws Exception {
+                mockMvc.perform(get("/showtimes")).andExpect(status().isOk());
+        }
+
+        @Test
+        void getShowtimeById() throws Exception {
+                mockMvc.perform(get("/showtimes/{id}", showtimes.get(0).getId())).andExpect(status().isOk());
+        }
+
+        @Test
+        void getShowtimesByMovie() throws Exception {
+                mockMvc.perform(get("/showtimes/movie/{movieId}", movie.getId())).andExpect(status().isOk());
+        }
+
+        @Test
+        void getShowtimesByTheater() throws Exception {
+                mockMvc.perform(get("/showtimes/theater/{theater}", theater)).andExpect(status().isOk());
+        }
+
+        @Test
+        void streamSeats() throws Exception {
+                mockMvc.perform(get("/showtimes/{id}/seats/stream", showtimes.get(0).getId())
+                                .accept(MediaType.TEXT_EVENT_STREAM))
+                                .andExpect(status().isOk());
+        }
+
+        @Test
+        void addShowtime() throws Exception {
+                LocalDateTime start = LocalDateTime.now().plusDays(30).truncatedTo(ChronoUnit.HOURS);
+                ShowtimeDTO showtime = ShowtimeDTO.builder().movieId(movie.getId()).theater(theater)
+                                .startTime(start).endTime(start.plusHours(2)).price(25.0).build();
+                mockMvc.perform(post("/showtimes").contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(showtime)))
+                                .andExpect(status().isOk());
+        }
+
+        @Test
+        void updateShowtime() throws Exception {
+                Showtime existing = showtimes.get(0);
+                ShowtimeDTO update = ShowtimeDTO.builder().movieId(movie.getId()).theater(theater)
+                                .startTime(existing.getStartTime()).endTime(existing.getEndTime()).price(30.0).build();
+                mockMvc.perform(post("/showtimes/update/{id}", existing.getId()).contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(update)))
+                                .andExpect(status().isOk());
+        }
+
+        @Test
+        void deleteShowtime() throws Exception {
+                Showtime empty = showtimeRepository.save(Showtime.builder().movie(movie).theater(theater)
+                                .startTime(LocalDateTime.now().plusDays(40)).endTime(LocalDateTime.now().plusDays(40).plusHours(2))
+                                .price(20.0).build());
+                mockMvc.perform(delete("/showtimes/{id}", empty.getId())).andExpect(status().isOk());
+        }
+
+        @Test
+        void getAllBookings() throws Exception {
+                mockMvc.perform(get("/bookings")).andExpect(status().isOk());
+        }
+
+        @Test
+        void bookTicket() throws Exception {
+                BookingDTO booking = BookingDTO.builder().showtimeId(showtimes.get(0).getId()).seatNumber(10)
+                                .userId(userId).build();
+                mockMvc.perform(post("/bookings").contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(booking)))
+                                .andExpect(status().isOk());
+        }
+
+        @Test
+        void getBookingById() throws Exception {
+                mockMvc.perform(get("/bookings/{id}", bookings.get(0).getBookingId())).andExpect(status().isOk());
+        }
+
+        @Test
+        void getBookingsByUser() throws Exception {
+                mockMvc.perform(get("/bookings/user/{userId}", userId)).andExpect(status().isOk());
+        }
+
+        @Test
+        void getUserLedger() throws Exception {
+                mockMvc.perform(get("/bookings/user/{userId}/ledger", userId).param("limit", "3"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.upcoming").value(bookings.size()))
+                                .andExpect(jsonPath("$.entries.length()").value(3));
+        }
+
+        @Test
+        void cancelBooking() throws Exception {
+                mockMvc.perform(delete("/bookings/{id}", bookings.get(0).getBookingId())).andExpect(status().isOk());
+        }
+
+        @Test
+        void deleteShowtimesForMovie() throws Exception {
+                mockMvc.perform(delete("/admin/movies/{movieId}/showtimes", movie.getId())).andExpect(status().isOk());
+        }
+
+        @Test
+        void repriceTheater() throws Exception {
+                mockMvc.perform(post("/admin/theaters/{theater}/reprice", theater).contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(RepriceRequestDTO.builder().price(35.0).build())))
+                                .andExpect(status().isOk());
+        }
+
+        @Test
+        void dropMovie() throws Exception {
+                mockMvc.perform(delete("/admin/movies/{title}", movie.getTitle())).andExpect(status().isOk());
+        }
+
+        @Test
+        void rebuildSalesAnalytics() throws Exception {
+                mockMvc.perform(post("/admin/analytics/rebuild")).andExpect(status().isOk());
+        }
+
+        @Test
+        void getSalesReport() throws Exception {
+                LocalDateTime from = showtimes.get(0).getStartTime().truncatedTo(ChronoUnit.DAYS);
+                mockMvc.perform(get("/analytics/sales").param("granularity", "hour")
+                                .param("from", from.toString()).param("to", from.plusDays(2).toString()))
+                                .andExpect(status().isOk());
+        }
+
+        @Test
+        void getEvents() throws Exception {
+                mockMvc.perform(get("/events")).andExpect(status().isOk());
+        }
+
+        // Test that listing a user's bookings does not load each booking's showtime
+        @Test
+        @ExpectedStatements(max = 1)
+        void getBookingsByUser_ShouldNotLoadShowtimePerBooking() {
+                assertEquals(ROWS * 2, bookingService.getBookingsByUser(userId).size());
+        }
+
+        // Test that listing a movie's showtimes does not load the movie per showtime
+        @Test
+        @ExpectedStatements(max = 2)
+        void getShowtimesByMovie_ShouldNotLoadMoviePerShowtime() {
+                assertEquals(ROWS, showtimeService.getShowtimesByMovie(movie.getId()).size());
+        }
+}
@@ -0,0 +1,35 @@
+package com.att.tdp.popcorn_palace.metrics;
+
+import org.junit.jupiter.api.extension.AfterTestExecutionCallback;
+import org.junit.jupiter.api.extension.BeforeTestExecutionCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Counts the SQL statements of a test body with the application's
+ * {@link SqlStatementCounter} and checks them against {@link ExpectedStatements}.
+ * Requests made through MockMvc run on the test thread and are included.
+ */
+class StatementCountExtension implements BeforeTestExecutionCallback, AfterTestExecutionCallback {
+
+    private static final ExtensionContext.Namespace NAMESPACE =
+            ExtensionContext.Namespace.create(StatementCountExtension.class);
+
+    @Override
+    public void beforeTestExecution(ExtensionContext context) {
+        SqlStatementCounter counter = SpringExtension.getApplicationContext(context).getBean(SqlStatementCounter.class);
+        context.getStore(NAMESPACE).put(context.getUniqueId(), counter.open());
+    }
+
+    @Override
+    public void afterTestExecution(ExtensionContext context) {
+        SqlStatementCounter.Scope scope = context.getStore(NAMESPACE)
+                .remove(context.getUniqueId(), SqlStatementCounter.Scope.class);
+        scope.close();
+        int max = context.getRequiredTestMethod().getAnnotation(ExpectedStatements.class).max();
+        assertTrue(scope.count() <= max,
+                () -> context.getDisplayName() + " issued " + scope.count() + " SQL statements, expected at most " + max);
+    }
+}
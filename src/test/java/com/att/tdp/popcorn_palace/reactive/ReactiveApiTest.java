@@ -0,0 +1,232 @@
+package com.att.tdp.popcorn_palace.reactive;
+
+import com.att.tdp.popcorn_palace.dto.BookingDTO;
+import com.att.tdp.popcorn_palace.dto.MovieDTO;
+import com.att.tdp.popcorn_palace.dto.ShowtimeDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("reactive")
+public class ReactiveApiTest {
+
+        private static final AtomicInteger SEQUENCE = new AtomicInteger();
+
+        @Autowired
+        private WebTestClient webTestClient;
+
+        @Autowired
+        private DatabaseClient databaseClient;
+
+        private MovieDTO movie;
+        private ShowtimeDTO showtime;
+
+        @BeforeEach
+        void setUp() {
+                int n = SEQUENCE.incrementAndGet();
+                movie = webTestClient.post().uri("/movies")
+                                .bodyValue(MovieDTO.builder().title("Reactive " + n).genre("Action")
+                                                .duration(120).rating(8.0).releaseYear(2024).build())
+                                .exchange()
+                                .expectStatus().isOk()
+                                .expectBody(MovieDTO.class).returnResult().getResponseBody();
+
+                LocalDateTime start = LocalDateTime.now().plusDays(n).truncatedTo(ChronoUnit.HOURS);
+                showtime = webTestClient.post().uri("/showtimes")
+                                .bodyValue(ShowtimeDTO.builder().movieId(movie.getId()).theater("Reactive Hall")
+                                                .startTime(start).endTime(start.plusHours(2)).price(12.5).build())
+                                .exchange()
+                                .expectStatus().isOk()
+                                .expectBody(ShowtimeDTO.class).returnResult().getResponseBody();
+        }
+
+        @Test
+        void addMovie_ShouldAssignIdAndBeReadableByTitle() {
+                assertNotNull(movie.getId());
+
+                webTestClient.get().uri("/movies/title/{title}", movie.getTitle())
+                                .exchange()
+                                .expectStatus().isOk()
+                                .expectBody()
+                                .jsonPath("$.id").isEqualTo(movie.getId())
+                                .jsonPath("$.genre").isEqualTo("Action");
+        }
+
+        @Test
+        void addMovie_DuplicateTitle_ShouldReturnConflict() {
+                webTestClient.post().uri("/movies")
+                                .bodyValue(movie)
+                                .exchange()
+                                .expectStatus().isEqualTo(409)
+                                .expectBody()
+                                .jsonPath("$.message").isEqualTo("Movie with title " + movie.getTitle() + " already exists");
+        }
+
+        @Test
+        void addMovie_InvalidBody_ShouldReturnFieldErrors() {
+                webTestClient.post().uri("/movies")
+                                .bodyValue(MovieDTO.builder().title("").genre("Drama").duration(0).rating(5.0)
+                                                .releaseYear(2020).build())
+                                .exchange()
+                                .expectStatus().isBadRequest()
+                                .expectBody()
+                                .jsonPath("$.message").isEqualTo("Validation failed for one or more fields")
+                                .jsonPath("$.errors.title").exists()
+                                .jsonPath("$.errors.duration").isEqualTo("Duration must be at least 1 minute");
+        }
+
+        @Test
+        void addMovie_MalformedJson_ShouldReturnBadRequest() {
+                webTestClient.post().uri("/movies")
+                                .header("Content-Type", "application/json")
+                                .bodyValue("{\"title\": ")
+                                .exchange()
+                                .expectStatus().isBadRequest();
+        }
+
+        @Test
+        void getMovieDetail_ShouldCountBookedSeats() {
+                bookSeat(1).expectStatus().isOk();
+
+                webTestClient.get().uri("/movies/{id}/detail", movie.getId())
+                                .exchange()
+                                .expectStatus().isOk()
+                                .expectBody()
+                                .jsonPath("$.movie.title").isEqualTo(movie.getTitle())
+                                .jsonPath("$.showtimes[0].id").isEqualTo(showtime.getId())
+                                .jsonPath("$.showtimes[0].bookedSeats").isEqualTo(1)
+                                .jsonPath("$.showtimes[0].remainingSeats").isEqualTo(99);
+        }
+
+        @Test
+        void addShowtime_Overlapping_ShouldReturnConflict() {
+                webTestClient.post().uri("/showtimes")
+                                .bodyValue(ShowtimeDTO.builder().movieId(movie.getId()).theater("Reactive Hall")
+                                                .startTime(showtime.getStartTime().plusMinutes(30))
+                                                .endTime(showtime.getEndTime().plusMinutes(30)).price(10.0).build())
+                                .exchange()
+                                .expectStatus().isEqualTo(409);
+        }
+
+        @Test
+        void addShowtime_UnknownMovie_ShouldReturnNotFound() {
+                LocalDateTime start = LocalDateTime.now().plusYears(1);
+                webTestClient.post().uri("/showtimes")
+                                .bodyValue(ShowtimeDTO.builder().movieId(-1L).theater("Nowhere")
+                                                .startTime(start).endTime(start.plusHours(2)).price(10.0).build())
+                                .exchange()
+                                .expectStatus().isNotFound();
+        }
+
+        @Test
+        void updateShowtime_SameWindow_ShouldNotConflictWithItself() {
+                showtime.setPrice(15.0);
+
+                webTestClient.post().uri("/showtimes/update/{id}", showtime.getId())
+                                .bodyValue(showtime)
+                                .exchange()
+                                .expectStatus().isOk();
+
+                webTestClient.get().uri("/showtimes/{id}", showtime.getId())
+                                .exchange()
+                                .expectBody()
+                                .jsonPath("$.price").isEqualTo(15.0);
+        }
+
+        @Test
+        @SuppressWarnings("unchecked")
+        void bookTicket_ThenSameSeat_ShouldReturnConflict() {
+                Map<String, String> booking = bookSeat(5)
+                                .expectStatus().isOk()
+                                .expectBody(Map.class).returnResult().getResponseBody();
+                assertNotNull(booking.get("bookingId"));
+
+                bookSeat(5)
+                                .expectStatus().isEqualTo(409)
+                                .expectBody()
+                                .jsonPath("$.message").isEqualTo(
+                                                "Seat 5 is already booked for showtime " + showtime.getId());
+
+                webTestClient.get().uri("/bookings/{id}", booking.get("bookingId"))
+                                .exchange()
+                                .expectStatus().isOk()
+                                .expectBody()
+                                .jsonPath("$.seatNumber").isEqualTo(5)
+                                .jsonPath("$.showtimeId").isEqualTo(showtime.getId());
+        }
+
+        @Test
+        void bookTicket_UnknownShowtime_ShouldReturnNotFound() {
+                webTestClient.post().uri("/bookings")
+                                .bodyValue(BookingDTO.builder().showtimeId(-1L).seatNumber(1)
+                                                .userId(UUID.randomUUID()).build())
+                                .exchange()
+                                .expectStatus().isNotFound();
+        }
+
+        @Test
+        @SuppressWarnings("unchecked")
+        void cancelBooking_ShouldFreeTheSeat() {
+                Map<String, String> booking = bookSeat(7)
+                                .expectStatus().isOk()
+                                .expectBody(Map.class).returnResult().getResponseBody();
+
+                webTestClient.delete().uri("/bookings/{id}", booking.get("bookingId"))
+                                .exchange()
+                                .expectStatus().isOk();
+
+                webTestClient.get().uri("/bookings/{id}", booking.get("bookingId"))
+                                .exchange()
+                                .expectStatus().isNotFound();
+                bookSeat(7).expectStatus().isOk();
+        }
+
+        // Test that reactive writes reach the change feed like their MVC counterparts
+        @Test
+        @SuppressWarnings("unchecked")
+        void writes_ShouldRecordOutboxEvents() {
+                Map<String, String> booking = bookSeat(9)
+                                .expectStatus().isOk()
+                                .expectBody(Map.class).returnResult().getResponseBody();
+                webTestClient.delete().uri("/bookings/{id}", booking.get("bookingId"))
+                                .exchange()
+                                .expectStatus().isOk();
+                webTestClient.delete().uri("/showtimes/{id}", showtime.getId())
+                                .exchange()
+                                .expectStatus().isOk();
+
+                assertEquals(List.of("BOOKING_CREATED", "BOOKING_CANCELLED"), eventTypes(booking.get("bookingId")));
+                assertEquals(List.of("SHOWTIME_CREATED", "SHOWTIME_DELETED"),
+                                eventTypes(String.valueOf(showtime.getId())));
+        }
+
+        private List<String> eventTypes(String aggregateId) {
+                return databaseClient.sql("SELECT event_type FROM outbox_events WHERE aggregate_id = :id ORDER BY id")
+                                .bind("id", aggregateId)
+                                .map(row -> row.get("event_type", String.class))
+                                .all()
+                                .collectList()
+                                .block();
+        }
+
+        private WebTestClient.ResponseSpec bookSeat(int seat) {
+                return webTestClient.post().uri("/bookings")
+                                .bodyValue(BookingDTO.builder().showtimeId(showtime.getId()).seatNumber(seat)
+                                                .userId(UUID.randomUUID()).build())
+                                .exchange();
+        }
+}
@@ -0,0 +1,159 @@
+package com.att.tdp.popcorn_palace.routing;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.cookie;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import jakarta.servlet.http.Cookie;
+import org.h2.jdbcx.JdbcDataSource;
+import com.att.tdp.popcorn_palace.dto.MovieDTO;
+import com.att.tdp.popcorn_palace.service.MovieService;
+import io.micrometer.core.instrument.MeterRegistry;
+
+// Primary and replica are two separate H2 databases, so a read shows which one served it.
+// The second replica points at a closed port to exercise failover.
+@SpringBootTest(properties = {
+        "spring.datasource.url=" + ReadReplicaRoutingTest.PRIMARY_URL,
+        "spring.jpa.open-in-view=false",
+        "popcorn-palace.datasource.replicas[0].url=" + ReadReplicaRoutingTest.REPLICA_URL,
+        "popcorn-palace.datasource.replicas[0].username=sa",
+        "popcorn-palace.datasource.replicas[0].password=password",
+        "popcorn-palace.datasource.replicas[1].url=jdbc:h2:tcp://localhost:1/mem:unreachable",
+        "popcorn-palace.datasource.replicas[1].connection-timeout=250ms",
+        "popcorn-palace.datasource.retry-interval=1h"
+})
+@AutoConfigureMockMvc
+class ReadReplicaRoutingTest {
+
+    static final String PRIMARY_URL = "jdbc:h2:mem:routing-primary;MODE=PostgreSQL;DB_CLOSE_DELAY=-1";
+    static final String REPLICA_URL = "jdbc:h2:mem:routing-replica;MODE=PostgreSQL;DB_CLOSE_DELAY=-1";
+
+    @Autowired
+    private MovieService movieService;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @BeforeAll
+    static void createReplica() throws Exception {
+        try (Connection connection = DriverManager.getConnection(REPLICA_URL, "sa", "password");
+                Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE IF NOT EXISTS movies (id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, "
+                    + "title VARCHAR(255) NOT NULL UNIQUE, genre VARCHAR(255) NOT NULL, duration INT NOT NULL, "
+                    + "rating FLOAT(53) NOT NULL, release_year INT NOT NULL)");
+            statement.execute("MERGE INTO movies (id, title, genre, duration, rating, release_year) KEY (id) "
+                    + "VALUES (1, 'Replica Only', 'Drama', 90, 7.0, 2020)");
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReadYourWrites.clear();
+    }
+
+    // Test that read-only service methods are served by a replica
+    @Test
+    void readOnlyMethod_ShouldReadFromReplica() {
+        List<MovieDTO> movies = movieService.getAllMovies();
+
+        assertTrue(movies.stream().anyMatch(movie -> movie.getTitle().equals("Replica Only")),
+                "The movie only present on the replica should be returned");
+    }
+
+    // Test that writes go to the primary and never to a replica
+    @Test
+    void writeMethod_ShouldWriteToPrimary() throws Exception {
+        movieService.addMovie(MovieDTO.builder().title("Primary Write").genre("Action").duration(100)
+                .rating(8.0).releaseYear(2024).build());
+
+        assertEquals(1, countMovies(PRIMARY_URL, "Primary Write"), "The movie should be stored on the primary");
+        assertEquals(0, countMovies(REPLICA_URL, "Primary Write"), "The replica should not be written to");
+    }
+
+    // Test that reads stay on the primary while read-your-writes is in effect
+    @Test
+    void readOnlyMethod_WhenPrimaryRequired_ShouldReadFromPrimary() {
+        ReadYourWrites.requirePrimary();
+
+        List<MovieDTO> movies = movieService.getAllMovies();
+
+        assertTrue(movies.stream().noneMatch(movie -> movie.getTitle().equals("Replica Only")),
+                "The primary should serve the read");
+    }
+
+    // Test that an unreachable replica is skipped and the healthy one serves all reads
+    @Test
+    void unreachableReplica_ShouldFailOverToHealthyReplica() {
+        for (int i = 0; i < 4; i++) {
+            assertTrue(movieService.getAllMovies().stream()
+                    .anyMatch(movie -> movie.getTitle().equals("Replica Only")));
+        }
+
+        assertEquals(1.0, meterRegistry.get("popcorn.datasource.replicas.healthy").gauge().value(),
+                "The unreachable replica should be marked down");
+    }
+
+    // Test that a write request pins the client's following reads to the primary
+    @Test
+    void writeRequest_ShouldSetCookieThatRoutesReadsToPrimary() throws Exception {
+        MvcResult result = mockMvc.perform(post("/movies")
+                .contentType("application/json")
+                .content("{\"title\":\"Cookie Write\",\"genre\":\"Comedy\",\"duration\":95,"
+                        + "\"rating\":6.5,\"releaseYear\":2023}"))
+                .andExpect(status().isOk())
+                .andExpect(cookie().exists(ReadYourWritesFilter.COOKIE_NAME))
+                .andReturn();
+        Cookie primaryUntil = result.getResponse().getCookie(ReadYourWritesFilter.COOKIE_NAME);
+
+        String withCookie = mockMvc.perform(get("/movies/all").cookie(primaryUntil))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        String withoutCookie = mockMvc.perform(get("/movies/all"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertTrue(withCookie.contains("Cookie Write"), "The client should read its own write");
+        assertTrue(withoutCookie.contains("Replica Only"), "Other clients should read from the replica");
+    }
+
+    // Test that a connection asked for with explicit credentials comes from the primary
+    @Test
+    void getConnectionWithCredentials_ShouldUsePrimary() throws Exception {
+        JdbcDataSource primary = new JdbcDataSource();
+        primary.setURL(PRIMARY_URL);
+        JdbcDataSource replica = new JdbcDataSource();
+        replica.setURL(REPLICA_URL);
+        ReplicaRoutingDataSource router = new ReplicaRoutingDataSource(primary, List.of(replica), Duration.ofHours(1));
+
+        try (Connection connection = router.getConnection("sa", "password")) {
+            assertEquals("jdbc:h2:mem:routing-primary", connection.getMetaData().getURL());
+        }
+    }
+
+    private static int countMovies(String url, String title) throws Exception {
+        try (Connection connection = DriverManager.getConnection(url, "sa", "password");
+                Statement statement = connection.createStatement();
+                ResultSet rs = statement.executeQuery("SELECT COUNT(*) FROM movies WHERE title = '" + title + "'")) {
+            rs.next();
+            return rs.getInt(1);
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.att.tdp.popcorn_palace.scheduling;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SchedulePackerTest {
+
+    private static final LocalDate DAY = LocalDate.of(2031, 3, 3);
+
+    // Test that screenings stay within opening hours, start on the grid and keep the cleaning buffer
+    @Test
+    void pack_ShouldKeepHoursGridAndBuffers() {
+        List<SchedulePacker.Window> hours = List.of(hours("Hall 1", 10, 23), hours("Hall 2", 10, 23));
+        List<SchedulePacker.Screening> screenings = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            screenings.add(new SchedulePacker.Screening(1L, 131));
+            screenings.add(new SchedulePacker.Screening(2L, 97));
+        }
+
+        SchedulePacker.Result result = new SchedulePacker(15, 5).pack(hours, List.of(), screenings, deadline());
+
+        assertEquals(10, result.slots().size());
+        assertTrue(result.unplaced().isEmpty());
+        assertConflictFree(result.slots(), List.of(), 15);
+        for (SchedulePacker.Slot slot : result.slots()) {
+            assertFalse(slot.start().isBefore(DAY.atTime(10, 0)));
+            assertFalse(slot.end().isAfter(DAY.atTime(23, 0)));
+            assertEquals(0, slot.start().getMinute() % 5, "Starts should be on the five-minute grid");
+        }
+    }
+
+    // Test that existing showtimes and their cleaning buffers are kept clear
+    @Test
+    void pack_ShouldKeepClearOfExistingShowtimes() {
+        List<SchedulePacker.Window> busy = List.of(
+                new SchedulePacker.Window("Hall 1", DAY.atTime(14, 0), DAY.atTime(16, 0)));
+        List<SchedulePacker.Screening> screenings = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            screenings.add(new SchedulePacker.Screening(1L, 50));
+        }
+
+        SchedulePacker.Result result = new SchedulePacker(10, 5)
+                .pack(List.of(hours("Hall 1", 10, 22)), busy, screenings, deadline());
+
+        assertConflictFree(result.slots(), busy, 10);
+        // 10:00-13:50 takes four screenings with their buffers and 16:10-22:00 takes six
+        assertEquals(10, result.slots().size());
+        assertEquals(2, result.unplaced().size());
+        assertEquals(DAY.atTime(13, 0), result.slots().get(3).start());
+        assertEquals(DAY.atTime(16, 10), result.slots().get(4).start());
+    }
+
+    // Test that the local search places what best-fit decreasing leaves over
+    @Test
+    void pack_WithLeftovers_ShouldImproveByLocalSearch() {
+        List<SchedulePacker.Window> hours = List.of(
+                new SchedulePacker.Window("Hall 1", DAY.atTime(10, 0), DAY.atTime(10, 8)),
+                new SchedulePacker.Window("Hall 2", DAY.atTime(10, 0), DAY.atTime(10, 6)));
+        List<SchedulePacker.Screening> screenings = List.of(new SchedulePacker.Screening(1L, 5),
+                new SchedulePacker.Screening(2L, 3), new SchedulePacker.Screening(2L, 3),
+                new SchedulePacker.Screening(2L, 3));
+        SchedulePacker packer = new SchedulePacker(0, 1);
+
+        SchedulePacker.Result greedy = packer.pack(hours, List.of(), screenings, System.nanoTime() - 1);
+        assertEquals(1, greedy.unplaced().size(), "Without search time the greedy pass should leave one over");
+
+        SchedulePacker.Result improved = packer.pack(hours, List.of(), screenings, deadline());
+        assertTrue(improved.unplaced().isEmpty());
+        assertEquals(4, improved.slots().size());
+        assertConflictFree(improved.slots(), List.of(), 0);
+    }
+
+    // Test that a chain-week of thousands of screenings is packed well within a second
+    @Test
+    void pack_ChainWeek_ShouldFinishUnderASecond() {
+        List<SchedulePacker.Window> hours = new ArrayList<>();
+        for (int theater = 0; theater < 150; theater++) {
+            for (int day = 0; day < 7; day++) {
+                LocalDate date = DAY.plusDays(day);
+                hours.add(new SchedulePacker.Window("Hall " + theater, date.atTime(10, 0),
+                        date.plusDays(1).atTime(1, 0)));
+            }
+        }
+        List<SchedulePacker.Screening> screenings = new ArrayList<>();
+        for (long movie = 0; movie < 40; movie++) {
+            for (int i = 0; i < 180; i++) {
+                screenings.add(new SchedulePacker.Screening(movie, 85 + (int) movie * 3));
+            }
+        }
+        SchedulePacker packer = new SchedulePacker(15, 5);
+        // Warm up, so the timing below is not mostly class loading and interpretation
+        packer.pack(hours, List.of(), screenings, System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(200));
+
+        long started = System.nanoTime();
+        SchedulePacker.Result result = packer.pack(hours, List.of(), screenings,
+                System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(300));
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+
+        assertTrue(elapsedMillis < 1000, "Packing took " + elapsedMillis + " ms");
+        assertEquals(screenings.size(), result.slots().size() + result.unplaced().size());
+        assertTrue(result.slots().size() > 5000, "Expected most screenings to fit, got " + result.slots().size());
+        assertConflictFree(result.slots(), List.of(), 15);
+    }
+
+    private static SchedulePacker.Window hours(String theater, int opens, int closes) {
+        return new SchedulePacker.Window(theater, DAY.atTime(LocalTime.of(opens, 0)),
+                DAY.atTime(LocalTime.of(closes, 0)));
+    }
+
+    private static long deadline() {
+        return System.nanoTime() + TimeUnit.SECONDS.toNanos(1);
+    }
+
+    private static void assertConflictFree(List<SchedulePacker.Slot> slots, List<SchedulePacker.Window> busy,
+            int cleaningMinutes) {
+        Map<String, List<SchedulePacker.Window>> byTheater = slots.stream()
+                .map(slot -> new SchedulePacker.Window(slot.theater(), slot.start(), slot.end()))
+                .collect(Collectors.groupingBy(SchedulePacker.Window::theater));
+        busy.forEach(window -> byTheater.computeIfAbsent(window.theater(), t -> new ArrayList<>()).add(window));
+        for (List<SchedulePacker.Window> windows : byTheater.values()) {
+            windows.sort(Comparator.comparing(SchedulePacker.Window::start));
+            for (int i = 1; i < windows.size(); i++) {
+                LocalDateTime earliest = windows.get(i - 1).end().plusMinutes(cleaningMinutes);
+                assertFalse(windows.get(i).start().isBefore(earliest),
+                        windows.get(i) + " starts too soon after " + windows.get(i - 1));
+            }
+        }
+    }
+}
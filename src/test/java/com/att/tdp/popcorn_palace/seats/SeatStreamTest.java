@@ -0,0 +1,124 @@
+package com.att.tdp.popcorn_palace.seats;
+
+import com.att.tdp.popcorn_palace.dto.BookingDTO;
+import com.att.tdp.popcorn_palace.model.Movie;
+import com.att.tdp.popcorn_palace.model.Showtime;
+import com.att.tdp.popcorn_palace.repository.MovieRepository;
+import com.att.tdp.popcorn_palace.repository.ShowtimeRepository;
+import com.att.tdp.popcorn_palace.service.BookingService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Streams over a real connection, since MockMvc does not keep SSE responses open
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class SeatStreamTest {
+
+        private static final ParameterizedTypeReference<ServerSentEvent<String>> EVENT_TYPE =
+                        new ParameterizedTypeReference<>() {
+                        };
+
+        @Autowired
+        private WebTestClient webTestClient;
+
+        @Autowired
+        private BookingService bookingService;
+
+        @Autowired
+        private MovieRepository movieRepository;
+
+        @Autowired
+        private ShowtimeRepository showtimeRepository;
+
+        @Autowired
+        private ObjectMapper objectMapper;
+
+        private Showtime showtime;
+
+        @BeforeEach
+        void setUp() {
+                Movie movie = movieRepository.save(Movie.builder().title("Stream " + UUID.randomUUID())
+                                .genre("Drama").duration(100).rating(7.0).releaseYear(2024).build());
+                showtime = showtimeRepository.save(Showtime.builder().movie(movie).theater("Stream Hall")
+                                .startTime(LocalDateTime.now().plusDays(1))
+                                .endTime(LocalDateTime.now().plusDays(1).plusHours(2)).price(30.0).build());
+        }
+
+        // Test that a subscriber gets a snapshot and then the committed claims and releases
+        @Test
+        void streamSeats_ShouldSendSnapshotThenDeltas() throws Exception {
+                UUID first = bookingService.bookTicket(booking(3));
+
+                BlockingQueue<ServerSentEvent<String>> events = new LinkedBlockingQueue<>();
+                Flux<ServerSentEvent<String>> stream = webTestClient.get()
+                                .uri("/showtimes/{id}/seats/stream", showtime.getId())
+                                .accept(MediaType.TEXT_EVENT_STREAM)
+                                .exchange()
+                                .expectStatus().isOk()
+                                .returnResult(EVENT_TYPE)
+                                .getResponseBody();
+                Disposable subscription = stream.subscribe(events::add);
+                try {
+                        ServerSentEvent<String> snapshotEvent = events.poll(10, TimeUnit.SECONDS);
+                        assertNotNull(snapshotEvent, "A snapshot should be sent on connect");
+                        assertEquals("snapshot", snapshotEvent.event());
+                        JsonNode snapshot = objectMapper.readTree(snapshotEvent.data());
+                        assertEquals(100, snapshot.get("capacity").asInt());
+                        Set<Integer> claimed = new TreeSet<>();
+                        snapshot.get("claimedSeats").forEach(seat -> claimed.add(seat.asInt()));
+                        assertEquals(Set.of(3), claimed);
+
+                        bookingService.bookTicket(booking(5));
+                        bookingService.cancelBooking(first);
+
+                        // The two changes may arrive in one delta or in two
+                        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+                        while (!claimed.equals(Set.of(5)) && System.nanoTime() < deadline) {
+                                ServerSentEvent<String> event = events.poll(100, TimeUnit.MILLISECONDS);
+                                if (event == null) {
+                                        continue;
+                                }
+                                assertEquals("seats", event.event());
+                                JsonNode delta = objectMapper.readTree(event.data());
+                                delta.get("claimed").forEach(seat -> claimed.add(seat.asInt()));
+                                delta.get("released").forEach(seat -> claimed.remove(seat.asInt()));
+                        }
+                        assertEquals(Set.of(5), claimed, "Deltas should carry the claim and the release");
+                } finally {
+                        subscription.dispose();
+                }
+        }
+
+        // Test to reject a stream for an unknown showtime
+        @Test
+        void streamSeats_WithNonExistentShowtime_ShouldReturnNotFound() {
+                webTestClient.get().uri("/showtimes/{id}/seats/stream", -1)
+                                .exchange()
+                                .expectStatus().isNotFound();
+        }
+
+        private BookingDTO booking(int seat) {
+                return BookingDTO.builder().showtimeId(showtime.getId()).seatNumber(seat)
+                                .userId(UUID.randomUUID()).build();
+        }
+}
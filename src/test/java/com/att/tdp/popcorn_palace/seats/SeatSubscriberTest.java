@@ -0,0 +1,126 @@
+package com.att.tdp.popcorn_palace.seats;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SeatSubscriberTest {
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    // Test that a subscriber still busy with a send gets one snapshot instead of the deltas it missed
+    @Test
+    void offer_WhileSending_ShouldCoalesceIntoSnapshot() throws Exception {
+        CountDownLatch firstSendStarted = new CountDownLatch(1);
+        CountDownLatch releaseFirstSend = new CountDownLatch(1);
+        RecordingEmitter emitter = new RecordingEmitter(firstSendStarted, releaseFirstSend);
+        Set<DataWithMediaType> snapshot = message("snapshot");
+        AtomicInteger resnapshots = new AtomicInteger();
+        SeatSubscriber subscriber = new SeatSubscriber(emitter, () -> snapshot, executor,
+                resnapshots::incrementAndGet, s -> fail("The subscriber should not fail"));
+
+        subscriber.start();
+        assertTrue(firstSendStarted.await(5, TimeUnit.SECONDS));
+        // The initial snapshot is stuck on a slow connection while changes keep coming
+        subscriber.offer(message("delta-1"));
+        subscriber.offer(message("delta-2"));
+        subscriber.ping();
+        releaseFirstSend.countDown();
+
+        emitter.awaitSends(2);
+        Thread.sleep(100);
+        assertEquals(List.of(snapshot, snapshot), emitter.sent, "Missed deltas should be replaced by one snapshot");
+        assertEquals(1, resnapshots.get());
+    }
+
+    // Test that an idle subscriber receives deltas as they are offered
+    @Test
+    void offer_WhenIdle_ShouldSendDelta() throws Exception {
+        RecordingEmitter emitter = new RecordingEmitter(new CountDownLatch(1), new CountDownLatch(0));
+        Set<DataWithMediaType> snapshot = message("snapshot");
+        Set<DataWithMediaType> delta = message("delta");
+        SeatSubscriber subscriber = new SeatSubscriber(emitter, () -> snapshot, executor,
+                () -> fail("No resnapshot expected"), s -> fail("The subscriber should not fail"));
+
+        subscriber.start();
+        emitter.awaitSends(1);
+        subscriber.offer(delta);
+        emitter.awaitSends(2);
+
+        assertEquals(List.of(snapshot, delta), emitter.sent);
+    }
+
+    // Test that a failed send removes the subscriber
+    @Test
+    void offer_WhenSendFails_ShouldReportFailure() throws Exception {
+        CountDownLatch failed = new CountDownLatch(1);
+        SseEmitter emitter = new SseEmitter() {
+            @Override
+            public synchronized void send(Set<DataWithMediaType> items) throws IOException {
+                throw new IOException("Broken pipe");
+            }
+        };
+        SeatSubscriber subscriber = new SeatSubscriber(emitter, () -> message("snapshot"), executor,
+                () -> { }, s -> failed.countDown());
+
+        subscriber.start();
+
+        assertTrue(failed.await(5, TimeUnit.SECONDS), "A broken connection should be reported");
+    }
+
+    private static Set<DataWithMediaType> message(String data) {
+        return SseEmitter.event().data(data, MediaType.TEXT_PLAIN).build();
+    }
+
+    private static class RecordingEmitter extends SseEmitter {
+
+        private final List<Set<DataWithMediaType>> sent = new CopyOnWriteArrayList<>();
+        private final CountDownLatch firstSendStarted;
+        private final CountDownLatch releaseFirstSend;
+
+        RecordingEmitter(CountDownLatch firstSendStarted, CountDownLatch releaseFirstSend) {
+            this.firstSendStarted = firstSendStarted;
+            this.releaseFirstSend = releaseFirstSend;
+        }
+
+        @Override
+        public synchronized void send(Set<DataWithMediaType> items) throws IOException {
+            if (firstSendStarted.getCount() > 0) {
+                firstSendStarted.countDown();
+                try {
+                    releaseFirstSend.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            sent.add(items);
+        }
+
+        void awaitSends(int count) throws InterruptedException {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (sent.size() < count && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            assertTrue(sent.size() >= count, "Expected " + count + " sends but got " + sent.size());
+        }
+    }
+}
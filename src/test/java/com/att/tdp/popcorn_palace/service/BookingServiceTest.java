@@ -16,6 +16,7 @@ import com.att.tdp.popcorn_palace.model.Booking;
 import com.att.tdp.popcorn_palace.model.Showtime;
 import com.att.tdp.popcorn_palace.repository.BookingRepository;
 import com.att.tdp.popcorn_palace.repository.ShowtimeRepository;
+import com.att.tdp.popcorn_palace.repository.UserBookingCounterRepository;
 import com.att.tdp.popcorn_palace.exception.ResourceNotFoundException;
 import com.att.tdp.popcorn_palace.exception.InvalidRequestException;
 import com.att.tdp.popcorn_palace.exception.ConflictException;
@@ -29,6 +30,9 @@ class BookingServiceTest {
     @MockBean
     private ShowtimeRepository showtimeRepository;
 
+    @MockBean
+    private UserBookingCounterRepository counterRepository;
+
     @Autowired
     private BookingService bookingService;
 
@@ -80,6 +84,16 @@ class BookingServiceTest {
                 "Booking should throw InvalidRequestException if the showtime has already started");
     }
 
+    // Test to handle booking of a seat beyond the theater's capacity
+    @Test
+    void bookTicket_WithSeatBeyondCapacity_ShouldThrowException() {
+        Showtime showtime = Showtime.builder().id(1L).theater("Hall").startTime(LocalDateTime.now().plusHours(1)).build();
+        when(showtimeRepository.findById(1L)).thenReturn(Optional.of(showtime));
+        BookingDTO dto = new BookingDTO(null, 1L, 2_000_000_000, UUID.randomUUID());
+        assertThrows(InvalidRequestException.class, () -> bookingService.bookTicket(dto),
+                "Booking should throw InvalidRequestException if the seat is not in the theater");
+    }
+
     // Test to handle booking when a seat is already booked
     @Test
     void bookTicket_WithBookedSeat_ShouldThrowException() {
@@ -0,0 +1,112 @@
+package com.att.tdp.popcorn_palace.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import com.att.tdp.popcorn_palace.dto.BulkOperationResultDTO;
+import com.att.tdp.popcorn_palace.dto.RepriceRequestDTO;
+import com.att.tdp.popcorn_palace.exception.ResourceNotFoundException;
+import com.att.tdp.popcorn_palace.model.Booking;
+import com.att.tdp.popcorn_palace.model.Movie;
+import com.att.tdp.popcorn_palace.model.Showtime;
+import com.att.tdp.popcorn_palace.repository.BookingRepository;
+import com.att.tdp.popcorn_palace.repository.MovieRepository;
+import com.att.tdp.popcorn_palace.repository.ShowtimeRepository;
+
+// Runs against the real H2 schema so the bulk JPQL statements are exercised end to end
+@SpringBootTest
+@Transactional
+class BulkOperationServiceTest {
+
+    @Autowired
+    private BulkOperationService bulkOperationService;
+
+    @Autowired
+    private MovieRepository movieRepository;
+
+    @Autowired
+    private ShowtimeRepository showtimeRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    private Movie movie;
+
+    @BeforeEach
+    void setUp() {
+        movie = movieRepository.save(Movie.builder().title("Bulk " + UUID.randomUUID()).genre("Drama")
+                .duration(100).rating(7.0).releaseYear(2024).build());
+        Showtime past = saveShowtime("Bulk Hall", LocalDateTime.now().minusDays(2));
+        Showtime soon = saveShowtime("Bulk Hall", LocalDateTime.now().plusDays(1));
+        Showtime later = saveShowtime("Bulk Hall", LocalDateTime.now().plusDays(5));
+        saveBooking(past, 1);
+        saveBooking(soon, 1);
+        saveBooking(soon, 2);
+        saveBooking(later, 1);
+    }
+
+    // Test to delete only the future showtimes of a movie and their bookings
+    @Test
+    void deleteShowtimesForMovie_ShouldDeleteFutureShowtimesAndBookings() {
+        BulkOperationResultDTO result = bulkOperationService.deleteShowtimesForMovie(movie.getId(), null);
+
+        assertEquals(2, result.getShowtimesAffected(), "Both future showtimes should be deleted");
+        assertEquals(3, result.getBookingsAffected(), "Bookings of the future showtimes should be deleted");
+        assertEquals(1, showtimeRepository.findByMovieId(movie.getId()).size(), "The past showtime should remain");
+    }
+
+    // Test to delete showtimes after an explicit cutoff
+    @Test
+    void deleteShowtimesForMovie_WithCutoff_ShouldOnlyDeleteLaterShowtimes() {
+        BulkOperationResultDTO result = bulkOperationService.deleteShowtimesForMovie(movie.getId(),
+                LocalDateTime.now().plusDays(3));
+
+        assertEquals(1, result.getShowtimesAffected(), "Only the showtime after the cutoff should be deleted");
+        assertEquals(1, result.getBookingsAffected(), "Only its booking should be deleted");
+    }
+
+    // Test to reject bulk deletion for an unknown movie
+    @Test
+    void deleteShowtimesForMovie_WithNonExistentMovie_ShouldThrowException() {
+        assertThrows(ResourceNotFoundException.class,
+                () -> bulkOperationService.deleteShowtimesForMovie(-1L, null),
+                "Bulk deletion should throw ResourceNotFoundException for an unknown movie");
+    }
+
+    // Test to reprice the showtimes of a theater from a given time
+    @Test
+    void repriceTheater_WithFrom_ShouldOnlyRepriceLaterShowtimes() {
+        BulkOperationResultDTO result = bulkOperationService.repriceTheater("Bulk Hall",
+                new RepriceRequestDTO(42.0, LocalDateTime.now()));
+
+        assertEquals(2, result.getShowtimesAffected(), "Only the future showtimes should be repriced");
+        assertEquals(2, showtimeRepository.findByMovieId(movie.getId()).stream()
+                .filter(s -> s.getPrice() == 42.0).count(), "Two showtimes should carry the new price");
+    }
+
+    // Test to drop a movie together with its whole schedule
+    @Test
+    void dropMovie_ShouldCascadeShowtimesAndBookings() {
+        BulkOperationResultDTO result = bulkOperationService.dropMovie(movie.getTitle());
+
+        assertEquals(1, result.getMoviesAffected(), "The movie should be deleted");
+        assertEquals(3, result.getShowtimesAffected(), "All showtimes of the movie should be deleted");
+        assertEquals(4, result.getBookingsAffected(), "All bookings of the movie should be deleted");
+        assertFalse(movieRepository.existsByTitle(movie.getTitle()), "The movie should no longer exist");
+    }
+
+    private Showtime saveShowtime(String theater, LocalDateTime start) {
+        return showtimeRepository.save(Showtime.builder().movie(movie).theater(theater)
+                .startTime(start).endTime(start.plusHours(2)).price(20.0).build());
+    }
+
+    private void saveBooking(Showtime showtime, int seat) {
+        bookingRepository.save(Booking.builder().showtimeId(showtime.getId()).seatNumber(seat)
+                .userId(UUID.randomUUID()).showtimeStart(showtime.getStartTime()).build());
+    }
+}
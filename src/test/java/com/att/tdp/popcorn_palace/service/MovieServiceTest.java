@@ -7,11 +7,21 @@ import org.junit.jupiter.api.Test;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.when;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import com.att.tdp.popcorn_palace.dto.MovieDTO;
+import com.att.tdp.popcorn_palace.dto.MovieDetailDTO;
 import com.att.tdp.popcorn_palace.model.Movie;
+import com.att.tdp.popcorn_palace.model.Showtime;
+import com.att.tdp.popcorn_palace.repository.BookingRepository;
 import com.att.tdp.popcorn_palace.repository.MovieRepository;
+import com.att.tdp.popcorn_palace.repository.ShowtimeRepository;
+import com.att.tdp.popcorn_palace.repository.ShowtimeSeatCount;
+import com.att.tdp.popcorn_palace.exception.ResourceNotFoundException;
 import com.att.tdp.popcorn_palace.exception.ConflictException;
 
 @SpringBootTest
@@ -20,6 +30,12 @@ class MovieServiceTest {
     @MockBean
     private MovieRepository movieRepository;
 
+    @MockBean
+    private ShowtimeRepository showtimeRepository;
+
+    @MockBean
+    private BookingRepository bookingRepository;
+
     @Autowired
     private MovieService movieService;
 
@@ -105,4 +121,44 @@ class MovieServiceTest {
         assertDoesNotThrow(() -> movieService.deleteMovie("ToDelete"),
                 "Deleting a movie that exists should not throw any exception");
     }
+
+    // Test to verify the movie detail combines showtimes with remaining seats
+    @Test
+    void getMovieDetail_ShouldReturnShowtimesWithRemainingSeats() {
+        Movie movie = Movie.builder().id(1L).title("Movie 1").build();
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        List<Showtime> showtimes = List.of(
+                Showtime.builder().id(10L).theater("Hall").startTime(start).endTime(start.plusHours(2)).price(20.0)
+                        .build(),
+                Showtime.builder().id(11L).theater("Hall").startTime(start.plusHours(3))
+                        .endTime(start.plusHours(5)).price(20.0).build());
+        ShowtimeSeatCount count = new ShowtimeSeatCount() {
+            public Long getShowtimeId() {
+                return 10L;
+            }
+
+            public Long getBookedSeats() {
+                return 40L;
+            }
+        };
+        when(movieRepository.findById(1L)).thenReturn(Optional.of(movie));
+        when(showtimeRepository.findByMovieIdAndStartTimeAfterOrderByStartTime(eq(1L), any()))
+                .thenReturn(showtimes);
+        when(bookingRepository.countByShowtimeIds(anyCollection())).thenReturn(List.of(count));
+
+        MovieDetailDTO detail = movieService.getMovieDetail(1L);
+
+        assertEquals("Movie 1", detail.getMovie().getTitle(), "The detail should contain the movie");
+        assertEquals(2, detail.getShowtimes().size(), "Both upcoming showtimes should be listed");
+        assertEquals(60, detail.getShowtimes().get(0).getRemainingSeats(), "40 of 100 seats are booked");
+        assertEquals(100, detail.getShowtimes().get(1).getRemainingSeats(), "No seats are booked");
+    }
+
+    // Test to verify the movie detail of an unknown movie
+    @Test
+    void getMovieDetail_WhenNotExists_ShouldThrowException() {
+        when(movieRepository.findById(anyLong())).thenReturn(Optional.empty());
+        assertThrows(ResourceNotFoundException.class, () -> movieService.getMovieDetail(99L),
+                "Movie detail should throw ResourceNotFoundException for an unknown movie");
+    }
 }
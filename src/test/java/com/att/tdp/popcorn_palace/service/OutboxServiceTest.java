@@ -0,0 +1,150 @@
+package com.att.tdp.popcorn_palace.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+import org.springframework.transaction.IllegalTransactionStateException;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import jakarta.persistence.EntityManager;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import com.att.tdp.popcorn_palace.dto.BookingDTO;
+import com.att.tdp.popcorn_palace.dto.EventFeedDTO;
+import com.att.tdp.popcorn_palace.dto.OutboxEventDTO;
+import com.att.tdp.popcorn_palace.exception.InvalidRequestException;
+import com.att.tdp.popcorn_palace.model.Movie;
+import com.att.tdp.popcorn_palace.model.OutboxEventType;
+import com.att.tdp.popcorn_palace.model.Showtime;
+import com.att.tdp.popcorn_palace.repository.MovieRepository;
+import com.att.tdp.popcorn_palace.repository.OutboxEventRepository;
+import com.att.tdp.popcorn_palace.repository.ShowtimeRepository;
+
+// Runs against the real H2 schema; the relay is triggered by hand instead of by the scheduler
+@SpringBootTest
+@Transactional
+@RecordApplicationEvents
+class OutboxServiceTest {
+
+    @Autowired
+    private OutboxService outboxService;
+
+    @Autowired
+    private OutboxRelay outboxRelay;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private MovieRepository movieRepository;
+
+    @Autowired
+    private ShowtimeRepository showtimeRepository;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private ApplicationEvents applicationEvents;
+
+    private Showtime showtime;
+    private long lastSequence;
+
+    @BeforeEach
+    void setUp() {
+        Movie movie = movieRepository.save(Movie.builder().title("Outbox " + UUID.randomUUID()).genre("Drama")
+                .duration(100).rating(7.0).releaseYear(2024).build());
+        showtime = showtimeRepository.save(Showtime.builder().movie(movie).theater("Outbox Hall")
+                .startTime(LocalDateTime.now().plusDays(1)).endTime(LocalDateTime.now().plusDays(1).plusHours(2))
+                .price(30.0).build());
+        // Publish whatever earlier tests left behind, so only this test's events follow
+        outboxRelay.publishPending();
+        lastSequence = outboxEventRepository.findLastSequence();
+    }
+
+    // Test that a booking and its cancellation show up on the feed in order once relayed
+    @Test
+    void bookAndCancel_ShouldAppearOnFeedInOrder() {
+        UUID bookingId = bookingService.bookTicket(booking(7));
+        entityManager.flush();
+        entityManager.clear();
+        bookingService.cancelBooking(bookingId);
+
+        assertTrue(outboxService.getEventsAfter(lastSequence, 10).getEvents().isEmpty(),
+                "Events should not be on the feed before the relay publishes them");
+        assertEquals(2, outboxRelay.publishPending(), "Both events should be published");
+
+        EventFeedDTO feed = outboxService.getEventsAfter(lastSequence, 10);
+        List<OutboxEventType> types = feed.getEvents().stream()
+                .map(OutboxEventDTO::getType)
+                .collect(Collectors.toList());
+        assertEquals(List.of(OutboxEventType.BOOKING_CREATED, OutboxEventType.BOOKING_CANCELLED), types);
+        assertEquals(lastSequence + 1, feed.getEvents().get(0).getSequence());
+        assertEquals(lastSequence + 2, feed.getLastSequence());
+        assertEquals(bookingId.toString(), feed.getEvents().get(0).getAggregateId());
+        assertTrue(feed.getEvents().get(0).getPayload().contains("\"seatNumber\":7"),
+                "The payload should carry the booking");
+    }
+
+    // Test that the relay hands published events to in-process listeners
+    @Test
+    void publishPending_ShouldPublishApplicationEvents() {
+        bookingService.bookTicket(booking(8));
+        outboxRelay.publishPending();
+
+        List<OutboxEventDTO> published = applicationEvents.stream(OutboxEventDTO.class)
+                .collect(Collectors.toList());
+        assertEquals(1, published.size());
+        assertEquals(OutboxEventType.BOOKING_CREATED, published.get(0).getType());
+        assertEquals(lastSequence + 1, published.get(0).getSequence());
+    }
+
+    // Test paging through the feed with after and limit
+    @Test
+    void getEventsAfter_ShouldPageBySequence() {
+        for (int seat = 1; seat <= 3; seat++) {
+            bookingService.bookTicket(booking(seat));
+        }
+        outboxRelay.publishPending();
+
+        EventFeedDTO first = outboxService.getEventsAfter(lastSequence, 2);
+        assertEquals(2, first.getEvents().size());
+        EventFeedDTO second = outboxService.getEventsAfter(first.getLastSequence(), 2);
+        assertEquals(1, second.getEvents().size());
+        assertEquals(lastSequence + 3, second.getLastSequence());
+        EventFeedDTO empty = outboxService.getEventsAfter(second.getLastSequence(), 2);
+        assertTrue(empty.getEvents().isEmpty());
+        assertEquals(second.getLastSequence(), empty.getLastSequence(), "An empty page should keep the position");
+    }
+
+    // Test that events can only be recorded inside the transaction making the change
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void record_WithoutTransaction_ShouldThrowException() {
+        assertThrows(IllegalTransactionStateException.class,
+                () -> outboxService.record(OutboxEventType.SHOWTIME_DELETED, 1L, Map.of("id", 1L)));
+    }
+
+    // Test to reject an out of range limit
+    @Test
+    void getEventsAfter_WithInvalidLimit_ShouldThrowException() {
+        assertThrows(InvalidRequestException.class, () -> outboxService.getEventsAfter(0, 0));
+        assertThrows(InvalidRequestException.class, () -> outboxService.getEventsAfter(0, 1001));
+        assertThrows(InvalidRequestException.class, () -> outboxService.getEventsAfter(-1, 10));
+    }
+
+    private BookingDTO booking(int seat) {
+        return BookingDTO.builder().showtimeId(showtime.getId()).seatNumber(seat)
+                .userId(UUID.randomUUID()).build();
+    }
+}
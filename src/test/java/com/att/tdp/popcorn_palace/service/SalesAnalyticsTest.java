@@ -0,0 +1,207 @@
+package com.att.tdp.popcorn_palace.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import jakarta.persistence.EntityManager;
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.List;
+import java.util.UUID;
+import com.att.tdp.popcorn_palace.dto.BookingDTO;
+import com.att.tdp.popcorn_palace.dto.RepriceRequestDTO;
+import com.att.tdp.popcorn_palace.dto.SalesBucketDTO;
+import com.att.tdp.popcorn_palace.dto.SalesReportDTO;
+import com.att.tdp.popcorn_palace.dto.ShowtimeDTO;
+import com.att.tdp.popcorn_palace.exception.InvalidRequestException;
+import com.att.tdp.popcorn_palace.model.Movie;
+import com.att.tdp.popcorn_palace.repository.MovieRepository;
+import com.att.tdp.popcorn_palace.repository.SalesShowtimeRepository;
+
+// Runs against the real H2 schema; the relay and the projector are triggered by hand instead of by the scheduler
+@SpringBootTest
+@Transactional
+class SalesAnalyticsTest {
+
+    @Autowired
+    private SalesProjector salesProjector;
+
+    @Autowired
+    private SalesReportService salesReportService;
+
+    @Autowired
+    private OutboxRelay outboxRelay;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private ShowtimeService showtimeService;
+
+    @Autowired
+    private BulkOperationService bulkOperationService;
+
+    @Autowired
+    private MovieRepository movieRepository;
+
+    @Autowired
+    private SalesShowtimeRepository salesShowtimeRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Movie movie;
+    private String theater;
+    private LocalDateTime day;
+
+    @BeforeEach
+    void setUp() {
+        movie = movieRepository.save(Movie.builder().title("Analytics " + UUID.randomUUID()).genre("Drama")
+                .duration(100).rating(7.0).releaseYear(2024).build());
+        theater = "Analytics Hall " + UUID.randomUUID();
+        day = LocalDateTime.now().plusDays(2).truncatedTo(ChronoUnit.DAYS);
+        // Start every test from a projection that is current with the feed
+        outboxRelay.publishPending();
+        salesProjector.rebuild();
+    }
+
+    // Test that bookings and cancellations show up per hour and day with revenue and fill rate
+    @Test
+    void project_ShouldMaintainRollups() {
+        Long morning = addShowtime(day.plusHours(10), 20.0);
+        Long evening = addShowtime(day.plusHours(19), 30.0);
+        bookingService.bookTicket(booking(morning, 1));
+        UUID cancelled = bookingService.bookTicket(booking(morning, 2));
+        bookingService.bookTicket(booking(evening, 1));
+        entityManager.flush();
+        entityManager.clear();
+        bookingService.cancelBooking(cancelled);
+        projectAll();
+
+        SalesReportDTO daily = report("day", day, day.plusDays(1));
+        assertEquals(1, daily.getBuckets().size());
+        SalesBucketDTO bucket = daily.getBuckets().get(0);
+        assertEquals(day, bucket.getBucketStart());
+        assertEquals(2, bucket.getShowtimes());
+        assertEquals(200, bucket.getCapacity(), "Two showtimes at the default capacity of 100");
+        assertEquals(2, bucket.getTickets());
+        assertEquals(50.0, bucket.getRevenue(), 0.001);
+        assertEquals(0.01, bucket.getFillRate(), 0.0001);
+
+        SalesReportDTO hourly = report("hour", day, day.plusDays(1));
+        assertEquals(List.of(day.plusHours(10), day.plusHours(19)),
+                hourly.getBuckets().stream().map(SalesBucketDTO::getBucketStart).toList());
+        assertEquals(2, hourly.getTotals().getTickets());
+        assertEquals(50.0, hourly.getTotals().getRevenue(), 0.001);
+    }
+
+    // Test that weeks are ISO weeks starting on Monday
+    @Test
+    void project_ShouldBucketByIsoWeek() {
+        addShowtime(day.plusHours(12), 10.0);
+        projectAll();
+
+        LocalDateTime monday = day.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        SalesReportDTO weekly = report("week", day, day.plusDays(1));
+        assertEquals(monday, weekly.getFrom(), "from should be rounded down to the start of its week");
+        assertEquals(monday, weekly.getBuckets().get(0).getBucketStart());
+    }
+
+    // Test that applying the same events again leaves the figures unchanged
+    @Test
+    void project_WhenEventsReplayed_ShouldNotCountTwice() {
+        Long showtime = addShowtime(day.plusHours(10), 20.0);
+        long position = salesShowtimeRepository.findLastSequence();
+        bookingService.bookTicket(booking(showtime, 1));
+        projectAll();
+
+        salesShowtimeRepository.updateLastSequence(position);
+        projectAll();
+        SalesBucketDTO bucket = report("day", day, day.plusDays(1)).getBuckets().get(0);
+        assertEquals(1, bucket.getShowtimes());
+        assertEquals(1, bucket.getTickets());
+        assertEquals(20.0, bucket.getRevenue(), 0.001);
+    }
+
+    // Test that a rescheduled showtime takes its sales along and a reprice only affects later sales
+    @Test
+    void project_ShouldFollowRescheduleAndReprice() {
+        Long showtime = addShowtime(day.plusHours(10), 20.0);
+        bookingService.bookTicket(booking(showtime, 1));
+        LocalDateTime nextDay = day.plusDays(1).plusHours(10);
+        showtimeService.updateShowtime(showtime, ShowtimeDTO.builder().movieId(movie.getId()).theater(theater)
+                .startTime(nextDay).endTime(nextDay.plusHours(2)).price(20.0).build());
+        bulkOperationService.repriceTheater(theater, RepriceRequestDTO.builder().price(35.0).build());
+        bookingService.bookTicket(booking(showtime, 2));
+        projectAll();
+
+        SalesReportDTO daily = report("day", day, day.plusDays(2));
+        assertEquals(1, daily.getBuckets().size(), "The first day should be empty after the move");
+        assertEquals(day.plusDays(1), daily.getBuckets().get(0).getBucketStart());
+        assertEquals(2, daily.getBuckets().get(0).getTickets());
+        assertEquals(55.0, daily.getBuckets().get(0).getRevenue(), 0.001);
+    }
+
+    // Test that dropping a movie removes its figures
+    @Test
+    void project_WhenMovieDropped_ShouldRemoveFigures() {
+        Long showtime = addShowtime(day.plusHours(10), 20.0);
+        bookingService.bookTicket(booking(showtime, 1));
+        projectAll();
+        entityManager.flush();
+        bulkOperationService.dropMovie(movie.getTitle());
+        projectAll();
+
+        assertTrue(report("week", day, day.plusDays(1)).getBuckets().isEmpty());
+        assertTrue(salesShowtimeRepository.findById(showtime).isEmpty());
+    }
+
+    // Test that a rebuild from the base tables matches the incrementally maintained figures
+    @Test
+    void rebuild_ShouldMatchProjection() {
+        Long showtime = addShowtime(day.plusHours(10), 20.0);
+        for (int seat = 1; seat <= 3; seat++) {
+            bookingService.bookTicket(booking(showtime, seat));
+        }
+        projectAll();
+        SalesReportDTO projected = report("hour", day, day.plusDays(1));
+
+        assertTrue(salesProjector.rebuild().getBookingsAffected() >= 3, "The rebuild should count every booking");
+        SalesReportDTO rebuilt = report("hour", day, day.plusDays(1));
+        assertEquals(projected.getBuckets(), rebuilt.getBuckets());
+        assertEquals(projected.getProjectedSequence(), rebuilt.getProjectedSequence());
+    }
+
+    // Test to reject an unknown granularity, an empty range or one with too many buckets
+    @Test
+    void getSalesReport_WithInvalidRequest_ShouldThrowException() {
+        assertThrows(InvalidRequestException.class, () -> report("month", day, day.plusDays(1)));
+        assertThrows(InvalidRequestException.class, () -> report("day", day, day));
+        assertThrows(InvalidRequestException.class, () -> report("hour", day, day.plusDays(42)));
+    }
+
+    private Long addShowtime(LocalDateTime start, double price) {
+        return showtimeService.addShowtime(ShowtimeDTO.builder().movieId(movie.getId()).theater(theater)
+                .startTime(start).endTime(start.plusHours(2)).price(price).build()).getId();
+    }
+
+    private void projectAll() {
+        outboxRelay.publishPending();
+        while (salesProjector.project() > 0) {
+            // Until the projection has caught up with the feed
+        }
+    }
+
+    private SalesReportDTO report(String granularity, LocalDateTime from, LocalDateTime to) {
+        return salesReportService.getSalesReport(granularity, from, to, null, theater);
+    }
+
+    private BookingDTO booking(Long showtimeId, int seat) {
+        return BookingDTO.builder().showtimeId(showtimeId).seatNumber(seat).userId(UUID.randomUUID()).build();
+    }
+}
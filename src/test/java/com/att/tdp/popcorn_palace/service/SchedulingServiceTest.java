@@ -0,0 +1,131 @@
+package com.att.tdp.popcorn_palace.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import com.att.tdp.popcorn_palace.dto.ScheduleRequestDTO;
+import com.att.tdp.popcorn_palace.dto.ScheduleResultDTO;
+import com.att.tdp.popcorn_palace.dto.ScreeningTargetDTO;
+import com.att.tdp.popcorn_palace.dto.ShowtimeDTO;
+import com.att.tdp.popcorn_palace.exception.InvalidRequestException;
+import com.att.tdp.popcorn_palace.exception.ResourceNotFoundException;
+import com.att.tdp.popcorn_palace.model.Movie;
+import com.att.tdp.popcorn_palace.model.OutboxEventType;
+import com.att.tdp.popcorn_palace.model.Showtime;
+import com.att.tdp.popcorn_palace.repository.MovieRepository;
+import com.att.tdp.popcorn_palace.repository.OutboxEventRepository;
+import com.att.tdp.popcorn_palace.repository.ShowtimeRepository;
+
+// Runs against the real H2 schema so the batched inserts are exercised end to end
+@SpringBootTest
+@Transactional
+class SchedulingServiceTest {
+
+    @Autowired
+    private SchedulingService schedulingService;
+
+    @Autowired
+    private MovieRepository movieRepository;
+
+    @Autowired
+    private ShowtimeRepository showtimeRepository;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    private Movie movie;
+    private String theater;
+    private LocalDate day;
+    private Showtime existing;
+
+    @BeforeEach
+    void setUp() {
+        movie = movieRepository.save(Movie.builder().title("Packed " + UUID.randomUUID()).genre("Drama")
+                .duration(100).rating(7.0).releaseYear(2024).build());
+        theater = "Packed Hall " + UUID.randomUUID();
+        day = LocalDate.now().plusDays(3);
+        existing = showtimeRepository.save(Showtime.builder().movie(movie).theater(theater)
+                .startTime(day.atTime(14, 0)).endTime(day.atTime(16, 0)).price(20.0).build());
+    }
+
+    // Test to save a schedule that keeps clear of existing showtimes, with ids and outbox events
+    @Test
+    void packSchedule_ShouldPersistShowtimesAndEvents() {
+        ScheduleResultDTO result = schedulingService.packSchedule(request(6, false));
+
+        assertTrue(result.isPersisted());
+        assertEquals(6, result.getScheduled());
+        assertTrue(result.getUnscheduled().isEmpty());
+        for (ShowtimeDTO showtime : result.getShowtimes()) {
+            assertNotNull(showtime.getId(), "Batch inserted showtimes should carry their generated ids");
+            assertTrue(showtimeRepository.findById(showtime.getId()).isPresent());
+            assertTrue(!showtime.getEndTime().plusMinutes(15).isAfter(existing.getStartTime())
+                    || !showtime.getStartTime().isBefore(existing.getEndTime().plusMinutes(15)),
+                    "Showtimes should keep the cleaning buffer around the existing one");
+        }
+
+        Set<String> ids = result.getShowtimes().stream().map(s -> s.getId().toString()).collect(Collectors.toSet());
+        long events = outboxEventRepository.findAll().stream()
+                .filter(e -> e.getEventType() == OutboxEventType.SHOWTIME_CREATED && ids.contains(e.getAggregateId()))
+                .count();
+        assertEquals(6, events, "Each showtime should have its SHOWTIME_CREATED event");
+    }
+
+    // Test that a dry run reports what does not fit and saves nothing
+    @Test
+    void packSchedule_DryRun_ShouldNotPersist() {
+        long before = showtimeRepository.count();
+
+        ScheduleResultDTO result = schedulingService.packSchedule(request(100, true));
+
+        assertFalse(result.isPersisted());
+        assertEquals(100, result.getRequested());
+        assertTrue(result.getScheduled() > 0);
+        assertEquals(100 - result.getScheduled(), result.getUnscheduled().get(movie.getId()));
+        assertTrue(result.getUtilization() > 0.5 && result.getUtilization() <= 1.0);
+        assertEquals(before, showtimeRepository.count(), "A dry run should not save showtimes");
+    }
+
+    // Test to reject unknown and repeated movies and theaters
+    @Test
+    void packSchedule_WithInvalidRequest_ShouldThrowException() {
+        ScheduleRequestDTO unknown = request(1, false);
+        unknown.setMovies(List.of(new ScreeningTargetDTO(-1L, 1, 10.0)));
+        assertThrows(ResourceNotFoundException.class, () -> schedulingService.packSchedule(unknown));
+
+        ScheduleRequestDTO repeatedMovie = request(1, false);
+        repeatedMovie.setMovies(List.of(new ScreeningTargetDTO(movie.getId(), 1, 10.0),
+                new ScreeningTargetDTO(movie.getId(), 2, 10.0)));
+        assertThrows(InvalidRequestException.class, () -> schedulingService.packSchedule(repeatedMovie));
+
+        ScheduleRequestDTO repeatedTheater = request(1, false);
+        repeatedTheater.setTheaters(List.of(theater, theater));
+        assertThrows(InvalidRequestException.class, () -> schedulingService.packSchedule(repeatedTheater));
+
+        ScheduleRequestDTO past = request(1, false);
+        past.setFrom(LocalDate.now().minusDays(5));
+        assertThrows(InvalidRequestException.class, () -> schedulingService.packSchedule(past));
+    }
+
+    // One day in one theater, open 10:00 to 01:00 the next morning
+    private ScheduleRequestDTO request(int screenings, boolean dryRun) {
+        return ScheduleRequestDTO.builder()
+                .from(day)
+                .days(1)
+                .theaters(List.of(theater))
+                .opensAt(LocalTime.of(10, 0))
+                .closesAt(LocalTime.of(1, 0))
+                .movies(List.of(new ScreeningTargetDTO(movie.getId(), screenings, 12.5)))
+                .dryRun(dryRun)
+                .build();
+    }
+}
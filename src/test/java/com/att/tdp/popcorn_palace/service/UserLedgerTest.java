@@ -0,0 +1,196 @@
+package com.att.tdp.popcorn_palace.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import jakarta.persistence.EntityManager;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import com.att.tdp.popcorn_palace.dto.BookingDTO;
+import com.att.tdp.popcorn_palace.dto.LedgerEntryDTO;
+import com.att.tdp.popcorn_palace.dto.ShowtimeDTO;
+import com.att.tdp.popcorn_palace.dto.UserLedgerDTO;
+import com.att.tdp.popcorn_palace.exception.InvalidRequestException;
+import com.att.tdp.popcorn_palace.model.Movie;
+import com.att.tdp.popcorn_palace.model.Showtime;
+import com.att.tdp.popcorn_palace.repository.BookingRepository;
+import com.att.tdp.popcorn_palace.repository.MovieRepository;
+import com.att.tdp.popcorn_palace.repository.ShowtimeRepository;
+import com.att.tdp.popcorn_palace.repository.UserBookingCounterRepository;
+import com.att.tdp.popcorn_palace.repository.UserBookingCounterUpsertRepository;
+
+// Runs against the real H2 schema; the rollover is triggered by hand instead of by the scheduler
+@SpringBootTest
+@Transactional
+class UserLedgerTest {
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private ShowtimeService showtimeService;
+
+    @Autowired
+    private LedgerRollover ledgerRollover;
+
+    @Autowired
+    private MovieRepository movieRepository;
+
+    @Autowired
+    private ShowtimeRepository showtimeRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private UserBookingCounterRepository counterRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Movie movie;
+    private UUID userId;
+
+    @BeforeEach
+    void setUp() {
+        movie = movieRepository.save(Movie.builder().title("Ledger " + UUID.randomUUID()).genre("Drama")
+                .duration(100).rating(7.0).releaseYear(2024).build());
+        userId = UUID.randomUUID();
+    }
+
+    // Test paging through the ledger, newest showtime first, with showtime and movie details
+    @Test
+    void getUserLedger_ShouldPageNewestFirst() {
+        List<UUID> booked = new ArrayList<>();
+        for (int day = 1; day <= 5; day++) {
+            Showtime showtime = saveShowtime("Ledger Hall", LocalDateTime.now().plusDays(day));
+            booked.add(bookingService.bookTicket(booking(showtime, 1)));
+        }
+
+        UserLedgerDTO first = bookingService.getUserLedger(userId, null, 2);
+        assertEquals(5, first.getUpcoming());
+        assertEquals(0, first.getPast());
+        assertEquals(List.of(booked.get(4), booked.get(3)), bookingIds(first));
+        assertEquals(movie.getTitle(), first.getEntries().get(0).getMovieTitle());
+        assertEquals("Ledger Hall", first.getEntries().get(0).getTheater());
+        assertNotNull(first.getNextCursor());
+
+        UserLedgerDTO second = bookingService.getUserLedger(userId, first.getNextCursor(), 2);
+        assertEquals(List.of(booked.get(2), booked.get(1)), bookingIds(second));
+        UserLedgerDTO last = bookingService.getUserLedger(userId, second.getNextCursor(), 2);
+        assertEquals(List.of(booked.get(0)), bookingIds(last));
+        assertNull(last.getNextCursor(), "A short page should be the last one");
+    }
+
+    // Test that bookings on the same showtime are ordered by booking id and none is skipped across pages
+    @Test
+    void getUserLedger_WithSameShowtime_ShouldNotSkipEntries() {
+        Showtime showtime = saveShowtime("Ledger Hall", LocalDateTime.now().plusDays(1));
+        for (int seat = 1; seat <= 3; seat++) {
+            bookingService.bookTicket(booking(showtime, seat));
+        }
+
+        UserLedgerDTO first = bookingService.getUserLedger(userId, null, 2);
+        UserLedgerDTO second = bookingService.getUserLedger(userId, first.getNextCursor(), 2);
+        List<UUID> all = new ArrayList<>(bookingIds(first));
+        all.addAll(bookingIds(second));
+        assertEquals(3, all.stream().distinct().count());
+    }
+
+    // Test that a cancellation lowers the upcoming count and drops the entry
+    @Test
+    void cancelBooking_ShouldUpdateCounters() {
+        Showtime showtime = saveShowtime("Ledger Hall", LocalDateTime.now().plusDays(1));
+        UUID kept = bookingService.bookTicket(booking(showtime, 1));
+        UUID cancelled = bookingService.bookTicket(booking(showtime, 2));
+        entityManager.flush();
+        entityManager.clear();
+        bookingService.cancelBooking(cancelled);
+
+        UserLedgerDTO ledger = bookingService.getUserLedger(userId, null, null);
+        assertEquals(1, ledger.getUpcoming());
+        assertEquals(List.of(kept), bookingIds(ledger));
+    }
+
+    // Test that the rollover moves started showtimes to past, and moving one back reclassifies it
+    @Test
+    void rollOver_ShouldMoveStartedShowtimesToPast() {
+        Showtime started = saveShowtime("Ledger Hall", LocalDateTime.now().plusDays(1));
+        Showtime later = saveShowtime("Ledger Hall", LocalDateTime.now().plusDays(2));
+        bookingService.bookTicket(booking(started, 1));
+        bookingService.bookTicket(booking(later, 1));
+        // Pretend the last rollover ran before the showtime started
+        counterRepository.updateRolledUntil(LocalDateTime.now().minusHours(2));
+        startAt(started, LocalDateTime.now().minusHours(1));
+
+        ledgerRollover.rollOver();
+        UserLedgerDTO ledger = bookingService.getUserLedger(userId, null, null);
+        assertEquals(1, ledger.getUpcoming());
+        assertEquals(1, ledger.getPast());
+        assertEquals(0, ledgerRollover.rollOver(), "A second run should have nothing to roll over");
+
+        // Rescheduled into the future: its booking is upcoming again
+        LocalDateTime start = LocalDateTime.now().plusDays(3).truncatedTo(ChronoUnit.MINUTES);
+        showtimeService.updateShowtime(started.getId(), ShowtimeDTO.builder().movieId(movie.getId())
+                .theater("Ledger Hall").startTime(start).endTime(start.plusHours(2)).price(20.0).build());
+        ledger = bookingService.getUserLedger(userId, null, null);
+        assertEquals(2, ledger.getUpcoming());
+        assertEquals(0, ledger.getPast());
+        assertEquals(start, ledger.getEntries().get(0).getShowtimeStart(), "The entry should follow the new start");
+    }
+
+    // Test that PostgreSQL gets the upsert, which cannot fail on two first bookings of a user, and H2 the MERGE
+    @Test
+    void addUpcomingStatement_ShouldFollowDatabase() {
+        assertEquals(UserBookingCounterUpsertRepository.ADD_UPCOMING,
+                UserBookingCounterUpsertRepository.addUpcomingStatement("PostgreSQL"));
+        assertEquals(UserBookingCounterUpsertRepository.ADD_UPCOMING_MERGE,
+                UserBookingCounterUpsertRepository.addUpcomingStatement("H2"));
+    }
+
+    // Test the ledger of a user without bookings
+    @Test
+    void getUserLedger_WithoutBookings_ShouldBeEmpty() {
+        UserLedgerDTO ledger = bookingService.getUserLedger(userId, null, null);
+        assertEquals(0, ledger.getUpcoming());
+        assertTrue(ledger.getEntries().isEmpty());
+        assertNull(ledger.getNextCursor());
+    }
+
+    // Test to reject a malformed cursor or an out of range limit
+    @Test
+    void getUserLedger_WithInvalidCursorOrLimit_ShouldThrowException() {
+        assertThrows(InvalidRequestException.class, () -> bookingService.getUserLedger(userId, "not a cursor", null));
+        assertThrows(InvalidRequestException.class, () -> bookingService.getUserLedger(userId, null, 0));
+        assertThrows(InvalidRequestException.class, () -> bookingService.getUserLedger(userId, null, 101));
+    }
+
+    private Showtime saveShowtime(String theater, LocalDateTime start) {
+        return showtimeRepository.save(Showtime.builder().movie(movie).theater(theater)
+                .startTime(start).endTime(start.plusHours(2)).price(20.0).build());
+    }
+
+    // Past start times cannot be set through the service
+    private void startAt(Showtime showtime, LocalDateTime start) {
+        showtime.setStartTime(start);
+        showtime.setEndTime(start.plusHours(2));
+        showtimeRepository.saveAndFlush(showtime);
+        bookingRepository.updateShowtimeStart(showtime.getId(), start);
+        entityManager.clear();
+    }
+
+    private BookingDTO booking(Showtime showtime, int seat) {
+        return BookingDTO.builder().showtimeId(showtime.getId()).seatNumber(seat).userId(userId).build();
+    }
+
+    private static List<UUID> bookingIds(UserLedgerDTO ledger) {
+        return ledger.getEntries().stream().map(LedgerEntryDTO::getBookingId).collect(Collectors.toList());
+    }
+}
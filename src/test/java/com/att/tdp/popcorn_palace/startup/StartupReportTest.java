@@ -0,0 +1,80 @@
+package com.att.tdp.popcorn_palace.startup;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline;
+import org.springframework.core.metrics.StartupStep;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StartupReportTest {
+
+    // Test that only top-level steps count as phases, in the order they started
+    @Test
+    void phases_ShouldListTopLevelStepsInOrder() throws Exception {
+        BufferingApplicationStartup startup = new BufferingApplicationStartup(100);
+        startup.start("spring.boot.application.starting").end();
+        StartupStep refresh = startup.start("spring.context.refresh");
+        bean(startup, "movieService", 0);
+        refresh.end();
+        startup.start("spring.boot.application.ready").end();
+
+        Map<String, Duration> phases = StartupReport.phases(startup.getBufferedTimeline());
+
+        assertEquals(List.of("spring.boot.application.starting", "spring.context.refresh",
+                "spring.boot.application.ready"), List.copyOf(phases.keySet()));
+    }
+
+    // Test that the slowest bean instantiations come first and are limited
+    @Test
+    void slowestBeans_ShouldSortByDurationAndLimit() throws Exception {
+        BufferingApplicationStartup startup = new BufferingApplicationStartup(100);
+        bean(startup, "fast", 0);
+        bean(startup, "slow", 30);
+        bean(startup, "medium", 15);
+
+        StartupTimeline timeline = startup.getBufferedTimeline();
+        List<Map.Entry<String, Duration>> beans = StartupReport.slowestBeans(timeline, 2);
+
+        assertEquals(List.of("slow", "medium"), beans.stream().map(Map.Entry::getKey).toList());
+    }
+
+    // Test that the first API request is recorded once and health probes before it are ignored
+    @Test
+    void firstRequestFilter_ShouldRecordFirstApiRequestOnly() throws Exception {
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        FirstRequestFilter filter = new FirstRequestFilter(meterRegistry);
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/actuator/health"), new MockHttpServletResponse(),
+                new MockFilterChain());
+        double beforeApiRequest = meterRegistry.get("popcorn.startup.first.request").gauge().value();
+        assertTrue(Double.isNaN(beforeApiRequest), "Health probes should not count as the first request");
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/movies/all"), new MockHttpServletResponse(),
+                new MockFilterChain());
+        double firstRequest = meterRegistry.get("popcorn.startup.first.request").gauge().value();
+        assertTrue(firstRequest > 0, "The first API request should be recorded");
+
+        Thread.sleep(5);
+        filter.doFilter(new MockHttpServletRequest("GET", "/movies/all"), new MockHttpServletResponse(),
+                new MockFilterChain());
+        assertEquals(firstRequest, meterRegistry.get("popcorn.startup.first.request").gauge().value());
+    }
+
+    private static void bean(BufferingApplicationStartup startup, String name, long millis)
+            throws InterruptedException {
+        StartupStep step = startup.start("spring.beans.instantiate").tag("beanName", name);
+        Thread.sleep(millis);
+        step.end();
+    }
+}
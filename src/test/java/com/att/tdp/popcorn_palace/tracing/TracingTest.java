@@ -0,0 +1,151 @@
+package com.att.tdp.popcorn_palace.tracing;
+
+import com.att.tdp.popcorn_palace.config.TracingProperties;
+import com.att.tdp.popcorn_palace.dto.BookingDTO;
+import com.att.tdp.popcorn_palace.model.Movie;
+import com.att.tdp.popcorn_palace.model.Showtime;
+import com.att.tdp.popcorn_palace.repository.MovieRepository;
+import com.att.tdp.popcorn_palace.repository.ShowtimeRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+// Tracing is off in Spring Boot tests unless observability is enabled explicitly
+@SpringBootTest(properties = "popcorn-palace.tracing.slow-threshold=0ms")
+@AutoConfigureMockMvc
+@AutoConfigureObservability(metrics = false)
+class TracingTest {
+
+        @Autowired
+        private MockMvc mockMvc;
+
+        @Autowired
+        private ObjectMapper objectMapper;
+
+        @Autowired
+        private TraceStore traceStore;
+
+        @Autowired
+        private TracingProperties properties;
+
+        @Autowired
+        private MovieRepository movieRepository;
+
+        @Autowired
+        private ShowtimeRepository showtimeRepository;
+
+        private Showtime showtime;
+
+        @BeforeEach
+        void setUp() {
+                Movie movie = movieRepository.save(Movie.builder().title("Traced " + UUID.randomUUID()).genre("Drama")
+                                .duration(100).rating(7.0).releaseYear(2024).build());
+                LocalDateTime start = LocalDateTime.now().plusDays(1);
+                showtime = showtimeRepository.save(Showtime.builder().movie(movie).theater("Trace Hall " + UUID.randomUUID())
+                                .startTime(start).endTime(start.plusHours(2)).price(20.0).build());
+        }
+
+        // Test that a booking's trace breaks down into service, repository and transaction spans with their SQL
+        @Test
+        void booking_ShouldBeTracedWithDatabaseBreakdown() throws Exception {
+                TraceReport.Trace trace = book(1);
+                Map<String, TraceReport.SpanRecord> spans = trace.spans().stream()
+                                .collect(Collectors.toMap(TraceReport.SpanRecord::name, Function.identity(), (a, b) -> a));
+
+                TraceReport.SpanRecord service = spans.get("BookingService.bookTicket");
+                TraceReport.SpanRecord lookup = spans.get("ShowtimeRepository.findById");
+                TraceReport.SpanRecord check = spans.get("BookingRepository.existsByShowtimeIdAndSeatNumber");
+                TraceReport.SpanRecord begin = spans.get("transaction begin");
+                TraceReport.SpanRecord commit = spans.get("transaction commit");
+                assertNotNull(service, "Spans: " + spans.keySet());
+                assertNotNull(lookup, "Spans: " + spans.keySet());
+                assertNotNull(check, "Spans: " + spans.keySet());
+                assertNotNull(begin, "Spans: " + spans.keySet());
+                assertNotNull(commit, "Spans: " + spans.keySet());
+
+                assertEquals(trace.spans().get(0).spanId(), service.parentSpanId(), "The service runs under the request span");
+                assertEquals(service.spanId(), lookup.parentSpanId());
+                assertEquals(service.spanId(), commit.parentSpanId(), "The commit belongs to the service's transaction");
+                assertTrue(lookup.attributes().get("db.statement").contains("showtimes"));
+                assertTrue(trace.spans().stream().map(span -> span.attributes().getOrDefault("db.statement", ""))
+                                .anyMatch(sql -> sql.toLowerCase().contains("insert into bookings")),
+                                "The deferred insert should be attributed to the span that flushed it");
+                assertTrue(begin.offsetMs() < lookup.offsetMs() && lookup.offsetMs() < commit.offsetMs());
+        }
+
+        // Test that operations get percentiles and the endpoint serves slow traces by id
+        @Test
+        void tracesEndpoint_ShouldReportPercentilesAndSlowTraces() throws Exception {
+                TraceReport.Trace trace = book(2);
+
+                mockMvc.perform(get("/actuator/traces"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.operations[?(@.name == 'BookingService.bookTicket')].p99Ms").exists())
+                                .andExpect(jsonPath("$.slowTraces").isNotEmpty());
+                mockMvc.perform(get("/actuator/traces/{traceId}", trace.traceId()))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.traceId").value(trace.traceId()));
+                mockMvc.perform(get("/actuator/traces/{traceId}", "0".repeat(32)))
+                                .andExpect(status().isNotFound());
+        }
+
+        // Test that traces under the slow threshold only count towards the percentiles
+        @Test
+        void fastTraces_ShouldNotBeKept() throws Exception {
+                properties.setSlowThreshold(Duration.ofHours(1));
+                try {
+                        long before = operationCount("BookingService.bookTicket");
+                        List<String> kept = traceStore.report(100).slowTraces().stream().map(TraceReport.Trace::traceId).toList();
+                        postBooking(3);
+
+                        assertEquals(before + 1, operationCount("BookingService.bookTicket"));
+                        assertEquals(kept, traceStore.report(100).slowTraces().stream().map(TraceReport.Trace::traceId).toList());
+                } finally {
+                        properties.setSlowThreshold(Duration.ZERO);
+                }
+        }
+
+        private TraceReport.Trace book(int seat) throws Exception {
+                postBooking(seat);
+                // The newest kept trace containing this booking
+                return traceStore.report(100).slowTraces().stream()
+                                .filter(trace -> trace.spans().stream().anyMatch(span -> span.name().equals("BookingService.bookTicket")))
+                                .findFirst()
+                                .orElseThrow(() -> new AssertionError("No booking trace kept"));
+        }
+
+        private void postBooking(int seat) throws Exception {
+                BookingDTO booking = BookingDTO.builder().showtimeId(showtime.getId()).seatNumber(seat)
+                                .userId(UUID.randomUUID()).build();
+                mockMvc.perform(post("/bookings")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(booking)))
+                                .andExpect(status().isOk());
+        }
+
+        private long operationCount(String name) {
+                return traceStore.report(0).operations().stream()
+                                .filter(operation -> operation.name().equals(name))
+                                .mapToLong(TraceReport.Operation::count)
+                                .findFirst().orElse(0);
+        }
+}
@@ -0,0 +1,154 @@
+package com.att.tdp.popcorn_palace.waitingroom;
+
+import com.att.tdp.popcorn_palace.config.WaitingRoomProperties;
+import com.att.tdp.popcorn_palace.dto.WaitingRoomStatusDTO;
+import com.att.tdp.popcorn_palace.exception.InvalidRequestException;
+import com.att.tdp.popcorn_palace.exception.QueuePassRequiredException;
+import com.att.tdp.popcorn_palace.exception.ResourceNotFoundException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WaitingRoomTest {
+
+    private static final Long SHOWTIME = 7L;
+
+    private WaitingRoomProperties properties;
+    private MeterRegistry meterRegistry;
+    private AtomicLong clock;
+    private WaitingRooms waitingRooms;
+
+    @BeforeEach
+    void setUp() {
+        properties = new WaitingRoomProperties();
+        properties.setSecret("test-secret");
+        properties.setAdmissionRate(2);
+        properties.setPassTtl(Duration.ofSeconds(10));
+        properties.setShowtimes(List.of(SHOWTIME));
+        meterRegistry = new SimpleMeterRegistry();
+        clock = new AtomicLong(1_000_000);
+        waitingRooms = new WaitingRooms(properties, meterRegistry, clock::get);
+    }
+
+    // Test that one second of admissions goes through at once and the rest queue with their wait
+    @Test
+    void join_ShouldAdmitAtTheConfiguredRate() {
+        List<WaitingRoomStatusDTO> joined = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            joined.add(waitingRooms.join(SHOWTIME, UUID.randomUUID()));
+        }
+
+        assertTrue(joined.get(0).isAdmitted());
+        assertTrue(joined.get(1).isAdmitted());
+        WaitingRoomStatusDTO last = joined.get(5);
+        assertFalse(last.isAdmitted());
+        assertNull(last.getPass());
+        assertEquals(4, last.getPosition());
+        assertEquals(2, last.getEstimatedWaitSeconds());
+        assertEquals(4.0, meterRegistry.get("popcorn.waitingroom.waiting").gauge().value());
+
+        clock.addAndGet(1_500);
+        WaitingRoomStatusDTO polled = waitingRooms.getStatus(SHOWTIME, last.getToken());
+        assertEquals(1, polled.getPosition(), "Three more clients should have been let through");
+        clock.addAndGet(500);
+        assertTrue(waitingRooms.getStatus(SHOWTIME, last.getToken()).isAdmitted());
+    }
+
+    // Test that an idle room banks at most one second of admissions
+    @Test
+    void join_AfterIdlePeriod_ShouldNotReleaseMoreThanOneSecondAtOnce() {
+        clock.addAndGet(60_000);
+        long admitted = 0;
+        for (int i = 0; i < 5; i++) {
+            admitted += waitingRooms.join(SHOWTIME, UUID.randomUUID()).isAdmitted() ? 1 : 0;
+        }
+        assertEquals(2, admitted);
+    }
+
+    // Test that a pass only books the showtime and user it was issued for, and only until it expires
+    @Test
+    void checkPass_ShouldBindShowtimeUserAndExpiry() {
+        UUID userId = UUID.randomUUID();
+        String pass = waitingRooms.join(SHOWTIME, userId).getPass();
+
+        assertDoesNotThrow(() -> waitingRooms.checkPass(SHOWTIME, userId, pass));
+        assertThrows(QueuePassRequiredException.class, () -> waitingRooms.checkPass(SHOWTIME, UUID.randomUUID(), pass));
+        assertThrows(QueuePassRequiredException.class, () -> waitingRooms.checkPass(SHOWTIME, userId, null));
+        waitingRooms.open(8L, null);
+        assertThrows(QueuePassRequiredException.class, () -> waitingRooms.checkPass(8L, userId, pass));
+
+        clock.addAndGet(Duration.ofSeconds(11).toMillis());
+        assertThrows(QueuePassRequiredException.class, () -> waitingRooms.checkPass(SHOWTIME, userId, pass));
+        assertEquals(4.0, meterRegistry.get("popcorn.waitingroom.refused").counter().count());
+    }
+
+    // Test that showtimes without an open room need no pass
+    @Test
+    void checkPass_WithoutRoom_ShouldLetBookingsThrough() {
+        assertDoesNotThrow(() -> waitingRooms.checkPass(9L, UUID.randomUUID(), null));
+
+        waitingRooms.close(SHOWTIME);
+        assertDoesNotThrow(() -> waitingRooms.checkPass(SHOWTIME, UUID.randomUUID(), null));
+        assertThrows(ResourceNotFoundException.class, () -> waitingRooms.join(SHOWTIME, UUID.randomUUID()));
+    }
+
+    // Test that altered tokens and passes, or ones signed with another key, are refused
+    @Test
+    void tokens_WhenTamperedWith_ShouldBeRefused() {
+        UUID userId = UUID.randomUUID();
+        WaitingRoomStatusDTO status = waitingRooms.join(SHOWTIME, userId);
+        String token = status.getToken();
+        String forged = token.substring(0, token.indexOf('.')) + ".AAAA";
+
+        assertThrows(InvalidRequestException.class, () -> waitingRooms.getStatus(SHOWTIME, forged));
+        assertThrows(InvalidRequestException.class, () -> waitingRooms.getStatus(SHOWTIME, "not-a-token"));
+        assertThrows(InvalidRequestException.class, () -> waitingRooms.getStatus(SHOWTIME, status.getPass()),
+                "A pass is not a queue token");
+
+        properties.setSecret("other-secret");
+        WaitingRooms otherKey = new WaitingRooms(properties, new SimpleMeterRegistry(), clock::get);
+        assertThrows(QueuePassRequiredException.class, () -> otherKey.checkPass(SHOWTIME, userId, status.getPass()));
+    }
+
+    // Test that reopening a room invalidates its queue, and that tickets left behind expire
+    @Test
+    void getStatus_WithStaleToken_ShouldAskToJoinAgain() {
+        String token = waitingRooms.join(SHOWTIME, UUID.randomUUID()).getToken();
+        clock.addAndGet(Duration.ofSeconds(5).toMillis());
+        for (int i = 0; i < 25; i++) {
+            waitingRooms.join(SHOWTIME, UUID.randomUUID());
+            clock.addAndGet(500);
+        }
+        InvalidRequestException expired = assertThrows(InvalidRequestException.class,
+                () -> waitingRooms.getStatus(SHOWTIME, token));
+        assertTrue(expired.getMessage().contains("expired"));
+
+        String current = waitingRooms.join(SHOWTIME, UUID.randomUUID()).getToken();
+        waitingRooms.close(SHOWTIME);
+        waitingRooms.open(SHOWTIME, 5.0);
+        assertThrows(InvalidRequestException.class, () -> waitingRooms.getStatus(SHOWTIME, current));
+    }
+
+    // Test that changing the admission rate keeps the queue and rejects a rate that admits no one
+    @Test
+    void open_ShouldChangeRateOfOpenRoom() {
+        for (int i = 0; i < 2; i++) {
+            waitingRooms.join(SHOWTIME, UUID.randomUUID());
+        }
+        WaitingRoomStatusDTO queued = waitingRooms.join(SHOWTIME, UUID.randomUUID());
+        waitingRooms.open(SHOWTIME, 10.0);
+        clock.addAndGet(100);
+
+        assertTrue(waitingRooms.getStatus(SHOWTIME, queued.getToken()).isAdmitted());
+        assertThrows(InvalidRequestException.class, () -> waitingRooms.open(SHOWTIME, 0.0));
+    }
+}